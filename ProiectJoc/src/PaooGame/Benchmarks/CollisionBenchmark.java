@@ -0,0 +1,180 @@
+package PaooGame.Benchmarks;
+
+import PaooGame.Config.Constants;
+import PaooGame.Hitbox.Hitbox;
+import PaooGame.Maps.BehaviorGrid;
+import PaooGame.Maps.Level;
+import PaooGame.Maps.Level1;
+import PaooGame.Maps.Level2;
+import PaooGame.Maps.Level3;
+
+import java.io.*;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @class CollisionBenchmark
+ * @brief Measures the tile collision queries of {@link Level} on the real Level 1, 2 and 3 behavior grids.
+ *
+ * For every level a fixed, seeded set of hitboxes is spread over the map, sized like the hero
+ * and the enemies, and each one is given a velocity. Every round moves the hitboxes by their
+ * velocity and runs checkFalling, checkWallCollision (both sides), checkCeilingCollision,
+ * isTileSolid and isGroundAhead on all of them, the same mix an entity performs per tick.
+ *
+ * Results are printed in ns per call. Running with "--save-baseline" writes them to
+ * {@link #BASELINE_PATH}; later runs print the change against that file.
+ * Run from the project directory so the relative resource paths resolve.
+ */
+public class CollisionBenchmark {
+    private static final String BASELINE_PATH = "benchmarks/collision_baseline.csv";  ///< Where the baseline is read from and saved to.
+    private static final int HITBOXES = 4096;           ///< Number of hitboxes queried per round.
+    private static final int WARMUP_ROUNDS = 200;       ///< Rounds run before measuring, to let the JIT settle.
+    private static final int MEASURED_ROUNDS = 1000;    ///< Rounds included in the reported time.
+    private static final float[][] SIZES = {{15, 30}, {30, 20}, {40, 48}};  ///< Hitbox width/height pairs (hero, small and large enemy).
+
+    private static long sink = 0;                       ///< Accumulates the results so the calls cannot be optimized away.
+
+    /**
+     * @brief Runs the benchmark on the three levels and prints or saves the results.
+     * @param args "--save-baseline" to store the results as the new baseline.
+     */
+    public static void main(String[] args) {
+        boolean saveBaseline = args.length > 0 && args[0].equals("--save-baseline");
+        Map<String, Double> results = new LinkedHashMap<>();
+
+        run("level1", new Level1().getBehaviorGrid(), results);
+        run("level2", new Level2().getBehaviorGrid(), results);
+        run("level3", new Level3().getBehaviorGrid(), results);
+
+        Map<String, Double> baseline = readBaseline();
+        for (Map.Entry<String, Double> entry : results.entrySet()) {
+            Double previous = baseline.get(entry.getKey());
+            String change = previous == null ? "" : String.format(Locale.ROOT, "  (%+.1f%% vs baseline)", (entry.getValue() / previous - 1.0) * 100.0);
+            System.out.println(String.format(Locale.ROOT, "%-32s %7.2f ns/call", entry.getKey(), entry.getValue()) + change);
+        }
+        System.out.println("(checksum " + sink + ")");
+
+        if (saveBaseline) {
+            writeBaseline(results);
+        }
+    }
+
+    /**
+     * @brief Benchmarks every query on one level.
+     * @param name The name used for the level in the results.
+     * @param grid The behavior grid of the level.
+     * @param results Receives the ns per call of each query.
+     */
+    private static void run(String name, BehaviorGrid grid, Map<String, Double> results) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        Random random = new Random(42);
+        Hitbox[] hitboxes = new Hitbox[HITBOXES];
+        float[] velocities = new float[HITBOXES * 2];
+        int[] tileXs = new int[HITBOXES];
+        int[] tileYs = new int[HITBOXES];
+        for (int i = 0; i < HITBOXES; ++i) {
+            float[] size = SIZES[i % SIZES.length];
+            hitboxes[i] = new Hitbox(random.nextFloat() * width * Constants.TILE_SIZE,
+                    random.nextFloat() * height * Constants.TILE_SIZE, size[0], size[1]);
+            velocities[2 * i] = (random.nextFloat() - 0.5f) * 6.0f;       // walking/running speeds
+            velocities[2 * i + 1] = (random.nextFloat() - 0.3f) * 10.0f;  // jumping and falling speeds
+            tileXs[i] = random.nextInt(width + 2) - 1;                    // includes out-of-bounds columns
+            tileYs[i] = random.nextInt(height + 2) - 1;
+        }
+
+        String[] queries = {"checkFalling", "checkWallCollision", "checkCeilingCollision", "isTileSolid", "isGroundAhead"};
+        for (int q = 0; q < queries.length; ++q) {
+            for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+                round(q, hitboxes, velocities, tileXs, tileYs, grid);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+                round(q, hitboxes, velocities, tileXs, tileYs, grid);
+            }
+            long nanos = System.nanoTime() - start;
+            int callsPerHitbox = q == 1 ? 2 : 1;
+            results.put(name + "." + queries[q], (double) nanos / ((long) MEASURED_ROUNDS * HITBOXES * callsPerHitbox));
+        }
+    }
+
+    /**
+     * @brief Moves every hitbox by its velocity (wrapping around the level) and runs one query on it.
+     */
+    private static void round(int query, Hitbox[] hitboxes, float[] velocities, int[] tileXs, int[] tileYs, BehaviorGrid grid) {
+        float pixelWidth = grid.getWidth() * Constants.TILE_SIZE;
+        float pixelHeight = grid.getHeight() * Constants.TILE_SIZE;
+        for (int i = 0; i < hitboxes.length; ++i) {
+            Hitbox hitbox = hitboxes[i];
+            float x = hitbox.getX() + velocities[2 * i];
+            float y = hitbox.getY() + velocities[2 * i + 1];
+            hitbox.setX(x < 0 ? x + pixelWidth : (x >= pixelWidth ? x - pixelWidth : x));
+            hitbox.setY(y < 0 ? y + pixelHeight : (y >= pixelHeight ? y - pixelHeight : y));
+
+            switch (query) {
+                case 0:
+                    sink += Level.checkFalling(hitbox, grid);
+                    break;
+                case 1:
+                    sink += Level.checkWallCollision(hitbox, true, grid) ? 1 : 0;
+                    sink += Level.checkWallCollision(hitbox, false, grid) ? 1 : 0;
+                    break;
+                case 2:
+                    sink += Level.checkCeilingCollision(hitbox, grid) ? 1 : 0;
+                    break;
+                case 3:
+                    sink += Level.isTileSolid(tileXs[i], tileYs[i], grid) ? 1 : 0;
+                    break;
+                default:
+                    sink += Level.isGroundAhead(hitbox, velocities[2 * i] < 0, grid) ? 1 : 0;
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @brief Reads the saved baseline, if there is one.
+     * @return The baseline results by name; empty if no baseline was saved.
+     */
+    private static Map<String, Double> readBaseline() {
+        Map<String, Double> baseline = new LinkedHashMap<>();
+        File file = new File(BASELINE_PATH);
+        if (!file.exists()) {
+            return baseline;
+        }
+        try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.split(",");
+                if (parts.length == 2 && !parts[0].equals("benchmark")) {
+                    baseline.put(parts[0], Double.parseDouble(parts[1]));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println("Could not read collision baseline: " + e.getMessage());
+        }
+        return baseline;
+    }
+
+    /**
+     * @brief Saves the results as the new baseline.
+     * @param results The results by name.
+     */
+    private static void writeBaseline(Map<String, Double> results) {
+        File file = new File(BASELINE_PATH);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        try (PrintWriter out = new PrintWriter(new FileWriter(file))) {
+            out.println("benchmark,ns_per_call");
+            for (Map.Entry<String, Double> entry : results.entrySet()) {
+                out.println(String.format(Locale.ROOT, "%s,%.3f", entry.getKey(), entry.getValue()));
+            }
+            System.out.println("Baseline saved to " + BASELINE_PATH);
+        } catch (IOException e) {
+            System.err.println("Could not write collision baseline: " + e.getMessage());
+        }
+    }
+}
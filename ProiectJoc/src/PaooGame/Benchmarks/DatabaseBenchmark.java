@@ -0,0 +1,153 @@
+package PaooGame.Benchmarks;
+
+import PaooGame.Config.Constants;
+import org.sqlite.JDBC;
+
+import java.io.File;
+import java.sql.*;
+
+/**
+ * @class DatabaseBenchmark
+ * @brief Compares connecting per operation with keeping one connection and its prepared statements.
+ *
+ * Runs the save and score operations of {@link PaooGame.DatabaseManaging.ConcreteDataManager}
+ * against a scratch database, in two ways: the way they used to run (register the driver,
+ * connect, create the table, prepare, execute, close on every call) and on a connection opened
+ * once with statements prepared once. Prints the average time per operation for both.
+ * The game's own save file is not touched.
+ */
+public class DatabaseBenchmark {
+    private static final String SCRATCH_PATH = "benchmark_scratch.db";     ///< Database file created for the run and deleted afterwards.
+    private static final String SCRATCH_URL = "jdbc:sqlite:" + SCRATCH_PATH;
+    private static final int ROUNDS = 200;              ///< Operations of each kind timed per mode.
+
+    /**
+     * @brief Runs both modes and prints the results.
+     * @param args Unused.
+     * @throws SQLException If the scratch database cannot be used.
+     */
+    public static void main(String[] args) throws SQLException {
+        new File(SCRATCH_PATH).delete();
+        DriverManager.registerDriver(new JDBC());
+        try {
+            String[] operations = {"storeBuffer", "loadBuffer", "storeScore", "loadScore"};
+            for (String operation : operations) {
+                long perCall = 0;
+                for (int i = 0; i < ROUNDS; ++i) {
+                    long start = System.nanoTime();
+                    DriverManager.registerDriver(new JDBC());
+                    try (Connection c = DriverManager.getConnection(SCRATCH_URL)) {
+                        c.setAutoCommit(false);
+                        try (Statement stmt = c.createStatement()) {
+                            stmt.executeUpdate(Constants.CREATE_TABLE_CMD);
+                            stmt.executeUpdate(Constants.CREATE_SCORES_TABLE_CMD);
+                            stmt.executeUpdate(Constants.CREATE_SCORES_INDEX_CMD);
+                        }
+                        Statements statements = new Statements(c);
+                        run(operation, statements, i);
+                        c.commit();
+                        statements.close();
+                    }
+                    perCall += System.nanoTime() - start;
+                }
+
+                long persistent;
+                try (Connection c = DriverManager.getConnection(SCRATCH_URL)) {
+                    c.setAutoCommit(false);
+                    Statements statements = new Statements(c);
+                    long start = System.nanoTime();
+                    for (int i = 0; i < ROUNDS; ++i) {
+                        run(operation, statements, ROUNDS + i);
+                        c.commit();
+                    }
+                    persistent = System.nanoTime() - start;
+                    statements.close();
+                }
+                System.out.printf("%-12s per-call connection: %8.1f us/op   persistent connection: %8.1f us/op%n",
+                        operation, perCall / 1e3 / ROUNDS, persistent / 1e3 / ROUNDS);
+            }
+        } finally {
+            new File(SCRATCH_PATH).delete();
+        }
+    }
+
+    /**
+     * @class Statements
+     * @brief The statements used by the data manager, prepared on one connection.
+     */
+    private static class Statements {
+        final PreparedStatement insert;
+        final PreparedStatement selectLatest;
+        final PreparedStatement count;
+        final PreparedStatement deleteOldest;
+        final PreparedStatement insertScore;
+        final PreparedStatement selectTopScores;
+
+        Statements(Connection c) throws SQLException {
+            this.insert = c.prepareStatement(Constants.INSERT_CMD);
+            this.selectLatest = c.prepareStatement(Constants.QUERY_SELECT_LATEST_SAVE_CMD);
+            this.count = c.prepareStatement(Constants.QUERY_NR_OF_ENTRIES_CMD);
+            this.deleteOldest = c.prepareStatement(Constants.DELETE_OLDEST_ENTRY_CMD);
+            this.insertScore = c.prepareStatement(Constants.INSERT_SCORE_CMD);
+            this.selectTopScores = c.prepareStatement(Constants.QUERY_TOP_SCORES_CMD);
+        }
+
+        void close() throws SQLException {
+            for (PreparedStatement statement : new PreparedStatement[]{insert, selectLatest, count, deleteOldest, insertScore, selectTopScores}) {
+                statement.close();
+            }
+        }
+    }
+
+    /**
+     * @brief Runs one operation with the same statements the data manager uses.
+     * @param operation The operation to run.
+     * @param statements The prepared statements.
+     * @param round The round number, used as the save timestamp so each save is a new row.
+     */
+    private static void run(String operation, Statements statements, int round) throws SQLException {
+        switch (operation) {
+            case "storeBuffer":
+                int nrOfEntries = 0;
+                try (ResultSet rs = statements.count.executeQuery()) {
+                    if (rs.next()) {
+                        nrOfEntries = rs.getInt(1);
+                    }
+                }
+                if (nrOfEntries >= Constants.DB_MAX_ENTRIES) {
+                    statements.deleteOldest.executeUpdate();
+                }
+                for (int i = 0; i < Constants.ALL_DATA_MANAGEMENT_CONSTANTS.length; ++i) {
+                    statements.insert.setInt(i + 1, i == 0 ? round + 1 : 100);
+                }
+                statements.insert.executeUpdate();
+                break;
+            case "loadBuffer":
+                try (ResultSet rs = statements.selectLatest.executeQuery()) {
+                    if (rs.next()) {
+                        for (String token : Constants.ALL_DATA_MANAGEMENT_CONSTANTS) {
+                            rs.getInt(token);
+                        }
+                    }
+                }
+                break;
+            case "storeScore":
+                statements.insertScore.setInt(1, round + 1);
+                statements.insertScore.setInt(2, round % 1000);
+                for (int i = 3; i <= 5; ++i) {
+                    statements.insertScore.setInt(i, 100);
+                }
+                statements.insertScore.addBatch();
+                statements.insertScore.executeBatch();
+                break;
+            default:
+                statements.selectTopScores.setInt(1, Constants.DB_DEFAULT_LEADERBOARD_SIZE);
+                try (ResultSet rs = statements.selectTopScores.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getInt(Constants.SCORE);
+                    }
+                }
+                break;
+        }
+    }
+}
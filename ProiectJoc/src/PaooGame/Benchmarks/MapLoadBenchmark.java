@@ -0,0 +1,86 @@
+package PaooGame.Benchmarks;
+
+import PaooGame.Config.Constants;
+import PaooGame.Maps.Level;
+import PaooGame.Maps.MapFile;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+/**
+ * @class MapLoadBenchmark
+ * @brief Compares loading the tile layers of each level from the CSVs and from the compiled map.
+ *
+ * For both formats it prints the average load time and the bytes allocated per load, and it checks
+ * that both produce the same IDs. Run {@link PaooGame.Maps.MapCompiler} first, from the project
+ * directory, so the compiled maps exist.
+ */
+public class MapLoadBenchmark {
+    private static final int WARMUP_ROUNDS = 20;        ///< Loads run before measuring, to let the JIT settle.
+    private static final int MEASURED_ROUNDS = 50;      ///< Loads included in the reported time.
+
+    /**
+     * @brief Benchmarks both formats on Level 1, 2 and 3.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        run("level1", Constants.LEVEL1_TEXTURES_CSV, Constants.LEVEL1_BEHAVIOR_CSV, Constants.LEVEL1_MAP_PATH, Constants.LEVEL1_TILE_NR);
+        run("level2", Constants.LEVEL2_TEXTURES_CSV, Constants.LEVEL2_BEHAVIOR_CSV, Constants.LEVEL2_MAP_PATH, Constants.LEVEL2_TILE_NR);
+        run("level3", Constants.LEVEL3_TEXTURES_CSV, Constants.LEVEL3_BEHAVIOR_CSV, Constants.LEVEL3_MAP_PATH, Constants.LEVEL3_TILE_NR);
+    }
+
+    /**
+     * @brief Benchmarks both formats on one level.
+     */
+    private static void run(String name, String texturesCsv, String behaviorCsv, String mapPath, int tiles) {
+        int[] csvVisual = new int[tiles];
+        int[] csvBehavior = new int[tiles];
+        int[] mapVisual = new int[tiles];
+        int[] mapBehavior = new int[tiles];
+
+        if (!MapFile.load(mapPath, texturesCsv, behaviorCsv, mapVisual, mapBehavior)) {
+            System.err.println(name + ": no compiled map at " + mapPath + ", run MapCompiler first.");
+            return;
+        }
+        for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+            Level.readCsv(texturesCsv, csvVisual);
+            Level.readCsv(behaviorCsv, csvBehavior);
+            MapFile.load(mapPath, texturesCsv, behaviorCsv, mapVisual, mapBehavior);
+        }
+        if (!Arrays.equals(csvVisual, mapVisual) || !Arrays.equals(csvBehavior, mapBehavior)) {
+            System.err.println(name + ": the compiled map differs from the CSVs, recompile it.");
+        }
+
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+            Level.readCsv(texturesCsv, csvVisual);
+            Level.readCsv(behaviorCsv, csvBehavior);
+        }
+        long csvNanos = System.nanoTime() - start;
+        long csvBytes = allocatedBytes() - allocated;
+
+        allocated = allocatedBytes();
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+            MapFile.load(mapPath, texturesCsv, behaviorCsv, mapVisual, mapBehavior);
+        }
+        long mapNanos = System.nanoTime() - start;
+        long mapBytes = allocatedBytes() - allocated;
+
+        System.out.printf("%s csv: %8.3f ms/load %,12d bytes/load%n", name, csvNanos / 1e6 / MEASURED_ROUNDS, csvBytes / MEASURED_ROUNDS);
+        System.out.printf("%s map: %8.3f ms/load %,12d bytes/load%n", name, mapNanos / 1e6 / MEASURED_ROUNDS, mapBytes / MEASURED_ROUNDS);
+    }
+
+    /**
+     * @brief Gets the number of bytes allocated so far by the current thread.
+     * @return The allocated bytes, or 0 if the JVM does not report them.
+     */
+    private static long allocatedBytes() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,77 @@
+package PaooGame.Benchmarks;
+
+import PaooGame.Config.Constants;
+import PaooGame.Tiles.Tile;
+import PaooGame.Tiles.TileCache;
+import PaooGame.Maps.Level3;
+
+/**
+ * @class TileCacheBenchmark
+ * @brief Compares the path-keyed and the handle-based tile lookups of {@link TileCache}.
+ *
+ * Both lookups walk the whole visual layer of Level 3, the way the tile renderer does,
+ * for a number of warm-up and measured rounds. Run from the project directory so the
+ * relative resource paths resolve.
+ */
+public class TileCacheBenchmark {
+    private static final int WARMUP_ROUNDS = 50;        ///< Rounds run before measuring, to let the JIT settle.
+    private static final int MEASURED_ROUNDS = 200;     ///< Rounds included in the reported time.
+
+    private static long sink = 0;                       ///< Accumulates tile IDs so the lookups cannot be optimized away.
+
+    /**
+     * @brief Runs both lookups and prints the average time per lookup.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        TileCache cache = new TileCache();
+        int[] ids = new Level3().getVisualIDs();
+        int handle = cache.getSheetHandle(Constants.LEVEL3_TEXTURES_PATH);
+
+        for (int i = 0; i < WARMUP_ROUNDS; ++i) {
+            byPath(cache, ids);
+            byHandle(cache, handle, ids);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+            byPath(cache, ids);
+        }
+        long pathNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; ++i) {
+            byHandle(cache, handle, ids);
+        }
+        long handleNanos = System.nanoTime() - start;
+
+        long lookups = (long) MEASURED_ROUNDS * ids.length;
+        System.out.printf("getTile(String,int): %.2f ns/lookup%n", (double) pathNanos / lookups);
+        System.out.printf("getTile(int,int):    %.2f ns/lookup%n", (double) handleNanos / lookups);
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * @brief Looks up every non-empty tile of the layer through the path-keyed API.
+     */
+    private static void byPath(TileCache cache, int[] ids) {
+        for (int id : ids) {
+            if (id != -1) {
+                Tile tile = cache.getTile(Constants.LEVEL3_TEXTURES_PATH, id);
+                sink += tile.GetId();
+            }
+        }
+    }
+
+    /**
+     * @brief Looks up every non-empty tile of the layer through a pre-resolved sheet handle.
+     */
+    private static void byHandle(TileCache cache, int handle, int[] ids) {
+        for (int id : ids) {
+            if (id != -1) {
+                Tile tile = cache.getTile(handle, id);
+                sink += tile.GetId();
+            }
+        }
+    }
+}
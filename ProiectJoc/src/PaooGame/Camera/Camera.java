@@ -1,9 +1,12 @@
 package PaooGame.Camera;
 
 import PaooGame.Config.Constants;
+import PaooGame.GameWindow.FrameSnapshot;
 
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import PaooGame.Tiles.TileCache;
 
 
 /**
@@ -18,14 +21,23 @@ public class Camera {
     private double xOffset, yOffset; ///< The x and y coordinates of the top-left corner of the camera's view in the game world.
     private double scale = 2.3;      ///< The zoom level of the camera. Higher values mean more zoom (objects appear larger).
 
+    private boolean useWorldBuffer = Constants.WORLD_BUFFER_RENDERING; ///< If true, the world is drawn unscaled into {@link #worldBuffer} and upscaled once.
+    private BufferedImage worldBuffer = null;       ///< Offscreen image holding the visible part of the world at native resolution.
+    private Graphics2D worldGraphics = null;        ///< Graphics of {@link #worldBuffer} for the frame in progress, null in the direct mode.
+    private AffineTransform savedTransform = null;  ///< Screen transform saved by {@link #beginWorld(Graphics2D)} in the direct mode.
+    private final AffineTransform blitTransform = new AffineTransform(); ///< Transform used for the single upscaling blit.
+    private final TileCache tileCache;              ///< Cache of the game, creating {@link #worldBuffer} in the screen's format.
+
     /**
      * @brief Constructs a Camera object with an initial position.
      * @param xOffset The initial x-offset of the camera in the game world.
      * @param yOffset The initial y-offset of the camera in the game world.
+     * @param tileCache The {@link TileCache} of the game, used to create the world buffer.
      */
-    public Camera(double xOffset, double yOffset) {
+    public Camera(double xOffset, double yOffset, TileCache tileCache) {
         this.xOffset = xOffset;
         this.yOffset = yOffset;
+        this.tileCache = tileCache;
     }
 
     /**
@@ -49,6 +61,118 @@ public class Camera {
         g2d.transform(transform);
     }
 
+    /**
+     * @brief Starts drawing the world for the current frame.
+     *
+     * Everything drawn on the returned context until {@link #endWorld(Graphics2D)} is in world pixels.
+     * In the world buffer mode the context belongs to an offscreen image the size of the visible
+     * area at native resolution, translated so the view's top-left corner is at its origin.
+     * Otherwise the camera transformation is applied directly to the screen context, as {@link #apply(Graphics2D)} does.
+     * Frames recorded into a {@link FrameSnapshot} always use the direct mode: the world buffer is
+     * reused every frame, so it would change before the render thread draws it.
+     *
+     * @param screen The Graphics2D context of the screen.
+     * @return The context the world has to be drawn on.
+     */
+    public Graphics2D beginWorld(Graphics2D screen) {
+        if (!useWorldBuffer || FrameSnapshot.isRecording(screen)) {
+            savedTransform = screen.getTransform();
+            apply(screen);
+            return screen;
+        }
+
+        int bufferWidth = (int) Math.ceil(Constants.WINDOW_WIDTH / scale) + 1;
+        int bufferHeight = (int) Math.ceil(Constants.WINDOW_HEIGHT / scale) + 1;
+        if (worldBuffer == null || worldBuffer.getWidth() != bufferWidth || worldBuffer.getHeight() != bufferHeight) {
+            worldBuffer = tileCache.createCompatibleImage(bufferWidth, bufferHeight, Transparency.OPAQUE);
+        }
+
+        worldGraphics = worldBuffer.createGraphics();
+        worldGraphics.clearRect(0, 0, bufferWidth, bufferHeight);
+        // Whole pixels are handled here, the fraction is applied by the upscaling blit
+        worldGraphics.translate(-Math.floor(getViewLeft()), -Math.floor(getViewTop()));
+        return worldGraphics;
+    }
+
+    /**
+     * @brief Finishes drawing the world and puts it on the screen.
+     *
+     * In the world buffer mode the offscreen image is drawn onto the screen with a single
+     * scaled blit. Otherwise the screen transformation saved by {@link #beginWorld(Graphics2D)} is restored.
+     * In both cases the screen context is left untransformed, ready for the HUD.
+     *
+     * @param screen The Graphics2D context of the screen, as passed to {@link #beginWorld(Graphics2D)}.
+     */
+    public void endWorld(Graphics2D screen) {
+        if (worldGraphics == null) {
+            screen.setTransform(savedTransform);
+            savedTransform = null;
+            return;
+        }
+
+        worldGraphics.dispose();
+        worldGraphics = null;
+
+        double viewLeft = getViewLeft();
+        double viewTop = getViewTop();
+        blitTransform.setToTranslation(-(viewLeft - Math.floor(viewLeft)) * scale, -(viewTop - Math.floor(viewTop)) * scale);
+        blitTransform.scale(scale, scale);
+        screen.drawImage(worldBuffer, blitTransform, null);
+    }
+
+    /**
+     * @brief Chooses how the world is rendered.
+     * @param useWorldBuffer True to draw the world into an offscreen buffer and upscale it once,
+     *                       false to draw every element through the scaled screen transform.
+     */
+    public void setUseWorldBuffer(boolean useWorldBuffer) {
+        this.useWorldBuffer = useWorldBuffer;
+    }
+
+    /**
+     * @brief Checks which render mode is in use.
+     * @return True if the world is drawn through the offscreen buffer.
+     */
+    public boolean isUsingWorldBuffer() {
+        return useWorldBuffer;
+    }
+
+    /**
+     * @brief Gets the left edge of the visible area, in world pixels.
+     *
+     * Inverts the transformation applied by {@link #apply(Graphics2D)} for screen x = 0.
+     * @return The world x-coordinate shown at the left edge of the window.
+     */
+    public double getViewLeft() {
+        return (xOffset * Constants.MAGIC_NUMBER) / scale;
+    }
+
+    /**
+     * @brief Gets the right edge of the visible area, in world pixels.
+     * @param viewportWidth The width of the window, in screen pixels.
+     * @return The world x-coordinate shown at the right edge of the window.
+     */
+    public double getViewRight(int viewportWidth) {
+        return (xOffset * Constants.MAGIC_NUMBER + viewportWidth) / scale;
+    }
+
+    /**
+     * @brief Gets the top edge of the visible area, in world pixels.
+     * @return The world y-coordinate shown at the top edge of the window.
+     */
+    public double getViewTop() {
+        return yOffset / scale;
+    }
+
+    /**
+     * @brief Gets the bottom edge of the visible area, in world pixels.
+     * @param viewportHeight The height of the window, in screen pixels.
+     * @return The world y-coordinate shown at the bottom edge of the window.
+     */
+    public double getViewBottom(int viewportHeight) {
+        return (yOffset + viewportHeight) / scale;
+    }
+
     /**
      * @brief Gets the current scale (zoom level) of the camera.
      * @return The current scale value.
@@ -31,6 +31,9 @@ public class Constants {
     public static final int WINDOW_HEIGHT = 720;//720;//768; // 6 tiles
 
     public static final int TILE_SIZE = 16;
+    public static final int INTERACTION_CELL_SIZE = 8*TILE_SIZE; // cell of the grids finding what the hero can touch
+    public static final int ENEMY_WAKE_MARGIN = 6*TILE_SIZE; // enemies this close to the visible area run the full update
+    public static final int ENEMY_SLEEP_MARGIN = 12*TILE_SIZE; // enemies farther than this from it run the coarse patrol
 
     public static final int LEVEL1_WIDTH = 70;
     public static final int LEVEL1_HEIGHT = 45;
@@ -54,6 +57,19 @@ public class Constants {
 
     public static final double MAGIC_NUMBER = 2.27;
 
+    public static final int UPDATES_PER_SECOND = 60; // fixed rate of the game logic
+    public static final int TARGET_FPS = 60; // render rate, 0 renders as fast as possible
+    public static final int MAX_UPDATES_PER_FRAME = 5; // catch-up cap before the backlog is dropped
+    public static final long SPIN_WAIT_NANOS = 1_000_000; // last part of each frame wait is spun instead of parked
+
+    public static final boolean PIPELINED_RENDERING = false; // present frames from a separate render thread
+    public static final boolean WORLD_BUFFER_RENDERING = true; // draw levels at native resolution offscreen, then upscale once
+    public static final boolean PROFILER_ENABLED = false; // record frame timings from startup (F3 toggles the overlay at any time)
+    public static final String PROFILER_CSV_PATH = "frame_times.csv"; // where frame timings are written on exit
+    public static final boolean PRINT_ASSET_REPORT = false; // print per-asset image conversion time/memory after loading
+    public static final boolean PRINT_DB_TIMINGS = false; // print the duration of every database operation when the game exits
+    public static final boolean ASYNC_SAVES = true; // write saves on a background thread instead of the game loop
+
 
     public static final int CHARACTER_TILE_SIZE = 48;
 
@@ -105,6 +121,7 @@ public class Constants {
     public static final String LEVEL1_TEXTURES_PATH = "res/Level1/Level1Textures.png";
     public static final String LEVEL1_TEXTURES_CSV = "res/Level1/Level1Textures.csv";
     public static final String LEVEL1_BEHAVIOR_CSV = "res/Level1/Level1Behavior.csv";
+    public static final String LEVEL1_MAP_PATH = "res/Level1/Level1.map"; // compiled by Maps.MapCompiler
     public static final String LEVEL1_BG_PATH = "res/Level1/Level1Background.png";
 
 
@@ -114,11 +131,13 @@ public class Constants {
     public static final String LEVEL2_TEXTURES_PATH = "res/Level2/Level2Textures.png";
     public static final String LEVEL2_TEXTURES_CSV = "res/Level2/Level2Tilemap.csv";
     public static final String LEVEL2_BEHAVIOR_CSV = "res/Level2/Level2Behaviors.csv";
+    public static final String LEVEL2_MAP_PATH = "res/Level2/Level2.map"; // compiled by Maps.MapCompiler
     public static final String LEVEL2_BG_PATH = "res/Level2/Level2Background.png";
 
     public static final String LEVEL3_TEXTURES_PATH = "res/Level3/Level3Textures.png" ;
     public static final String LEVEL3_TEXTURES_CSV = "res/Level3/Level3Textures.csv";
     public static final String LEVEL3_BEHAVIOR_CSV = "res/Level3/Level3Behaviors.csv";
+    public static final String LEVEL3_MAP_PATH = "res/Level3/Level3.map"; // compiled by Maps.MapCompiler
     public static final String LEVEL3_BG_PATH = "res/Level3/Level3Background.png";
 
     public static final String DEATH_SCREEN_BG_PATH = "res/Effects/YouDied.jpg";
@@ -164,6 +183,12 @@ public class Constants {
     public static final int GOBLIN_POS_Y = 336;
     public static final String GOBLIN_NAME = "Goblin";
     public static final int GOLD_REWARD = 30;
+
+    public static final int FIGHT_ENEMY_ATTACK_DELAY_MILLIS = 1000; // enemy turn start -> enemy attack
+    public static final int FIGHT_PLAYER_TURN_DELAY_MILLIS = 1500;  // enemy attack -> damage applied, player turn
+    public static final int FIGHT_BLOCK_MAX = 50;                   // block bar range, 0..50
+    public static final int FIGHT_BLOCK_STEP = 6;
+    public static final int FIGHT_BLOCK_TICKS_PER_STEP = 3;
 //    public static final String GOBLIN_SPRITE_SHEET_PATH = "res/NPC/npc_goblin.png";
 
     public static final double HERO_BASE_HEALTH = 100.0;
@@ -189,6 +214,7 @@ public class Constants {
     public static final int HERO_LEVEL3_STARTING_X = 110;
     public static final int HERO_LEVEL3_STARTING_Y = 900;
     public static final int HERO_GRAPPLE_RANGE = 6;
+    public static final int HERO_MAX_NR_OF_ESCAPES = 2;
 
 
 
@@ -386,6 +412,7 @@ public class Constants {
 
     public static final String DB_PATH = "src/PaooGame/DatabaseManaging/myDB.db";
     public static final String DB_URL = "jdbc:sqlite:src/PaooGame/DatabaseManaging/myDB.db";
+    public static final String DB_IN_MEMORY_URL = "jdbc:sqlite::memory:"; // a private database per connection, gone when it closes
 
     public static final int DB_MAX_ENTRIES = 5;
 
@@ -445,7 +472,33 @@ public class Constants {
 
     public static final String QUERY_NR_OF_ENTRIES_CMD = "SELECT COUNT(*) FROM GameData;";
 
+    public static final String SCORE = "SCORE";
+    public static final int DB_DEFAULT_LEADERBOARD_SIZE = 3;
+
+    public static final String CREATE_SCORES_TABLE_CMD = "CREATE TABLE IF NOT EXISTS Scores("+
+                                                    "ID INTEGER PRIMARY KEY, "+
+                                                    Constants.TIMESTAMP + " INTEGER, "+
+                                                    Constants.SCORE + " INTEGER NOT NULL, "+
+                                                    Constants.HERO_HEALTH + " INTEGER, "+
+                                                    Constants.HERO_NR_OF_FLEES + " INTEGER, "+
+                                                    Constants.HERO_GOLD + " INTEGER);";
+
+    public static final String CREATE_SCORES_INDEX_CMD = "CREATE INDEX IF NOT EXISTS ScoresByScore ON Scores(" +
+                                                    Constants.SCORE + " DESC, " + Constants.TIMESTAMP + " ASC);";
+
+    public static final String INSERT_SCORE_CMD = "INSERT INTO Scores("+
+                                                    Constants.TIMESTAMP + ", "+
+                                                    Constants.SCORE + ", "+
+                                                    Constants.HERO_HEALTH + ", "+
+                                                    Constants.HERO_NR_OF_FLEES + ", "+
+                                                    Constants.HERO_GOLD + ") VALUES (?, ?, ?, ?, ?);";
+
+    public static final String QUERY_TOP_SCORES_CMD = "SELECT * FROM Scores "+
+                                                    "ORDER BY " + Constants.SCORE + " DESC, " + Constants.TIMESTAMP + " ASC "+
+                                                    "LIMIT ?;";
+
+    // the scores used to be packed into the CURRENT_STATE column of this row; it is migrated into Scores when found
     public static final String GET_SCORE_LINE_CMD = "SELECT * FROM GameData WHERE TIMESTAMP = -2;";
 
-    public static final String UPDATE_SCORE_LINE_CMD = "UPDATE GameData SET CURRENT_STATE = ? WHERE TIMESTAMP = -2;";
+    public static final String DELETE_SCORE_LINE_CMD = "DELETE FROM GameData WHERE TIMESTAMP = -2;";
 }
@@ -1,12 +1,17 @@
 package PaooGame.DatabaseManaging;
 
 import PaooGame.Config.Constants;
+import PaooGame.Profiling.TimeHistogram;
 import PaooGame.RefLinks;
 
-import java.io.File;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import java.sql.*;
 import org.sqlite.JDBC;
@@ -15,75 +20,50 @@ import org.sqlite.JDBC;
  * @class ConcreteDataManager
  * @brief Implements the DataManager interface to manage game data using an in-memory buffer and an SQLite database.
  *
- * This class provides a concrete way to save and load game state. It uses a HashMap as an
- * in-memory buffer for quick access to game variables and interacts with an SQLite database
- * for persistent storage of game saves and high scores.
- * It follows a Singleton pattern for instantiation.
+ * This class provides a concrete way to save and load game state. It keeps the game variables in
+ * an in-memory buffer of ints indexed by {@link SaveField} and interacts with an SQLite database
+ * for persistent storage of game saves and high scores. Every finished run is a row of the
+ * Scores table, indexed by score so the leaderboard is read in order.
+ * The connection and every statement are prepared once, in {@link #open(boolean)}, and reused
+ * until {@link #close(boolean)}; each database operation records its duration in {@link #getTimings()}.
+ * Saves can be written by a background thread (see {@link #storeBufferAsync(boolean)}) so they don't stall the game loop.
+ * Every game owns its own manager, so games running side by side in one process keep separate buffers.
  */
 public class ConcreteDataManager implements DataManager{
 
-    private Map<String,Integer> buffer; ///< In-memory buffer to hold current game state variables.
+    private final int[] buffer = new int[SaveField.count()]; ///< In-memory buffer to hold current game state variables, by field ordinal.
+    private int nrOfUnsetFields; ///< How many fields of the buffer hold {@link SaveField#UNSET}.
     private RefLinks reflink; ///< Reference to shared game resources and utilities.
+    private final String databaseUrl; ///< JDBC URL of the database, {@link Constants#DB_URL} unless the game was given another.
 
-    Connection c = null; ///< JDBC Connection object for database interaction.
-    Statement stmt = null; ///< JDBC Statement object for executing SQL.
-    PreparedStatement pstmt = null; ///< JDBC PreparedStatement object for parameterized SQL.
+    private Connection c = null; ///< JDBC Connection kept open from {@link #open(boolean)} to {@link #close(boolean)}.
+    private PreparedStatement insertStmt = null; ///< Inserts a save.
+    private PreparedStatement selectLatestStmt = null; ///< Selects the latest save.
+    private PreparedStatement countStmt = null; ///< Counts the rows of the table.
+    private PreparedStatement deleteOldestStmt = null; ///< Deletes the oldest save.
+    private PreparedStatement insertScoreStmt = null; ///< Inserts the score of a finished run.
+    private PreparedStatement selectTopScoresStmt = null; ///< Selects the best scores.
 
-    private static ConcreteDataManager instance = null; ///< Singleton instance of this class.
-
-    /**
-     * @brief Gets the singleton instance of ConcreteDataManager.
-     *
-     * If an instance does not exist, it creates one. This ensures that only one
-     * ConcreteDataManager object is used throughout the application.
-     *
-     * @param reflink A reference to shared game resources, needed for initialization.
-     * @return The singleton instance of ConcreteDataManager.
-     */
-    public static ConcreteDataManager getInstance(RefLinks reflink){
-        if(ConcreteDataManager.instance == null){
-            ConcreteDataManager.instance = new ConcreteDataManager(reflink);
-        }
-        return instance;
-    }
+    private final Map<String,TimeHistogram> timings = new LinkedHashMap<>(); ///< Duration of each database operation, by operation name.
 
+    private final Object saveLock = new Object(); ///< Guards the hand-off of saves to the writer thread.
+    private Thread saveWriter = null; ///< Background thread writing the saves requested through {@link #storeBufferAsync(boolean)}.
+    private int[] pendingSnapshot = null; ///< Buffer values waiting to be written, or null; a newer save replaces an unwritten one.
+    private CompletableFuture<Void> pendingSave = null; ///< Completes once {@link #pendingSnapshot} has been written.
+    private CompletableFuture<Void> lastSave = CompletableFuture.completedFuture(null); ///< Completes once the latest requested save has been written.
 
     /**
-     * @brief Private constructor to enforce the Singleton pattern.
-     * Initializes the in-memory buffer with default values for all game state variables.
-     * @param reflink A reference to shared game resources.
+     * @brief Constructs a data manager for one game, with every field of the buffer unset.
+     * The database is not touched until {@link #open(boolean)} or the first operation needing it.
+     * @param reflink A reference to the shared resources of the game owning this manager.
+     * @param databaseUrl The JDBC URL of the SQLite database holding the saves and scores.
      */
-    private ConcreteDataManager(RefLinks reflink){
+    public ConcreteDataManager(RefLinks reflink, String databaseUrl){
         this.reflink = reflink;
-        this.buffer = new HashMap<>();
-        // Initialize buffer with keys from Constants and default values (-1 or specific starting values).
-        this.buffer.put(Constants.CURRENT_STATE,-1);
-
-        this.buffer.put(Constants.HERO_HEALTH,-1);
-        this.buffer.put(Constants.HERO_X,-1);
-        this.buffer.put(Constants.HERO_Y,-1);
-        this.buffer.put(Constants.HERO_HAS_WHIP,-1);
-        this.buffer.put(Constants.HERO_NR_OF_FLEES,-1);
-        this.buffer.put(Constants.HERO_NR_OF_COLLECTED_SAVES,-1);
-        this.buffer.put(Constants.HERO_NR_OF_FINISHED_LEVELS,-1);
-        this.buffer.put(Constants.HERO_GOLD,-1);
-
-        this.buffer.put(Constants.TIGER0_HEALTH,-1);
-        this.buffer.put(Constants.TIGER1_HEALTH,-1);
-
-        this.buffer.put(Constants.BASIC_SKELETON0_HEALTH,-1);
-        this.buffer.put(Constants.BASIC_SKELETON1_HEALTH,-1);
-        this.buffer.put(Constants.STRONG_SKELETON0_HEALTH,-1);
-
-        this.buffer.put(Constants.BOSS_HEALTH,-1);
-        this.buffer.put(Constants.MINOTAUR0_HEALTH,-1);
-        this.buffer.put(Constants.MINOTAUR1_HEALTH,-1);
-        this.buffer.put(Constants.GHOST0_HEALTH,-1);
-        this.buffer.put(Constants.GHOST1_HEALTH,-1);
-
-        this.buffer.put(Constants.TIMESTAMP,-1);
-
-
+        this.databaseUrl = databaseUrl;
+        // Every field starts out unset, until a save is loaded or a new game is started.
+        Arrays.fill(this.buffer, SaveField.UNSET);
+        this.nrOfUnsetFields = this.buffer.length;
     }
 
     /**
@@ -94,7 +74,7 @@ public class ConcreteDataManager implements DataManager{
      */
     @Override
     public int load(String key, boolean access) {
-        return this.buffer.get(key);
+        return load(SaveField.fromKey(key), access);
     }
 
     /**
@@ -105,7 +85,44 @@ public class ConcreteDataManager implements DataManager{
      */
     @Override
     public void store(String key, int value, boolean access) {
-        this.buffer.put(key,value);
+        store(SaveField.fromKey(key), value, access);
+    }
+
+    /**
+     * @brief Loads the value of a field from the in-memory buffer.
+     * @param field The field to load.
+     * @param access A boolean flag (currently unused in this implementation, potentially for future permission checks).
+     * @return The value of the field, or {@link SaveField#UNSET}.
+     */
+    @Override
+    public int load(SaveField field, boolean access) {
+        return this.buffer[field.ordinal()];
+    }
+
+    /**
+     * @brief Stores the value of a field into the in-memory buffer.
+     * @param field The field to store.
+     * @param value The value to store.
+     * @param access A boolean flag (currently unused in this implementation, potentially for future permission checks).
+     */
+    @Override
+    public void store(SaveField field, int value, boolean access) {
+        int index = field.ordinal();
+        if(this.buffer[index] == SaveField.UNSET){
+            --this.nrOfUnsetFields;
+        }
+        if(value == SaveField.UNSET){
+            ++this.nrOfUnsetFields;
+        }
+        this.buffer[index] = value;
+    }
+
+    /**
+     * @brief Checks whether every field of the buffer holds data.
+     * @return true if no field is {@link SaveField#UNSET}.
+     */
+    public boolean isBufferComplete(){
+        return this.nrOfUnsetFields == 0;
     }
 
     /**
@@ -116,261 +133,440 @@ public class ConcreteDataManager implements DataManager{
     @Override
     public void resetBuffer(boolean access){
         // Set buffer values to initial game start conditions.
-        this.buffer.put(Constants.CURRENT_STATE,1); //lvl1
+        for(int i = 0; i < this.buffer.length; ++i){
+            SaveField field = SaveField.get(i);
+            store(field, field.getResetValue(), access);
+        }
+        store(SaveField.TIMESTAMP, (int)Instant.now().getEpochSecond(), access);
 
-        this.buffer.put(Constants.HERO_HEALTH,100); //full health
-        this.buffer.put(Constants.HERO_X,Constants.HERO_LEVEL1_STARTING_X);
-        this.buffer.put(Constants.HERO_Y,Constants.HERO_LEVEL1_STARTING_Y);
-        this.buffer.put(Constants.HERO_HAS_WHIP,0); // 0 for false
-        this.buffer.put(Constants.HERO_NR_OF_FLEES,2);
-        this.buffer.put(Constants.HERO_NR_OF_COLLECTED_SAVES,0);
-        this.buffer.put(Constants.HERO_NR_OF_FINISHED_LEVELS,0);
-        this.buffer.put(Constants.HERO_GOLD,0);
+        this.reflink.setDataRefreshSignal(true); // Signal that buffer data has been refreshed.
+    }
 
-        this.buffer.put(Constants.TIGER0_HEALTH,100);
-        this.buffer.put(Constants.TIGER1_HEALTH,100);
+    /**
+     * @brief Opens the database connection, creates the table if needed and prepares every statement.
+     * Does nothing if the connection is already open. All the database operations open it
+     * themselves if needed, but opening it at startup keeps that cost out of gameplay.
+     * @param access A boolean flag (currently unused, potentially for future permission checks).
+     */
+    @Override
+    public synchronized void open(boolean access) {
+        if(this.c != null){
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            DriverManager.registerDriver(new JDBC()); // Ensure SQLite driver is registered.
+            this.c = DriverManager.getConnection(this.databaseUrl); // Establish connection.
+            c.setAutoCommit(false);
+            try (Statement stmt = c.createStatement()) {
+                stmt.executeUpdate(Constants.CREATE_TABLE_CMD); // Ensure tables exist.
+                stmt.executeUpdate(Constants.CREATE_SCORES_TABLE_CMD);
+                stmt.executeUpdate(Constants.CREATE_SCORES_INDEX_CMD);
+            }
+            c.commit();
 
-        this.buffer.put(Constants.BASIC_SKELETON0_HEALTH,100);
-        this.buffer.put(Constants.BASIC_SKELETON1_HEALTH,100);
-        this.buffer.put(Constants.STRONG_SKELETON0_HEALTH,100);
+            this.insertStmt = c.prepareStatement(Constants.INSERT_CMD);
+            this.selectLatestStmt = c.prepareStatement(Constants.QUERY_SELECT_LATEST_SAVE_CMD);
+            this.countStmt = c.prepareStatement(Constants.QUERY_NR_OF_ENTRIES_CMD);
+            this.deleteOldestStmt = c.prepareStatement(Constants.DELETE_OLDEST_ENTRY_CMD);
+            this.insertScoreStmt = c.prepareStatement(Constants.INSERT_SCORE_CMD);
+            this.selectTopScoresStmt = c.prepareStatement(Constants.QUERY_TOP_SCORES_CMD);
 
-        this.buffer.put(Constants.BOSS_HEALTH,100);
-        this.buffer.put(Constants.MINOTAUR0_HEALTH,100);
-        this.buffer.put(Constants.MINOTAUR1_HEALTH,100);
-        this.buffer.put(Constants.GHOST0_HEALTH,100);
-        this.buffer.put(Constants.GHOST1_HEALTH,100);
+            migratePackedScores();
+        } catch (Exception e) {
+            System.err.println(e.getClass().getName() + ": " + e.getMessage());
+            closeConnection(); // Leave nothing half open; the next operation will try again.
+        }
+        record("open", start);
+    }
+
+    /**
+     * @brief Waits for the queued saves, stops the writer thread, then closes the prepared statements and the database connection.
+     * @param access A boolean flag (currently unused, potentially for future permission checks).
+     */
+    @Override
+    public void close(boolean access) {
+        awaitSaves(); // Don't lose the saves still queued for the writer.
+        stopSaveWriter();
+        synchronized (this){
+            if(Constants.PRINT_DB_TIMINGS){
+                for(Map.Entry<String,TimeHistogram> entry : this.timings.entrySet()){
+                    TimeHistogram histogram = entry.getValue();
+                    System.out.printf("%-12s n=%d mean=%.0fus p99=%dus max=%dus%n", entry.getKey(), histogram.getCount(),
+                            histogram.getMeanMicros(), histogram.getPercentileMicros(99), histogram.getMaxMicros());
+                }
+            }
+            closeConnection();
+        }
+    }
 
-        this.buffer.put(Constants.TIMESTAMP, (int)Instant.now().getEpochSecond());
+    /**
+     * @brief Closes the prepared statements and the connection.
+     */
+    private void closeConnection() {
+        PreparedStatement[] statements = {insertStmt, selectLatestStmt, countStmt, deleteOldestStmt, insertScoreStmt, selectTopScoresStmt};
+        try {
+            for(PreparedStatement statement : statements){
+                if (statement != null) statement.close();
+            }
+            if (c != null) c.close();
+        } catch (SQLException ex) {
+            System.err.println("Resource cleanup failed: " + ex.getMessage());
+        }
+        this.insertStmt = null;
+        this.selectLatestStmt = null;
+        this.countStmt = null;
+        this.deleteOldestStmt = null;
+        this.insertScoreStmt = null;
+        this.selectTopScoresStmt = null;
+        this.c = null;
+    }
 
-        this.reflink.setDataRefreshSignal(true); // Signal that buffer data has been refreshed.
+    /**
+     * @brief Gets the recorded duration of every database operation.
+     * @return The timings, by operation name ("open", "loadBuffer", "storeBuffer", "loadScores", "storeScores").
+     */
+    public synchronized Map<String,TimeHistogram> getTimings(){
+        return this.timings;
+    }
+
+    /**
+     * @brief Records the duration of a database operation.
+     * @param operation The name of the operation.
+     * @param start The System.nanoTime() at which the operation started.
+     */
+    private void record(String operation, long start){
+        this.timings.computeIfAbsent(operation, k -> new TimeHistogram()).recordNanos(System.nanoTime() - start);
+    }
+
+    /**
+     * @brief Opens the connection if needed.
+     * @return true if the connection is open.
+     */
+    private boolean ensureOpen(boolean access){
+        open(access);
+        return this.c != null;
+    }
+
+    /**
+     * @brief Rolls back the current transaction after a failed operation.
+     */
+    private void rollback(){
+        try {
+            if(c!=null){
+                c.rollback(); // Rollback on error.
+            }
+        } catch (SQLException ex) {
+            System.err.println("Failed rolling back!.\n");
+        }
     }
 
     /**
      * @brief Loads the latest game save from the SQLite database into the in-memory buffer.
-     * If the database or table doesn't exist, it attempts to create them.
+     * Waits for the saves still being written in the background first.
      * @param access A boolean flag (currently unused, potentially for future permission checks).
      */
     @Override
     public void loadBuffer(boolean access) {
-        ResultSet rs = null; // Declare ResultSet outside try to access in finally
-        try {
-            DriverManager.registerDriver(new JDBC()); // Ensure SQLite driver is registered.
-            this.c = DriverManager.getConnection(Constants.DB_URL); // Establish connection.
-            c.setAutoCommit(false);
-            this.stmt = c.createStatement();
-            stmt.executeUpdate(Constants.CREATE_TABLE_CMD); // Ensure table exists.
-
-            this.pstmt = c.prepareStatement(Constants.QUERY_SELECT_LATEST_SAVE_CMD);
-            rs = pstmt.executeQuery(); // Get the latest save.
+        awaitSaves(); // Read back what was last saved, not what was saved before it.
+        synchronized (this){
+            loadLatestSave(access);
+        }
+    }
 
+    /**
+     * @brief Reads the latest game save into the in-memory buffer.
+     */
+    private void loadLatestSave(boolean access) {
+        if(!ensureOpen(access)){
+            return;
+        }
+        long start = System.nanoTime();
+        try (ResultSet rs = selectLatestStmt.executeQuery()) { // Get the latest save.
             if(rs.next()){ // If a save exists
-                for(String token : Constants.ALL_DATA_MANAGEMENT_CONSTANTS){
-                    store(token, rs.getInt(token),access); // Populate buffer from ResultSet.
+                for(int i = 0; i < this.buffer.length; ++i){
+                    SaveField field = SaveField.get(i);
+                    store(field, rs.getInt(field.getKey()),access); // Populate buffer from ResultSet.
                 }
             }
             // If no save exists, buffer retains its current (possibly default or reset) values.
-        }catch (SQLIntegrityConstraintViolationException e) {
-            System.err.println();
+            c.commit(); // End the read transaction.
         } catch (Exception e) {
             System.err.println(e.getClass().getName() + ": " + e.getMessage());
-        } finally {
-            // Clean up database resources.
-            try {
-                if (rs != null ) rs.close(); // Close ResultSet if opened
-                if (pstmt != null ) pstmt.close(); // Close PreparedStatement if opened
-                if (stmt != null ) stmt.close(); // Close Statement if opened
-                if (c != null ) c.close(); // Close Connection if opened
-            } catch (SQLException ex) {
-                System.err.println("Resource cleanup failed: " + ex.getMessage());
-            }
+            rollback();
         }
+        record("loadBuffer", start);
     }
 
     /**
      * @brief Stores the current state of the in-memory buffer into the SQLite database as a new game save.
-     * Manages the maximum number of save entries, deleting the oldest if the limit is reached.
+     * With {@link Constants#ASYNC_SAVES} the save is handed to the background writer and this returns
+     * at once (see {@link #storeBufferAsync(boolean)}); otherwise it is written before returning.
      * @param access A boolean flag (currently unused, potentially for future permission checks).
      */
     @Override
     public void storeBuffer(boolean access) {
-        ResultSet rs = null; // Declare ResultSet outside try
-        try {
-            DriverManager.registerDriver(new JDBC());
-            this.c = DriverManager.getConnection(Constants.DB_URL);
-            c.setAutoCommit(false);
-            this.stmt = c.createStatement();
-            stmt.executeUpdate(Constants.CREATE_TABLE_CMD); // Ensure table exists.
+        if(Constants.ASYNC_SAVES){
+            storeBufferAsync(access);
+        }
+        else{
+            writeSnapshot(takeSnapshot(access), access);
+        }
+    }
 
-            rs = stmt.executeQuery(Constants.QUERY_NR_OF_ENTRIES_CMD);
-            int nrOfEntries = 0;
-            if(rs.next()){
-                nrOfEntries = rs.getInt(1);
+    /**
+     * @brief Queues the current state of the in-memory buffer to be stored as a new game save, without waiting for it.
+     *
+     * The buffer is copied right away, so later changes don't leak into this save. The copy is written
+     * by a single background thread; if a save is still waiting when a new one is requested, only the
+     * newer one is written and both requests share its future.
+     * @param access A boolean flag (currently unused, potentially for future permission checks).
+     * @return A future completing once the save is in the database, or failing if it could not be written.
+     */
+    @Override
+    public CompletableFuture<Void> storeBufferAsync(boolean access) {
+        int[] snapshot = takeSnapshot(access);
+        synchronized (this.saveLock){
+            if(this.pendingSnapshot == null){
+                this.pendingSave = new CompletableFuture<>();
+            }
+            this.pendingSnapshot = snapshot;
+            this.lastSave = this.pendingSave;
+            if(this.saveWriter == null){
+                this.saveWriter = new Thread(() -> runSaveWriter(access), "SaveWriter");
+                this.saveWriter.setDaemon(true); // close() waits for the last save, the thread itself must not keep the game alive
+                this.saveWriter.start();
             }
+            this.saveLock.notifyAll();
+            return this.pendingSave;
+        }
+    }
 
-            if (rs != null) rs.close();
+    /**
+     * @brief Gets a future completing once every save requested so far has been written.
+     * @return The future of the latest requested save.
+     */
+    public CompletableFuture<Void> getLastSave(){
+        synchronized (this.saveLock){
+            return this.lastSave;
+        }
+    }
 
+    /**
+     * @brief Waits until every save requested so far has been written, or has failed.
+     */
+    private void awaitSaves(){
+        try {
+            getLastSave().join();
+        } catch (CompletionException e) {
+            // the writer already reported the failure
+        }
+    }
 
-            if(nrOfEntries>=Constants.DB_MAX_ENTRIES){
-                stmt.executeUpdate(Constants.DELETE_OLDEST_ENTRY_CMD); // Delete oldest if max entries reached.
+    /**
+     * @brief Ends the writer thread, which is idle once {@link #awaitSaves()} returned. A later save starts a new one.
+     */
+    private void stopSaveWriter(){
+        Thread writer;
+        synchronized (this.saveLock){
+            writer = this.saveWriter;
+            this.saveWriter = null;
+        }
+        if(writer != null){
+            writer.interrupt();
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
+        }
+    }
+
+    /**
+     * @brief Copies the values of the buffer, which are in the column order of {@link SaveField}.
+     */
+    private int[] takeSnapshot(boolean access){
+        return this.buffer.clone();
+    }
 
-            pstmt = c.prepareStatement(Constants.INSERT_CMD);
-            // Populate PreparedStatement with values from the buffer.
-            // Loop should go up to ALL_DATA_MANAGEMENT_CONSTANTS.length
-            for(int i = 0; i < Constants.ALL_DATA_MANAGEMENT_CONSTANTS.length; ++i){
-                pstmt.setInt(i+1,load(Constants.ALL_DATA_MANAGEMENT_CONSTANTS[i],access));
+    /**
+     * @brief Body of the writer thread: writes the pending snapshot whenever there is one.
+     */
+    private void runSaveWriter(boolean access){
+        while(true){
+            int[] snapshot;
+            CompletableFuture<Void> done;
+            synchronized (this.saveLock){
+                while(this.pendingSnapshot == null){
+                    try {
+                        this.saveLock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                snapshot = this.pendingSnapshot;
+                done = this.pendingSave;
+                this.pendingSnapshot = null;
+                this.pendingSave = null;
+            }
+            if(writeSnapshot(snapshot, access)){
+                done.complete(null);
             }
+            else{
+                done.completeExceptionally(new SQLException("The save could not be written."));
+            }
+        }
+    }
 
+    /**
+     * @brief Writes a copy of the buffer as a new game save.
+     * Manages the maximum number of save entries, deleting the oldest if the limit is reached.
+     * @param snapshot The buffer values, in the column order of {@link SaveField}.
+     * @return true if the save was committed.
+     */
+    private synchronized boolean writeSnapshot(int[] snapshot, boolean access) {
+        if(!ensureOpen(access)){
+            return false;
+        }
+        long start = System.nanoTime();
+        boolean committed = false;
+        try {
+            int nrOfEntries = 0;
+            try (ResultSet rs = countStmt.executeQuery()) {
+                if(rs.next()){
+                    nrOfEntries = rs.getInt(1);
+                }
+            }
+
+            if(nrOfEntries>=Constants.DB_MAX_ENTRIES){
+                deleteOldestStmt.executeUpdate(); // Delete oldest if max entries reached.
+            }
 
-            pstmt.executeUpdate();
+            // Populate PreparedStatement with values from the snapshot.
+            for(int i = 0; i < snapshot.length; ++i){
+                insertStmt.setInt(i+1,snapshot[i]);
+            }
+            insertStmt.executeUpdate();
             c.commit(); // Commit transaction.
+            committed = true;
 
         }catch (Exception e){
             System.err.println(e.getClass().getName() + ": " +e.getMessage());
-            try {
-                if(c!=null){
-                    c.rollback(); // Rollback on error.
+            rollback();
+        }
+        record("storeBuffer", start);
+        return committed;
+    }
+
+    /**
+     * @brief Moves the scores packed in the old score row into the Scores table, then deletes that row.
+     *
+     * The top three scores used to be packed into one integer (1000000000 + s1 + s2*1000 + s3*1000000),
+     * kept in the CURRENT_STATE column of the GameData row with TIMESTAMP -2. Deleting the row
+     * makes this a one-time migration; the migrated entries only know their score.
+     */
+    private void migratePackedScores() {
+        try {
+            try (PreparedStatement select = c.prepareStatement(Constants.GET_SCORE_LINE_CMD);
+                 ResultSet rs = select.executeQuery()) {
+                if(!rs.next()){
+                    c.commit(); // End the read transaction.
+                    return;
                 }
-            } catch (SQLException ex) {
-                System.err.println("Failed rolling back!.\n");
+                int nr = rs.getInt(Constants.CURRENT_STATE);
+                int[] packedScores = {nr%1000, (nr%1000000)/1000, (nr%1000000000)/1000000};
+                for(int score : packedScores){
+                    if(score > 0){ // 0 was the filler of an empty slot
+                        addScore(new ScoreEntry(ScoreEntry.UNKNOWN, score, ScoreEntry.UNKNOWN, ScoreEntry.UNKNOWN, ScoreEntry.UNKNOWN));
+                    }
+                }
+            }
+            insertScoreStmt.executeBatch();
+            try (PreparedStatement delete = c.prepareStatement(Constants.DELETE_SCORE_LINE_CMD)) {
+                delete.executeUpdate();
             }
-        }finally {
-            // Clean up database resources.
+            c.commit();
+        } catch (SQLException e) {
+            System.err.println("Failed migrating the packed scores: " + e.getMessage());
             try {
-                // rs might have been closed already, or not opened in case of early exception
-                if (rs != null) rs.close();
-                if (pstmt != null) pstmt.close();
-                if (stmt != null) stmt.close();
-                if (c != null) c.close();
+                insertScoreStmt.clearBatch();
             } catch (SQLException ex) {
-                System.err.println("Resource cleanup failed: " + ex.getMessage());
+                System.err.println("Failed clearing the score batch.\n");
             }
+            rollback(); // The old row is kept, the migration is tried again on the next start.
         }
     }
 
     /**
-     * @brief Loads high scores from the database.
-     * Scores are packed into a single integer in a special database row.
+     * @brief Adds an entry to the batch of {@link #insertScoreStmt}.
+     */
+    private void addScore(ScoreEntry entry) throws SQLException {
+        insertScoreStmt.setInt(1, entry.getTimestamp());
+        insertScoreStmt.setInt(2, entry.getScore());
+        insertScoreStmt.setInt(3, entry.getHeroHealth());
+        insertScoreStmt.setInt(4, entry.getNrOfEscapes());
+        insertScoreStmt.setInt(5, entry.getGold());
+        insertScoreStmt.addBatch();
+    }
+
+    /**
+     * @brief Loads the best scores from the database, highest first.
+     * Walks the score index, so only the returned rows are read.
+     * @param count The maximum number of scores to load.
      * @param access A boolean flag (currently unused).
-     * @return An array of 3 integers representing the top three scores. Returns default values if no scores found.
+     * @return Up to `count` entries; empty if the database cannot be read.
      */
     @Override
-    public int[] loadScore(boolean access) {
-        int nr=1000000000; // Default packed value
-        ResultSet rs = null; // Declare ResultSet outside try
+    public synchronized List<ScoreEntry> loadTopScores(int count, boolean access) {
+        List<ScoreEntry> entries = new ArrayList<>(Math.max(count, 0));
+        if(count <= 0 || !ensureOpen(access)){
+            return entries;
+        }
+        long start = System.nanoTime();
         try {
-            DriverManager.registerDriver(new JDBC());
-            this.c = DriverManager.getConnection(Constants.DB_URL);
-            c.setAutoCommit(false);
-            this.stmt = c.createStatement();
-            stmt.executeUpdate(Constants.CREATE_TABLE_CMD); // Ensure table exists.
-
-            this.pstmt = c.prepareStatement(Constants.GET_SCORE_LINE_CMD);
-            rs = pstmt.executeQuery();
-
-            if(rs.next()){
-                nr = rs.getInt(Constants.CURRENT_STATE); // Scores are stored in CURRENT_STATE column for the special score row.
+            selectTopScoresStmt.setInt(1, count);
+            try (ResultSet rs = selectTopScoresStmt.executeQuery()) {
+                while(rs.next()){
+                    entries.add(new ScoreEntry(rs.getInt(Constants.TIMESTAMP), rs.getInt(Constants.SCORE),
+                            rs.getInt(Constants.HERO_HEALTH), rs.getInt(Constants.HERO_NR_OF_FLEES), rs.getInt(Constants.HERO_GOLD)));
+                }
             }
-        }catch (SQLIntegrityConstraintViolationException e) {
-            System.out.println(); // Original error handling
+            c.commit(); // End the read transaction.
         } catch (Exception e) {
             System.err.println(e.getClass().getName() + ": " + e.getMessage());
-        } finally {
-            try {
-                if (rs != null) rs.close();
-                if (pstmt != null) pstmt.close();
-                if (stmt != null) stmt.close();
-                if (c != null) c.close();
-            } catch (SQLException ex) {
-                System.err.println("Resource cleanup failed: " + ex.getMessage());
-            }
+            rollback();
+            entries.clear();
         }
-        // Unpack scores.
-        int score1 = nr%1000;
-        int score2 = (nr%1000000)/(1000);
-        int score3 = (nr%1000000000)/(1000000) ;
-        int[] scores = new int[3]; scores[0] = score1; scores[1] = score2; scores[2] = score3;
-        return scores;
+        record("loadScores", start);
+        return entries;
     }
 
     /**
-     * @brief Stores high scores into the database.
-     * Scores are packed into a single integer and stored in a special row (identified by TIMESTAMP = -2).
-     * If the score row doesn't exist, it's inserted; otherwise, it's updated.
+     * @brief Stores the scores of finished runs into the database, as one batch in one transaction.
+     * @param entries The entries to store.
      * @param access A boolean flag (currently unused).
-     * @param score1 The first high score.
-     * @param score2 The second high score.
-     * @param score3 The third high score.
      */
     @Override
-    public void storeScore(boolean access, int score1, int score2, int score3) {
-        int nr=1000000000; // Base for packing
-        if((new File(Constants.DB_PATH)).exists()){ // Check if DB file exists
-            nr = 1000000000 + score1 + score2*1000 + score3 * 1000000;
+    public synchronized void storeScores(List<ScoreEntry> entries, boolean access) {
+        if(entries.isEmpty() || !ensureOpen(access)){
+            return;
         }
-        // Temporarily modify buffer for storing the score row.
-        int oldTimestamp = this.load(Constants.TIMESTAMP,access);
-        int oldState = this.load(Constants.CURRENT_STATE,access);
-        this.store(Constants.TIMESTAMP,-2,access); // Special TIMESTAMP for score row.
-        this.store(Constants.CURRENT_STATE,nr,access); // Store packed scores in CURRENT_STATE field.
-
-        ResultSet rs = null; // Declare ResultSet outside try
+        long start = System.nanoTime();
         try {
-            DriverManager.registerDriver(new JDBC());
-            this.c = DriverManager.getConnection(Constants.DB_URL);
-            c.setAutoCommit(false);
-            this.stmt = c.createStatement();
-            stmt.executeUpdate(Constants.CREATE_TABLE_CMD); // Ensure table exists.
-
-            this.pstmt = c.prepareStatement(Constants.GET_SCORE_LINE_CMD);
-            rs = pstmt.executeQuery();
-
-            if(rs.next()){ //exista deja - If score row already exists, update it.
-                // Close the current ResultSet before creating a new PreparedStatement for update
-                if(rs != null) rs.close();
-                try{
-                    this.pstmt = c.prepareStatement(Constants.UPDATE_SCORE_LINE_CMD);
-                    this.pstmt.setInt(1, nr);  // value to set for CURRENT_STATE (packed scores)
-                    this.pstmt.executeUpdate();
-                    c.commit();
-                } catch (SQLException e) {
-                    e.printStackTrace(); // Original error handling
-                }
+            for(ScoreEntry entry : entries){
+                addScore(entry);
             }
-            else{ // If score row does not exist, insert it.
-                // Close the current ResultSet before creating a new PreparedStatement for insert
-                if(rs != null) rs.close();
-                pstmt = c.prepareStatement(Constants.INSERT_CMD);
-                // Populate most fields with current buffer values (some will be irrelevant for score row).
-                // Loop should go up to ALL_DATA_MANAGEMENT_CONSTANTS.length
-                for(int i = 0;i < Constants.ALL_DATA_MANAGEMENT_CONSTANTS.length; ++i){
-                    pstmt.setInt(i+1,load(Constants.ALL_DATA_MANAGEMENT_CONSTANTS[i],access));
-                }
-                // Specifically set TIMESTAMP and CURRENT_STATE for the score row.
-                pstmt.setInt(1,-2); // TIMESTAMP
-                pstmt.setInt(2,nr);  // CURRENT_STATE (packed scores)
-
-                pstmt.executeUpdate();
-                c.commit();
-            }
-
-        }catch (SQLIntegrityConstraintViolationException e) {
-            System.out.println(); // Original error handling
+            insertScoreStmt.executeBatch();
+            c.commit();
         } catch (Exception e) {
             System.err.println(e.getClass().getName() + ": " + e.getMessage());
-        } finally {
             try {
-                if (rs != null) rs.close();
-                if (pstmt != null ) pstmt.close();
-                if (stmt != null) stmt.close();
-                if (c != null ) c.close();
+                insertScoreStmt.clearBatch(); // Don't carry the failed entries into the next batch.
             } catch (SQLException ex) {
-                System.err.println("Resource cleanup failed: " + ex.getMessage());
+                System.err.println("Failed clearing the score batch.\n");
             }
+            rollback();
         }
-
-        // Restore original buffer values for TIMESTAMP and CURRENT_STATE.
-        this.store(Constants.TIMESTAMP,oldTimestamp,access);
-        this.store(Constants.CURRENT_STATE,oldState,access);
+        record("storeScores", start);
     }
-}
\ No newline at end of file
+}
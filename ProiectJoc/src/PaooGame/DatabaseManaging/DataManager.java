@@ -4,6 +4,9 @@ import PaooGame.CustomExceptions.AccessNotPermittedException;
 import PaooGame.CustomExceptions.DataBufferNotReadyException;
 import PaooGame.CustomExceptions.ValueStoreException;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @interface DataManager
  * @brief Defines the contract for managing game data, including loading, storing, and resetting data.
@@ -39,6 +42,26 @@ public interface DataManager {
      */
     public void store(String key, int value, boolean access ) throws AccessNotPermittedException, ValueStoreException;
 
+    /**
+     * @brief Loads the value of a save field.
+     * @param field The field to load.
+     * @param access A boolean flag, potentially for future access control logic.
+     * @return The value of the field.
+     * @throws AccessNotPermittedException If the operation is not permitted.
+     * @throws DataBufferNotReadyException If the underlying data source or buffer is not ready.
+     */
+    public int load(SaveField field, boolean access) throws AccessNotPermittedException, DataBufferNotReadyException;
+
+    /**
+     * @brief Stores the value of a save field.
+     * @param field The field to store.
+     * @param value The value to store.
+     * @param access A boolean flag, potentially for future access control logic.
+     * @throws AccessNotPermittedException If the operation is not permitted.
+     * @throws ValueStoreException If the value is out of the range of the field.
+     */
+    public void store(SaveField field, int value, boolean access) throws AccessNotPermittedException, ValueStoreException;
+
     /**
      * @brief Resets the internal data buffer to a default or initial state.
      * @param access A boolean flag, potentially for future access control logic.
@@ -62,21 +85,45 @@ public interface DataManager {
     public void storeBuffer(boolean access) throws AccessNotPermittedException, ValueStoreException;
 
     /**
-     * @brief Loads the top game scores.
+     * @brief Stores the current state of the internal data buffer in the background.
+     * The buffer is copied before returning; the caller can wait on the returned future when it needs
+     * the save to be durable (e.g. before quitting).
      * @param access A boolean flag, potentially for future access control logic.
-     * @return An array of integers representing the loaded scores (e.g., top 3).
+     * @return A future completing once the data is stored.
      * @throws AccessNotPermittedException If the operation is not permitted.
+     * @throws ValueStoreException If the buffer holds data that cannot be stored.
      */
-    public int[] loadScore(boolean access) throws AccessNotPermittedException;
+    public CompletableFuture<Void> storeBufferAsync(boolean access) throws AccessNotPermittedException, ValueStoreException;
 
     /**
-     * @brief Stores game scores.
+     * @brief Loads the best scores, highest first.
+     * @param count The maximum number of scores to load.
+     * @param access A boolean flag, potentially for future access control logic.
+     * @return Up to `count` entries, ordered by score descending, then by time ascending.
+     * @throws AccessNotPermittedException If the operation is not permitted.
+     */
+    public List<ScoreEntry> loadTopScores(int count, boolean access) throws AccessNotPermittedException;
+
+    /**
+     * @brief Stores the scores of finished runs, in a single batch.
+     * @param entries The entries to store.
+     * @param access A boolean flag, potentially for future access control logic.
+     * @throws AccessNotPermittedException If the operation is not permitted.
+     * @throws ValueStoreException If an entry cannot be stored.
+     */
+    public void storeScores(List<ScoreEntry> entries, boolean access) throws AccessNotPermittedException, ValueStoreException;
+
+    /**
+     * @brief Opens the persistent source, so later loads and stores don't pay for connecting.
+     * @param access A boolean flag, potentially for future access control logic.
+     * @throws AccessNotPermittedException If the operation is not permitted.
+     */
+    public void open(boolean access) throws AccessNotPermittedException;
+
+    /**
+     * @brief Closes the persistent source, releasing everything kept open by {@link #open(boolean)}.
      * @param access A boolean flag, potentially for future access control logic.
-     * @param score1 The first score to store.
-     * @param score2 The second score to store.
-     * @param score3 The third score to store.
      * @throws AccessNotPermittedException If the operation is not permitted.
-     * @throws ValueStoreException If there's an error during the storage process.
      */
-    public void storeScore(boolean access, int score1, int score2, int score3) throws AccessNotPermittedException, ValueStoreException;
+    public void close(boolean access) throws AccessNotPermittedException;
 }
\ No newline at end of file
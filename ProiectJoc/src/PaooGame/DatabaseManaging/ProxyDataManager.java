@@ -6,6 +6,9 @@ import PaooGame.CustomExceptions.DataBufferNotReadyException;
 import PaooGame.CustomExceptions.ValueStoreException;
 import PaooGame.RefLinks;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * @class ProxyDataManager
  * @brief Implements the DataManager interface using a Proxy pattern to control access and add validation to a ConcreteDataManager.
@@ -20,13 +23,24 @@ public class ProxyDataManager implements DataManager {
 
     private ConcreteDataManager concreteDataManager; ///< The actual data manager instance that handles the core data operations.
     private RefLinks reflink; ///< Reference to shared game resources and utilities.
+    private final String databaseUrl; ///< JDBC URL of the database the ConcreteDataManager uses.
 
     /**
-     * @brief Constructs a ProxyDataManager.
+     * @brief Constructs a ProxyDataManager for the game's default database, {@link Constants#DB_URL}.
      * @param reflink A reference to shared game resources, used for instantiating the ConcreteDataManager if needed.
      */
     public ProxyDataManager(RefLinks reflink){
+        this(reflink, Constants.DB_URL);
+    }
+
+    /**
+     * @brief Constructs a ProxyDataManager for a given database.
+     * @param reflink A reference to shared game resources, used for instantiating the ConcreteDataManager if needed.
+     * @param databaseUrl The JDBC URL of the SQLite database, e.g. {@link Constants#DB_IN_MEMORY_URL} for a game that keeps nothing.
+     */
+    public ProxyDataManager(RefLinks reflink, String databaseUrl){
         this.reflink = reflink;
+        this.databaseUrl = databaseUrl;
         // The concreteDataManager is lazily initialized when first needed.
     }
 
@@ -41,27 +55,29 @@ public class ProxyDataManager implements DataManager {
      */
     @Override
     public int load(String key, boolean access) throws AccessNotPermittedException, ValueStoreException, DataBufferNotReadyException {
+        return load(toField(key), access);
+    }
+
+    /**
+     * @brief Loads the value of a save field, with access control.
+     * @param field The field to load.
+     * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
+     * @return The value of the field.
+     * @throws AccessNotPermittedException If `access` is false.
+     * @throws DataBufferNotReadyException If the field holds no data yet.
+     */
+    @Override
+    public int load(SaveField field, boolean access) throws AccessNotPermittedException, DataBufferNotReadyException {
         if(!access){
             throw new AccessNotPermittedException("Concrete Data Manager");
         }
 
-        boolean keyFound = false;
-        for(String token : Constants.ALL_DATA_MANAGEMENT_CONSTANTS){
-            if(key.compareTo(token)==0){ // Check if the key is a known constant.
-                keyFound = true;
-                break; // Found the key, no need to continue loop.
-            }
-        }
-        if(!keyFound){
-            throw new ValueStoreException("Invalid key given.\n");
-        }
-
         if(this.concreteDataManager == null){ // Lazy initialization of the concrete manager.
-            this.concreteDataManager = ConcreteDataManager.getInstance(this.reflink);
+            this.concreteDataManager = new ConcreteDataManager(this.reflink, this.databaseUrl);
         }
 
-        int returnVal = this.concreteDataManager.load(key,true); // Delegate to concrete manager.
-        if( returnVal ==  -1){ // Check if the loaded value indicates an uninitialized state.
+        int returnVal = this.concreteDataManager.load(field,true); // Delegate to concrete manager.
+        if( returnVal == SaveField.UNSET){ // Check if the loaded value indicates an uninitialized state.
             throw new DataBufferNotReadyException();
         }
         return returnVal;
@@ -77,86 +93,42 @@ public class ProxyDataManager implements DataManager {
      */
     @Override
     public void store(String key, int value, boolean access) throws AccessNotPermittedException, ValueStoreException {
+        store(toField(key), value, access);
+    }
+
+    /**
+     * @brief Stores the value of a save field, with access control and range validation.
+     * @param field The field to store.
+     * @param value The value to store.
+     * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
+     * @throws AccessNotPermittedException If `access` is false.
+     * @throws ValueStoreException If the value is out of the range of the field (see {@link SaveField#validate(int)}).
+     */
+    @Override
+    public void store(SaveField field, int value, boolean access) throws AccessNotPermittedException, ValueStoreException {
         if(!access){
-            throw new AccessNotPermittedException("Concrete Data Maganer"); // Typo: "Maganer" should be "Manager"
-        }
-        // Perform validation based on the key.
-        switch (key){
-            case Constants.CURRENT_STATE:
-                if( !(value==1 || value==2 || value==3) ){ // Valid level IDs.
-                    throw new ValueStoreException("Invalid level ID given.\n");
-                }
-                break;
-            // Health values validation.
-            case Constants.HERO_HEALTH:
-            case Constants.TIGER0_HEALTH:
-            case Constants.TIGER1_HEALTH:
-            case Constants.BASIC_SKELETON0_HEALTH:
-            case Constants.BASIC_SKELETON1_HEALTH:
-            case Constants.STRONG_SKELETON0_HEALTH:
-            case Constants.BOSS_HEALTH:
-            case Constants.MINOTAUR0_HEALTH:
-            case Constants.MINOTAUR1_HEALTH:
-            case Constants.GHOST0_HEALTH:
-            case Constants.GHOST1_HEALTH:
-                if( value<0 || value > 100){ // Health between 0 and 100.
-                    throw new ValueStoreException("Invalid argument given.\nHealth has to be between 0 and 100.\n");
-                }
-                break;
-            case Constants.HERO_HAS_WHIP:
-                if( !(value == 0 || value ==1)){ // Boolean represented as 0 or 1.
-                    throw new ValueStoreException("Invalid argument given.\nThis data is boolean so please insert only 0/1.\n");
-                }
-                break;
-            case Constants.HERO_NR_OF_FLEES:
-                if( value < 0 || value >this.reflink.getHero().getMaxNrOfEscapes()){
-                    throw new ValueStoreException("Invalid argument given.\nThe value has to be between 0 and " + this.reflink.getHero().getMaxNrOfEscapes()+".\n");
-                }
-                break;
-            case Constants.HERO_NR_OF_COLLECTED_SAVES:
-                if( value < 0 || value >6){ // Max 6 collected saves.
-                    throw new ValueStoreException("Invalid argument given.\nThe value has to be between 0 and  6.\n");
-                }
-                break;
-            case Constants.HERO_NR_OF_FINISHED_LEVELS:
-                if(!(value == 0 || value == 1 || value ==2 || value == 3)){ // Max 3 finished levels.
-                    throw new ValueStoreException("Invalid argument given.\nThe value has to be between 0 and  3.\n");
-                }
-                break;
-            case Constants.HERO_GOLD:
-                if(value<0){ // Gold must be non-negative.
-                    throw new ValueStoreException("Invalid amount of gold!\nIt has to be positive!\n");
-                }
-                break;
-            // Coordinates and timestamp validation.
-            case Constants.HERO_X:
-            case Constants.HERO_Y:
-            case Constants.TIMESTAMP:
-                if(value<0 && key.equals(Constants.TIMESTAMP) && value != -2){ // Allow -2 for score row timestamp
-                    throw new ValueStoreException("Invalid argument given.\nThe timestamp epoch time value should always be positive (or -2 for scores).\n");
-                } else if (value < 0 && !key.equals(Constants.TIMESTAMP)) {
-                    throw new ValueStoreException("Invalid argument given.\nCoordinates should be positive.\n");
-                }
-                break;
-            default:
-                boolean isKnownKey = false;
-                for(String token : Constants.ALL_DATA_MANAGEMENT_CONSTANTS){
-                    if(key.compareTo(token)==0){
-                        isKnownKey = true;
-                        break;
-                    }
-                }
-                if(!isKnownKey) {
-                    throw new ValueStoreException("Invalid key given.\n");
-                }
-                // If key is known but not handled by specific cases above, it passes (e.g. enemy positions if they were stored)
-                break;
+            throw new AccessNotPermittedException("Concrete Data Manager");
         }
+        field.validate(value);
 
         if (this.concreteDataManager == null){ // Lazy initialization.
-            this.concreteDataManager = ConcreteDataManager.getInstance(this.reflink);
+            this.concreteDataManager = new ConcreteDataManager(this.reflink, this.databaseUrl);
+        }
+        this.concreteDataManager.store(field,value,true); // Delegate to concrete manager.
+    }
+
+    /**
+     * @brief Gets the save field a key stands for.
+     * @param key The key of the field.
+     * @return The field.
+     * @throws ValueStoreException If no field has this key.
+     */
+    private static SaveField toField(String key) throws ValueStoreException {
+        SaveField field = SaveField.fromKey(key);
+        if(field == null){
+            throw new ValueStoreException("Invalid key given.\n");
         }
-        this.concreteDataManager.store(key,value,true); // Delegate to concrete manager.
+        return field;
     }
 
     /**
@@ -171,7 +143,7 @@ public class ProxyDataManager implements DataManager {
             throw new AccessNotPermittedException("Concrete Data Manager");
         }
         if (this.concreteDataManager == null){ // Lazy initialization.
-            this.concreteDataManager = ConcreteDataManager.getInstance(this.reflink);
+            this.concreteDataManager = new ConcreteDataManager(this.reflink, this.databaseUrl);
         }
         // Restore states of individual levels before resetting the buffer.
         this.reflink.getGame().getLevel1State().restoreState();
@@ -192,7 +164,7 @@ public class ProxyDataManager implements DataManager {
         }
 
         if(this.concreteDataManager == null){ // Lazy initialization.
-            this.concreteDataManager = ConcreteDataManager.getInstance(this.reflink);
+            this.concreteDataManager = new ConcreteDataManager(this.reflink, this.databaseUrl);
         }
         this.concreteDataManager.loadBuffer(access); // Delegate to concrete manager.
     }
@@ -201,73 +173,120 @@ public class ProxyDataManager implements DataManager {
      * @brief Stores the current buffer state to a persistent source, with access control and data validation.
      * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
      * @throws AccessNotPermittedException If `access` is false.
-     * @throws ValueStoreException If any data in the buffer is found to be invalid (-1) before storing.
+     * @throws ValueStoreException If any data in the buffer holds no data yet before storing.
      */
     @Override
     public void storeBuffer(boolean access) throws AccessNotPermittedException, ValueStoreException {
+        checkBufferStorable(access);
+        this.concreteDataManager.storeBuffer(access); // Delegate to concrete manager.
+    }
+
+    /**
+     * @brief Stores the current buffer state in the background, with access control and data validation.
+     * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
+     * @return A future completing once the data is stored.
+     * @throws AccessNotPermittedException If `access` is false.
+     * @throws ValueStoreException If any data in the buffer holds no data yet before storing.
+     */
+    @Override
+    public CompletableFuture<Void> storeBufferAsync(boolean access) throws AccessNotPermittedException, ValueStoreException {
+        checkBufferStorable(access);
+        return this.concreteDataManager.storeBufferAsync(access); // Delegate to concrete manager.
+    }
+
+    /**
+     * @brief Checks that the buffer may and can be stored.
+     * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
+     * @throws AccessNotPermittedException If `access` is false.
+     * @throws ValueStoreException If any data in the buffer holds no data yet.
+     */
+    private void checkBufferStorable(boolean access) throws AccessNotPermittedException, ValueStoreException {
         if(!access){
             throw new AccessNotPermittedException("Concrete Data Manager");
         }
         if(this.concreteDataManager == null){ // Lazy initialization.
-            this.concreteDataManager = ConcreteDataManager.getInstance(this.reflink);
+            this.concreteDataManager = new ConcreteDataManager(this.reflink, this.databaseUrl);
         }
 
-        boolean invalidData=false;
-        // Check if any essential data in the buffer is uninitialized (-1).
-        for(String key : Constants.ALL_DATA_MANAGEMENT_CONSTANTS){
-            if(this.concreteDataManager.load(key,access)==-1){ // Assuming true access for internal check.
-                invalidData = true;
-                break; // Found invalid data, no need to check further.
-            }
-        }
-
-        if(invalidData){
+        // Check if any essential data in the buffer is uninitialized.
+        if(!this.concreteDataManager.isBufferComplete()){
             throw new ValueStoreException("Can't currently store data in the database.\nSome values are invalid.\n");
         }
-        this.concreteDataManager.storeBuffer(access); // Delegate to concrete manager.
     }
 
     /**
-     * @brief Loads game scores, with access control.
+     * @brief Loads the best scores, with access control.
+     * @param count The maximum number of scores to load.
      * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
-     * @return An array of integers representing the loaded scores.
+     * @return Up to `count` entries, highest score first.
      * @throws AccessNotPermittedException If `access` is false.
      */
     @Override
-    public int[] loadScore(boolean access) throws AccessNotPermittedException {
+    public List<ScoreEntry> loadTopScores(int count, boolean access) throws AccessNotPermittedException {
         if(!access){
             throw new AccessNotPermittedException("Load from the Database");
         }
 
         if(this.concreteDataManager == null){ // Lazy initialization.
-            this.concreteDataManager = ConcreteDataManager.getInstance(this.reflink);
+            this.concreteDataManager = new ConcreteDataManager(this.reflink, this.databaseUrl);
         }
-        return this.concreteDataManager.loadScore(access); // Delegate to concrete manager.
+        return this.concreteDataManager.loadTopScores(count, access); // Delegate to concrete manager.
     }
 
     /**
-     * @brief Stores game scores, with access control and score validation.
+     * @brief Stores the scores of finished runs, with access control and score validation.
+     * @param entries The entries to store.
      * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
-     * @param score1 The first score to store.
-     * @param score2 The second score to store.
-     * @param score3 The third score to store.
      * @throws AccessNotPermittedException If `access` is false.
-     * @throws ValueStoreException If any score is outside the valid range (0-999).
+     * @throws ValueStoreException If any score is negative.
      */
     @Override
-    public void storeScore(boolean access, int score1, int score2, int score3) throws AccessNotPermittedException, ValueStoreException {
+    public void storeScores(List<ScoreEntry> entries, boolean access) throws AccessNotPermittedException, ValueStoreException {
         if(!access){
             throw new AccessNotPermittedException("Store to the Database");
         }
 
-        // Validate score ranges.
-        if(score1<0 || score1>999 || score2<0 || score2>999 || score3<0 || score3>999){
-            throw new ValueStoreException("Please insert scores between 0 and 999..\n");
+        // Validate scores.
+        for(ScoreEntry entry : entries){
+            if(entry.getScore() < 0){
+                throw new ValueStoreException("Please insert positive scores.\n");
+            }
+        }
+
+        if(this.concreteDataManager == null){ // Lazy initialization.
+            this.concreteDataManager = new ConcreteDataManager(this.reflink, this.databaseUrl);
         }
+        this.concreteDataManager.storeScores(entries, access); // Delegate to concrete manager.
+    }
 
+    /**
+     * @brief Opens the persistent source, with access control.
+     * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
+     * @throws AccessNotPermittedException If `access` is false.
+     */
+    @Override
+    public void open(boolean access) throws AccessNotPermittedException {
+        if(!access){
+            throw new AccessNotPermittedException("Open the Database");
+        }
         if(this.concreteDataManager == null){ // Lazy initialization.
-            this.concreteDataManager = ConcreteDataManager.getInstance(this.reflink);
+            this.concreteDataManager = new ConcreteDataManager(this.reflink, this.databaseUrl);
+        }
+        this.concreteDataManager.open(access); // Delegate to concrete manager.
+    }
+
+    /**
+     * @brief Closes the persistent source, with access control.
+     * @param access A boolean flag; if false, an AccessNotPermittedException is thrown.
+     * @throws AccessNotPermittedException If `access` is false.
+     */
+    @Override
+    public void close(boolean access) throws AccessNotPermittedException {
+        if(!access){
+            throw new AccessNotPermittedException("Close the Database");
+        }
+        if(this.concreteDataManager != null){ // Nothing to close if it was never opened.
+            this.concreteDataManager.close(access);
         }
-        this.concreteDataManager.storeScore(access,score1,score2,score3); // Delegate to concrete manager.
     }
-}
\ No newline at end of file
+}
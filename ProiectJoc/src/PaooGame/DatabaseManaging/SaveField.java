@@ -0,0 +1,147 @@
+package PaooGame.DatabaseManaging;
+
+import PaooGame.Config.Constants;
+import PaooGame.CustomExceptions.ValueStoreException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @enum SaveField
+ * @brief The values making up a game save, with the range each one may take.
+ *
+ * The declaration order is the column order of the GameData table, and the ordinal of a field
+ * is its index in the save buffer, so a field is read or written without any lookup.
+ * The range of every field is checked when it is stored (see {@link #validate(int)}); a field
+ * holding {@link #UNSET} has not been loaded or stored yet.
+ */
+public enum SaveField {
+    TIMESTAMP(Constants.TIMESTAMP, 0, Integer.MAX_VALUE, 0),
+    CURRENT_STATE(Constants.CURRENT_STATE, 1, 3, 1),
+    HERO_HEALTH(Constants.HERO_HEALTH, 0, 100, 100),
+    HERO_X(Constants.HERO_X, 0, Integer.MAX_VALUE, Constants.HERO_LEVEL1_STARTING_X),
+    HERO_Y(Constants.HERO_Y, 0, Integer.MAX_VALUE, Constants.HERO_LEVEL1_STARTING_Y),
+    HERO_HAS_WHIP(Constants.HERO_HAS_WHIP, 0, 1, 0),
+    HERO_NR_OF_FLEES(Constants.HERO_NR_OF_FLEES, 0, Constants.HERO_MAX_NR_OF_ESCAPES, Constants.HERO_MAX_NR_OF_ESCAPES),
+    HERO_NR_OF_COLLECTED_SAVES(Constants.HERO_NR_OF_COLLECTED_SAVES, 0, 6, 0),
+    HERO_NR_OF_FINISHED_LEVELS(Constants.HERO_NR_OF_FINISHED_LEVELS, 0, 3, 0),
+    HERO_GOLD(Constants.HERO_GOLD, 0, Integer.MAX_VALUE, 0),
+    TIGER0_HEALTH(Constants.TIGER0_HEALTH, 0, 100, 100),
+    TIGER1_HEALTH(Constants.TIGER1_HEALTH, 0, 100, 100),
+    BASIC_SKELETON0_HEALTH(Constants.BASIC_SKELETON0_HEALTH, 0, 100, 100),
+    BASIC_SKELETON1_HEALTH(Constants.BASIC_SKELETON1_HEALTH, 0, 100, 100),
+    STRONG_SKELETON0_HEALTH(Constants.STRONG_SKELETON0_HEALTH, 0, 100, 100),
+    BOSS_HEALTH(Constants.BOSS_HEALTH, 0, 100, 100),
+    MINOTAUR0_HEALTH(Constants.MINOTAUR0_HEALTH, 0, 100, 100),
+    MINOTAUR1_HEALTH(Constants.MINOTAUR1_HEALTH, 0, 100, 100),
+    GHOST0_HEALTH(Constants.GHOST0_HEALTH, 0, 100, 100),
+    GHOST1_HEALTH(Constants.GHOST1_HEALTH, 0, 100, 100);
+
+    public static final int UNSET = -1;                 ///< Value of a field that holds no data yet.
+    public static final int SCORE_ROW_TIMESTAMP = -2;   ///< Timestamp of the old GameData row holding the packed scores instead of a save.
+
+    private static final SaveField[] FIELDS = values();                     ///< Every field, by ordinal; values() copies the array on each call.
+    private static final Map<String,SaveField> BY_KEY = new HashMap<>();    ///< Every field, by column name.
+
+    static {
+        for(SaveField field : FIELDS){
+            BY_KEY.put(field.key, field);
+        }
+    }
+
+    private final String key;       ///< The column name of the field, also used as its key by the String based API.
+    private final int min;          ///< The smallest valid value.
+    private final int max;          ///< The largest valid value.
+    private final int resetValue;   ///< The value of the field when a new game starts.
+
+    /**
+     * @brief Constructs a save field.
+     * @param key The column name of the field.
+     * @param min The smallest valid value.
+     * @param max The largest valid value.
+     * @param resetValue The value of the field when a new game starts.
+     */
+    SaveField(String key, int min, int max, int resetValue){
+        this.key = key;
+        this.min = min;
+        this.max = max;
+        this.resetValue = resetValue;
+    }
+
+    /**
+     * @brief Gets the column name of the field.
+     * @return The key of the field, one of the constants in {@link Constants}.
+     */
+    public String getKey(){return this.key;}
+
+    /**
+     * @brief Gets the smallest valid value of the field.
+     * @return The lower bound, inclusive.
+     */
+    public int getMin(){return this.min;}
+
+    /**
+     * @brief Gets the largest valid value of the field.
+     * @return The upper bound, inclusive.
+     */
+    public int getMax(){return this.max;}
+
+    /**
+     * @brief Gets the value of the field when a new game starts.
+     * The timestamp is set to the current time instead.
+     * @return The starting value.
+     */
+    public int getResetValue(){return this.resetValue;}
+
+    /**
+     * @brief Checks whether a value may be stored in the field.
+     * @param value The value to check.
+     * @return true if the value is within the range of the field, or is the score row timestamp.
+     */
+    public boolean isValid(int value){
+        if(this == TIMESTAMP && value == SCORE_ROW_TIMESTAMP){
+            return true;
+        }
+        return value >= this.min && value <= this.max;
+    }
+
+    /**
+     * @brief Checks that a value may be stored in the field.
+     * @param value The value to check.
+     * @throws ValueStoreException If the value is out of the range of the field.
+     */
+    public void validate(int value) throws ValueStoreException {
+        if(!isValid(value)){
+            if(this.max == Integer.MAX_VALUE){
+                throw new ValueStoreException("Invalid argument given.\n" + this.key + " has to be at least " + this.min + ".\n");
+            }
+            throw new ValueStoreException("Invalid argument given.\n" + this.key + " has to be between " + this.min + " and " + this.max + ".\n");
+        }
+    }
+
+    /**
+     * @brief Gets the number of fields in a save.
+     * @return The length of a save buffer.
+     */
+    public static int count(){
+        return FIELDS.length;
+    }
+
+    /**
+     * @brief Gets a field by its ordinal, without copying the values array.
+     * @param index The ordinal of the field, which is also its column index minus one.
+     * @return The field.
+     */
+    public static SaveField get(int index){
+        return FIELDS[index];
+    }
+
+    /**
+     * @brief Gets a field by its column name.
+     * @param key The key of the field.
+     * @return The field, or null if no field has this key.
+     */
+    public static SaveField fromKey(String key){
+        return BY_KEY.get(key);
+    }
+}
@@ -0,0 +1,65 @@
+package PaooGame.DatabaseManaging;
+
+/**
+ * @class ScoreEntry
+ * @brief One finished run, as stored in the Scores table.
+ *
+ * Besides the score itself, an entry keeps when the run was finished and the hero's state at
+ * the end of it, which the score is computed from. Entries migrated from the old packed score
+ * row don't have that information; their timestamp and hero values are {@link #UNKNOWN}.
+ */
+public class ScoreEntry {
+    public static final int UNKNOWN = -1;   ///< Value of the fields a migrated entry has no data for.
+
+    private final int timestamp;    ///< Epoch second at which the run was finished.
+    private final int score;        ///< The score of the run.
+    private final int heroHealth;   ///< The hero's health at the end of the run.
+    private final int nrOfEscapes;  ///< The escapes the hero had left at the end of the run.
+    private final int gold;         ///< The gold the hero had at the end of the run.
+
+    /**
+     * @brief Constructs a score entry.
+     * @param timestamp Epoch second at which the run was finished.
+     * @param score The score of the run.
+     * @param heroHealth The hero's health at the end of the run.
+     * @param nrOfEscapes The escapes the hero had left at the end of the run.
+     * @param gold The gold the hero had at the end of the run.
+     */
+    public ScoreEntry(int timestamp, int score, int heroHealth, int nrOfEscapes, int gold){
+        this.timestamp = timestamp;
+        this.score = score;
+        this.heroHealth = heroHealth;
+        this.nrOfEscapes = nrOfEscapes;
+        this.gold = gold;
+    }
+
+    /**
+     * @brief Gets when the run was finished.
+     * @return The epoch second, or {@link #UNKNOWN}.
+     */
+    public int getTimestamp(){return this.timestamp;}
+
+    /**
+     * @brief Gets the score of the run.
+     * @return The score.
+     */
+    public int getScore(){return this.score;}
+
+    /**
+     * @brief Gets the hero's health at the end of the run.
+     * @return The health, or {@link #UNKNOWN}.
+     */
+    public int getHeroHealth(){return this.heroHealth;}
+
+    /**
+     * @brief Gets the escapes the hero had left at the end of the run.
+     * @return The number of escapes, or {@link #UNKNOWN}.
+     */
+    public int getNrOfEscapes(){return this.nrOfEscapes;}
+
+    /**
+     * @brief Gets the gold the hero had at the end of the run.
+     * @return The gold, or {@link #UNKNOWN}.
+     */
+    public int getGold(){return this.gold;}
+}
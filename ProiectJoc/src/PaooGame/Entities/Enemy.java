@@ -5,7 +5,6 @@ import PaooGame.Config.Constants;
 import PaooGame.Hitbox.Hitbox;
 import PaooGame.Maps.Level;
 import PaooGame.RefLinks;
-import PaooGame.States.State;
 import PaooGame.Strategies.EnemyStrategies.EnemyStrategy;
 
 import java.util.Objects;
@@ -27,6 +26,10 @@ public class Enemy extends Entity {
 
     private int directionSwitchCounter = 5; ///< Counter to manage a direction switch timeout
 
+    private boolean isAsleep = false; ///< True while the enemy is far from the camera and runs the coarse patrol instead of the full update.
+    private float patrolLeftX = Float.NaN; ///< Hitbox x where the enemy last turned at the left end of its ground, NaN until seen awake.
+    private float patrolRightX = Float.NaN; ///< Hitbox x where the enemy last turned at the right end of its ground, NaN until seen awake.
+
     /**
      * @brief Constructs an Enemy object.
      *
@@ -75,7 +78,7 @@ public class Enemy extends Entity {
         this.damage = this.enemyStrategy.getDamage();
         this.health = this.enemyStrategy.getHealth();
 
-        this.behaviorIDsToRespect = this.enemyStrategy.getBehaviorIDsToRespect();
+        this.behaviorGrid = this.enemyStrategy.getBehaviorGrid();
 
 
     }
@@ -90,13 +93,69 @@ public class Enemy extends Entity {
 
     }
 
+    /**
+     * @brief Puts the enemy to sleep or wakes it up, depending on how far it is from the camera.
+     *
+     * The enemy wakes once its hitbox comes within {@link Constants#ENEMY_WAKE_MARGIN} of the visible area and
+     * falls asleep only once it is farther than {@link Constants#ENEMY_SLEEP_MARGIN}, so an enemy at the border
+     * doesn't switch every update. Engaged enemies always stay awake.
+     * @param viewLeft The world x-coordinate of the left edge of the visible area.
+     * @param viewTop The world y-coordinate of the top edge of the visible area.
+     * @param viewRight The world x-coordinate of the right edge of the visible area.
+     * @param viewBottom The world y-coordinate of the bottom edge of the visible area.
+     */
+    public void updateActivity(double viewLeft, double viewTop, double viewRight, double viewBottom){
+        if(this.isAsleep){
+            if(this.isEngaged || isNearView(viewLeft, viewTop, viewRight, viewBottom, Constants.ENEMY_WAKE_MARGIN)){
+                wakeUp();
+            }
+        }
+        else if(!this.isEngaged && !isNearView(viewLeft, viewTop, viewRight, viewBottom, Constants.ENEMY_SLEEP_MARGIN)){
+            this.isAsleep = true;
+        }
+    }
+
+    /**
+     * @brief Checks whether the hitbox is within a margin of the visible area.
+     */
+    private boolean isNearView(double viewLeft, double viewTop, double viewRight, double viewBottom, int margin){
+        return this.hitbox.getX() + this.hitbox.getWidth() >= viewLeft - margin && this.hitbox.getX() <= viewRight + margin &&
+                this.hitbox.getY() + this.hitbox.getHeight() >= viewTop - margin && this.hitbox.getY() <= viewBottom + margin;
+    }
+
+    /**
+     * @brief Resumes the full update after the coarse patrol.
+     *
+     * The coarse patrol only moved the hitbox along the ground, so the facing and the visual position are
+     * synchronized with it, and the ground probe is armed so the next update checks for an edge right away.
+     */
+    private void wakeUp(){
+        this.isAsleep = false;
+        this.flipped = this.speed > 0;
+        this.directionSwitchCounter = 5;
+        updateVisualPosition();
+    }
+
+    /**
+     * @brief Checks whether the enemy is asleep.
+     * @return True if the enemy runs the coarse patrol instead of the full update.
+     */
+    public boolean getIsAsleep(){
+        return this.isAsleep;
+    }
+
     /**
      * @brief Updates the enemy's state and behavior.
      *
      * Handles gravity, movement, collision detection, and animation updates based on the enemy's current state.
+     * An enemy asleep (see {@link #updateActivity}) runs the coarse patrol instead.
      */
     @Override
     public void update(){
+        if(this.isAsleep){
+            updateAsleep();
+            return;
+        }
         if(this.currentState == Constants.ENEMY_STATES.FALLING || this.currentState == Constants.ENEMY_STATES.WALKING){
             this.hitbox.setWidth(this.enemyStrategy.getHitboxWidth());
             this.hitbox.setHeight(this.enemyStrategy.getHitboxHeight());
@@ -109,6 +168,30 @@ public class Enemy extends Entity {
 
     }
 
+    /**
+     * @brief The coarse patrol of a sleeping enemy.
+     *
+     * A grounded enemy that has already walked to both ends of its ground while awake keeps walking between
+     * them, without gravity, collision or ground probes. Any other enemy stays where it is until it wakes.
+     * The animation still advances, since it is shared with the other enemies of the same type.
+     */
+    private void updateAsleep(){
+        if(this.isGrounded && this.patrolLeftX < this.patrolRightX){ // false while either end is NaN
+            float nextX = this.hitbox.getX() + this.speed;
+            if(nextX <= this.patrolLeftX){
+                nextX = this.patrolLeftX;
+                this.speed = Math.abs(this.speed);
+            }
+            else if(nextX >= this.patrolRightX){
+                nextX = this.patrolRightX;
+                this.speed = -Math.abs(this.speed);
+            }
+            this.hitbox.setX(nextX);
+            updateVisualPosition();
+        }
+        this.getAnimationByState().updateAnimation();
+    }
+
     /**
      * @brief Updates the enemy's visual position based on its hitbox.
      *
@@ -154,7 +237,7 @@ public class Enemy extends Entity {
             }
         }
 
-        boolean isInFightState = State.getState() != null && Objects.equals(State.getState().getStateName(), Constants.FIGHT_STATE);
+        boolean isInFightState = this.reflink.getState() != null && Objects.equals(this.reflink.getState().getStateName(), Constants.FIGHT_STATE);
         if (this.isEngaged && isInFightState) {
             this.currentState = Constants.ENEMY_STATES.IN_FIGHT_IDLE;
         }
@@ -185,9 +268,17 @@ public class Enemy extends Entity {
         float originalX = this.hitbox.getX(); // the left side of the hitbox
         float deltaX = this.velocityX; // how much the enemy should move in a direction on the X axis
 
-        boolean changingDirection = !Level.isGroundAhead(this.hitbox,!this.flipped,this.enemyStrategy.getLevelWidthInTiles(),this.enemyStrategy.getLevelHeightInTiles(),this.behaviorIDsToRespect);
+        boolean changingDirection = !Level.isGroundAhead(this.hitbox,!this.flipped,this.behaviorGrid);
         if(directionSwitchCounter == 5){
             if(changingDirection){
+                if(this.isGrounded){ // remember the ends of the ground for the coarse patrol
+                    if(speed<0){
+                        this.patrolLeftX = originalX;
+                    }
+                    else{
+                        this.patrolRightX = originalX;
+                    }
+                }
                 speed=-speed;
                 this.directionSwitchCounter=0;
             }
@@ -213,7 +304,7 @@ public class Enemy extends Entity {
         float deltaY = this.velocityY;
         this.hitbox.setY(originalY + deltaY);
 
-        int fallCheckResult = Level.checkFalling(hitbox,this.enemyStrategy.getLevelWidthInTiles(),this.enemyStrategy.getLevelHeightInTiles(),this.behaviorIDsToRespect);
+        int fallCheckResult = Level.checkFalling(hitbox,this.behaviorGrid);
 
 
         if (this.velocityY > 0) { // Moving Down
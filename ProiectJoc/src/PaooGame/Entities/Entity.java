@@ -4,6 +4,7 @@ import PaooGame.Animations.Animation;
 import PaooGame.Config.Constants;
 import PaooGame.HUD.HealthBar;
 import PaooGame.Hitbox.Hitbox;
+import PaooGame.Maps.BehaviorGrid;
 import PaooGame.RefLinks;
 
 import java.awt.*;
@@ -21,7 +22,7 @@ public abstract class Entity {
     protected float x; ///< The x-coordinate of the entity's position.
     protected float y; ///< The y-coordinate of the entity's position.
     private HealthBar healthBar; ///< The health bar associated with this entity.
-    protected int[] behaviorIDsToRespect; ///< Array of tile behavior IDs that this entity should respect or interact with.
+    protected BehaviorGrid behaviorGrid; ///< Flags of the level tiles that this entity should respect or interact with.
 
 
     protected boolean isEngaged; ///< Flag indicating if the entity is currently engaged in combat or a specific interaction.
@@ -6,12 +6,12 @@ import PaooGame.Config.Constants;
 import PaooGame.CustomExceptions.AccessNotPermittedException;
 import PaooGame.CustomExceptions.DataBufferNotReadyException;
 import PaooGame.CustomExceptions.ValueStoreException;
+import PaooGame.DatabaseManaging.SaveField;
 import PaooGame.Hitbox.Hitbox;
 import PaooGame.Maps.Level;
 import PaooGame.RefLinks;
-import PaooGame.States.State;
+import PaooGame.Scheduling.ScheduledTask;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.event.KeyEvent;
 
@@ -26,7 +26,7 @@ import java.awt.event.KeyEvent;
 public class Hero extends Entity {
     private float jumpStrength; ///< The initial upward velocity applied when the hero jumps.
 
-    private Timer deathAnimationTimer; ///< Timer to manage the duration of the death animation/state.
+    private ScheduledTask deathAnimationTimer; ///< Timer to manage the duration of the death animation/state.
     private int timeoutInMillisForDeathAnimation = 600; ///< Duration of the death animation state in milliseconds.
     private boolean isDying = false; ///< Flag indicating if the hero is currently in the dying state.
     private int currentGrappleX = 0; ///< The X-coordinate (tile index) of the current grapple point.
@@ -37,7 +37,7 @@ public class Hero extends Entity {
 
     private boolean hasWhip = false; ///< Flag indicating if the hero has acquired the whip.
 
-    private Timer grappleExpiredTimer; ///< Timer to manage the duration of a grapple attempt.
+    private ScheduledTask grappleExpiredTimer; ///< Timer to manage the duration of a grapple attempt.
     private int grappleTimeoutMillis = 120; ///< Timeout for a grapple attempt in milliseconds.
     private boolean isGrapplingTimerExpired = false; ///< Flag indicating if the grapple timer has expired.
     private boolean isGrappleInterrupted = false; ///< Flag indicating if the grapple action was interrupted (e.g., by jumping).
@@ -45,7 +45,7 @@ public class Hero extends Entity {
     private boolean isEngageReady = true; ///< Flag indicating if the hero can engage in combat or other interactions.
 
     private int nrOfEscapes = 2; ///< The current number of escapes (from fights) the hero has.
-    private int maxNrOfEscapes = 2; ///< The maximum number of escapes the hero can have.
+    private int maxNrOfEscapes = Constants.HERO_MAX_NR_OF_ESCAPES; ///< The maximum number of escapes the hero can have.
     private int nrOfCompletedLevels = 0; ///< The number of levels the hero has successfully completed.
 
     private int nrOfCollectedSaves = 0; ///< The number of save points or collectibles the hero has gathered.
@@ -60,8 +60,6 @@ public class Hero extends Entity {
     private float hitboxOffsetX = 16; ///< Offset for the hero's hitbox X-position relative to the hero's X-position.
     private float hitboxOffsetY = 9; ///< Offset for the hero's hitbox Y-position relative to the hero's Y-position.
 
-    private int LEVEL_WIDTH; ///< The width of the current level in tiles.
-    private int LEVEL_HEIGHT; ///< The height of the current level in tiles.
 
 
     private Animation idleAnimation; ///< Animation for when the hero is idle.
@@ -82,13 +80,12 @@ public class Hero extends Entity {
     public Hero(RefLinks refLink, int startX, int startY) {
         super(refLink,startX,startY);
 
-        this.deathAnimationTimer = new Timer(this.timeoutInMillisForDeathAnimation,e->{
+        this.deathAnimationTimer = this.reflink.getScheduler().createTask(this.timeoutInMillisForDeathAnimation, false, () -> {
             this.health = 0;
             this.isDying = false;
         });
-        this.deathAnimationTimer.setRepeats(false);
 
-        this.grappleExpiredTimer = new Timer(this.grappleTimeoutMillis,e -> {
+        this.grappleExpiredTimer = this.reflink.getScheduler().createTask(this.grappleTimeoutMillis, false, () -> {
             this.isGrappling = false;
             this.isGrapplingTimerExpired = true;
             if(!this.didJumpAfterGrapple){
@@ -99,7 +96,6 @@ public class Hero extends Entity {
             this.didJumpAfterGrapple = false;
 
         });
-        this.grappleExpiredTimer.setRepeats(false);
 
 
         this.jumpStrength = Constants.HERO_BASE_JUMP_STRENGTH;  // Initial upward velocity (negative Y).
@@ -157,7 +153,7 @@ public class Hero extends Entity {
     public void update() {
         handleBehaviorIDs();
 
-        if( Level.checkFalling(this.getHitbox(),this.LEVEL_WIDTH,this.LEVEL_HEIGHT,this.behaviorIDsToRespect) ==1){
+        if( Level.checkFalling(this.getHitbox(),this.behaviorGrid) ==1){
             this.deathAnimationTimer.start();
             this.isDying = true;
         }
@@ -293,13 +289,13 @@ public class Hero extends Entity {
 
         boolean horizontalCollision = false;
 
-        if(Level.checkCeilingCollision(hitbox,this.LEVEL_WIDTH,this.LEVEL_HEIGHT,this.behaviorIDsToRespect)){
+        if(Level.checkCeilingCollision(hitbox,this.behaviorGrid)){
             this.velocityY=1;
             // if the hero touches the ceiling, it is sent back down
         }
 
         if (this.velocityX > 0) { // right side collision
-            if (Level.checkWallCollision(hitbox, true,this.LEVEL_WIDTH,this.LEVEL_HEIGHT,this.behaviorIDsToRespect)) {
+            if (Level.checkWallCollision(hitbox, true,this.behaviorGrid)) {
                 horizontalCollision = true;
 
                 // this check is made in order to make sure the collision happens INSIDE the hitbox
@@ -318,7 +314,7 @@ public class Hero extends Entity {
 
             }
         } else if (this.velocityX < 0) { // left side collision
-            if (Level.checkWallCollision(hitbox, false,this.LEVEL_WIDTH,this.LEVEL_HEIGHT,this.behaviorIDsToRespect)) {
+            if (Level.checkWallCollision(hitbox, false,this.behaviorGrid)) {
                 horizontalCollision = true;
 
                 float checkCoordOutsideLeft = hitbox.getX() - Constants.EPSILON;
@@ -347,7 +343,7 @@ public class Hero extends Entity {
         float deltaY = this.velocityY; // the movement is first attempted
         this.hitbox.setY(originalY + deltaY);
 
-        int fallCheckResult = Level.checkFalling(hitbox,this.LEVEL_WIDTH,this.LEVEL_HEIGHT,this.behaviorIDsToRespect);
+        int fallCheckResult = Level.checkFalling(hitbox,this.behaviorGrid);
 
 
         if (this.velocityY > 0) { // moving Down
@@ -498,25 +494,19 @@ public class Hero extends Entity {
     /**
      * @brief Handles setting level-specific properties based on the current game state.
      *
-     * Updates level dimensions, behavior IDs to respect, and potentially hero attributes
+     * Updates the behavior grid to respect, and potentially hero attributes
      * (like jump strength) based on the active level.
      */
     private void handleBehaviorIDs(){
-        switch (State.getState().getStateName()){
+        switch (this.reflink.getState().getStateName()){
             case Constants.LEVEL1_STATE:
-                this.LEVEL_WIDTH = Constants.LEVEL1_WIDTH;
-                this.LEVEL_HEIGHT = Constants.LEVEL1_HEIGHT;
-                this.behaviorIDsToRespect = reflink.getGame().getLevel1().getBehaviorIDs();
+                this.behaviorGrid = reflink.getGame().getLevel1().getBehaviorGrid();
                 break;
             case Constants.LEVEL2_STATE:
-                this.LEVEL_WIDTH = Constants.LEVEL2_WIDTH;
-                this.LEVEL_HEIGHT = Constants.LEVEL2_HEIGHT;
-                this.behaviorIDsToRespect = reflink.getGame().getLevel2().getBehaviorIDs();
+                this.behaviorGrid = reflink.getGame().getLevel2().getBehaviorGrid();
                 break;
             case Constants.LEVEL3_STATE:
-                this.LEVEL_WIDTH = Constants.LEVEL3_WIDTH;
-                this.LEVEL_HEIGHT = Constants.LEVEL3_HEIGHT;
-                this.behaviorIDsToRespect = reflink.getGame().getLevel3().getBehaviorIDs();
+                this.behaviorGrid = reflink.getGame().getLevel3().getBehaviorGrid();
                 if(this.x > 3500){ // increased jump in order to make the final grapple platforming easier
                     this.jumpStrength= Constants.HERO_BASE_JUMP_STRENGTH*1.2f;
                 }
@@ -541,18 +531,18 @@ public class Hero extends Entity {
         }
 
         try{
-            this.health = this.reflink.getDataProxy().load(Constants.HERO_HEALTH,access);
-            this.x = this.reflink.getDataProxy().load(Constants.HERO_X,access);
+            this.health = this.reflink.getDataProxy().load(SaveField.HERO_HEALTH,access);
+            this.x = this.reflink.getDataProxy().load(SaveField.HERO_X,access);
             this.getHitbox().setX(this.x);
-            this.y = this.reflink.getDataProxy().load(Constants.HERO_Y,access);
+            this.y = this.reflink.getDataProxy().load(SaveField.HERO_Y,access);
             this.getHitbox().setY(this.y);
-            this.hasWhip = this.reflink.getDataProxy().load(Constants.HERO_HAS_WHIP, access) == 1;
-            this.nrOfEscapes = this.reflink.getDataProxy().load(Constants.HERO_NR_OF_FLEES,access);
-            this.nrOfCollectedSaves = this.reflink.getDataProxy().load(Constants.HERO_NR_OF_COLLECTED_SAVES,access);
-            this.nrOfCompletedLevels = this.reflink.getDataProxy().load(Constants.HERO_NR_OF_FINISHED_LEVELS,access);
-            this.gold = this.reflink.getDataProxy().load(Constants.HERO_GOLD,access);
+            this.hasWhip = this.reflink.getDataProxy().load(SaveField.HERO_HAS_WHIP, access) == 1;
+            this.nrOfEscapes = this.reflink.getDataProxy().load(SaveField.HERO_NR_OF_FLEES,access);
+            this.nrOfCollectedSaves = this.reflink.getDataProxy().load(SaveField.HERO_NR_OF_COLLECTED_SAVES,access);
+            this.nrOfCompletedLevels = this.reflink.getDataProxy().load(SaveField.HERO_NR_OF_FINISHED_LEVELS,access);
+            this.gold = this.reflink.getDataProxy().load(SaveField.HERO_GOLD,access);
             this.reflink.setHeroRefreshDoneSignal(true);
-        } catch (AccessNotPermittedException | ValueStoreException | DataBufferNotReadyException e) {
+        } catch (AccessNotPermittedException | DataBufferNotReadyException e) {
             System.err.println(e.getMessage());
         }
     }
@@ -570,15 +560,15 @@ public class Hero extends Entity {
         }
 
         try{
-            this.reflink.getDataProxy().store(Constants.HERO_HEALTH,(int)this.health,access);
-            this.reflink.getDataProxy().store(Constants.HERO_X,(int)this.getHitbox().getX(),access);
-            this.reflink.getDataProxy().store(Constants.HERO_Y,(int)this.getHitbox().getY(), access);
+            this.reflink.getDataProxy().store(SaveField.HERO_HEALTH,(int)this.health,access);
+            this.reflink.getDataProxy().store(SaveField.HERO_X,(int)this.getHitbox().getX(),access);
+            this.reflink.getDataProxy().store(SaveField.HERO_Y,(int)this.getHitbox().getY(), access);
             int storeWhip = this.hasWhip ? 1:0;
-            this.reflink.getDataProxy().store(Constants.HERO_HAS_WHIP,storeWhip, access);
-            this.reflink.getDataProxy().store(Constants.HERO_NR_OF_FLEES,this.nrOfEscapes,access);
-            this.reflink.getDataProxy().store(Constants.HERO_NR_OF_COLLECTED_SAVES,this.nrOfCollectedSaves,access);
-            this.reflink.getDataProxy().store(Constants.HERO_NR_OF_FINISHED_LEVELS,this.nrOfCompletedLevels,access);
-            this.reflink.getDataProxy().store(Constants.HERO_GOLD,this.gold,access);
+            this.reflink.getDataProxy().store(SaveField.HERO_HAS_WHIP,storeWhip, access);
+            this.reflink.getDataProxy().store(SaveField.HERO_NR_OF_FLEES,this.nrOfEscapes,access);
+            this.reflink.getDataProxy().store(SaveField.HERO_NR_OF_COLLECTED_SAVES,this.nrOfCollectedSaves,access);
+            this.reflink.getDataProxy().store(SaveField.HERO_NR_OF_FINISHED_LEVELS,this.nrOfCompletedLevels,access);
+            this.reflink.getDataProxy().store(SaveField.HERO_GOLD,this.gold,access);
             this.reflink.setHeroStoreDoneSignal(true);
         } catch (AccessNotPermittedException | ValueStoreException e) {
             System.err.println(e.getMessage());
@@ -1,22 +1,33 @@
 package PaooGame;
 
 import PaooGame.Config.Constants;
+import PaooGame.CustomExceptions.AccessNotPermittedException;
 import PaooGame.DatabaseManaging.DataManager;
 import PaooGame.DatabaseManaging.ProxyDataManager;
 import PaooGame.GameWindow.GameWindow;
+import PaooGame.GameWindow.FrameSnapshot;
+import PaooGame.GameWindow.TripleBuffer;
 import PaooGame.Entities.Hero;
+import PaooGame.Input.InputRecorder;
+import PaooGame.Input.InputSource;
 import PaooGame.Input.KeyManager;
 import PaooGame.Input.MouseInput;
 import PaooGame.Maps.Level1;
 import PaooGame.Maps.Level2;
+import PaooGame.Profiling.FrameProfiler;
+import PaooGame.Scheduling.TickScheduler;
 import PaooGame.States.*;
 import PaooGame.Strategies.EnemyStrategies.*;
+import PaooGame.Tiles.AssetRegistry;
 import PaooGame.Tiles.Tile;
 import PaooGame.Tiles.TileCache;
 import PaooGame.Maps.Level3;
 
 import java.awt.*;
+import java.awt.event.KeyEvent;
 import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * @class Game
@@ -25,10 +36,18 @@ import java.awt.image.BufferStrategy;
  * This class implements the {@link Runnable} interface to handle the game loop in a separate thread.
  * It initializes all game components, including the game window, input managers, game states,
  * entities, levels, and data management systems. It also manages the update and rendering cycles.
+ * A headless game has no window: it is driven by {@link #runHeadless(long, double, int)}, draws into
+ * an offscreen image and takes its input from an {@link InputSource}.
+ * All the state of a game hangs off its own {@link RefLinks}; the only thing games share is the
+ * read-only {@link AssetRegistry}, so several games can run side by side in one process.
  */
 public class Game implements Runnable {
-    private GameWindow wnd;                             ///< The main game window.
-    private boolean runState;                           ///< Flag indicating if the game loop is running.
+    private GameWindow wnd;                             ///< The main game window; never built in headless mode.
+    private final boolean headless;                     ///< If true, no window is opened and the game is run by {@link #runHeadless(long, double, int)}.
+    private volatile boolean runState;                  ///< Flag indicating if the game loop is running.
+    private volatile boolean exitRequested = false;     ///< Set by {@link #requestExit()}; the program exits once the loop has ended.
+    private volatile boolean loopFinished = false;      ///< Set once the game loop has ended and written its frame timings.
+    private boolean closed = false;                     ///< Set by {@link #close()}; the game can't be run again afterwards.
     private Thread gameThread;                          ///< The thread where the game loop runs.
     private BufferStrategy bs;                          ///< BufferStrategy for smooth rendering.
 
@@ -44,6 +63,7 @@ public class Game implements Runnable {
     private EnemyStrategy strongSkeletonStrategy;       ///< Strategy for Strong Skeleton enemies.
 
     private DataManager dataProxy;                      ///< Data manager for saving and loading game data.
+    private String databaseUrl = Constants.DB_URL;      ///< JDBC URL of the database the saves and scores go to.
 
     // Level States and Data
     private State level1State;                          ///< The game state for Level 1.
@@ -70,13 +90,33 @@ public class Game implements Runnable {
     private KeyManager keyManager;                      ///< Manages keyboard input.
     private RefLinks refLink;                           ///< Provides shared references to game components.
     private MouseInput mouseInput;                      ///< Manages mouse input.
+    private InputSource inputSource = null;             ///< Polled before every update, or null to only take input from the window.
+    private InputRecorder inputRecorder = null;         ///< Records the input of every update, or null.
+    private long updateCount = 0;                       ///< Number of updates run so far.
 
     // Game Assets and Entities
+    private AssetRegistry assets;                       ///< Shared decoded images and level maps; loaded by the game if none was given.
     private TileCache tileCache;                        ///< Cache for managing tile images.
+    private FrameProfiler profiler;                     ///< Times the update and draw phases of the states.
+    private String profilerCsvPath = Constants.PROFILER_CSV_PATH;   ///< Where this game writes its frame timings on exit.
+    private boolean profilerWritten = false;            ///< True once the frame timings were written; guarded by {@link #profiler}.
+    private TickScheduler scheduler;                    ///< Runs the delayed gameplay tasks, advanced once per update.
+    private boolean overlayKeyWasDown = false;          ///< State of the profiler overlay key in the previous update.
     private Hero hero;                                  ///< The player character.
 
     private Tile tile;                                  ///< A generic tile instance (purpose here might be for testing or as a placeholder).
 
+    // Loop Timing
+    private volatile int targetFps = Constants.TARGET_FPS;                      ///< Frames drawn per second, 0 for no cap.
+    private volatile int maxUpdatesPerFrame = Constants.MAX_UPDATES_PER_FRAME;  ///< Most updates run to catch up before a frame is drawn.
+
+    // Pipelined Rendering
+    private boolean pipelinedRendering = Constants.PIPELINED_RENDERING;        ///< If true, frames are presented by a separate render thread.
+    private Thread renderThread;                                                ///< Thread drawing the recorded frames in pipelined mode.
+    private TripleBuffer<FrameSnapshot> frames;                                 ///< Recorded frames handed from the game thread to the render thread.
+    private Graphics2D frameTemplate;                                           ///< Context of the BufferStrategy giving the recorded frames their defaults.
+    private BufferedImage offscreenFrame;                                       ///< Frame drawn into by headless runs.
+
     /**
      * @brief Constructs a Game object.
      *
@@ -86,7 +126,38 @@ public class Game implements Runnable {
      * @param height The height of the game window in pixels.
      */
     public Game(String title, int width, int height) {
+        this(title, width, height, false);
+    }
+
+    /**
+     * @brief Constructs a Game object, optionally without a window.
+     *
+     * A headless game never opens its window or touches the display, so it can run on machines
+     * without one; it is started with {@link #runHeadless(long, double, int)} instead of {@link #StartGame()}.
+     * @param title The title of the game window.
+     * @param width The width of the game window (or of the offscreen frame) in pixels.
+     * @param height The height of the game window (or of the offscreen frame) in pixels.
+     * @param headless True to run without a window.
+     */
+    public Game(String title, int width, int height, boolean headless) {
+        this(title, width, height, headless, null);
+    }
+
+    /**
+     * @brief Constructs a Game object using assets that are already loaded.
+     *
+     * Games built from the same registry share its images and level maps instead of loading their own,
+     * which is how many headless games are run at once.
+     * @param title The title of the game window.
+     * @param width The width of the game window (or of the offscreen frame) in pixels.
+     * @param height The height of the game window (or of the offscreen frame) in pixels.
+     * @param headless True to run without a window.
+     * @param assets The shared assets, or null to have the game load them when it is initialized.
+     */
+    public Game(String title, int width, int height, boolean headless, AssetRegistry assets) {
         wnd = new GameWindow(title, width, height);
+        this.headless = headless;
+        this.assets = assets;
         runState = false; // Game loop is not running initially
     }
 
@@ -100,16 +171,21 @@ public class Game implements Runnable {
      */
     private void InitGame() {
 
-        // Initialize tile cache
-        tileCache = TileCache.getInstance();
-
-        // Build game window and set up input listeners
-        wnd.BuildGameWindow();
+        // Build game window and set up input listeners; headless input only comes from the input source
         mouseInput = new MouseInput();
         this.keyManager = new KeyManager();
-        wnd.GetCanvas().addKeyListener(keyManager);
-        wnd.GetCanvas().addMouseListener(mouseInput);
-        wnd.GetCanvas().addMouseMotionListener(mouseInput);
+        if (!headless) {
+            wnd.BuildGameWindow();
+            wnd.GetCanvas().addKeyListener(keyManager);
+            wnd.GetCanvas().addMouseListener(mouseInput);
+            wnd.GetCanvas().addMouseMotionListener(mouseInput);
+        }
+
+        // Initialize tile cache from the shared assets, loading them for the canvas if no one did yet
+        if (assets == null) {
+            assets = AssetRegistry.load(headless ? null : wnd.GetCanvas().getGraphicsConfiguration());
+        }
+        tileCache = new TileCache(assets);
 
 
         // Initialize reference links and pass shared components
@@ -118,14 +194,22 @@ public class Game implements Runnable {
         refLink.setMouseInput(mouseInput);
         refLink.setTileCache(tileCache);
 
+        // Initialize frame timing; whatever was recorded is written out by close()
+        profiler = new FrameProfiler(Constants.PROFILER_ENABLED);
+        refLink.setProfiler(profiler);
+
+        // Initialize the gameplay task scheduler before anything creates tasks
+        scheduler = new TickScheduler(Constants.UPDATES_PER_SECOND);
+        refLink.setScheduler(scheduler);
+
         // Initialize hero character with starting position for Level 1
         hero = new Hero(refLink,Constants.HERO_LEVEL1_STARTING_X,Constants.HERO_LEVEL1_STARTING_Y);
         this.refLink.setHero(hero);
 
-        // Initialize level data
-        level1 = new Level1();
-        level2 = new Level2();
-        level3 = new Level3();
+        // Initialize level data; the maps are read-only and shared through the assets
+        level1 = assets.getLevel1();
+        level2 = assets.getLevel2();
+        level3 = assets.getLevel3();
 
         // Initialize data refresh/store signals
         this.refLink.setDataRefreshSignal(false);
@@ -135,26 +219,32 @@ public class Game implements Runnable {
         this.refLink.setHeroRefreshDoneSignal(false);
 
         // Initialize data manager (proxy)
-        this.dataProxy = new ProxyDataManager(this.refLink);
+        this.dataProxy = new ProxyDataManager(this.refLink, this.databaseUrl);
         this.refLink.setDataProxy(this.dataProxy);
+        try {
+            // Connect once now instead of on every save; the connection is closed by close()
+            this.dataProxy.open(true);
+        } catch (AccessNotPermittedException e) {
+            System.err.println(e.getMessage());
+        }
 
         // Initialize enemy strategies
-        strongSkeletonStrategy = StrongSkeletonEnemyStrategy.getInstance(refLink);
+        strongSkeletonStrategy = new StrongSkeletonEnemyStrategy(refLink);
         this.refLink.setStrongSkeletonEnemyStrategy(this.strongSkeletonStrategy);
 
-        ghostStrategy = GhostEnemyStrategy.getInstance(refLink);
+        ghostStrategy = new GhostEnemyStrategy(refLink);
         this.refLink.setGhostEnemyStrategy(this.ghostStrategy);
 
-        minotaurStrategy = MinotaurEnemyStrategy.getInstance(refLink);
+        minotaurStrategy = new MinotaurEnemyStrategy(refLink);
         this.refLink.setMinotaurEnemyStrategy(this.minotaurStrategy);
 
-        wizardStrategy = WizardEnemyStrategy.getInstance(refLink);
+        wizardStrategy = new WizardEnemyStrategy(refLink);
         this.refLink.setWizardEnemyStrategy(this.wizardStrategy);
 
-        tigerEnemyStrategy = TigerEnemyStrategy.getInstance(refLink);
+        tigerEnemyStrategy = new TigerEnemyStrategy(refLink);
         this.refLink.setTigerEnemyStrategy(this.tigerEnemyStrategy);
 
-        basicSkeletonStrategy = BasicSkeletonEnemyStrategy.getInstance(refLink);
+        basicSkeletonStrategy = new BasicSkeletonEnemyStrategy(refLink);
         this.refLink.setBasicSkeletonStrategy(this.basicSkeletonStrategy);
 
         // Initialize all game states
@@ -168,33 +258,219 @@ public class Game implements Runnable {
         pauseMenuState = new PauseMenuState(refLink);
         shopState = new ShopState(refLink);
 
+        if(Constants.PRINT_ASSET_REPORT){
+            System.out.println(tileCache.getConversionReport());
+        }
+
         // Set the initial game state to the main menu
-        State.setState(menuState);
+        refLink.setState(menuState);
     }
 
 
     /**
      * @brief The main game loop.
      *
-     * Initializes the game and then enters a loop that updates and draws the game
-     * at a fixed rate (target 60 frames per second).
+     * Initializes the game and then runs a fixed-timestep loop: elapsed time is accumulated and
+     * the game logic is updated in steps of exactly 1/{@link Constants#UPDATES_PER_SECOND} seconds,
+     * at most {@link #maxUpdatesPerFrame} times per frame (any older backlog is dropped).
+     * After the updates the game is drawn with the fraction of the step left in the accumulator,
+     * then the thread sleeps until the next frame is due, spinning only for the last sub-millisecond.
+     * In pipelined mode the frame is only recorded here and drawn and presented by the render thread.
+     * Once the loop ends the frame timings are written, and the program exits if {@link #requestExit()} ended it;
+     * the entry point's shutdown hook then calls {@link #close()}.
      */
     public void run() {
         InitGame();
-        long oldTime = System.nanoTime(); // Time of the last frame
-        long curentTime; // Current time
+        if (pipelinedRendering) {
+            startRenderThread();
+        }
+        final long updateStep = 1_000_000_000L / Constants.UPDATES_PER_SECOND; // Length of one update, in nanoseconds
 
-        final int framesPerSecond = 60; // Target FPS
-        final double timeFrame = 1000000000.0 / framesPerSecond; // Time per frame in nanoseconds
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+        long nextFrameTime = previousTime;
 
         // Game loop
         while (runState == true) {
-            curentTime = System.nanoTime();
-            if ((curentTime - oldTime) > timeFrame) { // If enough time has passed for a new frame
+            long currentTime = System.nanoTime();
+            accumulator += currentTime - previousTime;
+            previousTime = currentTime;
+
+            int updates = 0;
+            while (accumulator >= updateStep && updates < maxUpdatesPerFrame) {
                 Update(); // Update game logic
-                Draw();   // Render the game
-                oldTime = curentTime; // Update oldTime for the next iteration
+                accumulator -= updateStep;
+                ++updates;
+            }
+            if (accumulator >= updateStep) {
+                accumulator %= updateStep; // Too far behind, drop the backlog instead of spiralling
             }
+
+            if (pipelinedRendering) {
+                recordFrame((double) accumulator / updateStep); // Hand the frame over to the render thread
+            } else {
+                Draw((double) accumulator / updateStep); // Render the game
+            }
+
+            long frameTime = targetFps > 0 ? 1_000_000_000L / targetFps : 0;
+            nextFrameTime += frameTime;
+            if (nextFrameTime < currentTime) {
+                nextFrameTime = currentTime + frameTime; // Late frame, don't try to make it up
+            }
+            waitUntil(nextFrameTime);
+        }
+
+        // The loop has ended, so nothing records frame timings any more
+        writeProfile();
+        loopFinished = true;
+        stopRenderThread();
+        if (exitRequested) {
+            System.exit(0); // Runs the shutdown hooks, which no longer wait for this thread
+        }
+    }
+
+    /**
+     * @brief Writes the recorded frame timings to {@link #profilerCsvPath}, once.
+     *
+     * Must only be called when no update or draw is running, since the profiler is not thread-safe.
+     */
+    private void writeProfile() {
+        synchronized (profiler) {
+            if (!profilerWritten && profiler.hasSamples()) {
+                profiler.writeCsv(profilerCsvPath);
+            }
+            profilerWritten = true;
+        }
+    }
+
+    /**
+     * @brief Releases everything the game holds: stops the loop, writes the frame timings,
+     * then closes the database, the input recording and the window.
+     *
+     * Waits for the loop and the render thread to end first, so nothing updates, draws or records
+     * while they are closed. Headless runs have no loop thread; they are driven by the caller,
+     * which must have returned from {@link #runHeadless(long, double, int)}. Closing twice does nothing.
+     * The entry points call this from their shutdown hook, for every game they made.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        runState = false;
+        Thread loop = gameThread;
+        if (loop != null && !loopFinished && loop != Thread.currentThread()) {
+            try {
+                loop.join(); // The loop writes the timings itself on its way out
+            } catch (InterruptedException e) {
+                System.err.println("Interrupted while waiting for the game loop to end.");
+                return; // The loop may still be recording, so writing now could tear the file
+            }
+        }
+        stopRenderThread();
+        if (profiler != null) {
+            writeProfile();
+        }
+        if (dataProxy != null) {
+            try {
+                dataProxy.close(true);
+            } catch (AccessNotPermittedException e) {
+                System.err.println(e.getMessage());
+            }
+        }
+        if (inputRecorder != null) {
+            inputRecorder.close();
+        }
+        if (!headless && wnd.GetWndFrame() != null) {
+            EventQueue.invokeLater(wnd.GetWndFrame()::dispose); // Don't block on the event thread, it may be shutting down
+        }
+    }
+
+    /**
+     * @brief Wakes the render thread up so it sees that the game stopped, and waits for it to end.
+     */
+    private void stopRenderThread() {
+        Thread render = renderThread;
+        if (render == null || render == Thread.currentThread()) {
+            return;
+        }
+        LockSupport.unpark(render);
+        try {
+            render.join();
+        } catch (InterruptedException e) {
+            System.err.println("Interrupted while waiting for the render thread to end.");
+        }
+    }
+
+    /**
+     * @brief Asks the game to end the program, e.g. from a quit button.
+     *
+     * Unlike calling {@link System#exit(int)} from an update, this lets the loop finish the current
+     * frame and write its frame timings first. A headless run stops after the current update.
+     */
+    public void requestExit() {
+        exitRequested = true;
+        runState = false;
+    }
+
+    /**
+     * @brief Initializes a headless game, if it wasn't already, so the load time can be kept out of a timed run.
+     */
+    public void initHeadless() {
+        if (refLink == null) {
+            InitGame();
+        }
+    }
+
+    /**
+     * @brief Runs the game without a window, on the calling thread, for a number of updates.
+     *
+     * The game is initialized on the first call (see {@link #initHeadless()}). Every update is the same as in {@link #run()};
+     * input comes from the {@link InputSource} set with {@link #setInputSource(InputSource)}.
+     * Frames are drawn into an offscreen image (see {@link #getOffscreenFrame()}) every
+     * `drawInterval` updates, or never if `drawInterval` is 0.
+     * @param ticks The number of updates to run.
+     * @param speed The multiple of real time to run at, e.g. 2 for 120 updates per second; 0 or less runs unthrottled.
+     * @param drawInterval Updates between two drawn frames, 0 to skip drawing.
+     */
+    public void runHeadless(long ticks, double speed, int drawInterval) {
+        initHeadless();
+        if (drawInterval > 0 && offscreenFrame == null) {
+            offscreenFrame = tileCache.createCompatibleImage(wnd.GetWndWidth(), wnd.GetWndHeight(), Transparency.OPAQUE);
+        }
+        final long updateStep = speed > 0 ? (long) (1_000_000_000L / (Constants.UPDATES_PER_SECOND * speed)) : 0;
+
+        long nextUpdateTime = System.nanoTime();
+        for (long i = 0; i < ticks && !exitRequested; ++i) {
+            Update();
+            if (drawInterval > 0 && updateCount % drawInterval == 0) {
+                Graphics frameGraphics = offscreenFrame.createGraphics();
+                drawState(frameGraphics, 0);
+                frameGraphics.dispose();
+            }
+            if (updateStep > 0) {
+                nextUpdateTime += updateStep;
+                waitUntil(nextUpdateTime);
+            }
+        }
+    }
+
+    /**
+     * @brief Waits until the given time, parking the thread for most of the wait.
+     *
+     * The last {@link Constants#SPIN_WAIT_NANOS} are spun, since parking is not precise enough for them.
+     * @param deadline The {@link System#nanoTime()} value to wait for.
+     */
+    private void waitUntil(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        while (remaining > Constants.SPIN_WAIT_NANOS) {
+            LockSupport.parkNanos(remaining - Constants.SPIN_WAIT_NANOS);
+            remaining = deadline - System.nanoTime();
+        }
+        while (deadline - System.nanoTime() > 0) {
+            Thread.onSpinWait();
         }
     }
 
@@ -205,7 +481,7 @@ public class Game implements Runnable {
      * for the game loop.
      */
     public synchronized void StartGame() {
-        if (runState == false) { // If game is not already running
+        if (runState == false && !closed) { // If game is not already running, nor closed
             runState = true;
             gameThread = new Thread(this); // Create a new thread for this Game instance
             gameThread.start(); // Start the game loop
@@ -223,7 +499,7 @@ public class Game implements Runnable {
         if (runState == true) { // If game is running
             runState = false; // Signal the game loop to stop
             try {
-                gameThread.join(); // Wait for the game thread to finish
+                gameThread.join(); // Wait for the game thread to finish; it stops the render thread on its way out
             } catch (InterruptedException ex) {
                 ex.printStackTrace(); // Handle interruption exception
             }
@@ -240,6 +516,16 @@ public class Game implements Runnable {
      * method of the current active game state.
      */
     private void Update() {
+        // Settle the input state of this update before anything reads it: window events, then scripted or replayed input
+        this.keyManager.applyPendingEvents();
+        this.mouseInput.applyPendingEvents();
+        if (this.inputSource != null) {
+            this.inputSource.poll(this.updateCount, this.keyManager, this.mouseInput);
+        }
+        if (this.inputRecorder != null) {
+            this.inputRecorder.record(this.updateCount, this.keyManager, this.mouseInput);
+        }
+        ++this.updateCount;
 
         // Handle data refresh signal: load data for all relevant states
         if(this.refLink.getDataRefreshSignal()){
@@ -273,9 +559,19 @@ public class Game implements Runnable {
             this.refLink.getHero().storeHeroState(true);
         }
 
-        // Update the current active game state
-        if (State.getState() != null) {
-            State.getState().update();
+        // F3 shows/hides the frame timing overlay
+        boolean overlayKeyDown = this.keyManager.isKeyPressed(KeyEvent.VK_F3);
+        if (overlayKeyDown && !this.overlayKeyWasDown) {
+            this.profiler.toggleOverlay();
+        }
+        this.overlayKeyWasDown = overlayKeyDown;
+
+        // Run the gameplay tasks that became due, then update the current active game state
+        this.scheduler.tick();
+        if (refLink.getState() != null) {
+            long start = this.profiler.begin();
+            refLink.getState().update();
+            this.profiler.end(refLink.getState().getStateName(), FrameProfiler.PHASE_UPDATE, start);
         }
     }
 
@@ -286,8 +582,9 @@ public class Game implements Runnable {
      * it attempts to create one. It then gets the graphics context, clears the screen,
      * and calls the draw method of the current active game state. Finally, it shows
      * the buffer and disposes of the graphics context.
+     * @param alpha The elapsed fraction of the current update step, passed on to the state.
      */
-    private void Draw() {
+    private void Draw(double alpha) {
         bs = wnd.GetCanvas().getBufferStrategy(); // Get the buffer strategy
         if (bs == null) { // If buffer strategy doesn't exist, create it
             try {
@@ -298,16 +595,188 @@ public class Game implements Runnable {
             }
         }
         g = bs.getDrawGraphics(); // Get graphics context from buffer strategy
+        drawState(g, alpha);
+        // Show the contents of the back buffer and dispose graphics context
+        bs.show();
+        g.dispose();
+    }
+
+    /**
+     * @brief Clears the given context and draws the current active game state on it.
+     * @param g The graphics context to draw on.
+     * @param alpha The elapsed fraction of the current update step, passed on to the state.
+     */
+    private void drawState(Graphics g, double alpha) {
         // Clear the screen
         g.clearRect(0, 0, wnd.GetWndWidth(), wnd.GetWndHeight());
 
         // Draw the current active game state
-        if (State.getState() != null) {
-            State.getState().draw(g);
+        if (refLink.getState() != null) {
+            State current = refLink.getState();
+            long start = this.profiler.begin();
+            current.draw(g, alpha);
+            this.profiler.end(current.getStateName(), FrameProfiler.PHASE_DRAW, start);
+            this.profiler.drawOverlay(g, current.getStateName(), wnd.GetWndWidth());
         }
-        // Show the contents of the back buffer and dispose graphics context
-        bs.show();
-        g.dispose();
+    }
+
+    /**
+     * @brief Records the current state into a frame snapshot and publishes it to the render thread.
+     *
+     * The states draw as usual, but on a context that only records the calls into the back
+     * slot of {@link #frames}. Once published the snapshot holds the image, position and text of
+     * everything on screen, so the game thread can go on with the next update while the render
+     * thread rasterizes and presents this frame.
+     * @param alpha The elapsed fraction of the current update step, passed on to the state.
+     */
+    private void recordFrame(double alpha) {
+        FrameSnapshot frame = frames.getWriteBuffer();
+        drawState(frame.begin(frameTemplate), alpha);
+        frames.publish();
+        LockSupport.unpark(renderThread);
+    }
+
+    /**
+     * @brief Creates the BufferStrategy and the frame snapshots, then starts the thread drawing them.
+     *
+     * The BufferStrategy is made here, before the loop starts, because the render thread is the
+     * only one drawing on it afterwards.
+     */
+    private void startRenderThread() {
+        wnd.GetCanvas().createBufferStrategy(3); // Triple buffering
+        bs = wnd.GetCanvas().getBufferStrategy();
+        frameTemplate = (Graphics2D) bs.getDrawGraphics();
+        frames = new TripleBuffer<>(FrameSnapshot::new);
+        renderThread = new Thread(this::renderLoop, "render");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * @brief Draws and presents the latest recorded frame whenever the game thread publishes one.
+     *
+     * Runs on the render thread; frames published while a previous one is being drawn are skipped.
+     */
+    private void renderLoop() {
+        while (runState) {
+            if (!frames.hasNew()) {
+                LockSupport.park(this); // Woken up by recordFrame() or StopGame()
+                continue;
+            }
+            FrameSnapshot frame = frames.acquireLatest();
+            Graphics2D screen = (Graphics2D) bs.getDrawGraphics();
+            frame.replay(screen);
+            screen.dispose();
+            bs.show();
+        }
+    }
+
+    /**
+     * @brief Sets the render rate of the game loop. The update rate stays fixed.
+     * @param targetFps The number of frames to draw per second, 0 to draw as fast as possible.
+     */
+    public void setTargetFps(int targetFps) {
+        this.targetFps = Math.max(0, targetFps);
+    }
+
+    /**
+     * @brief Gets the render rate of the game loop.
+     * @return The number of frames drawn per second, 0 if uncapped.
+     */
+    public int getTargetFps() {
+        return targetFps;
+    }
+
+    /**
+     * @brief Chooses whether frames are presented by a separate render thread.
+     *
+     * Has to be called before {@link #StartGame()}.
+     * @param pipelinedRendering True to record frames on the game thread and draw and present them on a render thread.
+     */
+    public void setPipelinedRendering(boolean pipelinedRendering) {
+        this.pipelinedRendering = pipelinedRendering;
+    }
+
+    /**
+     * @brief Sets where the game takes scripted input from.
+     *
+     * The source is polled at the start of every update, in windowed and headless runs alike;
+     * events from the window still arrive as well.
+     * @param inputSource The input source, or null for none.
+     */
+    public void setInputSource(InputSource inputSource) {
+        this.inputSource = inputSource;
+    }
+
+    /**
+     * @brief Sets the recorder capturing the input state of every update.
+     *
+     * The recorder is closed by {@link #close()}; it can be replayed with {@link PaooGame.Input.InputReplay}.
+     * @param inputRecorder The recorder, or null to stop recording.
+     */
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.inputRecorder = inputRecorder;
+    }
+
+    /**
+     * @brief Sets the database the game saves to and reads the scores from.
+     *
+     * Has to be called before the game is initialized. Games running side by side should each
+     * have their own, e.g. {@link Constants#DB_IN_MEMORY_URL}.
+     * @param databaseUrl The JDBC URL of the SQLite database.
+     */
+    public void setDatabaseUrl(String databaseUrl) {
+        this.databaseUrl = databaseUrl;
+    }
+
+    /**
+     * @brief Sets where the game writes its frame timings on exit.
+     *
+     * Games running side by side in one process should each have their own.
+     * @param profilerCsvPath The path of the CSV file.
+     */
+    public void setProfilerCsvPath(String profilerCsvPath) {
+        this.profilerCsvPath = profilerCsvPath;
+    }
+
+    /**
+     * @brief Gets the assets the game draws from.
+     * @return The {@link AssetRegistry}, or null if the game was given none and is not initialized yet.
+     */
+    public AssetRegistry getAssets() {
+        return assets;
+    }
+
+    /**
+     * @brief Gets the active state of the game.
+     * @return The current {@link State}, or null if the game is not initialized yet.
+     */
+    public State getCurrentState() {
+        return refLink == null ? null : refLink.getState();
+    }
+
+    /**
+     * @brief Gets the number of updates run so far.
+     * @return The update count.
+     */
+    public long getUpdateCount() {
+        return updateCount;
+    }
+
+    /**
+     * @brief Gets the image headless runs draw into.
+     * @return The last frame drawn by {@link #runHeadless(long, double, int)}, or null if none was drawn.
+     */
+    public BufferedImage getOffscreenFrame() {
+        return offscreenFrame;
+    }
+
+    /**
+     * @brief Sets how many updates the loop may run in a row to catch up after a slow frame.
+     * @param maxUpdatesPerFrame The catch-up cap, at least 1.
+     */
+    public void setMaxUpdatesPerFrame(int maxUpdatesPerFrame) {
+        this.maxUpdatesPerFrame = Math.max(1, maxUpdatesPerFrame);
     }
 
     /**
@@ -0,0 +1,841 @@
+package PaooGame.GameWindow;
+
+import java.awt.*;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Area;
+import java.awt.geom.NoninvertibleTransformException;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.BufferedImageOp;
+import java.awt.image.ImageObserver;
+import java.awt.image.RenderedImage;
+import java.awt.image.renderable.RenderableImage;
+import java.text.AttributedCharacterIterator;
+import java.text.AttributedString;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * @class FrameSnapshot
+ * @brief Everything one frame puts on the screen, recorded on the game thread and drawn later by the render thread.
+ *
+ * The game states keep drawing through a {@link Graphics2D}, but the context returned by
+ * {@link #begin(Graphics2D)} only records the calls. Each recorded operation keeps the values it
+ * was called with: the animation frame image and position of every entity, the HUD strings,
+ * and the camera transform and colors in effect. None of the live game objects are referenced,
+ * so once the game thread has finished a frame the snapshot stays valid while the next update
+ * changes the world, and {@link #replay(Graphics2D)} can draw it on another thread.
+ *
+ * Snapshots are reused: {@link #begin(Graphics2D)} keeps the operation objects of the previous
+ * frame and only overwrites them. Images drawn into a snapshot must not be changed afterwards;
+ * the tile chunks and animation frames of the game are never written once published.
+ */
+public class FrameSnapshot {
+    // Draw operations
+    private static final int OP_IMAGE = 0;              ///< Image at a position, with optional size and background color.
+    private static final int OP_IMAGE_REGION = 1;       ///< Region of an image scaled into a destination rectangle.
+    private static final int OP_IMAGE_TRANSFORM = 2;    ///< Image drawn through its own transform.
+    private static final int OP_RENDERED_IMAGE = 3;     ///< RenderedImage drawn through its own transform.
+    private static final int OP_RENDERABLE_IMAGE = 4;   ///< RenderableImage drawn through its own transform.
+    private static final int OP_STRING = 5;             ///< Plain string at a position.
+    private static final int OP_ATTRIBUTED_STRING = 6;  ///< Attributed string at a position.
+    private static final int OP_GLYPHS = 7;             ///< Glyph vector at a position.
+    private static final int OP_FILL_RECT = 8;          ///< Filled rectangle.
+    private static final int OP_CLEAR_RECT = 9;         ///< Rectangle cleared with the background color.
+    private static final int OP_LINE = 10;              ///< Line between two points.
+    private static final int OP_DRAW_ROUND_RECT = 11;   ///< Outline of a rounded rectangle.
+    private static final int OP_FILL_ROUND_RECT = 12;   ///< Filled rounded rectangle.
+    private static final int OP_DRAW_OVAL = 13;         ///< Outline of an oval.
+    private static final int OP_FILL_OVAL = 14;         ///< Filled oval.
+    private static final int OP_DRAW_ARC = 15;          ///< Outline of an arc.
+    private static final int OP_FILL_ARC = 16;          ///< Filled arc.
+    private static final int OP_POLYLINE = 17;          ///< Open polyline.
+    private static final int OP_DRAW_POLYGON = 18;      ///< Outline of a polygon.
+    private static final int OP_FILL_POLYGON = 19;      ///< Filled polygon.
+    private static final int OP_DRAW_SHAPE = 20;        ///< Outline of a shape.
+    private static final int OP_FILL_SHAPE = 21;        ///< Filled shape.
+    private static final int OP_COPY_AREA = 22;         ///< Area of the frame copied to another position.
+
+    // State changes, recorded only when they differ from what the target already has
+    private static final int OP_SET_TRANSFORM = 23;     ///< New transform, relative to the target's own.
+    private static final int OP_SET_PAINT = 24;         ///< New paint or color.
+    private static final int OP_SET_BACKGROUND = 25;    ///< New background color.
+    private static final int OP_SET_FONT = 26;          ///< New font.
+    private static final int OP_SET_COMPOSITE = 27;     ///< New composite.
+    private static final int OP_SET_STROKE = 28;        ///< New stroke.
+    private static final int OP_SET_CLIP = 29;          ///< New clip, in the target's untransformed space.
+    private static final int OP_SET_HINTS = 30;         ///< New rendering hints.
+
+    /**
+     * @class Op
+     * @brief One recorded operation. The objects are pooled by their snapshot and overwritten every frame.
+     */
+    private static final class Op {
+        int kind;                                       ///< One of the OP_ constants.
+        Object ref;                                     ///< Main value of the operation (image, string, shape, state value).
+        Object extra;                                   ///< Second value of the operation (background color, transform, y-coordinates).
+        final double[] args = new double[8];            ///< Numeric arguments, in the order of the Graphics method.
+    }
+
+    private Op[] ops = new Op[256];                     ///< Recorded operations, reused from frame to frame.
+    private int size = 0;                               ///< Number of operations recorded for the current frame.
+
+    private Graphics2D template;                        ///< Context whose defaults match the replay target; also measures text.
+
+    // State last handed to the target, in recording order
+    private AffineTransform lastTransform;              ///< Transform in effect on the target.
+    private Paint lastPaint;                            ///< Paint in effect on the target.
+    private Color lastBackground;                       ///< Background color in effect on the target.
+    private Font lastFont;                              ///< Font in effect on the target.
+    private Composite lastComposite;                    ///< Composite in effect on the target.
+    private Stroke lastStroke;                          ///< Stroke in effect on the target.
+    private Shape lastClip;                             ///< Clip in effect on the target, null for none.
+    private RenderingHints lastHints;                   ///< Rendering hints in effect on the target.
+
+    /**
+     * @brief Checks whether a graphics context only records into a snapshot.
+     *
+     * Code that keeps its own offscreen images between frames (such as the camera's world buffer)
+     * has to draw straight through such a context, since the image would be overwritten before
+     * the render thread reads it.
+     * @param g The context to check.
+     * @return True if the context was returned by {@link #begin(Graphics2D)}.
+     */
+    public static boolean isRecording(Graphics g) {
+        return g instanceof Recorder;
+    }
+
+    /**
+     * @brief Drops the previous frame and starts recording a new one.
+     *
+     * The returned context starts with the color, background, font, composite, stroke and
+     * rendering hints of the template, which must be a context of the same kind as the one
+     * later passed to {@link #replay(Graphics2D)}. Its transform starts as the identity.
+     * @param template A context with the defaults of the replay target; it is also used to measure text.
+     * @return The recording context. It must only be used until the snapshot is published.
+     */
+    public Graphics2D begin(Graphics2D template) {
+        for (int i = 0; i < size; ++i) {
+            ops[i].ref = null;
+            ops[i].extra = null;
+        }
+        size = 0;
+
+        this.template = template;
+        lastTransform = new AffineTransform();
+        lastPaint = template.getPaint();
+        lastBackground = template.getBackground();
+        lastFont = template.getFont();
+        lastComposite = template.getComposite();
+        lastStroke = template.getStroke();
+        lastClip = null;
+        lastHints = template.getRenderingHints();
+        return new Recorder();
+    }
+
+    /**
+     * @brief Draws the recorded frame.
+     *
+     * The target is expected to start with the same defaults as the template given to {@link #begin(Graphics2D)}.
+     * Recorded transforms are applied on top of the target's own transform.
+     * @param target The context to draw on, typically the BufferStrategy's.
+     */
+    public void replay(Graphics2D target) {
+        final AffineTransform base = target.getTransform();
+        for (int i = 0; i < size; ++i) {
+            Op op = ops[i];
+            double[] a = op.args;
+            switch (op.kind) {
+                case OP_IMAGE:
+                    if (a[2] < 0) {
+                        target.drawImage((Image) op.ref, (int) a[0], (int) a[1], (Color) op.extra, null);
+                    } else {
+                        target.drawImage((Image) op.ref, (int) a[0], (int) a[1], (int) a[2], (int) a[3], (Color) op.extra, null);
+                    }
+                    break;
+                case OP_IMAGE_REGION:
+                    target.drawImage((Image) op.ref, (int) a[0], (int) a[1], (int) a[2], (int) a[3],
+                            (int) a[4], (int) a[5], (int) a[6], (int) a[7], (Color) op.extra, null);
+                    break;
+                case OP_IMAGE_TRANSFORM:
+                    target.drawImage((Image) op.ref, (AffineTransform) op.extra, null);
+                    break;
+                case OP_RENDERED_IMAGE:
+                    target.drawRenderedImage((RenderedImage) op.ref, (AffineTransform) op.extra);
+                    break;
+                case OP_RENDERABLE_IMAGE:
+                    target.drawRenderableImage((RenderableImage) op.ref, (AffineTransform) op.extra);
+                    break;
+                case OP_STRING:
+                    target.drawString((String) op.ref, (float) a[0], (float) a[1]);
+                    break;
+                case OP_ATTRIBUTED_STRING:
+                    target.drawString(((AttributedString) op.ref).getIterator(), (float) a[0], (float) a[1]);
+                    break;
+                case OP_GLYPHS:
+                    target.drawGlyphVector((GlyphVector) op.ref, (float) a[0], (float) a[1]);
+                    break;
+                case OP_FILL_RECT:
+                    target.fillRect((int) a[0], (int) a[1], (int) a[2], (int) a[3]);
+                    break;
+                case OP_CLEAR_RECT:
+                    target.clearRect((int) a[0], (int) a[1], (int) a[2], (int) a[3]);
+                    break;
+                case OP_LINE:
+                    target.drawLine((int) a[0], (int) a[1], (int) a[2], (int) a[3]);
+                    break;
+                case OP_DRAW_ROUND_RECT:
+                    target.drawRoundRect((int) a[0], (int) a[1], (int) a[2], (int) a[3], (int) a[4], (int) a[5]);
+                    break;
+                case OP_FILL_ROUND_RECT:
+                    target.fillRoundRect((int) a[0], (int) a[1], (int) a[2], (int) a[3], (int) a[4], (int) a[5]);
+                    break;
+                case OP_DRAW_OVAL:
+                    target.drawOval((int) a[0], (int) a[1], (int) a[2], (int) a[3]);
+                    break;
+                case OP_FILL_OVAL:
+                    target.fillOval((int) a[0], (int) a[1], (int) a[2], (int) a[3]);
+                    break;
+                case OP_DRAW_ARC:
+                    target.drawArc((int) a[0], (int) a[1], (int) a[2], (int) a[3], (int) a[4], (int) a[5]);
+                    break;
+                case OP_FILL_ARC:
+                    target.fillArc((int) a[0], (int) a[1], (int) a[2], (int) a[3], (int) a[4], (int) a[5]);
+                    break;
+                case OP_POLYLINE:
+                    target.drawPolyline((int[]) op.ref, (int[]) op.extra, (int) a[0]);
+                    break;
+                case OP_DRAW_POLYGON:
+                    target.drawPolygon((int[]) op.ref, (int[]) op.extra, (int) a[0]);
+                    break;
+                case OP_FILL_POLYGON:
+                    target.fillPolygon((int[]) op.ref, (int[]) op.extra, (int) a[0]);
+                    break;
+                case OP_DRAW_SHAPE:
+                    target.draw((Shape) op.ref);
+                    break;
+                case OP_FILL_SHAPE:
+                    target.fill((Shape) op.ref);
+                    break;
+                case OP_COPY_AREA:
+                    target.copyArea((int) a[0], (int) a[1], (int) a[2], (int) a[3], (int) a[4], (int) a[5]);
+                    break;
+                case OP_SET_TRANSFORM:
+                    target.setTransform(base);
+                    target.transform((AffineTransform) op.ref);
+                    break;
+                case OP_SET_PAINT:
+                    target.setPaint((Paint) op.ref);
+                    break;
+                case OP_SET_BACKGROUND:
+                    target.setBackground((Color) op.ref);
+                    break;
+                case OP_SET_FONT:
+                    target.setFont((Font) op.ref);
+                    break;
+                case OP_SET_COMPOSITE:
+                    target.setComposite((Composite) op.ref);
+                    break;
+                case OP_SET_STROKE:
+                    target.setStroke((Stroke) op.ref);
+                    break;
+                case OP_SET_CLIP: {
+                    AffineTransform current = target.getTransform();
+                    target.setTransform(base);
+                    target.setClip((Shape) op.ref);
+                    target.setTransform(current);
+                    break;
+                }
+                case OP_SET_HINTS:
+                    target.setRenderingHints((Map<?, ?>) op.ref);
+                    break;
+                default:
+                    System.err.println("Unknown frame operation " + op.kind);
+            }
+        }
+    }
+
+    /**
+     * @brief Gets the number of operations recorded for the current frame.
+     * @return The operation count, state changes included.
+     */
+    public int getOperationCount() {
+        return size;
+    }
+
+    /**
+     * @brief Appends an operation, reusing the pooled object at the end of the list.
+     * @param kind One of the OP_ constants.
+     * @param ref The main value of the operation.
+     * @param extra The second value of the operation.
+     * @return The operation, so its numeric arguments can be filled in.
+     */
+    private Op push(int kind, Object ref, Object extra) {
+        if (size == ops.length) {
+            ops = Arrays.copyOf(ops, size * 2);
+        }
+        Op op = ops[size];
+        if (op == null) {
+            op = new Op();
+            ops[size] = op;
+        }
+        ++size;
+        op.kind = kind;
+        op.ref = ref;
+        op.extra = extra;
+        return op;
+    }
+
+    /**
+     * @brief Records the state changes needed before a draw call of the given context.
+     *
+     * Several contexts (the root and those made by {@link Graphics#create()}) record into the
+     * same snapshot, so the state is compared with what was last handed to the target rather
+     * than tracked per context.
+     * @param g The context about to draw.
+     */
+    private void sync(Recorder g) {
+        if (!g.transform.equals(lastTransform)) {
+            lastTransform = new AffineTransform(g.transform);
+            push(OP_SET_TRANSFORM, lastTransform, null);
+        }
+        if (!Objects.equals(g.paint, lastPaint)) {
+            lastPaint = g.paint;
+            push(OP_SET_PAINT, lastPaint, null);
+        }
+        if (!Objects.equals(g.background, lastBackground)) {
+            lastBackground = g.background;
+            push(OP_SET_BACKGROUND, lastBackground, null);
+        }
+        if (!Objects.equals(g.font, lastFont)) {
+            lastFont = g.font;
+            push(OP_SET_FONT, lastFont, null);
+        }
+        if (!Objects.equals(g.composite, lastComposite)) {
+            lastComposite = g.composite;
+            push(OP_SET_COMPOSITE, lastComposite, null);
+        }
+        if (!Objects.equals(g.stroke, lastStroke)) {
+            lastStroke = g.stroke;
+            push(OP_SET_STROKE, lastStroke, null);
+        }
+        if (g.clip != lastClip) {
+            lastClip = g.clip;
+            push(OP_SET_CLIP, lastClip, null);
+        }
+        if (g.hints != lastHints) {
+            lastHints = g.hints;
+            push(OP_SET_HINTS, lastHints, null);
+        }
+    }
+
+    /**
+     * @brief Records a draw call of the given context with up to eight numeric arguments.
+     * @param g The context making the call.
+     * @param kind One of the OP_ draw constants.
+     * @param ref The main value of the operation.
+     * @param extra The second value of the operation.
+     */
+    private void record(Recorder g, int kind, Object ref, Object extra, double a0, double a1, double a2, double a3,
+                        double a4, double a5, double a6, double a7) {
+        sync(g);
+        double[] args = push(kind, ref, extra).args;
+        args[0] = a0;
+        args[1] = a1;
+        args[2] = a2;
+        args[3] = a3;
+        args[4] = a4;
+        args[5] = a5;
+        args[6] = a6;
+        args[7] = a7;
+    }
+
+    /**
+     * @class Recorder
+     * @brief Graphics2D that records its calls into the enclosing snapshot instead of drawing.
+     *
+     * Every value kept by a recorder is either immutable or copied, so nothing recorded can change
+     * after the call. Rendering hints are copied on write, which lets the snapshot compare them by reference.
+     */
+    private final class Recorder extends Graphics2D {
+        private final AffineTransform transform;        ///< Current transform, relative to the target's.
+        private Paint paint;                            ///< Current paint.
+        private Color color;                            ///< Last color set, returned by getColor().
+        private Color background;                       ///< Current background color.
+        private Font font;                              ///< Current font.
+        private Composite composite;                    ///< Current composite.
+        private Stroke stroke;                          ///< Current stroke.
+        private Shape clip;                             ///< Current clip in the target's untransformed space, null for none.
+        private RenderingHints hints;                   ///< Current rendering hints, never changed in place.
+
+        /**
+         * @brief Constructs the root recorder of a frame, with the defaults of the template.
+         */
+        Recorder() {
+            this.transform = new AffineTransform();
+            this.paint = lastPaint;
+            this.color = template.getColor();
+            this.background = lastBackground;
+            this.font = lastFont;
+            this.composite = lastComposite;
+            this.stroke = lastStroke;
+            this.clip = null;
+            this.hints = lastHints;
+        }
+
+        /**
+         * @brief Constructs a recorder with the same state as another one.
+         * @param parent The recorder to copy.
+         */
+        Recorder(Recorder parent) {
+            this.transform = new AffineTransform(parent.transform);
+            this.paint = parent.paint;
+            this.color = parent.color;
+            this.background = parent.background;
+            this.font = parent.font;
+            this.composite = parent.composite;
+            this.stroke = parent.stroke;
+            this.clip = parent.clip;
+            this.hints = parent.hints;
+        }
+
+        @Override
+        public Graphics create() {
+            return new Recorder(this);
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        // Images
+
+        @Override
+        public boolean drawImage(Image img, int x, int y, ImageObserver observer) {
+            return drawImage(img, x, y, null, observer);
+        }
+
+        @Override
+        public boolean drawImage(Image img, int x, int y, Color bgcolor, ImageObserver observer) {
+            if (img != null) {
+                record(this, OP_IMAGE, img, bgcolor, x, y, -1, -1, 0, 0, 0, 0);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean drawImage(Image img, int x, int y, int width, int height, ImageObserver observer) {
+            return drawImage(img, x, y, width, height, null, observer);
+        }
+
+        @Override
+        public boolean drawImage(Image img, int x, int y, int width, int height, Color bgcolor, ImageObserver observer) {
+            if (img != null && width >= 0 && height >= 0) {
+                record(this, OP_IMAGE, img, bgcolor, x, y, width, height, 0, 0, 0, 0);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+                                 ImageObserver observer) {
+            return drawImage(img, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2, null, observer);
+        }
+
+        @Override
+        public boolean drawImage(Image img, int dx1, int dy1, int dx2, int dy2, int sx1, int sy1, int sx2, int sy2,
+                                 Color bgcolor, ImageObserver observer) {
+            if (img != null) {
+                record(this, OP_IMAGE_REGION, img, bgcolor, dx1, dy1, dx2, dy2, sx1, sy1, sx2, sy2);
+            }
+            return true;
+        }
+
+        @Override
+        public boolean drawImage(Image img, AffineTransform xform, ImageObserver obs) {
+            if (img != null) {
+                AffineTransform copy = xform == null ? new AffineTransform() : new AffineTransform(xform);
+                record(this, OP_IMAGE_TRANSFORM, img, copy, 0, 0, 0, 0, 0, 0, 0, 0);
+            }
+            return true;
+        }
+
+        @Override
+        public void drawImage(BufferedImage img, BufferedImageOp op, int x, int y) {
+            if (img != null) {
+                drawImage(op == null ? img : op.filter(img, null), x, y, null);
+            }
+        }
+
+        @Override
+        public void drawRenderedImage(RenderedImage img, AffineTransform xform) {
+            if (img != null) {
+                record(this, OP_RENDERED_IMAGE, img, new AffineTransform(xform), 0, 0, 0, 0, 0, 0, 0, 0);
+            }
+        }
+
+        @Override
+        public void drawRenderableImage(RenderableImage img, AffineTransform xform) {
+            if (img != null) {
+                record(this, OP_RENDERABLE_IMAGE, img, new AffineTransform(xform), 0, 0, 0, 0, 0, 0, 0, 0);
+            }
+        }
+
+        // Text
+
+        @Override
+        public void drawString(String str, int x, int y) {
+            drawString(str, (float) x, (float) y);
+        }
+
+        @Override
+        public void drawString(String str, float x, float y) {
+            if (str == null) {
+                throw new NullPointerException("String is null");
+            }
+            record(this, OP_STRING, str, null, x, y, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void drawString(AttributedCharacterIterator iterator, int x, int y) {
+            drawString(iterator, (float) x, (float) y);
+        }
+
+        @Override
+        public void drawString(AttributedCharacterIterator iterator, float x, float y) {
+            record(this, OP_ATTRIBUTED_STRING, new AttributedString(iterator), null, x, y, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void drawGlyphVector(GlyphVector g, float x, float y) {
+            record(this, OP_GLYPHS, g, null, x, y, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public FontMetrics getFontMetrics(Font f) {
+            return template.getFontMetrics(f);
+        }
+
+        @Override
+        public FontRenderContext getFontRenderContext() {
+            return new FontRenderContext(transform,
+                    hints.get(RenderingHints.KEY_TEXT_ANTIALIASING),
+                    hints.get(RenderingHints.KEY_FRACTIONALMETRICS));
+        }
+
+        // Shapes
+
+        @Override
+        public void fillRect(int x, int y, int width, int height) {
+            record(this, OP_FILL_RECT, null, null, x, y, width, height, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void clearRect(int x, int y, int width, int height) {
+            record(this, OP_CLEAR_RECT, null, null, x, y, width, height, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void drawLine(int x1, int y1, int x2, int y2) {
+            record(this, OP_LINE, null, null, x1, y1, x2, y2, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void drawRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+            record(this, OP_DRAW_ROUND_RECT, null, null, x, y, width, height, arcWidth, arcHeight, 0, 0);
+        }
+
+        @Override
+        public void fillRoundRect(int x, int y, int width, int height, int arcWidth, int arcHeight) {
+            record(this, OP_FILL_ROUND_RECT, null, null, x, y, width, height, arcWidth, arcHeight, 0, 0);
+        }
+
+        @Override
+        public void drawOval(int x, int y, int width, int height) {
+            record(this, OP_DRAW_OVAL, null, null, x, y, width, height, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void fillOval(int x, int y, int width, int height) {
+            record(this, OP_FILL_OVAL, null, null, x, y, width, height, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void drawArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+            record(this, OP_DRAW_ARC, null, null, x, y, width, height, startAngle, arcAngle, 0, 0);
+        }
+
+        @Override
+        public void fillArc(int x, int y, int width, int height, int startAngle, int arcAngle) {
+            record(this, OP_FILL_ARC, null, null, x, y, width, height, startAngle, arcAngle, 0, 0);
+        }
+
+        @Override
+        public void drawPolyline(int[] xPoints, int[] yPoints, int nPoints) {
+            record(this, OP_POLYLINE, Arrays.copyOf(xPoints, nPoints), Arrays.copyOf(yPoints, nPoints), nPoints, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void drawPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+            record(this, OP_DRAW_POLYGON, Arrays.copyOf(xPoints, nPoints), Arrays.copyOf(yPoints, nPoints), nPoints, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void fillPolygon(int[] xPoints, int[] yPoints, int nPoints) {
+            record(this, OP_FILL_POLYGON, Arrays.copyOf(xPoints, nPoints), Arrays.copyOf(yPoints, nPoints), nPoints, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void draw(Shape s) {
+            record(this, OP_DRAW_SHAPE, new Path2D.Double(s), null, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void fill(Shape s) {
+            record(this, OP_FILL_SHAPE, new Path2D.Double(s), null, 0, 0, 0, 0, 0, 0, 0, 0);
+        }
+
+        @Override
+        public void copyArea(int x, int y, int width, int height, int dx, int dy) {
+            record(this, OP_COPY_AREA, null, null, x, y, width, height, dx, dy, 0, 0);
+        }
+
+        @Override
+        public boolean hit(Rectangle rect, Shape s, boolean onStroke) {
+            Shape area = transform.createTransformedShape(onStroke ? stroke.createStrokedShape(s) : s);
+            return area.intersects(rect);
+        }
+
+        @Override
+        public GraphicsConfiguration getDeviceConfiguration() {
+            return template.getDeviceConfiguration();
+        }
+
+        // Transform
+
+        @Override
+        public void translate(int x, int y) {
+            transform.translate(x, y);
+        }
+
+        @Override
+        public void translate(double tx, double ty) {
+            transform.translate(tx, ty);
+        }
+
+        @Override
+        public void rotate(double theta) {
+            transform.rotate(theta);
+        }
+
+        @Override
+        public void rotate(double theta, double x, double y) {
+            transform.rotate(theta, x, y);
+        }
+
+        @Override
+        public void scale(double sx, double sy) {
+            transform.scale(sx, sy);
+        }
+
+        @Override
+        public void shear(double shx, double shy) {
+            transform.shear(shx, shy);
+        }
+
+        @Override
+        public void transform(AffineTransform tx) {
+            transform.concatenate(tx);
+        }
+
+        @Override
+        public void setTransform(AffineTransform tx) {
+            transform.setTransform(tx);
+        }
+
+        @Override
+        public AffineTransform getTransform() {
+            return new AffineTransform(transform);
+        }
+
+        // Clip
+
+        @Override
+        public void clip(Shape s) {
+            if (s == null) {
+                clip = null;
+                return;
+            }
+            Shape device = transform.createTransformedShape(s);
+            if (clip == null) {
+                clip = device;
+            } else {
+                Area area = new Area(clip);
+                area.intersect(new Area(device));
+                clip = area;
+            }
+        }
+
+        @Override
+        public void clipRect(int x, int y, int width, int height) {
+            clip(new Rectangle(x, y, width, height));
+        }
+
+        @Override
+        public void setClip(int x, int y, int width, int height) {
+            setClip(new Rectangle(x, y, width, height));
+        }
+
+        @Override
+        public void setClip(Shape s) {
+            clip = s == null ? null : transform.createTransformedShape(s);
+        }
+
+        @Override
+        public Shape getClip() {
+            if (clip == null) {
+                return null;
+            }
+            try {
+                return transform.createInverse().createTransformedShape(clip);
+            } catch (NoninvertibleTransformException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Rectangle getClipBounds() {
+            Shape userClip = getClip();
+            return userClip == null ? null : userClip.getBounds();
+        }
+
+        // Paint and other state
+
+        @Override
+        public Color getColor() {
+            return color;
+        }
+
+        @Override
+        public void setColor(Color c) {
+            if (c != null) {
+                color = c;
+                paint = c;
+            }
+        }
+
+        @Override
+        public Paint getPaint() {
+            return paint;
+        }
+
+        @Override
+        public void setPaint(Paint paint) {
+            if (paint instanceof Color) {
+                setColor((Color) paint);
+            } else if (paint != null) {
+                this.paint = paint;
+            }
+        }
+
+        @Override
+        public void setPaintMode() {
+            composite = AlphaComposite.SrcOver;
+        }
+
+        @Override
+        public void setXORMode(Color c1) {
+            throw new UnsupportedOperationException("XOR mode cannot be recorded into a frame snapshot");
+        }
+
+        @Override
+        public Color getBackground() {
+            return background;
+        }
+
+        @Override
+        public void setBackground(Color color) {
+            background = color;
+        }
+
+        @Override
+        public Font getFont() {
+            return font;
+        }
+
+        @Override
+        public void setFont(Font font) {
+            if (font != null) {
+                this.font = font;
+            }
+        }
+
+        @Override
+        public FontMetrics getFontMetrics() {
+            return getFontMetrics(font);
+        }
+
+        @Override
+        public Composite getComposite() {
+            return composite;
+        }
+
+        @Override
+        public void setComposite(Composite comp) {
+            if (comp == null) {
+                throw new IllegalArgumentException("null Composite");
+            }
+            composite = comp;
+        }
+
+        @Override
+        public Stroke getStroke() {
+            return stroke;
+        }
+
+        @Override
+        public void setStroke(Stroke s) {
+            if (s == null) {
+                throw new IllegalArgumentException("null Stroke");
+            }
+            stroke = s;
+        }
+
+        @Override
+        public Object getRenderingHint(RenderingHints.Key hintKey) {
+            return hints.get(hintKey);
+        }
+
+        @Override
+        public void setRenderingHint(RenderingHints.Key hintKey, Object hintValue) {
+            if (Objects.equals(hints.get(hintKey), hintValue)) {
+                return;
+            }
+            RenderingHints copy = (RenderingHints) hints.clone();
+            copy.put(hintKey, hintValue);
+            hints = copy;
+        }
+
+        @Override
+        public void setRenderingHints(Map<?, ?> hints) {
+            RenderingHints copy = (RenderingHints) template.getRenderingHints().clone();
+            copy.putAll(hints);
+            this.hints = copy;
+        }
+
+        @Override
+        public void addRenderingHints(Map<?, ?> hints) {
+            RenderingHints copy = (RenderingHints) this.hints.clone();
+            copy.putAll(hints);
+            this.hints = copy;
+        }
+
+        @Override
+        public RenderingHints getRenderingHints() {
+            return (RenderingHints) hints.clone();
+        }
+    }
+}
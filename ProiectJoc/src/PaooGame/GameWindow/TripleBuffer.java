@@ -0,0 +1,99 @@
+package PaooGame.GameWindow;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * @class TripleBuffer
+ * @brief Lock-free hand-off of the latest value from one producer thread to one consumer thread.
+ *
+ * Three slots are used: the producer fills the back slot, the consumer reads the front slot,
+ * and the middle slot holds the latest published value. Publishing and acquiring swap slot
+ * indices with a single compare-and-set on a packed state word, so neither side ever blocks
+ * or waits on the other. The producer may overwrite values the consumer never saw; the
+ * consumer always gets the most recent one.
+ *
+ * @param <T> The type of the buffered values. Each slot is reused, values are never copied.
+ */
+public class TripleBuffer<T> {
+    private static final int FRESH = 1 << 6;            ///< Set in the state word when the middle slot holds a value not yet acquired.
+
+    private final Object[] slots = new Object[3];       ///< The three buffered values.
+    private final AtomicInteger state;                  ///< Packed slot indices: back in bits 0-1, middle in bits 2-3, front in bits 4-5, plus {@link #FRESH}.
+
+    /**
+     * @brief Constructs a TripleBuffer and fills its slots.
+     * @param factory Creates the value held by each of the three slots.
+     */
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < 3; ++i) {
+            slots[i] = factory.get();
+        }
+        this.state = new AtomicInteger(pack(0, 1, 2, false));
+    }
+
+    /**
+     * @brief Gets the slot the producer may write into. Only the producer thread may call this.
+     * @return The back slot.
+     */
+    @SuppressWarnings("unchecked")
+    public T getWriteBuffer() {
+        return (T) slots[state.get() & 3];
+    }
+
+    /**
+     * @brief Publishes the back slot as the latest value. Only the producer thread may call this.
+     */
+    public void publish() {
+        int current;
+        int next;
+        do {
+            current = state.get();
+            next = pack(middle(current), back(current), front(current), true);
+        } while (!state.compareAndSet(current, next));
+    }
+
+    /**
+     * @brief Checks whether a value was published since the last {@link #acquireLatest()}.
+     * @return True if a newer value is waiting.
+     */
+    public boolean hasNew() {
+        return (state.get() & FRESH) != 0;
+    }
+
+    /**
+     * @brief Takes the latest published value. Only the consumer thread may call this.
+     *
+     * The returned value stays untouched by the producer until the next call.
+     * @return The latest value, or the previously acquired one if nothing new was published.
+     */
+    @SuppressWarnings("unchecked")
+    public T acquireLatest() {
+        int current;
+        int next;
+        do {
+            current = state.get();
+            if ((current & FRESH) == 0) {
+                return (T) slots[front(current)];
+            }
+            next = pack(back(current), front(current), middle(current), false);
+        } while (!state.compareAndSet(current, next));
+        return (T) slots[front(next)];
+    }
+
+    private static int pack(int back, int middle, int front, boolean fresh) {
+        return back | (middle << 2) | (front << 4) | (fresh ? FRESH : 0);
+    }
+
+    private static int back(int state) {
+        return state & 3;
+    }
+
+    private static int middle(int state) {
+        return (state >> 2) & 3;
+    }
+
+    private static int front(int state) {
+        return (state >> 4) & 3;
+    }
+}
@@ -2,6 +2,7 @@ package PaooGame.HUD;
 
 import PaooGame.Config.Constants;
 import PaooGame.Entities.Hero;
+import PaooGame.Hitbox.SpatialHash;
 import java.awt.*;
 import java.awt.Point;
 import java.util.ArrayList;
@@ -13,9 +14,13 @@ import java.util.ArrayList;
  * This HUD element is associated with a {@link Hero} and contains a list of {@link MessageTriggerZone} objects.
  * When the hero enters a trigger zone, a corresponding message is displayed on the screen for a set duration.
  * The message is typically shown at a fixed position near the top of the game window.
+ * The zones are also registered in a {@link SpatialHash}, so only the zones near the hero are checked.
  */
 public class ContextHUD extends HUD {
     private ArrayList<MessageTriggerZone> triggers = new ArrayList<>(); ///< List of trigger zones that can display contextual messages.
+    private SpatialHash<MessageTriggerZone> triggerCells = new SpatialHash<>(Constants.INTERACTION_CELL_SIZE); ///< The trigger zones by position; the handle of a zone is its index in {@link #triggers}.
+    private ArrayList<MessageTriggerZone> nearbyTriggers = new ArrayList<>(); ///< Scratch list of the trigger zones near the hero.
+    private Rectangle heroBounds = new Rectangle();                     ///< The hero hitbox as a rectangle, reused every update.
     private String currentMessage = "";                                 ///< The message currently being displayed. Empty if no message is active.
     private int messageDuration = 100;                                  ///< The duration (in game ticks or frames) for which a message stays on screen.
     private int messageTimer = 0;                                       ///< Timer to track how long the current message has been displayed.
@@ -36,6 +41,8 @@ public class ContextHUD extends HUD {
      */
     public void addTrigger(MessageTriggerZone trigger) {
         triggers.add(trigger);
+        Rectangle bounds = trigger.getBounds();
+        triggerCells.add(trigger, bounds.x, bounds.y, bounds.width, bounds.height);
     }
 
     /**
@@ -43,7 +50,7 @@ public class ContextHUD extends HUD {
      *
      * This method performs the following actions:
      * 1. Updates the bounding boxes of all associated trigger zones, especially if they are linked to moving entities.
-     * 2. Checks if the hero's hitbox intersects with any of the trigger zones.
+     * 2. Checks if the hero's hitbox intersects with any of the trigger zones near it.
      * 3. If an intersection occurs, it sets the "currentMessage" to the message from the triggered zone,
      *    calculates a conceptual message position (though the drawing uses a fixed screen position),
      *    and resets the "messageTimer".
@@ -53,24 +60,28 @@ public class ContextHUD extends HUD {
      */
     public void update() {
         // Update the bounds for all triggers
-        for (MessageTriggerZone trigger : triggers) {
+        for (int i = 0; i < triggers.size(); ++i) {
+            MessageTriggerZone trigger = triggers.get(i);
             if (trigger.hasEntity()) {
                 trigger.updateBounds();
+                Rectangle bounds = trigger.getBounds();
+                triggerCells.move(i, bounds.x, bounds.y, bounds.width, bounds.height);
             }
         }
 
         // Check collision with the player
-        Rectangle heroBounds = new Rectangle(
+        heroBounds.setBounds(
                 (int) entity.getHitbox().getX(),
                 (int) entity.getHitbox().getY(),
                 (int) entity.getHitbox().getWidth(),
                 (int) entity.getHitbox().getHeight()
         );
+        triggerCells.query(heroBounds.x, heroBounds.y, heroBounds.width, heroBounds.height, nearbyTriggers); // in the order they were added
 
         // Reset the message
         currentMessage = ""; // Clear previous message, will be set if a new trigger is active
         boolean triggerFound = false;
-        for (MessageTriggerZone trigger : triggers) {
+        for (MessageTriggerZone trigger : nearbyTriggers) {
             if (trigger.checkTrigger(heroBounds)) {
                 currentMessage = trigger.getMessage();
                 Rectangle triggerBounds = trigger.getBounds();
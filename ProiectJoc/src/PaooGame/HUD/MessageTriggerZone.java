@@ -72,7 +72,11 @@ public class MessageTriggerZone {
         if (entity != null) { // Only if an entity exists
             int x = (int) entity.getHitbox().getX() + offsetX;
             int y = (int) entity.getHitbox().getY() + offsetY;
-            this.bounds = new Rectangle(x, y, width, height);
+            if (this.bounds == null) {
+                this.bounds = new Rectangle(x, y, width, height);
+            } else {
+                this.bounds.setBounds(x, y, width, height); // Called every update, so the rectangle is reused
+            }
         }
     }
 
@@ -0,0 +1,204 @@
+package PaooGame;
+
+import PaooGame.Config.Constants;
+import PaooGame.Input.InputRecorder;
+import PaooGame.Input.InputReplay;
+import PaooGame.Input.ScriptedInput;
+import PaooGame.Tiles.AssetRegistry;
+
+import javax.imageio.ImageIO;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+
+/**
+ * @class HeadlessMain
+ * @brief Entry point running the game without a window, for soak tests and performance runs.
+ *
+ * Options:
+ * - `--ticks <n>`: number of updates to run (default {@link Constants#UPDATES_PER_SECOND} * 60).
+ * - `--speed <x>`: multiple of real time to run at; 0 runs unthrottled (the default).
+ * - `--draw-every <n>`: draw a frame offscreen every n updates; 0 skips drawing (the default).
+ * - `--script <path>`: input script to play (see {@link ScriptedInput}).
+ * - `--replay <path>`: input recording to play (see {@link InputReplay}); `--ticks` defaults to its length.
+ * - `--record <path>`: record the input of the run (see {@link InputRecorder}).
+ * - `--screenshot <path>`: write the last drawn frame to a PNG file at the end.
+ * - `--sessions <n>`: run n games at once on a thread pool as wide as the machine, all playing the
+ *   same input and sharing one {@link AssetRegistry}; recording needs a single session, the screenshot
+ *   is taken from the first one.
+ * - `--save-file <path>`: keep the saves and scores in the SQLite file at path, e.g. the game's own
+ *   save file at src/PaooGame/DatabaseManaging/myDB.db; single session only. By default every
+ *   session keeps them in a private in-memory database, so a run never touches a save file.
+ * The run ends with the number of updates per second it achieved. Every session is closed
+ * (see {@link Game#close()}) by a shutdown hook, however the program exits.
+ */
+public class HeadlessMain
+{
+    /**
+     * @brief Parses the options, runs the game headless and prints the result.
+     * @param args The command line options described above.
+     */
+    public static void main(String[] args)
+    {
+        System.setProperty("java.awt.headless", "true"); // Before any AWT class asks for a display
+
+        long ticks = -1; // not given
+        double speed = 0;
+        int drawInterval = 0;
+        String scriptPath = null;
+        String screenshotPath = null;
+        String replayPath = null;
+        String recordPath = null;
+        int sessions = 1;
+        String saveFilePath = null;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--ticks":      ticks = Long.parseLong(value); break;
+                    case "--speed":      speed = Double.parseDouble(value); break;
+                    case "--draw-every": drawInterval = Integer.parseInt(value); break;
+                    case "--script":     scriptPath = value; break;
+                    case "--screenshot": screenshotPath = value; break;
+                    case "--replay":     replayPath = value; break;
+                    case "--record":     recordPath = value; break;
+                    case "--sessions":   sessions = Integer.parseInt(value); break;
+                    case "--save-file":  saveFilePath = value; break;
+                    default: throw new IllegalArgumentException("unknown option " + args[i]);
+                }
+            }
+            if (sessions < 1 || (sessions > 1 && (recordPath != null || saveFilePath != null))) {
+                throw new IllegalArgumentException("--sessions needs a positive count, and a single session to record or use a save file");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.exit(2);
+        }
+
+        AssetRegistry assets = AssetRegistry.load(null);
+        Game[] games = new Game[sessions];
+        for (int i = 0; i < sessions; ++i) {
+            games[i] = new Game("GoldenEagle", Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT, true, assets);
+            // Headless runs must not write over the player's saves, nor parallel sessions over each other's
+            games[i].setDatabaseUrl(saveFilePath != null ? "jdbc:sqlite:" + saveFilePath : Constants.DB_IN_MEMORY_URL);
+            if (sessions > 1) {
+                games[i].setProfilerCsvPath(sessionPath(Constants.PROFILER_CSV_PATH, i)); // Parallel sessions also need their own frame timings file
+            }
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Game game : games) {
+                game.close();
+            }
+        }));
+        for (Game game : games) { // Input sources keep their position, so every session reads its own copy
+            if (scriptPath != null) {
+                game.setInputSource(orExit(ScriptedInput.load(scriptPath)));
+            }
+            if (replayPath != null) {
+                InputReplay replay = orExit(InputReplay.load(replayPath));
+                if (game == games[0] && replay.getUpdatesPerSecond() != Constants.UPDATES_PER_SECOND) {
+                    System.err.println("Warning: the recording was made at " + replay.getUpdatesPerSecond() + " updates per second.");
+                }
+                if (ticks < 0) {
+                    ticks = replay.getLastTick() + 1;
+                }
+                game.setInputSource(replay);
+            }
+        }
+        if (recordPath != null) {
+            games[0].setInputRecorder(orExit(InputRecorder.create(recordPath, Constants.UPDATES_PER_SECOND)));
+        }
+        if (ticks < 0) {
+            ticks = Constants.UPDATES_PER_SECOND * 60L;
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(sessions, Runtime.getRuntime().availableProcessors()));
+        runAll(pool, games, Game::initHeadless); // Loading the game is not part of the measured run
+        long start = System.nanoTime();
+        final long runTicks = ticks;
+        final double runSpeed = speed;
+        final int runDrawInterval = drawInterval;
+        runAll(pool, games, game -> game.runHeadless(runTicks, runSpeed, runDrawInterval));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+
+        long totalUpdates = 0;
+        for (int i = 0; i < sessions; ++i) {
+            Game game = games[i];
+            totalUpdates += game.getUpdateCount();
+            System.out.printf("%s%d updates, final state %s%n", sessions > 1 ? "session " + i + ": " : "",
+                    game.getUpdateCount(), game.getCurrentState() == null ? "none" : game.getCurrentState().getStateName());
+        }
+        System.out.printf("%d updates in %.2f s, %.0f updates/s%n", totalUpdates, seconds, totalUpdates / seconds);
+
+        if (screenshotPath != null && games[0].getOffscreenFrame() != null) {
+            try {
+                ImageIO.write(games[0].getOffscreenFrame(), "png", new File(screenshotPath));
+            } catch (IOException e) {
+                System.err.println("Could not write the screenshot: " + e.getMessage());
+            }
+        }
+        System.exit(0); // Runs the shutdown hook closing every session: profiler output, database and recording
+    }
+
+    /**
+     * @brief Runs an action on every game, on the pool, and waits for all of them.
+     *
+     * The first failure ends the program, after the stack trace is printed.
+     * @param pool The threads to run on.
+     * @param games The games.
+     * @param action The action to run on each game.
+     */
+    private static void runAll(ExecutorService pool, Game[] games, Consumer<Game> action) {
+        List<Future<Void>> results = new ArrayList<>();
+        for (Game game : games) {
+            Callable<Void> task = () -> {
+                action.accept(game);
+                return null;
+            };
+            results.add(pool.submit(task));
+        }
+        try {
+            for (Future<Void> result : results) {
+                result.get();
+            }
+        } catch (ExecutionException e) {
+            System.err.println("A session failed:");
+            e.getCause().printStackTrace();
+            System.exit(1);
+        } catch (InterruptedException e) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @brief Gets the path of a per-session file, with the session number before the extension.
+     * @param path The path shared by all sessions, e.g. frame_times.csv.
+     * @param session The session number.
+     * @return The path of the session, e.g. frame_times_session2.csv.
+     */
+    private static String sessionPath(String path, int session) {
+        int dot = path.lastIndexOf('.');
+        return dot < 0 ? path + "_session" + session : path.substring(0, dot) + "_session" + session + path.substring(dot);
+    }
+
+    /**
+     * @brief Ends the program if an input file couldn't be opened; the loader already said why.
+     * @param value What the loader returned.
+     * @return The value, if it is not null.
+     */
+    private static <T> T orExit(T value) {
+        if (value == null) {
+            System.exit(2);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,246 @@
+package PaooGame.Hitbox;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @class SpatialHash
+ * @brief A uniform grid over world pixels, hashed into a fixed number of buckets, for finding what is near a box.
+ *
+ * Every item is registered with the box it occupies and is listed in the bucket of each grid cell
+ * the box touches. A query only visits the cells its own box touches, so its cost depends on how
+ * many items are near it, not on how many the level has. The grid is unbounded: cells are hashed,
+ * so it needs no world size and negative coordinates are fine.
+ *
+ * Queries return candidates, every item sharing a cell with the query box, in the order the items
+ * were added. Callers still test the candidates exactly (e.g. with {@link Hitbox#intersects(Hitbox)}),
+ * against the items' current boxes. The registered box of a moving item must be kept up to date
+ * with {@link #move(int, Hitbox)} whenever it changes.
+ *
+ * Handles are given out in the order items are added, starting at 0, so items added from an array
+ * in order have their array index as handle. Adding, moving and querying allocate nothing once the
+ * internal arrays have grown to fit. The grid is not thread-safe.
+ *
+ * @param <T> The type of the items.
+ */
+public class SpatialHash<T> {
+    private static final int NR_OF_BUCKETS = 1024;              ///< Buckets the cells are hashed into; a power of two.
+
+    private final int cellSize;                                 ///< Side of a grid cell, in pixels.
+    private final int[][] buckets = new int[NR_OF_BUCKETS][];   ///< Per bucket, the handles listed in it (once per cell of the item).
+    private final int[] bucketSizes = new int[NR_OF_BUCKETS];   ///< Number of handles listed in each bucket.
+
+    private Object[] items = new Object[16];                    ///< The item of each handle.
+    private int[] cellRanges = new int[16 * 4];                 ///< Per handle, the first and last cell column and row its box touches.
+    private int[] stamps = new int[16];                         ///< Per handle, the last query that visited it.
+    private int size = 0;                                       ///< Number of handles given out.
+    private int stamp = 0;                                      ///< Number of the current query.
+    private int[] found = new int[16];                          ///< Scratch list of the handles found by a query.
+
+    /**
+     * @brief Constructs an empty grid.
+     * @param cellSize Side of a grid cell, in pixels. A few times the size of a typical item works well.
+     */
+    public SpatialHash(int cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive.\n");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * @brief Registers an item.
+     * @param item The item.
+     * @param box The box the item occupies.
+     * @return The handle of the item, the number of items added before it.
+     */
+    public int add(T item, Hitbox box) {
+        return add(item, box.getX(), box.getY(), box.getWidth(), box.getHeight());
+    }
+
+    /**
+     * @brief Registers an item.
+     * @param item The item.
+     * @param x The x-coordinate of the top-left corner of the box the item occupies.
+     * @param y The y-coordinate of the top-left corner of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @return The handle of the item, the number of items added before it.
+     */
+    public int add(T item, float x, float y, float width, float height) {
+        if (this.size == this.items.length) {
+            this.items = Arrays.copyOf(this.items, this.size * 2);
+            this.cellRanges = Arrays.copyOf(this.cellRanges, this.size * 2 * 4);
+            this.stamps = Arrays.copyOf(this.stamps, this.size * 2);
+        }
+        int handle = this.size++;
+        this.items[handle] = item;
+        this.stamps[handle] = this.stamp;
+        int at = handle * 4;
+        this.cellRanges[at] = cell(x);
+        this.cellRanges[at + 1] = cell(y);
+        this.cellRanges[at + 2] = cell(x + width);
+        this.cellRanges[at + 3] = cell(y + height);
+        list(handle);
+        return handle;
+    }
+
+    /**
+     * @brief Updates the box of an item after it moved or changed size.
+     * @param handle The handle of the item.
+     * @param box The box the item occupies now.
+     */
+    public void move(int handle, Hitbox box) {
+        move(handle, box.getX(), box.getY(), box.getWidth(), box.getHeight());
+    }
+
+    /**
+     * @brief Updates the box of an item after it moved or changed size.
+     *
+     * Nothing is done unless the box now touches other cells, which for a typical move is the case
+     * only every few updates.
+     * @param handle The handle of the item.
+     * @param x The x-coordinate of the top-left corner of the box the item occupies now.
+     * @param y The y-coordinate of the top-left corner of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     */
+    public void move(int handle, float x, float y, float width, float height) {
+        int minX = cell(x);
+        int minY = cell(y);
+        int maxX = cell(x + width);
+        int maxY = cell(y + height);
+        int at = handle * 4;
+        if (minX == this.cellRanges[at] && minY == this.cellRanges[at + 1]
+                && maxX == this.cellRanges[at + 2] && maxY == this.cellRanges[at + 3]) {
+            return;
+        }
+        unlist(handle);
+        this.cellRanges[at] = minX;
+        this.cellRanges[at + 1] = minY;
+        this.cellRanges[at + 2] = maxX;
+        this.cellRanges[at + 3] = maxY;
+        list(handle);
+    }
+
+    /**
+     * @brief Finds the items that may overlap a box.
+     * @param box The box to look around.
+     * @param out Cleared, then filled with the candidates in the order they were added.
+     */
+    public void query(Hitbox box, List<T> out) {
+        query(box.getX(), box.getY(), box.getWidth(), box.getHeight(), out);
+    }
+
+    /**
+     * @brief Finds the items that may overlap a box.
+     * @param x The x-coordinate of the top-left corner of the box to look around.
+     * @param y The y-coordinate of the top-left corner of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @param out Cleared, then filled with the candidates in the order they were added.
+     */
+    @SuppressWarnings("unchecked")
+    public void query(float x, float y, float width, float height, List<T> out) {
+        out.clear();
+        if (++this.stamp == 0) { // wrapped around: forget every old visit
+            Arrays.fill(this.stamps, 0, this.size, 0);
+            this.stamp = 1;
+        }
+        int nrOfFound = 0;
+        int maxX = cell(x + width);
+        int maxY = cell(y + height);
+        for (int cellY = cell(y); cellY <= maxY; ++cellY) {
+            for (int cellX = cell(x); cellX <= maxX; ++cellX) {
+                int bucket = bucket(cellX, cellY);
+                int[] handles = this.buckets[bucket];
+                for (int i = 0; i < this.bucketSizes[bucket]; ++i) {
+                    int handle = handles[i];
+                    if (this.stamps[handle] == this.stamp || !touches(handle, cellX, cellY)) {
+                        continue; // already found, or listed here for another cell hashed into this bucket
+                    }
+                    this.stamps[handle] = this.stamp;
+                    if (nrOfFound == this.found.length) {
+                        this.found = Arrays.copyOf(this.found, nrOfFound * 2);
+                    }
+                    this.found[nrOfFound++] = handle;
+                }
+            }
+        }
+        Arrays.sort(this.found, 0, nrOfFound);
+        for (int i = 0; i < nrOfFound; ++i) {
+            out.add((T) this.items[this.found[i]]);
+        }
+    }
+
+    /**
+     * @brief Gets the number of registered items.
+     * @return The number of handles given out.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @brief The cell column (or row) of a coordinate.
+     */
+    private int cell(float coordinate) {
+        return Math.floorDiv((int) Math.floor(coordinate), this.cellSize);
+    }
+
+    /**
+     * @brief The bucket of a cell.
+     */
+    private static int bucket(int cellX, int cellY) {
+        int hash = cellX * 0x9E3779B1 + cellY * 0x85EBCA6B;
+        return (hash ^ (hash >>> 16)) & (NR_OF_BUCKETS - 1);
+    }
+
+    /**
+     * @brief Checks whether the registered box of an item touches a cell.
+     */
+    private boolean touches(int handle, int cellX, int cellY) {
+        int at = handle * 4;
+        return cellX >= this.cellRanges[at] && cellX <= this.cellRanges[at + 2]
+                && cellY >= this.cellRanges[at + 1] && cellY <= this.cellRanges[at + 3];
+    }
+
+    /**
+     * @brief Lists an item in the bucket of every cell of its registered box.
+     */
+    private void list(int handle) {
+        int at = handle * 4;
+        for (int cellY = this.cellRanges[at + 1]; cellY <= this.cellRanges[at + 3]; ++cellY) {
+            for (int cellX = this.cellRanges[at]; cellX <= this.cellRanges[at + 2]; ++cellX) {
+                int bucket = bucket(cellX, cellY);
+                int[] handles = this.buckets[bucket];
+                if (handles == null) {
+                    handles = this.buckets[bucket] = new int[4];
+                } else if (this.bucketSizes[bucket] == handles.length) {
+                    handles = this.buckets[bucket] = Arrays.copyOf(handles, handles.length * 2);
+                }
+                handles[this.bucketSizes[bucket]++] = handle;
+            }
+        }
+    }
+
+    /**
+     * @brief Removes an item from the bucket of every cell of its registered box, once per cell.
+     */
+    private void unlist(int handle) {
+        int at = handle * 4;
+        for (int cellY = this.cellRanges[at + 1]; cellY <= this.cellRanges[at + 3]; ++cellY) {
+            for (int cellX = this.cellRanges[at]; cellX <= this.cellRanges[at + 2]; ++cellX) {
+                int bucket = bucket(cellX, cellY);
+                int[] handles = this.buckets[bucket];
+                int last = --this.bucketSizes[bucket];
+                for (int i = 0; i <= last; ++i) {
+                    if (handles[i] == handle) {
+                        handles[i] = handles[last];
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package PaooGame.Input;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * @class InputRecorder
+ * @brief Records the input state seen by every update into a compact binary log, for {@link InputReplay}.
+ *
+ * The game calls {@link #record(long, KeyManager, MouseInput)} at the start of every update, after
+ * the queued window events and the input source have been applied. Only the updates at which the
+ * input changed are written:
+ * - header: int {@link #MAGIC}, short {@link #VERSION}, short updates per second.
+ * - per changed update: varint ticks since the previous record, varint number of toggled keys,
+ *   the toggled key codes (one byte each), a flags byte ({@link #FLAG_MOUSE_PRESSED}, {@link #FLAG_MOUSE_MOVED})
+ *   and, if the cursor moved, its position as two shorts.
+ * Holding a key therefore costs nothing until it is released.
+ */
+public class InputRecorder {
+    public static final int MAGIC = 0x47454952;             ///< "GEIR", the first four bytes of a recording.
+    public static final short VERSION = 1;                  ///< Version of the format written.
+    public static final int FLAG_MOUSE_PRESSED = 1;         ///< The mouse button is down.
+    public static final int FLAG_MOUSE_MOVED = 2;           ///< The cursor position follows.
+    public static final int NUM_KEYS = 256;                 ///< Key codes recorded, as tracked by {@link KeyManager}.
+
+    private DataOutputStream out;                           ///< The log, or null once closed.
+    private final boolean[] keys = new boolean[NUM_KEYS];  ///< Key state of the last record.
+    private boolean mousePressed = false;                   ///< Mouse button state of the last record.
+    private int mouseX = 0;                                 ///< Cursor x-coordinate of the last record.
+    private int mouseY = 0;                                 ///< Cursor y-coordinate of the last record.
+    private long lastTick = 0;                              ///< Update of the last record.
+    private final int[] toggled = new int[NUM_KEYS];        ///< Scratch list of the keys toggled since the last record.
+
+    /**
+     * @brief Constructs a recorder writing to an open stream.
+     */
+    private InputRecorder(DataOutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * @brief Creates a recording file and writes its header.
+     * @param path The path of the file to create; an existing file is overwritten.
+     * @param updatesPerSecond The update rate of the recorded game, kept in the header.
+     * @return The recorder, or null if the file could not be created.
+     */
+    public static InputRecorder create(String path, int updatesPerSecond) {
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort(updatesPerSecond);
+            return new InputRecorder(out);
+        } catch (IOException e) {
+            System.err.println("Could not create the input recording " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @brief Records the input state of an update, if it differs from the last recorded one.
+     * @param tick The number of the update about to run.
+     * @param keyManager The keyboard state the update will see.
+     * @param mouseInput The mouse state the update will see.
+     */
+    public synchronized void record(long tick, KeyManager keyManager, MouseInput mouseInput) {
+        if (out == null) {
+            return;
+        }
+        boolean[] keyState = keyManager.getKeyState();
+        int nrOfToggled = 0;
+        for (int keyCode = 0; keyCode < NUM_KEYS; ++keyCode) {
+            if (keyState[keyCode] != keys[keyCode]) {
+                toggled[nrOfToggled++] = keyCode;
+                keys[keyCode] = keyState[keyCode];
+            }
+        }
+        boolean pressed = mouseInput.isMousePressed();
+        boolean moved = mouseInput.getMouseX() != mouseX || mouseInput.getMouseY() != mouseY;
+        if (nrOfToggled == 0 && pressed == mousePressed && !moved) {
+            return;
+        }
+        mousePressed = pressed;
+        mouseX = mouseInput.getMouseX();
+        mouseY = mouseInput.getMouseY();
+
+        try {
+            writeVarLong(tick - lastTick);
+            writeVarLong(nrOfToggled);
+            for (int i = 0; i < nrOfToggled; ++i) {
+                out.writeByte(toggled[i]);
+            }
+            out.writeByte((pressed ? FLAG_MOUSE_PRESSED : 0) | (moved ? FLAG_MOUSE_MOVED : 0));
+            if (moved) {
+                out.writeShort(mouseX);
+                out.writeShort(mouseY);
+            }
+        } catch (IOException e) {
+            System.err.println("Input recording stopped: " + e.getMessage());
+            close();
+        }
+        lastTick = tick;
+    }
+
+    /**
+     * @brief Writes a non-negative value in 7-bit groups, low group first.
+     */
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * @brief Flushes and closes the recording. Later records are ignored.
+     */
+    public synchronized void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            System.err.println("Could not close the input recording: " + e.getMessage());
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,185 @@
+package PaooGame.Input;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * @class InputReplay
+ * @brief An {@link InputSource} feeding a recording made by {@link InputRecorder} back into the game.
+ *
+ * Every recorded input state is applied at the start of the same update it was recorded at, so
+ * a run started the same way (same save data, same starting state) goes through exactly the
+ * same updates as the recorded one. The whole recording is read into memory when it is loaded.
+ */
+public class InputReplay implements InputSource {
+    private final long[] ticks;         ///< Update of each record.
+    private final int[] keyStart;       ///< For each record, the index of its first toggled key in {@link #keyCodes}; one extra entry at the end.
+    private final byte[] keyCodes;      ///< The toggled key codes of all the records.
+    private final byte[] flags;         ///< Mouse flags of each record.
+    private final short[] mouseX;       ///< Cursor x-coordinate of each record.
+    private final short[] mouseY;       ///< Cursor y-coordinate of each record.
+    private final int updatesPerSecond; ///< Update rate of the recorded game.
+
+    private int next = 0;                                                    ///< Index of the first record not applied yet.
+    private final boolean[] keys = new boolean[InputRecorder.NUM_KEYS];     ///< Key state set by the replay so far.
+    private boolean mousePressed = false;                                    ///< Mouse button state set by the replay so far.
+    private int cursorX = 0;                                                 ///< Cursor x-coordinate set by the replay so far.
+    private int cursorY = 0;                                                 ///< Cursor y-coordinate set by the replay so far.
+    private int recordedX = 0;                                               ///< Cursor x-coordinate of the last applied record.
+    private int recordedY = 0;                                               ///< Cursor y-coordinate of the last applied record.
+
+    /**
+     * @brief Constructs a replay from decoded records.
+     */
+    private InputReplay(long[] ticks, int[] keyStart, byte[] keyCodes, byte[] flags, short[] mouseX, short[] mouseY, int updatesPerSecond) {
+        this.ticks = ticks;
+        this.keyStart = keyStart;
+        this.keyCodes = keyCodes;
+        this.flags = flags;
+        this.mouseX = mouseX;
+        this.mouseY = mouseY;
+        this.updatesPerSecond = updatesPerSecond;
+    }
+
+    /**
+     * @brief Reads a recording.
+     * @param path The path of the recording file.
+     * @return The replay, or null if the file can't be read or is not a recording.
+     */
+    public static InputReplay load(String path) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)))) {
+            if (in.readInt() != InputRecorder.MAGIC || in.readShort() != InputRecorder.VERSION) {
+                System.err.println(path + " is not an input recording of a supported version.");
+                return null;
+            }
+            int updatesPerSecond = in.readShort();
+
+            int count = 0;
+            long[] ticks = new long[256];
+            int[] keyStart = new int[257];
+            byte[] keyCodes = new byte[256];
+            byte[] flags = new byte[256];
+            short[] mouseX = new short[256];
+            short[] mouseY = new short[256];
+            long tick = 0;
+            while (true) {
+                long delta;
+                try {
+                    delta = readVarLong(in);
+                } catch (EOFException e) {
+                    break; // a record never starts past the end, so this is the end of the recording
+                }
+                if (count == ticks.length) {
+                    ticks = Arrays.copyOf(ticks, count * 2);
+                    keyStart = Arrays.copyOf(keyStart, count * 2 + 1);
+                    flags = Arrays.copyOf(flags, count * 2);
+                    mouseX = Arrays.copyOf(mouseX, count * 2);
+                    mouseY = Arrays.copyOf(mouseY, count * 2);
+                }
+                tick += delta;
+                ticks[count] = tick;
+                int nrOfToggled = (int) readVarLong(in);
+                int start = keyStart[count];
+                if (start + nrOfToggled > keyCodes.length) {
+                    keyCodes = Arrays.copyOf(keyCodes, Math.max(keyCodes.length * 2, start + nrOfToggled));
+                }
+                in.readFully(keyCodes, start, nrOfToggled);
+                keyStart[count + 1] = start + nrOfToggled;
+                flags[count] = in.readByte();
+                if ((flags[count] & InputRecorder.FLAG_MOUSE_MOVED) != 0) {
+                    mouseX[count] = in.readShort();
+                    mouseY[count] = in.readShort();
+                }
+                ++count;
+            }
+            return new InputReplay(Arrays.copyOf(ticks, count), Arrays.copyOf(keyStart, count + 1), keyCodes,
+                    Arrays.copyOf(flags, count), Arrays.copyOf(mouseX, count), Arrays.copyOf(mouseY, count), updatesPerSecond);
+        } catch (IOException e) {
+            System.err.println("Could not read the input recording " + path + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @brief Reads a value written by {@link InputRecorder} in 7-bit groups.
+     */
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    /**
+     * @brief Applies the recorded input state of an update, if it changed at that update.
+     * @param tick The number of the update about to run.
+     * @param keyManager The keyboard state to write into.
+     * @param mouseInput The mouse state to write into.
+     */
+    @Override
+    public void poll(long tick, KeyManager keyManager, MouseInput mouseInput) {
+        while (next < ticks.length && ticks[next] <= tick) {
+            for (int i = keyStart[next]; i < keyStart[next + 1]; ++i) {
+                int keyCode = keyCodes[i] & 0xFF;
+                keys[keyCode] = !keys[keyCode];
+                keyManager.setKeyPressed(keyCode, keys[keyCode]);
+            }
+
+            if ((flags[next] & InputRecorder.FLAG_MOUSE_MOVED) != 0) {
+                recordedX = mouseX[next];
+                recordedY = mouseY[next];
+            }
+            boolean pressed = (flags[next] & InputRecorder.FLAG_MOUSE_PRESSED) != 0;
+            if (pressed && !mousePressed) {
+                mouseInput.press(recordedX, recordedY);
+                cursorX = recordedX;
+                cursorY = recordedY;
+            } else if (!pressed && mousePressed) {
+                mouseInput.release(); // also moves the cursor to 0, 0
+                cursorX = 0;
+                cursorY = 0;
+            }
+            mousePressed = pressed;
+            if (cursorX != recordedX || cursorY != recordedY) {
+                mouseInput.move(recordedX, recordedY);
+                cursorX = recordedX;
+                cursorY = recordedY;
+            }
+            ++next;
+        }
+    }
+
+    /**
+     * @brief Checks whether some records have not been applied yet.
+     * @return True until the last record has been applied.
+     */
+    @Override
+    public boolean hasMore() {
+        return next < ticks.length;
+    }
+
+    /**
+     * @brief Gets the update of the last record, i.e. how long the recorded run had input.
+     * @return The update number of the last record, or 0 for an empty recording.
+     */
+    public long getLastTick() {
+        return ticks.length == 0 ? 0 : ticks[ticks.length - 1];
+    }
+
+    /**
+     * @brief Gets the update rate of the recorded game.
+     * @return The recorded updates per second.
+     */
+    public int getUpdatesPerSecond() {
+        return updatesPerSecond;
+    }
+}
@@ -0,0 +1,27 @@
+package PaooGame.Input;
+
+/**
+ * @interface InputSource
+ * @brief Feeds input into the game from somewhere other than the window's listeners.
+ *
+ * The game polls its input source once at the start of every update, before the scheduler
+ * and the current state run, so whatever the source sets is seen by that update exactly as
+ * if the matching key or mouse events had arrived from the window.
+ */
+public interface InputSource {
+    /**
+     * @brief Applies the input of an update.
+     * @param tick The number of the update about to run, counted from 0.
+     * @param keyManager The keyboard state to write into.
+     * @param mouseInput The mouse state to write into.
+     */
+    void poll(long tick, KeyManager keyManager, MouseInput mouseInput);
+
+    /**
+     * @brief Checks whether the source has input left to apply.
+     * @return False once every scripted event has been applied; true for sources without an end.
+     */
+    default boolean hasMore() {
+        return true;
+    }
+}
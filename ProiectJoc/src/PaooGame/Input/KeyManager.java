@@ -2,6 +2,7 @@ package PaooGame.Input;
 
 import java.awt.event.KeyEvent;
 import java.awt.event.KeyListener;
+import java.util.Arrays;
 
 /**
  * @class KeyManager
@@ -11,6 +12,10 @@ import java.awt.event.KeyListener;
  * current state (pressed or not pressed) of all keys and the state from the previous
  * update cycle. This allows for checking if a key is currently held down or if it
  * has just been pressed in the current cycle.
+ *
+ * Key events arrive on the AWT event thread; they are queued and only applied by the game
+ * thread, at the start of an update (see {@link #applyPendingEvents()}), so the key state
+ * doesn't change in the middle of an update and an input recording sees exactly what the update saw.
  */
 public class KeyManager implements KeyListener {
 
@@ -18,6 +23,10 @@ public class KeyManager implements KeyListener {
     private boolean[] prevKeyState;  ///< Array representing the state of each key in the previous update cycle. Used to detect single key presses.
     private static final int NUM_KEYS = 256; ///< The total number of key codes to track, covering standard keyboard keys.
 
+    private int[] pendingEvents = new int[16];  ///< Key events not applied yet, as (keyCode << 1) | pressed; guarded by this.
+    private int nrOfPendingEvents = 0;          ///< Number of queued events in {@link #pendingEvents}.
+    private final boolean[] pressedThisUpdate = new boolean[NUM_KEYS]; ///< Keys that went down in the batch being applied.
+
     /**
      * @brief Constructs a KeyManager object.
      *
@@ -72,28 +81,74 @@ public class KeyManager implements KeyListener {
     /**
      * @brief Invoked when a key has been pressed.
      *
-     * Sets the state of the pressed key to true in the {@link #keyState} array.
+     * Queues the key press; it is applied to the {@link #keyState} array at the start of the next update.
      * @param e The {@link KeyEvent} associated with the key press.
      */
     @Override
     public void keyPressed(KeyEvent e) {
-        int keyCode = e.getKeyCode();
-        if (keyCode >= 0 && keyCode < NUM_KEYS) {
-            keyState[keyCode] = true;
-        }
+        queueEvent(e.getKeyCode(), true);
     }
 
     /**
      * @brief Invoked when a key has been released.
      *
-     * Sets the state of the released key to false in the {@link #keyState} array.
+     * Queues the key release; it is applied to the {@link #keyState} array at the start of the next update.
      * @param e The {@link KeyEvent} associated with the key release.
      */
     @Override
     public void keyReleased(KeyEvent e) {
-        int keyCode = e.getKeyCode();
+        queueEvent(e.getKeyCode(), false);
+    }
+
+    /**
+     * @brief Queues a key event from the window, to be applied by {@link #applyPendingEvents()}.
+     */
+    private synchronized void queueEvent(int keyCode, boolean pressed) {
+        if (keyCode < 0 || keyCode >= NUM_KEYS) {
+            return;
+        }
+        if (nrOfPendingEvents == pendingEvents.length) {
+            pendingEvents = Arrays.copyOf(pendingEvents, pendingEvents.length * 2);
+        }
+        pendingEvents[nrOfPendingEvents++] = (keyCode << 1) | (pressed ? 1 : 0);
+    }
+
+    /**
+     * @brief Applies the key events queued since the last update, in order. Called by the game thread before each update.
+     *
+     * A key pressed and released within one update would never be seen as down, so its release
+     * and every later event are kept for the next update.
+     */
+    public synchronized void applyPendingEvents() {
+        int applied = 0;
+        while (applied < nrOfPendingEvents) {
+            int keyCode = pendingEvents[applied] >> 1;
+            boolean pressed = (pendingEvents[applied] & 1) == 1;
+            if (!pressed && pressedThisUpdate[keyCode]) {
+                break; // released before any update saw it down
+            }
+            if (pressed && !keyState[keyCode]) {
+                pressedThisUpdate[keyCode] = true;
+            }
+            keyState[keyCode] = pressed;
+            ++applied;
+        }
+        System.arraycopy(pendingEvents, applied, pendingEvents, 0, nrOfPendingEvents - applied);
+        nrOfPendingEvents -= applied;
+        Arrays.fill(pressedThisUpdate, false);
+    }
+
+    /**
+     * @brief Sets the state of a key, as a key event would.
+     *
+     * Takes effect at once; used by input sources that run on the game thread,
+     * such as scripted input in headless runs or a replayed recording.
+     * @param keyCode The {@link KeyEvent#getKeyCode()} of the key. Invalid codes are ignored.
+     * @param pressed True if the key is down.
+     */
+    public void setKeyPressed(int keyCode, boolean pressed) {
         if (keyCode >= 0 && keyCode < NUM_KEYS) {
-            keyState[keyCode] = false;
+            keyState[keyCode] = pressed;
         }
     }
 
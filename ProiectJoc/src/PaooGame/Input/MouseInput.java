@@ -3,6 +3,7 @@ package PaooGame.Input;
 import javax.swing.event.MouseInputListener;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionListener;
+import java.util.Arrays;
 
 
 /**
@@ -12,6 +13,9 @@ import java.awt.event.MouseMotionListener;
  * This class tracks mouse button presses, releases, and movement. It provides methods
  * to get the current mouse coordinates, the number of times the mouse has been pressed
  * since the last release, and a mechanism to detect a single click event.
+ *
+ * Like {@link KeyManager}, it queues the events of the AWT event thread and only applies them
+ * on the game thread at the start of an update (see {@link #applyPendingEvents()}).
  */
 public class MouseInput implements MouseInputListener, MouseMotionListener {
 
@@ -22,33 +26,101 @@ public class MouseInput implements MouseInputListener, MouseMotionListener {
     private boolean isMousePressed = false; ///< Flag indicating if a mouse button is currently pressed down.
     private boolean clickDetected = false;  ///< Flag used by {@link #isOneClick()} to ensure a click is reported only once per press.
 
+    private static final int PRESS = 0;     ///< Queued event type: the button is pressed.
+    private static final int RELEASE = 1;   ///< Queued event type: the button is released.
+    private static final int MOVE = 2;      ///< Queued event type: the cursor moves.
+    private int[] pendingEvents = new int[48];  ///< Events not applied yet, as (type, x, y) triples; guarded by this.
+    private int nrOfPendingEvents = 0;          ///< Number of queued events in {@link #pendingEvents}.
+
     /**
      * @brief Invoked when a mouse button has been pressed on a component.
      *
-     * Sets the {@link #isMousePressed} flag to true, increments {@link #numberOfMousePresses}
-     * (capped at {@link Integer#MAX_VALUE}), and updates {@link #mouseX} and {@link #mouseY}
-     * with the event coordinates.
+     * Queues the press; at the start of the next update it is applied by {@link #press(int, int)}.
      * @param e The {@link MouseEvent} associated with the mouse press.
      */
     @Override
     public void mousePressed(MouseEvent e) {
+        queueEvent(PRESS, e.getX(), e.getY());
+    }
+
+    /**
+     * @brief Invoked when a mouse button has been released on a component.
+     *
+     * Queues the release; at the start of the next update it is applied by {@link #release()}.
+     * @param e The {@link MouseEvent} associated with the mouse release.
+     */
+    @Override
+    public void mouseReleased(MouseEvent e) {
+        queueEvent(RELEASE, 0, 0);
+    }
+
+    /**
+     * @brief Queues a mouse event from the window, to be applied by {@link #applyPendingEvents()}.
+     */
+    private synchronized void queueEvent(int type, int x, int y) {
+        if (nrOfPendingEvents * 3 == pendingEvents.length) {
+            pendingEvents = Arrays.copyOf(pendingEvents, pendingEvents.length * 2);
+        }
+        int i = nrOfPendingEvents++ * 3;
+        pendingEvents[i] = type;
+        pendingEvents[i + 1] = x;
+        pendingEvents[i + 2] = y;
+    }
+
+    /**
+     * @brief Applies the mouse events queued since the last update, in order. Called by the game thread before each update.
+     *
+     * A press released within one update would never be seen, so its release and every
+     * later event are kept for the next update.
+     */
+    public synchronized void applyPendingEvents() {
+        boolean pressedThisUpdate = false;
+        int applied = 0;
+        while (applied < nrOfPendingEvents) {
+            int i = applied * 3;
+            int type = pendingEvents[i];
+            if (type == RELEASE && pressedThisUpdate) {
+                break; // released before any update saw it pressed
+            }
+            if (type == PRESS) {
+                press(pendingEvents[i + 1], pendingEvents[i + 2]);
+                pressedThisUpdate = true;
+            } else if (type == RELEASE) {
+                release();
+            } else {
+                move(pendingEvents[i + 1], pendingEvents[i + 2]);
+            }
+            ++applied;
+        }
+        System.arraycopy(pendingEvents, applied * 3, pendingEvents, 0, (nrOfPendingEvents - applied) * 3);
+        nrOfPendingEvents -= applied;
+    }
+
+    /**
+     * @brief Presses the mouse button at the given position, as a mouse press event would.
+     *
+     * Sets the {@link #isMousePressed} flag to true, increments {@link #numberOfMousePresses}
+     * (capped at {@link Integer#MAX_VALUE}), and updates {@link #mouseX} and {@link #mouseY}.
+     * Takes effect at once; used for the queued window events and by input sources running on the game thread.
+     * @param x The x-coordinate of the press.
+     * @param y The y-coordinate of the press.
+     */
+    public void press(int x, int y) {
         isMousePressed = true;
         if(numberOfMousePresses < Integer.MAX_VALUE)
             numberOfMousePresses += 1;
 
-        mouseX = e.getX();
-        mouseY = e.getY();
+        mouseX = x;
+        mouseY = y;
     }
 
     /**
-     * @brief Invoked when a mouse button has been released on a component.
+     * @brief Releases the mouse button, as a mouse release event would.
      *
      * Sets the {@link #isMousePressed} flag to false, resets {@link #clickDetected} to false,
      * resets {@link #numberOfMousePresses} to 0, and clears {@link #mouseX} and {@link #mouseY} to 0.
-     * @param e The {@link MouseEvent} associated with the mouse release.
      */
-    @Override
-    public void mouseReleased(MouseEvent e) {
+    public void release() {
         isMousePressed = false;
         clickDetected = false;
         numberOfMousePresses=0;
@@ -60,13 +132,22 @@ public class MouseInput implements MouseInputListener, MouseMotionListener {
      * @brief Invoked when the mouse cursor has been moved onto a component
      * but no buttons have been pushed.
      *
-     * Updates {@link #mouseX} and {@link #mouseY} with the event coordinates.
+     * Queues the move; at the start of the next update {@link #mouseX} and {@link #mouseY} are set to the event coordinates.
      * @param e The {@link MouseEvent} associated with the mouse movement.
      */
     @Override
     public void mouseMoved(MouseEvent e) {
-        mouseX = e.getX();
-        mouseY = e.getY();
+        queueEvent(MOVE, e.getX(), e.getY());
+    }
+
+    /**
+     * @brief Moves the cursor to the given position, as a mouse move event would.
+     * @param x The new x-coordinate of the cursor.
+     * @param y The new y-coordinate of the cursor.
+     */
+    public void move(int x, int y) {
+        mouseX = x;
+        mouseY = y;
     }
 
     /**
@@ -114,6 +195,14 @@ public class MouseInput implements MouseInputListener, MouseMotionListener {
     public void mouseDragged(MouseEvent e) {
     }
 
+    /**
+     * @brief Checks whether the mouse button is currently down.
+     * @return The current value of {@link #isMousePressed}.
+     */
+    public boolean isMousePressed(){
+        return this.isMousePressed;
+    }
+
     /**
      * @brief Gets the number of times a mouse button has been pressed since the last release.
      * @return The current value of {@link #numberOfMousePresses}.
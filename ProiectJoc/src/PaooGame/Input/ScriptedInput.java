@@ -0,0 +1,244 @@
+package PaooGame.Input;
+
+import java.awt.event.KeyEvent;
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @class ScriptedInput
+ * @brief An {@link InputSource} replaying a fixed list of key and mouse events at given updates.
+ *
+ * Events are added in code (see {@link #keyDown(long, int)}, {@link #click(long, int, int)}, ...)
+ * or read from a text file with {@link #load(String)}, one event per line:
+ * - `<tick> down <key>` / `<tick> up <key>`: a key, given by its KeyEvent name without VK_ (e.g. `SPACE`) or by its code.
+ * - `<tick> press <x> <y>` / `<tick> release`: the mouse button.
+ * - `<tick> move <x> <y>`: the cursor.
+ * Empty lines and lines starting with # are skipped. Events of the same tick are applied in the order they were added.
+ */
+public class ScriptedInput implements InputSource {
+    private static final int KEY_DOWN = 0;  ///< Event type: a key is pressed.
+    private static final int KEY_UP = 1;    ///< Event type: a key is released.
+    private static final int PRESS = 2;     ///< Event type: the mouse button is pressed.
+    private static final int RELEASE = 3;   ///< Event type: the mouse button is released.
+    private static final int MOVE = 4;      ///< Event type: the cursor moves.
+
+    /**
+     * @class Event
+     * @brief One scripted input event.
+     */
+    private static class Event {
+        final long tick;    ///< The update at which the event is applied.
+        final int type;     ///< One of the event type constants.
+        final int a;        ///< The key code, or the x-coordinate.
+        final int b;        ///< The y-coordinate, unused for keys.
+
+        Event(long tick, int type, int a, int b) {
+            this.tick = tick;
+            this.type = type;
+            this.a = a;
+            this.b = b;
+        }
+    }
+
+    private final List<Event> events = new ArrayList<>();   ///< The events, sorted by tick once polling starts.
+    private boolean sorted = true;                          ///< False if events were added out of tick order since the last sort.
+    private int next = 0;                                   ///< Index of the first event not applied yet.
+
+    /**
+     * @brief Adds an event, keeping track of whether the list is still in tick order.
+     */
+    private ScriptedInput add(long tick, int type, int a, int b) {
+        if (!events.isEmpty() && events.get(events.size() - 1).tick > tick) {
+            sorted = false;
+        }
+        events.add(new Event(tick, type, a, b));
+        return this;
+    }
+
+    /**
+     * @brief Presses a key at an update.
+     * @param tick The update at which the key goes down.
+     * @param keyCode The {@link KeyEvent} code of the key.
+     * @return This script, for chaining.
+     */
+    public ScriptedInput keyDown(long tick, int keyCode) {
+        return add(tick, KEY_DOWN, keyCode, 0);
+    }
+
+    /**
+     * @brief Releases a key at an update.
+     * @param tick The update at which the key goes up.
+     * @param keyCode The {@link KeyEvent} code of the key.
+     * @return This script, for chaining.
+     */
+    public ScriptedInput keyUp(long tick, int keyCode) {
+        return add(tick, KEY_UP, keyCode, 0);
+    }
+
+    /**
+     * @brief Holds a key down for a number of updates.
+     * @param tick The update at which the key goes down.
+     * @param keyCode The {@link KeyEvent} code of the key.
+     * @param duration The number of updates the key stays down, at least 1.
+     * @return This script, for chaining.
+     */
+    public ScriptedInput hold(long tick, int keyCode, long duration) {
+        keyDown(tick, keyCode);
+        return keyUp(tick + Math.max(1, duration), keyCode);
+    }
+
+    /**
+     * @brief Presses the mouse button at a position.
+     * @param tick The update at which the button goes down.
+     * @param x The x-coordinate of the press.
+     * @param y The y-coordinate of the press.
+     * @return This script, for chaining.
+     */
+    public ScriptedInput press(long tick, int x, int y) {
+        return add(tick, PRESS, x, y);
+    }
+
+    /**
+     * @brief Releases the mouse button.
+     * @param tick The update at which the button goes up.
+     * @return This script, for chaining.
+     */
+    public ScriptedInput release(long tick) {
+        return add(tick, RELEASE, 0, 0);
+    }
+
+    /**
+     * @brief Clicks at a position: the button is pressed at the update and released at the next one.
+     * @param tick The update at which the button goes down.
+     * @param x The x-coordinate of the click.
+     * @param y The y-coordinate of the click.
+     * @return This script, for chaining.
+     */
+    public ScriptedInput click(long tick, int x, int y) {
+        press(tick, x, y);
+        return release(tick + 1);
+    }
+
+    /**
+     * @brief Moves the cursor.
+     * @param tick The update at which the cursor moves.
+     * @param x The new x-coordinate.
+     * @param y The new y-coordinate.
+     * @return This script, for chaining.
+     */
+    public ScriptedInput move(long tick, int x, int y) {
+        return add(tick, MOVE, x, y);
+    }
+
+    /**
+     * @brief Applies every event due at or before the given update.
+     * @param tick The number of the update about to run.
+     * @param keyManager The keyboard state to write into.
+     * @param mouseInput The mouse state to write into.
+     */
+    @Override
+    public void poll(long tick, KeyManager keyManager, MouseInput mouseInput) {
+        if (!sorted) {
+            List<Event> pending = new ArrayList<>(events.subList(next, events.size()));
+            pending.sort(Comparator.comparingLong(e -> e.tick)); // stable, so same-tick events keep their order
+            for (int i = 0; i < pending.size(); ++i) {
+                events.set(next + i, pending.get(i));
+            }
+            sorted = true;
+        }
+        while (next < events.size() && events.get(next).tick <= tick) {
+            Event event = events.get(next++);
+            switch (event.type) {
+                case KEY_DOWN:
+                    keyManager.setKeyPressed(event.a, true);
+                    break;
+                case KEY_UP:
+                    keyManager.setKeyPressed(event.a, false);
+                    break;
+                case PRESS:
+                    mouseInput.press(event.a, event.b);
+                    break;
+                case RELEASE:
+                    mouseInput.release();
+                    break;
+                default:
+                    mouseInput.move(event.a, event.b);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * @brief Checks whether some events have not been applied yet.
+     * @return True until the last event has been applied.
+     */
+    @Override
+    public boolean hasMore() {
+        return next < events.size();
+    }
+
+    /**
+     * @brief Reads a script from a text file (see the class description for the format).
+     * @param path The path to the script file.
+     * @return The script, or null if the file can't be read or has an invalid line.
+     */
+    public static ScriptedInput load(String path) {
+        ScriptedInput script = new ScriptedInput();
+        int lineNumber = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(path))) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                ++lineNumber;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] tokens = line.split("\\s+");
+                long tick = Long.parseLong(tokens[0]);
+                switch (tokens[1]) {
+                    case "down":
+                        script.keyDown(tick, parseKey(tokens[2]));
+                        break;
+                    case "up":
+                        script.keyUp(tick, parseKey(tokens[2]));
+                        break;
+                    case "press":
+                        script.press(tick, Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]));
+                        break;
+                    case "release":
+                        script.release(tick);
+                        break;
+                    case "move":
+                        script.move(tick, Integer.parseInt(tokens[2]), Integer.parseInt(tokens[3]));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown event " + tokens[1]);
+                }
+            }
+            return script;
+        } catch (IOException e) {
+            System.err.println("Could not read the input script " + path + ": " + e.getMessage());
+        } catch (RuntimeException e) { // malformed numbers, missing tokens, unknown keys or events
+            System.err.println("Invalid input script line " + lineNumber + " in " + path + ": " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * @brief Parses a key given by its KeyEvent name without VK_ (e.g. SPACE) or by its code.
+     */
+    private static int parseKey(String token) {
+        if (Character.isDigit(token.charAt(0))) {
+            return Integer.parseInt(token);
+        }
+        try {
+            return KeyEvent.class.getField("VK_" + token.toUpperCase()).getInt(null);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("unknown key " + token);
+        }
+    }
+}
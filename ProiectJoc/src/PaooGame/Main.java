@@ -1,6 +1,8 @@
 package PaooGame;
 
 import PaooGame.Config.Constants;
+import PaooGame.Input.InputRecorder;
+import PaooGame.Input.InputReplay;
 
 
 /**
@@ -17,7 +19,9 @@ public class Main
      * It creates an instance of the {@link Game} class with a specific title and dimensions
      * defined in {@link PaooGame.Config.Constants}, and then starts the game loop
      * by calling the {@link Game#StartGame()} method.
-     *
+     * `--record <path>` records the input of the session and `--replay <path>` plays a recording back
+     * (see {@link InputRecorder} and {@link InputReplay}).
+     * A shutdown hook closes the game (see {@link Game#close()}) when the program exits.
      */
     public static void main(String[] args)
     {
@@ -28,6 +32,20 @@ public class Main
 
         // Create a new Game instance with the title "GoldenEagle" and dimensions from Constants
         Game paooGame = new Game("GoldenEagle", Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
+        Runtime.getRuntime().addShutdownHook(new Thread(paooGame::close)); // Frame timings, saves and recording are written on the way out
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--record")) {
+                InputRecorder recorder = InputRecorder.create(args[i + 1], Constants.UPDATES_PER_SECOND);
+                if (recorder != null) {
+                    paooGame.setInputRecorder(recorder);
+                }
+            } else if (args[i].equals("--replay")) {
+                InputReplay replay = InputReplay.load(args[i + 1]);
+                if (replay != null) {
+                    paooGame.setInputSource(replay);
+                }
+            }
+        }
         // Start the game
         paooGame.StartGame();
     }
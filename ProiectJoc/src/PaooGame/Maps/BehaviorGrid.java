@@ -0,0 +1,172 @@
+package PaooGame.Maps;
+
+/**
+ * @class BehaviorGrid
+ * @brief Stores the behavior layer of a level as one byte of flags per tile.
+ *
+ * The behavior IDs from the level files are translated once, on construction, into a bitmask
+ * per tile, so collision code asks "is this tile solid" instead of comparing magic numbers:
+ * - ID 0 and 1 (lethal / fall-through): {@link #LETHAL}
+ * - ID 2 (solid ground or wall): {@link #SOLID}
+ * - ID 3 (grapple hook): {@link #GRAPPLE}
+ * - ID 4 (platform that can only be landed on from above): {@link #ONE_WAY}
+ * - anything else: no flags (air)
+ *
+ * Tiles are stored row-major, so a span of one row is contiguous. All queries treat tiles
+ * outside the grid as having no flags.
+ */
+public class BehaviorGrid {
+    public static final byte SOLID = 1;                 ///< Blocks movement from every side.
+    public static final byte LETHAL = 1 << 1;           ///< Kills whatever falls onto it.
+    public static final byte GRAPPLE = 1 << 2;          ///< A hook the whip can attach to.
+    public static final byte ONE_WAY = 1 << 3;          ///< Can be stood on, but not hit from the sides or from below.
+
+    private final byte[] cells;                         ///< The flags of every tile, row-major.
+    private final int width;                            ///< Width of the grid, in tiles.
+    private final int height;                           ///< Height of the grid, in tiles.
+
+    /**
+     * @brief Builds the grid from the behavior IDs of a level.
+     * @param width Width of the level, in tiles.
+     * @param height Height of the level, in tiles.
+     * @param behaviorIDs The behavior IDs, row-major; missing entries are treated as air.
+     */
+    public BehaviorGrid(int width, int height, int[] behaviorIDs) {
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        int count = Math.min(this.cells.length, behaviorIDs.length);
+        for (int i = 0; i < count; ++i) {
+            this.cells[i] = flagsOf(behaviorIDs[i]);
+        }
+    }
+
+    /**
+     * @brief Translates a behavior ID from the level files into its flags.
+     * @param behaviorID The behavior ID.
+     * @return The flags of a tile with that ID.
+     */
+    public static byte flagsOf(int behaviorID) {
+        switch (behaviorID) {
+            case 0:
+            case 1:
+                return LETHAL;
+            case 2:
+                return SOLID;
+            case 3:
+                return GRAPPLE;
+            case 4:
+                return ONE_WAY;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @brief Gets the width of the grid.
+     * @return The width, in tiles.
+     */
+    public int getWidth() { return this.width; }
+
+    /**
+     * @brief Gets the height of the grid.
+     * @return The height, in tiles.
+     */
+    public int getHeight() { return this.height; }
+
+    /**
+     * @brief Gets the flags of a tile.
+     * @param tileX The column of the tile.
+     * @param tileY The row of the tile.
+     * @return The flags of the tile, or 0 if it is outside the grid.
+     */
+    public int getFlags(int tileX, int tileY) {
+        if (tileX < 0 || tileX >= this.width || tileY < 0 || tileY >= this.height) {
+            return 0;
+        }
+        return this.cells[tileY * this.width + tileX];
+    }
+
+    /**
+     * @brief Checks whether a tile has any of the given flags.
+     * @param tileX The column of the tile.
+     * @param tileY The row of the tile.
+     * @param mask The flags to look for.
+     * @return true if the tile is inside the grid and has at least one of the flags.
+     */
+    public boolean has(int tileX, int tileY, int mask) {
+        return (getFlags(tileX, tileY) & mask) != 0;
+    }
+
+    /**
+     * @brief Checks whether a tile is solid.
+     */
+    public boolean isSolid(int tileX, int tileY) { return has(tileX, tileY, SOLID); }
+
+    /**
+     * @brief Checks whether a tile is lethal.
+     */
+    public boolean isLethal(int tileX, int tileY) { return has(tileX, tileY, LETHAL); }
+
+    /**
+     * @brief Checks whether a tile is a grapple hook.
+     */
+    public boolean isGrapple(int tileX, int tileY) { return has(tileX, tileY, GRAPPLE); }
+
+    /**
+     * @brief Finds the leftmost tile of a row span having any of the given flags.
+     * @param tileY The row to search.
+     * @param startX The first column of the span (inclusive); clamped to the grid.
+     * @param endX The last column of the span (inclusive); clamped to the grid.
+     * @param mask The flags to look for.
+     * @return The column of the first matching tile, or -1 if there is none.
+     */
+    public int firstInRow(int tileY, int startX, int endX, int mask) {
+        if (tileY < 0 || tileY >= this.height) {
+            return -1;
+        }
+        int from = Math.max(startX, 0);
+        int to = Math.min(endX, this.width - 1);
+        int rowStart = tileY * this.width;
+        for (int x = from; x <= to; ++x) {
+            if ((this.cells[rowStart + x] & mask) != 0) {
+                return x;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @brief Checks whether any tile of a row span has any of the given flags.
+     * @param tileY The row to search.
+     * @param startX The first column of the span (inclusive); clamped to the grid.
+     * @param endX The last column of the span (inclusive); clamped to the grid.
+     * @param mask The flags to look for.
+     * @return true if at least one tile matches.
+     */
+    public boolean anyInRow(int tileY, int startX, int endX, int mask) {
+        return firstInRow(tileY, startX, endX, mask) != -1;
+    }
+
+    /**
+     * @brief Checks whether any tile of a column span has any of the given flags.
+     * @param tileX The column to search.
+     * @param startY The first row of the span (inclusive); clamped to the grid.
+     * @param endY The last row of the span (inclusive); clamped to the grid.
+     * @param mask The flags to look for.
+     * @return true if at least one tile matches.
+     */
+    public boolean anyInColumn(int tileX, int startY, int endY, int mask) {
+        if (tileX < 0 || tileX >= this.width) {
+            return false;
+        }
+        int from = Math.max(startY, 0);
+        int to = Math.min(endY, this.height - 1);
+        for (int index = from * this.width + tileX, last = to * this.width + tileX; index <= last; index += this.width) {
+            if ((this.cells[index] & mask) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
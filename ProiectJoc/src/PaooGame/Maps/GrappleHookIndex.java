@@ -0,0 +1,143 @@
+package PaooGame.Maps;
+
+/**
+ * @class GrappleHookIndex
+ * @brief A uniform grid of buckets holding the grapple hook tiles of a level.
+ *
+ * The hooks are collected once from the level's {@link BehaviorGrid} and sorted by bucket,
+ * so the hooks of a bucket are contiguous in {@link #hookX} / {@link #hookY} and
+ * {@link #bucketStart} tells where each bucket begins. A nearest-hook query only visits the
+ * few buckets overlapping the search square. Each hook is identified by its index,
+ * which callers can use to keep per-hook data in plain arrays.
+ */
+public class GrappleHookIndex {
+    private static final int BUCKET_SIZE = 8;          ///< Width and height of a bucket, in tiles.
+
+    private final int bucketColumns;                    ///< Number of bucket columns.
+    private final int bucketRows;                       ///< Number of bucket rows.
+    private final int[] bucketStart;                    ///< Index of the first hook of each bucket, plus one final entry with the hook count.
+    private final int[] hookX;                          ///< Column of each hook, in tiles.
+    private final int[] hookY;                          ///< Row of each hook, in tiles.
+
+    /**
+     * @brief Collects every grapple tile of a level into the index.
+     * @param grid The {@link BehaviorGrid} of the level.
+     */
+    public GrappleHookIndex(BehaviorGrid grid) {
+        this.bucketColumns = (grid.getWidth() + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.bucketRows = (grid.getHeight() + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.bucketStart = new int[this.bucketColumns * this.bucketRows + 1];
+
+        // first pass counts the hooks of each bucket, the second one places them
+        for (int y = 0; y < grid.getHeight(); ++y) {
+            for (int x = 0; x < grid.getWidth(); ++x) {
+                if (grid.isGrapple(x, y)) {
+                    ++this.bucketStart[bucketOf(x, y) + 1];
+                }
+            }
+        }
+        for (int i = 1; i < this.bucketStart.length; ++i) {
+            this.bucketStart[i] += this.bucketStart[i - 1];
+        }
+
+        int count = this.bucketStart[this.bucketStart.length - 1];
+        this.hookX = new int[count];
+        this.hookY = new int[count];
+        int[] next = new int[this.bucketStart.length - 1];
+        System.arraycopy(this.bucketStart, 0, next, 0, next.length);
+        for (int y = 0; y < grid.getHeight(); ++y) {
+            for (int x = 0; x < grid.getWidth(); ++x) {
+                if (grid.isGrapple(x, y)) {
+                    int slot = next[bucketOf(x, y)]++;
+                    this.hookX[slot] = x;
+                    this.hookY[slot] = y;
+                }
+            }
+        }
+    }
+
+    /**
+     * @brief Gets the bucket containing a tile.
+     */
+    private int bucketOf(int tileX, int tileY) {
+        return (tileY / BUCKET_SIZE) * this.bucketColumns + tileX / BUCKET_SIZE;
+    }
+
+    /**
+     * @brief Finds the hook closest to a tile, on the side the hero is facing.
+     *
+     * Hooks are ranked by their ring around the tile (the larger of the horizontal and vertical
+     * tile distances), then by straight-line distance, then left to right and top to bottom,
+     * the same order as scanning square rings of growing radius around the tile.
+     * @param tileX The column searched around.
+     * @param tileY The row searched around.
+     * @param range The largest ring to search.
+     * @param facingLeft true to only accept hooks at or left of tileX, false for hooks at or right of it.
+     * @return The index of the hook found, or -1 if there is none in range.
+     */
+    public int findNearest(int tileX, int tileY, int range, boolean facingLeft) {
+        int minX = facingLeft ? tileX - range : tileX;
+        int maxX = facingLeft ? tileX : tileX + range;
+        int minY = tileY - range;
+        int maxY = tileY + range;
+
+        int firstColumn = Math.max(Math.floorDiv(minX, BUCKET_SIZE), 0);
+        int lastColumn = Math.min(Math.floorDiv(maxX, BUCKET_SIZE), this.bucketColumns - 1);
+        int firstRow = Math.max(Math.floorDiv(minY, BUCKET_SIZE), 0);
+        int lastRow = Math.min(Math.floorDiv(maxY, BUCKET_SIZE), this.bucketRows - 1);
+
+        int best = -1;
+        int bestRing = Integer.MAX_VALUE;
+        int bestDistanceSquared = Integer.MAX_VALUE;
+        for (int row = firstRow; row <= lastRow; ++row) {
+            for (int column = firstColumn; column <= lastColumn; ++column) {
+                int bucket = row * this.bucketColumns + column;
+                for (int i = this.bucketStart[bucket]; i < this.bucketStart[bucket + 1]; ++i) {
+                    int x = this.hookX[i];
+                    int y = this.hookY[i];
+                    if (x < minX || x > maxX || y < minY || y > maxY) {
+                        continue;
+                    }
+                    int dx = x - tileX;
+                    int dy = y - tileY;
+                    int ring = Math.max(Math.abs(dx), Math.abs(dy));
+                    int distanceSquared = dx * dx + dy * dy;
+                    if (ring < bestRing || (ring == bestRing && (distanceSquared < bestDistanceSquared
+                            || (distanceSquared == bestDistanceSquared && comesFirst(i, best))))) {
+                        best = i;
+                        bestRing = ring;
+                        bestDistanceSquared = distanceSquared;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @brief Tells whether a hook comes before another one, left to right then top to bottom.
+     */
+    private boolean comesFirst(int hook, int other) {
+        return this.hookX[hook] < this.hookX[other] || (this.hookX[hook] == this.hookX[other] && this.hookY[hook] < this.hookY[other]);
+    }
+
+    /**
+     * @brief Gets the number of hooks in the index.
+     * @return The number of hooks; valid hook indices are 0 to this value minus one.
+     */
+    public int getHookCount() { return this.hookX.length; }
+
+    /**
+     * @brief Gets the column of a hook.
+     * @param hook The index of the hook.
+     * @return The column of the hook, in tiles.
+     */
+    public int getHookX(int hook) { return this.hookX[hook]; }
+
+    /**
+     * @brief Gets the row of a hook.
+     * @param hook The index of the hook.
+     * @return The row of the hook, in tiles.
+     */
+    public int getHookY(int hook) { return this.hookY[hook]; }
+}
@@ -13,19 +13,24 @@ import java.io.IOException;
  * @brief Abstract base class for game levels, managing tile data and providing collision detection utilities.
  *
  * This class handles the storage of visual and behavioral tile data for a game level.
- * It loads this data from CSV files. Additionally, it provides a suite of static utility methods
+ * It loads this data from a compiled map file, falling back to the CSV files it is made from. Additionally, it provides a suite of static utility methods
  * for performing tile-based collision checks (falling, wall, ceiling, ground properties) against
  * a given {@link Hitbox}.
  *
- * Tile behaviors are typically encoded as integers:
+ * A level is loaded once per process by {@link PaooGame.Tiles.AssetRegistry} and shared by every game
+ * built from it, so its arrays are read-only once loaded.
+ *
+ * Tile behaviors are encoded as integers in the level files, and translated into
+ * flags by {@link BehaviorGrid}:
  * - 0: Lethal (e.g., water, lava) - Causes death or falling.
  * - 1: Lethal / Fall-through (e.g., pit) - Causes death or falling.
  * - 2: Solid (e.g., ground, wall) - Blocks movement.
+ * - 3: Grapple hook.
  * - Other values: Air or custom behaviors.
  */
 public abstract class Level {
     int[] visualIDs;                    ///< 1D array storing visual tile IDs, typically loaded from a CSV file.
-    int[] behaviorIDs;                  ///< 1D array storing behavior tile IDs, loaded from a CSV file, used by static collision methods.
+    BehaviorGrid behaviorGrid;          ///< The behavior IDs as per-tile flags, used by the static collision methods.
 
     /**
      * @brief Gets the 1D array of visual tile IDs.
@@ -34,45 +39,67 @@ public abstract class Level {
     public int[] getVisualIDs(){return this.visualIDs;}
 
     /**
-     * @brief Gets the 1D array of behavior tile IDs.
-     * @return The array of behavior tile IDs.
+     * @brief Gets the behavior layer as a grid of tile flags.
+     * @return The {@link BehaviorGrid} of the level.
      */
-    public int[] getBehaviorIDs(){return this.behaviorIDs;}
+    public BehaviorGrid getBehaviorGrid(){return this.behaviorGrid;}
+
 
 
+    /**
+     * @brief Loads visual and behavior tile IDs, from the compiled map if possible, and builds the behavior grid.
+     *
+     * The compiled map is used when it exists, matches the level's size and was compiled from
+     * the current CSVs (same length and checksum, see {@link MapFile}); otherwise the IDs
+     * are parsed from the CSVs with {@link #setIDs(String, String, int[])}.
+     * The behavior IDs are only kept until the {@link #behaviorGrid} is built from them.
+     * @param MapPath The file path to the compiled map (see {@link MapFile}).
+     * @param TexturesCsv The file path to the CSV file containing visual tile IDs.
+     * @param BehaviorCsv The file path to the CSV file containing behavior tile IDs.
+     * @param width The width of the level, in tiles.
+     * @param height The height of the level, in tiles.
+     */
+    protected void loadIDs(String MapPath, String TexturesCsv, String BehaviorCsv, int width, int height){
+        int[] behaviorIDs = new int[this.visualIDs.length];
+        if(!MapFile.load(MapPath, TexturesCsv, BehaviorCsv, visualIDs, behaviorIDs)){
+            setIDs(TexturesCsv, BehaviorCsv, behaviorIDs);
+        }
+        this.behaviorGrid = new BehaviorGrid(width, height, behaviorIDs);
+    }
 
     /**
      * @brief Loads visual and behavior tile IDs from specified CSV files.
      *
      * This method reads integer IDs from comma-separated value files and populates
-     * the {@link #visualIDs} and {@link #behaviorIDs} arrays.
+     * the {@link #visualIDs} array and the given behavior IDs array.
      * @param TexturesCsv The file path to the CSV file containing visual tile IDs.
      * @param BehaviorCsv The file path to the CSV file containing behavior tile IDs.
+     * @param behaviorIDs The array receiving the behavior tile IDs.
+     */
+    protected void setIDs(String TexturesCsv, String BehaviorCsv, int[] behaviorIDs){
+        readCsv(TexturesCsv, visualIDs);
+        readCsv(BehaviorCsv, behaviorIDs);
+    }
+
+    /**
+     * @brief Reads the integer IDs of one CSV layer into an array, in row-major order.
+     * @param path The file path to the CSV file.
+     * @param target The array receiving the IDs.
+     * @return true if the whole file was read, false if an error occurred.
      */
-    protected void setIDs(String TexturesCsv, String BehaviorCsv ){
+    public static boolean readCsv(String path, int[] target){
         String line;
 
-        try{
+        try(BufferedReader br = new BufferedReader(new FileReader(path))){
             int i = 0;
-            BufferedReader br = new BufferedReader(new FileReader(TexturesCsv));
-            BufferedReader br2 = new BufferedReader(new FileReader(BehaviorCsv));
-
             while((line = br.readLine())!=null){
                 String [] tokens;
                 tokens = line.split(",");
                 for(String token: tokens){
-                    visualIDs[i++]=Integer.parseInt(token);
-                }
-            }
-            i = 0;
-            while( (line = br2.readLine())!=null ){
-                String [] tokens;
-                tokens = line.split(",");
-                for(String token : tokens){
-                    behaviorIDs[i++] = Integer.parseInt(token);
+                    target[i++]=Integer.parseInt(token);
                 }
             }
-
+            return true;
         } catch (FileNotFoundException e) {
             System.err.println("File not found in loading tiles in level.\n");
         } catch (IOException e) {
@@ -80,23 +107,23 @@ public abstract class Level {
         } catch (NumberFormatException e){
             System.out.println("NumberFormatException in loading tiles in level.\n");
         }
+        return false;
     }
 
 
     /**
      * @brief Checks if an entity with the given hitbox is falling or standing on solid ground.
      *
-     * It examines the tiles directly beneath the hitbox.
+     * It examines the tiles directly beneath the hitbox, left to right; the first lethal,
+     * solid or one-way tile decides the result.
      * @param hitbox The {@link Hitbox} of the entity to check.
-     * @param LEVEL_WIDTH The width of the level in number of tiles.
-     * @param LEVEL_HEIGHT The height of the level in number of tiles.
-     * @param behaviorIDs A 1D array of tile behavior IDs for the level.
+     * @param grid The {@link BehaviorGrid} of the level.
      * @return
-     *         -  `1`: Entity is over a lethal or fall-through tile (behavior ID 0 or 1).
-     *         -  `0`: Entity is over a solid tile (behavior ID 2), meaning it's standing.
-     *         - `-1`: Entity is over air, off the map vertically, or an error occurred (e.g., invalid index).
+     *         -  `1`: Entity is over a lethal or fall-through tile.
+     *         -  `0`: Entity is over a solid or one-way tile, meaning it's standing.
+     *         - `-1`: Entity is over air or off the map vertically.
      */
-    public static int checkFalling(Hitbox hitbox,int LEVEL_WIDTH,int LEVEL_HEIGHT, int[] behaviorIDs) {
+    public static int checkFalling(Hitbox hitbox, BehaviorGrid grid) {
         float hitboxX = hitbox.getX();
         float hitboxY = hitbox.getY();
         float hitboxWidth = hitbox.getWidth();
@@ -108,35 +135,12 @@ public abstract class Level {
         float checkY = hitboxY + hitboxHeight; // The coordinate defining the top of the tile row below
         int tileRowToCheck = (int) Math.floor(checkY / Constants.TILE_SIZE); // the tiles under the characters are the ones that must be checked
 
-        if (tileRowToCheck < 0 || tileRowToCheck >= LEVEL_HEIGHT) {
-            return -1; // Off map vertically (below or above), considered falling.
-        }
-
-        for (int tileX = startX; tileX <= endX; tileX++) { // check each collumn corresponding to the selected tile row
-            if (tileX < 0 || tileX >= LEVEL_WIDTH) {
-                continue; // Skip columns outside level bounds
-            }
-
-            int index = tileRowToCheck * LEVEL_WIDTH + tileX; // find the corresponding tile index, which will be used in the behavior IDs array
-
-            if (index < 0 || index >= behaviorIDs.length) {
-                System.err.println("Error: Calculated map index out of bounds in checkFalling: " + index);
-                continue; // Treat invalid index as air and continue
-            }
-
-            int behavior = behaviorIDs[index];
-
-            //death or fall-through
-            if(behavior == 1 || behavior == 0){
-                return 1; // Lethal or fall-through tile
-            }
-            //solid ground
-            else if(behavior == 2 ){
-                return 0; // Solid ground
-            }
+        // the columns outside the level are skipped by the span query
+        int tileX = grid.firstInRow(tileRowToCheck, startX, endX, BehaviorGrid.LETHAL | BehaviorGrid.SOLID | BehaviorGrid.ONE_WAY);
+        if (tileX == -1) {
+            return -1; // Off map vertically, or all tiles checked are air
         }
-        // All tiles checked are air or non-solid/non-lethal in the specific context of this check
-        return -1; // Effectively falling or over non-solid tile
+        return grid.isLethal(tileX, tileRowToCheck) ? 1 : 0;
     }
 
 
@@ -154,18 +158,16 @@ public abstract class Level {
 
 
     /**
-     * @brief Checks for collision with a solid wall tile (behavior ID 2) to the left or right of the hitbox.
+     * @brief Checks for collision with a solid wall tile to the left or right of the hitbox.
      *
-     * The check is performed along a vertical segment of the hitbox, slightly shrunk from the top and bottom.
+     * The check is performed along a vertical segment of the hitbox, slightly shrunk from the bottom.
      * @param hitbox The {@link Hitbox} of the entity.
      * @param checkRight True to check for collision on the right side, false to check on the left.
-     * @param LEVEL_WIDTH The width of the level in number of tiles.
-     * @param LEVEL_HEIGHT The height of the level in number of tiles.
-     * @param behaviorIDs A 1D array of tile behavior IDs for the level.
+     * @param grid The {@link BehaviorGrid} of the level.
      * @return True if a solid wall tile is detected in the checked direction, false otherwise.
      *         Also returns true if hitting the world boundary in the checked direction.
      */
-    public static boolean checkWallCollision(Hitbox hitbox, boolean checkRight, int LEVEL_WIDTH,int LEVEL_HEIGHT, int[] behaviorIDs) {
+    public static boolean checkWallCollision(Hitbox hitbox, boolean checkRight, BehaviorGrid grid) {
         float hitboxX = hitbox.getX();
         float hitboxY = hitbox.getY();
         float hitboxWidth = hitbox.getWidth();
@@ -194,41 +196,20 @@ public abstract class Level {
 
         int checkTileX = (int) Math.floor(checkXCoord / Constants.TILE_SIZE); // find the corresponding tile column
 
-        for (int tileY = startTileY; tileY <= endTileY; tileY++) { // check each row
-            // Check for hitting world boundaries first if checkTileX is outside map
-            if (checkTileX < 0 && !checkRight) return true; // Hit left world boundary
-            if (checkTileX >= LEVEL_WIDTH && checkRight) return true; // Hit right world boundary
-
-
-            // If horizontally within map but vertically out, or general out of bounds for the tile index
-            if (checkTileX < 0 || checkTileX >= LEVEL_WIDTH || tileY < 0 || tileY >= LEVEL_HEIGHT) {
-                continue;
-            }
-
-            int index = tileY * LEVEL_WIDTH + checkTileX; // calculate the exact index of the tile to verify
-
-            if (index < 0 || index >= behaviorIDs.length) {
-                continue;
-            }
+        if (checkTileX < 0 && !checkRight) return true; // Hit left world boundary
+        if (checkTileX >= grid.getWidth() && checkRight) return true; // Hit right world boundary
 
-            int behavior = behaviorIDs[index];
-            if (behavior == 2) { // Behavior 2 is solid wall
-                return true;
-            }
-        }
-        return false;
+        return grid.anyInColumn(checkTileX, startTileY, endTileY, BehaviorGrid.SOLID);
     }
 
 
     /**
-     * @brief Checks for collision with a solid ceiling tile (behavior ID 2) directly above the hitbox.
+     * @brief Checks for collision with a solid ceiling tile directly above the hitbox.
      * @param hitbox The {@link Hitbox} of the entity.
-     * @param LEVEL_WIDTH The width of the level in number of tiles.
-     * @param LEVEL_HEIGHT The height of the level in number of tiles.
-     * @param behaviorIDs A 1D array of tile behavior IDs for the level.
+     * @param grid The {@link BehaviorGrid} of the level.
      * @return True if a solid ceiling tile is detected above the hitbox, false otherwise.
      */
-    public static boolean checkCeilingCollision(Hitbox hitbox, int LEVEL_WIDTH, int LEVEL_HEIGHT, int[] behaviorIDs) {
+    public static boolean checkCeilingCollision(Hitbox hitbox, BehaviorGrid grid) {
         float hitboxX = hitbox.getX();
         float hitboxY = hitbox.getY();
         float hitboxWidth = hitbox.getWidth();
@@ -239,90 +220,32 @@ public abstract class Level {
 
         int tileRowToCheck = (int) Math.floor(checkY / Constants.TILE_SIZE);
 
-        if (tileRowToCheck < 0) { // Above the map
-            return false; // Or true if top boundary is solid, depends on game rules
-        }
-        if (tileRowToCheck >= LEVEL_HEIGHT) { // This case should ideally not happen if checkY is above hitbox
-            return false;
-        }
-
-        for (int tileX = startTileX; tileX <= endTileX; tileX++) { // check each column
-            if (tileX < 0 || tileX >= LEVEL_WIDTH) {
-                continue;
-            }
-
-            int index = tileRowToCheck * LEVEL_WIDTH + tileX;
-
-            if (index < 0 || index >= behaviorIDs.length) {
-                System.err.println("Warning: checkCeilingCollision calculated invalid map index: " + index + " for tile (" + tileX + ", " + tileRowToCheck + ")");
-                continue;
-            }
-
-            int behavior = behaviorIDs[index];
-            if (behavior == 2) { // Behavior 2 is solid
-                return true;
-            }
-        }
-        return false;
+        // rows above or below the map are never solid
+        return grid.anyInRow(tileRowToCheck, startTileX, endTileX, BehaviorGrid.SOLID);
     }
 
     /**
-     * @brief Checks if a specific tile in the level is solid (behavior ID 2).
+     * @brief Checks if a specific tile in the level is solid.
      * @param tileX The x-coordinate of the tile in tile units.
      * @param tileY The y-coordinate of the tile in tile units.
-     * @param LEVEL_WIDTH_IN_NR_TILES The width of the level in number of tiles.
-     * @param LEVEL_HEIGHT_IN_NR_TILES The height of the level in number of tiles.
-     * @param behaviorIDs A 1D array of tile behavior IDs for the level.
+     * @param grid The {@link BehaviorGrid} of the level.
      * @return True if the tile at (tileX, tileY) is solid, false if it's out of bounds or not solid.
      */
-    public static boolean isTileSolid(int tileX, int tileY, int LEVEL_WIDTH_IN_NR_TILES, int LEVEL_HEIGHT_IN_NR_TILES,int[] behaviorIDs){
-        if (tileX < 0 || tileX >= LEVEL_WIDTH_IN_NR_TILES || tileY < 0 || tileY >= LEVEL_HEIGHT_IN_NR_TILES) {
-            return false; // Out of bounds is not solid
-        }
-
-        int index = tileY * LEVEL_WIDTH_IN_NR_TILES + tileX;
-        if (index < 0 || index >= behaviorIDs.length) { // Additional safety check for index
-            return false;
-        }
-        int behavior = behaviorIDs[index];
-        return behavior == 2; // Behavior 2 is solid
-    }
-
-    /**
-     * @brief Gets the behavior ID of a specific tile in the level.
-     * @param tileX The x-coordinate of the tile in tile units.
-     * @param tileY The y-coordinate of the tile in tile units.
-     * @param LEVEL_WIDTH_IN_NR_TILES The width of the level in number of tiles.
-     * @param LEVEL_HEIGHT_IN_NR_TILES The height of the level in number of tiles.
-     * @param behaviorIDs A 1D array of tile behavior IDs for the level.
-     * @return The behavior ID of the tile at (tileX, tileY), or -2 if the coordinates are out of bounds or index is invalid.
-     */
-    public static int getTileBehavior(int tileX, int tileY, int LEVEL_WIDTH_IN_NR_TILES, int LEVEL_HEIGHT_IN_NR_TILES, int[] behaviorIDs){
-        if (tileX < 0 || tileX >= LEVEL_WIDTH_IN_NR_TILES || tileY < 0 || tileY >= LEVEL_HEIGHT_IN_NR_TILES) {
-            return -2; // Special value indicating out of bounds
-        }
-
-        int index = tileY * LEVEL_WIDTH_IN_NR_TILES + tileX;
-        if (index < 0 || index >= behaviorIDs.length) { // Additional safety check for index
-            return -2; // Special value indicating invalid index
-        }
-        int behavior = behaviorIDs[index];
-        return behavior;
+    public static boolean isTileSolid(int tileX, int tileY, BehaviorGrid grid){
+        return grid.isSolid(tileX, tileY);
     }
 
 
     /**
-     * @brief Checks if there is solid ground (behavior ID 2) just ahead and below an entity's leading edge.
+     * @brief Checks if there is solid ground just ahead and below an entity's leading edge.
      *
      * This is useful for enemies to detect edges or cliffs.
      * @param hitbox The {@link Hitbox} of the entity.
      * @param headingLeft True if the entity is heading left, false if heading right.
-     * @param LEVEL_WIDTH The width of the level in number of tiles.
-     * @param LEVEL_HEIGHT The height of the level in number of tiles.
-     * @param behaviorIDs A 1D array of tile behavior IDs for the level.
+     * @param grid The {@link BehaviorGrid} of the level.
      * @return True if solid ground is detected in the specified direction just below the entity's leading edge, false otherwise.
      */
-    public static boolean isGroundAhead(Hitbox hitbox, boolean headingLeft,int LEVEL_WIDTH,int LEVEL_HEIGHT, int[] behaviorIDs) {
+    public static boolean isGroundAhead(Hitbox hitbox, boolean headingLeft, BehaviorGrid grid) {
         int checkTileX;
         if (headingLeft) {
             // Check tile just to the left of the bottom-left corner
@@ -335,6 +258,6 @@ public abstract class Level {
         // Check the tile directly below the leading edge
         int checkTileY = (int) Math.floor((hitbox.getY() + hitbox.getHeight() + Constants.EPSILON) / Constants.TILE_SIZE);
 
-        return isTileSolid(checkTileX, checkTileY,LEVEL_WIDTH,LEVEL_HEIGHT,behaviorIDs);
+        return grid.isSolid(checkTileX, checkTileY);
     }
-}
\ No newline at end of file
+}
@@ -9,7 +9,7 @@ import PaooGame.Config.Constants;
  *
  * This class extends the abstract {@link Level} class and specifically defines
  * the properties and data for Level 1. It initializes its tile data (both visual
- * and behavioral) by loading from CSV files specified in {@link PaooGame.Config.Constants}.
+ * and behavioral) by loading from the compiled map or CSV files specified in {@link PaooGame.Config.Constants}.
  */
 public class Level1 extends Level {
 
@@ -17,21 +17,20 @@ public class Level1 extends Level {
     /**
      * @brief Constructs a Level1 object.
      *
-     * Initializes the dimensions for the visual and behavioral tile arrays based on
+     * Initializes the dimensions for the visual tile array based on
      * constants defined for Level 1 in {@link PaooGame.Config.Constants}.
-     * It then calls the {@link #setIDs(String, String)} method (inherited from {@link Level})
-     * to populate the {@link #visualIDs} and {@link #behaviorIDs} arrays by reading
-     * data from the CSV files specified by {@link Constants#LEVEL1_TEXTURES_CSV} and
+     * It then calls the {@link #loadIDs(String, String, String, int, int)} method (inherited from {@link Level})
+     * to populate the {@link #visualIDs} array and build the {@link #behaviorGrid} from the compiled map
+     * {@link Constants#LEVEL1_MAP_PATH}, or from the CSV files specified by {@link Constants#LEVEL1_TEXTURES_CSV} and
      * {@link Constants#LEVEL1_BEHAVIOR_CSV}.
      */
     public Level1(){
 
-        // Initialize 1D arrays that will be populated by setIDs
+        // Initialize the 1D array that will be populated by loadIDs
         this.visualIDs = new int[Constants.LEVEL1_TILE_NR];
-        this.behaviorIDs = new int[Constants.LEVEL1_TILE_NR];
 
-        // Load tile IDs from CSV files
-        setIDs(Constants.LEVEL1_TEXTURES_CSV,Constants.LEVEL1_BEHAVIOR_CSV);
+        // Load tile IDs from the compiled map, or the CSV files, and build the behavior grid from them
+        loadIDs(Constants.LEVEL1_MAP_PATH,Constants.LEVEL1_TEXTURES_CSV,Constants.LEVEL1_BEHAVIOR_CSV,Constants.LEVEL1_WIDTH,Constants.LEVEL1_HEIGHT);
     }
 
 }
\ No newline at end of file
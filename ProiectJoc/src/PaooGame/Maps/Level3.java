@@ -9,28 +9,35 @@ import PaooGame.Config.Constants;
  *
  * This class extends the abstract {@link Level} class and specifically defines
  * the properties and data for Level 3. It initializes its tile data (both visual
- * and behavioral) by loading from CSV files specified in {@link PaooGame.Config.Constants}.
+ * and behavioral) by loading from the compiled map or CSV files specified in {@link PaooGame.Config.Constants}.
  */
 public class Level3 extends Level{
+    private GrappleHookIndex grappleHooks;              ///< The grapple hook tiles of the level, indexed for nearest-hook queries.
 
     /**
      * @brief Constructs a Level3 object.
      *
      * Initializes the dimensions for the visual tile array based on
      * constants defined for Level 3 in {@link PaooGame.Config.Constants}.
-     * It then calls the {@link #setIDs(String, String)} method (inherited from {@link Level})
-     * to populate the {@link #visualIDs} and {@link #behaviorIDs} arrays by reading
-     * data from the CSV files specified by {@link Constants#LEVEL3_TEXTURES_CSV} and
+     * It then calls the {@link #loadIDs(String, String, String, int, int)} method (inherited from {@link Level})
+     * to populate the {@link #visualIDs} array and build the {@link #behaviorGrid} from the compiled map
+     * {@link Constants#LEVEL3_MAP_PATH}, or from the CSV files specified by {@link Constants#LEVEL3_TEXTURES_CSV} and
      * {@link Constants#LEVEL3_BEHAVIOR_CSV}.
-     * The `behaviorTiles` 2D array is not initialized in this constructor.
+     * The grapple hooks are then indexed into a {@link GrappleHookIndex}.
      */
     public Level3(){
 
-        // Initialize 1D arrays that will be populated by setIDs
+        // Initialize the 1D array that will be populated by loadIDs
         this.visualIDs = new int[Constants.LEVEL3_TILE_NR];
-        this.behaviorIDs = new int[Constants.LEVEL3_TILE_NR];
 
-        // Load tile IDs from CSV files
-        setIDs(Constants.LEVEL3_TEXTURES_CSV,Constants.LEVEL3_BEHAVIOR_CSV);
+        // Load tile IDs from the compiled map, or the CSV files, and build the behavior grid from them
+        loadIDs(Constants.LEVEL3_MAP_PATH,Constants.LEVEL3_TEXTURES_CSV,Constants.LEVEL3_BEHAVIOR_CSV,Constants.LEVEL3_WIDTH,Constants.LEVEL3_HEIGHT);
+        this.grappleHooks = new GrappleHookIndex(this.behaviorGrid);
     }
+
+    /**
+     * @brief Gets the index of the level's grapple hooks.
+     * @return The {@link GrappleHookIndex} built from the behavior grid.
+     */
+    public GrappleHookIndex getGrappleHooks(){return this.grappleHooks;}
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package PaooGame.Maps;
+
+import PaooGame.Config.Constants;
+
+import java.io.IOException;
+
+/**
+ * @class MapCompiler
+ * @brief Converts the CSV tile layers of every level into compiled maps.
+ *
+ * Must be run from the project directory after editing a level's CSVs. Each compiled map
+ * records the length and checksum of the CSVs it was made from; the levels fall back to
+ * the CSVs while their compiled map is missing or was made from other CSVs.
+ */
+public class MapCompiler {
+
+    /**
+     * @brief Compiles the maps of Level 1, 2 and 3.
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        compile(Constants.LEVEL1_TEXTURES_CSV, Constants.LEVEL1_BEHAVIOR_CSV, Constants.LEVEL1_MAP_PATH,
+                Constants.LEVEL1_WIDTH, Constants.LEVEL1_HEIGHT);
+        compile(Constants.LEVEL2_TEXTURES_CSV, Constants.LEVEL2_BEHAVIOR_CSV, Constants.LEVEL2_MAP_PATH,
+                Constants.LEVEL2_WIDTH, Constants.LEVEL2_HEIGHT);
+        compile(Constants.LEVEL3_TEXTURES_CSV, Constants.LEVEL3_BEHAVIOR_CSV, Constants.LEVEL3_MAP_PATH,
+                Constants.LEVEL3_WIDTH, Constants.LEVEL3_HEIGHT);
+    }
+
+    /**
+     * @brief Reads one level's CSVs and writes them as a compiled map.
+     */
+    private static void compile(String texturesCsv, String behaviorCsv, String mapPath, int width, int height) {
+        int[] visualIDs = new int[width * height];
+        int[] behaviorIDs = new int[width * height];
+        if (!Level.readCsv(texturesCsv, visualIDs) || !Level.readCsv(behaviorCsv, behaviorIDs)) {
+            System.err.println("Skipping " + mapPath + ", its CSVs could not be read.");
+            return;
+        }
+        try {
+            MapFile.write(mapPath, texturesCsv, behaviorCsv, width, height, visualIDs, behaviorIDs);
+            System.out.println("Compiled " + mapPath);
+        } catch (IOException e) {
+            System.err.println("Could not write " + mapPath + ": " + e.getMessage());
+        }
+    }
+}
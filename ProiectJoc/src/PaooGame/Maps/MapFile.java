@@ -0,0 +1,154 @@
+package PaooGame.Maps;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * @class MapFile
+ * @brief Reads and writes the compiled binary form of a level's tile layers.
+ *
+ * A compiled map holds a 40 byte header followed by the visual and the behavior layer,
+ * every value stored little-endian, the layers in the same row-major order as the CSVs:
+ * - int magic ({@link #MAGIC}, "GEMP")
+ * - int format version ({@link #VERSION})
+ * - int width and int height, in tiles
+ * - long length and int CRC32 of the visual CSV the map was compiled from
+ * - long length and int CRC32 of the behavior CSV the map was compiled from
+ * - width*height visual IDs, as 32 bit integers
+ * - width*height behavior IDs, as 32 bit integers
+ *
+ * Loading memory-maps the file and copies both layers straight into the level's arrays,
+ * so no per-cell objects are created. The files are produced from the CSVs by {@link MapCompiler}.
+ * A map whose recorded CSV length or checksum no longer matches the CSV on disk is stale
+ * and is not loaded; file dates are not used, since a checkout sets them arbitrarily.
+ */
+public class MapFile {
+    public static final int MAGIC = 0x504D4547;         ///< "GEMP" when read as little-endian bytes.
+    public static final int VERSION = 2;                ///< Current version of the format.
+    private static final int HEADER_BYTES = 40;         ///< Size of the header, in bytes.
+
+    /**
+     * @brief Loads both layers of a compiled map into the given arrays.
+     *
+     * Fails without touching the arrays if the file is missing, has the wrong header,
+     * its dimensions do not match the arrays' length, or it was compiled from different CSVs
+     * than the ones given.
+     * @param path The path of the compiled map.
+     * @param texturesCsv The path of the visual CSV the map has to be compiled from.
+     * @param behaviorCsv The path of the behavior CSV the map has to be compiled from.
+     * @param visualIDs Receives the visual tile IDs.
+     * @param behaviorIDs Receives the behavior tile IDs.
+     * @return true if the map was loaded, false otherwise.
+     */
+    public static boolean load(String path, String texturesCsv, String behaviorCsv, int[] visualIDs, int[] behaviorIDs) {
+        File file = new File(path);
+        if (!file.isFile()) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long expectedSize = HEADER_BYTES + 8L * visualIDs.length;
+            if (channel.size() != expectedSize || behaviorIDs.length != visualIDs.length) {
+                System.err.println("Compiled map " + path + " does not match the level size.");
+                return false;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, expectedSize);
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            int magic = mapped.getInt();
+            int version = mapped.getInt();
+            int width = mapped.getInt();
+            int height = mapped.getInt();
+            if (magic != MAGIC || version != VERSION || width * height != visualIDs.length) {
+                System.err.println("Compiled map " + path + " has an unsupported header.");
+                return false;
+            }
+            if (!matchesSource(mapped, texturesCsv) || !matchesSource(mapped, behaviorCsv)) {
+                System.err.println("Compiled map " + path + " is out of date with its CSVs, run MapCompiler.");
+                return false;
+            }
+            IntBuffer cells = mapped.asIntBuffer();
+            cells.get(visualIDs);
+            cells.get(behaviorIDs);
+            return true;
+        } catch (IOException e) {
+            System.err.println("IOException in loading compiled map " + path + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @brief Writes both layers of a level as a compiled map.
+     * @param path The path of the compiled map to create or overwrite.
+     * @param texturesCsv The path of the visual CSV the layers were read from.
+     * @param behaviorCsv The path of the behavior CSV the layers were read from.
+     * @param width The width of the level, in tiles.
+     * @param height The height of the level, in tiles.
+     * @param visualIDs The visual tile IDs, width*height of them.
+     * @param behaviorIDs The behavior tile IDs, width*height of them.
+     * @throws IOException If a CSV could not be read or the file could not be written.
+     */
+    public static void write(String path, String texturesCsv, String behaviorCsv, int width, int height,
+                             int[] visualIDs, int[] behaviorIDs) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + 8 * width * height).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(height);
+        putSource(buffer, texturesCsv);
+        putSource(buffer, behaviorCsv);
+        buffer.asIntBuffer().put(visualIDs, 0, width * height).put(behaviorIDs, 0, width * height);
+        buffer.position(buffer.capacity()).flip();
+
+        try (RandomAccessFile file = new RandomAccessFile(path, "rw"); FileChannel channel = file.getChannel()) {
+            file.setLength(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * @brief Reads the next source entry of the header and compares it with a CSV on disk.
+     *
+     * The CSV is only checksummed when its length matches.
+     * @param header The mapped file, positioned at the entry; it is advanced past it.
+     * @param csvPath The path of the CSV to compare with.
+     * @return true if the CSV has the recorded length and CRC32.
+     * @throws IOException If the CSV could not be read.
+     */
+    private static boolean matchesSource(ByteBuffer header, String csvPath) throws IOException {
+        long length = header.getLong();
+        int crc = header.getInt();
+        File csv = new File(csvPath);
+        return csv.isFile() && csv.length() == length && checksum(csv) == crc;
+    }
+
+    /**
+     * @brief Appends the length and CRC32 of a CSV to the header being written.
+     * @param header The buffer holding the header.
+     * @param csvPath The path of the CSV.
+     * @throws IOException If the CSV could not be read.
+     */
+    private static void putSource(ByteBuffer header, String csvPath) throws IOException {
+        File csv = new File(csvPath);
+        header.putLong(csv.length()).putInt(checksum(csv));
+    }
+
+    /**
+     * @brief Computes the CRC32 of a whole file.
+     * @param file The file to checksum.
+     * @return The low 32 bits of the CRC32 value.
+     * @throws IOException If the file could not be read.
+     */
+    private static int checksum(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            CRC32 crc = new CRC32();
+            crc.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            return (int) crc.getValue();
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package PaooGame.Profiling;
+
+import java.awt.*;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * @class FrameProfiler
+ * @brief Collects per-state, per-phase timings of the game loop into {@link TimeHistogram}s.
+ *
+ * Timed sections are wrapped as:
+ * <pre>
+ *     long start = profiler.begin();
+ *     ...
+ *     profiler.end(stateName, FrameProfiler.PHASE_TILES, start);
+ * </pre>
+ * While the profiler is disabled {@link #begin()} returns 0 and {@link #end(String, String, long)}
+ * returns straight away, so the hooks cost a field read and a branch.
+ * The profiler can draw an overlay with p50/p99/max of the current state's phases and
+ * dump every histogram to a CSV file.
+ * Timings are recorded on the game thread only.
+ */
+public class FrameProfiler {
+    public static final String PHASE_UPDATE = "update";     ///< Whole update of a state.
+    public static final String PHASE_DRAW = "draw";         ///< Whole draw of a state.
+    public static final String PHASE_TILES = "tiles";       ///< Drawing the background and tile layer.
+    public static final String PHASE_ENTITIES = "entities"; ///< Drawing items, enemies, NPCs and the hero.
+    public static final String PHASE_FADES = "fades";       ///< Drawing fade overlays.
+    public static final String PHASE_HUD = "hud";           ///< Drawing the HUD.
+
+    private boolean enabled;                                ///< True while timings are being recorded.
+    private boolean overlayVisible = false;                 ///< True while the overlay is drawn.
+    private final Map<String, Map<String, TimeHistogram>> histograms = new LinkedHashMap<>(); ///< Histograms by state name, then by phase.
+
+    private final Font overlayFont = new Font("Monospaced", Font.PLAIN, 12);   ///< Font of the overlay text.
+    private final Color overlayBackground = new Color(0, 0, 0, 170);           ///< Backdrop of the overlay.
+
+    /**
+     * @brief Constructs a FrameProfiler.
+     * @param enabled True to start recording straight away.
+     */
+    public FrameProfiler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @brief Marks the start of a timed section.
+     * @return The start timestamp, or 0 if the profiler is disabled.
+     */
+    public long begin() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @brief Marks the end of a timed section and records its duration.
+     * @param state The name of the state the section belongs to.
+     * @param phase The name of the phase, one of the PHASE_ constants or a custom one.
+     * @param start The value returned by the matching {@link #begin()}.
+     */
+    public void end(String state, String phase, long start) {
+        if (!enabled || start == 0) {
+            return;
+        }
+        record(state, phase, System.nanoTime() - start);
+    }
+
+    /**
+     * @brief Gets the time elapsed since a {@link #begin()}, for phases made of several sections.
+     * @param start The value returned by {@link #begin()}.
+     * @return The elapsed time in nanoseconds, or 0 if the profiler is disabled.
+     */
+    public long elapsedSince(long start) {
+        return (enabled && start != 0) ? System.nanoTime() - start : 0;
+    }
+
+    /**
+     * @brief Records a duration measured by the caller.
+     * @param state The name of the state the duration belongs to.
+     * @param phase The name of the phase.
+     * @param duration The duration, in nanoseconds.
+     */
+    public void record(String state, String phase, long duration) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, TimeHistogram> phases = histograms.get(state);
+        if (phases == null) {
+            phases = new LinkedHashMap<>();
+            histograms.put(state, phases);
+        }
+        TimeHistogram histogram = phases.get(phase);
+        if (histogram == null) {
+            histogram = new TimeHistogram();
+            phases.put(phase, histogram);
+        }
+        histogram.recordNanos(duration);
+    }
+
+    /**
+     * @brief Draws p50/p99/max of every phase recorded for a state, in the top right corner.
+     * @param g The {@link Graphics} context of the screen, without any transform.
+     * @param state The name of the state to show.
+     * @param screenWidth The width of the screen.
+     */
+    public void drawOverlay(Graphics g, String state, int screenWidth) {
+        if (!overlayVisible) {
+            return;
+        }
+        Map<String, TimeHistogram> phases = histograms.get(state);
+        int lines = 2 + (phases == null ? 0 : phases.size());
+        int width = 330;
+        int lineHeight = 15;
+        int x = screenWidth - width - 10;
+        int y = 10;
+
+        Color oldColor = g.getColor();
+        Font oldFont = g.getFont();
+        g.setColor(overlayBackground);
+        g.fillRect(x, y, width, lines * lineHeight + 8);
+        g.setFont(overlayFont);
+        g.setColor(Color.WHITE);
+        g.drawString(state, x + 6, y + lineHeight);
+        g.drawString(String.format(Locale.ROOT, "%-10s %8s %8s %8s", "phase", "p50 ms", "p99 ms", "max ms"), x + 6, y + 2 * lineHeight);
+        if (phases != null) {
+            int line = 3;
+            for (Map.Entry<String, TimeHistogram> entry : phases.entrySet()) {
+                TimeHistogram h = entry.getValue();
+                g.drawString(String.format(Locale.ROOT, "%-10s %8.2f %8.2f %8.2f", entry.getKey(),
+                        h.getPercentileMicros(50) / 1000.0, h.getPercentileMicros(99) / 1000.0, h.getMaxMicros() / 1000.0),
+                        x + 6, y + line * lineHeight);
+                ++line;
+            }
+        }
+        g.setFont(oldFont);
+        g.setColor(oldColor);
+    }
+
+    /**
+     * @brief Writes every histogram to a CSV file, one state/phase pair per line.
+     * @param path The path of the CSV file.
+     */
+    public void writeCsv(String path) {
+        try (PrintWriter out = new PrintWriter(new FileWriter(path))) {
+            out.println("state,phase,count,mean_ms,p50_ms,p90_ms,p99_ms,max_ms");
+            for (Map.Entry<String, Map<String, TimeHistogram>> state : histograms.entrySet()) {
+                for (Map.Entry<String, TimeHistogram> phase : state.getValue().entrySet()) {
+                    TimeHistogram h = phase.getValue();
+                    out.println(String.format(Locale.ROOT, "%s,%s,%d,%.3f,%.3f,%.3f,%.3f,%.3f",
+                            state.getKey(), phase.getKey(), h.getCount(), h.getMeanMicros() / 1000.0,
+                            h.getPercentileMicros(50) / 1000.0, h.getPercentileMicros(90) / 1000.0,
+                            h.getPercentileMicros(99) / 1000.0, h.getMaxMicros() / 1000.0));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write frame timings to " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @brief Checks whether anything has been recorded.
+     * @return True if at least one section was timed.
+     */
+    public boolean hasSamples() {
+        return !histograms.isEmpty();
+    }
+
+    /**
+     * @brief Shows or hides the overlay; showing it also enables recording.
+     */
+    public void toggleOverlay() {
+        overlayVisible = !overlayVisible;
+        if (overlayVisible) {
+            enabled = true;
+        }
+    }
+
+    /**
+     * @brief Checks whether timings are being recorded.
+     * @return True if the profiler is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @brief Enables or disables recording.
+     * @param enabled True to record timings.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+}
@@ -0,0 +1,110 @@
+package PaooGame.Profiling;
+
+/**
+ * @class TimeHistogram
+ * @brief Fixed-size histogram of durations with log-linear buckets, in the style of HdrHistogram.
+ *
+ * Durations are recorded in microseconds. Each power of two is split into {@link #SUB_BUCKETS}
+ * linear buckets, so any recorded value is known to within about 3%, from 1 us up to more than
+ * half an hour, with a constant memory footprint and no allocation per sample.
+ */
+public class TimeHistogram {
+    private static final int SUB_BUCKET_BITS = 5;                   ///< log2 of the number of linear buckets per power of two.
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;    ///< Number of linear buckets per power of two.
+    private static final int MAGNITUDES = 28;                       ///< Number of bucket groups; the last one ends above 2^31 us.
+
+    private final long[] counts = new long[MAGNITUDES * SUB_BUCKETS]; ///< Sample count of each bucket.
+    private long totalCount = 0;                                    ///< Number of recorded samples.
+    private long totalMicros = 0;                                   ///< Sum of the recorded samples, in microseconds.
+    private long maxMicros = 0;                                     ///< Largest recorded sample, in microseconds.
+
+    /**
+     * @brief Records one duration.
+     * @param nanos The duration, in nanoseconds.
+     */
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        ++counts[indexOf(micros)];
+        ++totalCount;
+        totalMicros += micros;
+        if (micros > maxMicros) {
+            maxMicros = micros;
+        }
+    }
+
+    /**
+     * @brief Gets the value below which the given share of the samples fall.
+     * @param percentile The percentile, between 0 and 100.
+     * @return The percentile, in microseconds (lower edge of its bucket), or 0 if nothing was recorded.
+     */
+    public long getPercentileMicros(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; ++i) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(valueOf(i), maxMicros);
+            }
+        }
+        return maxMicros;
+    }
+
+    /**
+     * @brief Gets the largest recorded duration.
+     * @return The maximum, in microseconds.
+     */
+    public long getMaxMicros() {
+        return maxMicros;
+    }
+
+    /**
+     * @brief Gets the average recorded duration.
+     * @return The mean, in microseconds, or 0 if nothing was recorded.
+     */
+    public double getMeanMicros() {
+        return totalCount == 0 ? 0.0 : (double) totalMicros / totalCount;
+    }
+
+    /**
+     * @brief Gets the number of recorded durations.
+     * @return The sample count.
+     */
+    public long getCount() {
+        return totalCount;
+    }
+
+    /**
+     * @brief Maps a value to its bucket.
+     * @param micros The value, in microseconds.
+     * @return The bucket index.
+     */
+    private static int indexOf(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(micros);
+        int group = magnitude - SUB_BUCKET_BITS + 1;
+        if (group >= MAGNITUDES) {
+            return MAGNITUDES * SUB_BUCKETS - 1;
+        }
+        int sub = (int) (micros >> (magnitude - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+        return group * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @brief Gets the smallest value falling into a bucket.
+     * @param index The bucket index.
+     * @return The lower edge of the bucket, in microseconds.
+     */
+    private static long valueOf(int index) {
+        int group = index / SUB_BUCKETS;
+        int sub = index % SUB_BUCKETS;
+        if (group == 0) {
+            return sub;
+        }
+        return (long) (SUB_BUCKETS + sub) << (group - 1);
+    }
+}
@@ -5,6 +5,8 @@ import PaooGame.Entities.Hero;
 import PaooGame.Input.MouseInput;
 
 import PaooGame.Input.KeyManager;
+import PaooGame.Profiling.FrameProfiler;
+import PaooGame.Scheduling.TickScheduler;
 import PaooGame.States.State;
 import PaooGame.Strategies.EnemyStrategies.EnemyStrategy;
 import PaooGame.Tiles.TileCache;
@@ -18,6 +20,8 @@ import PaooGame.Tiles.TileCache;
  * the player {@link Hero}, {@link TileCache}, enemy strategies, and data management signals.
  * It helps to reduce direct dependencies between components and simplifies passing around
  * commonly needed objects.
+ * Every {@link Game} has its own RefLinks, which also tracks the game's active {@link State}, so several
+ * games can run side by side in one process.
  */
 public class RefLinks
 {
@@ -26,6 +30,8 @@ public class RefLinks
     private MouseInput mouseInput;                      ///< Reference to the mouse input manager.
 
     private State currentRunningLevel;                  ///< Reference to the currently active game level state.
+    private State previousState = null;                 ///< Reference to the previous game state.
+    private State currentState = null;                  ///< Reference to the current game state (e.g., game, menu, settings).
 
     // Enemy Strategies
     private EnemyStrategy tigerEnemyStrategy;           ///< Strategy for Tiger enemies.
@@ -82,6 +88,23 @@ public class RefLinks
      */
     public void setScore3(int score3){this.game.setScore3(score3);}
 
+    /**
+     * @brief Sets the current game state.
+     *
+     * Updates the {@link #currentState} to the new state and stores the
+     * previous current state in {@link #previousState}.
+     * @param state The new {@link State} to be set as current.
+     */
+    public void setState(State state) {
+        this.previousState = this.currentState;
+        this.currentState = state;
+    }
+    /**
+     * @brief Gets the current game state.
+     * @return The current active {@link State}, or null before the game is initialized.
+     */
+    public State getState() { return this.currentState; }
+
     /**
      * @brief Sets the currently running game level state.
      * @param currentRunningLevel The {@link State} representing the active level.
@@ -260,6 +283,9 @@ public class RefLinks
 
     private TileCache tileCache;                        ///< Reference to the TileCache for managing tile images.
 
+    private FrameProfiler profiler;                     ///< Reference to the FrameProfiler timing the game loop.
+    private TickScheduler scheduler;                    ///< Reference to the scheduler running delayed gameplay tasks.
+
     /**
      * @brief Constructs a RefLinks object.
      * @param game The main {@link Game} object.
@@ -470,5 +496,35 @@ public class RefLinks
         return this.tileCache;
     }
 
+    /**
+     * @brief Sets the FrameProfiler object.
+     * @param profiler The {@link FrameProfiler} instance.
+     */
+    public void setProfiler(FrameProfiler profiler){
+        this.profiler=profiler;
+    }
+    /**
+     * @brief Gets the FrameProfiler object.
+     * @return The {@link FrameProfiler} instance.
+     */
+    public FrameProfiler getProfiler(){
+        return this.profiler;
+    }
+
+    /**
+     * @brief Sets the TickScheduler object.
+     * @param scheduler The {@link TickScheduler} instance.
+     */
+    public void setScheduler(TickScheduler scheduler){
+        this.scheduler=scheduler;
+    }
+    /**
+     * @brief Gets the TickScheduler object.
+     * @return The {@link TickScheduler} instance.
+     */
+    public TickScheduler getScheduler(){
+        return this.scheduler;
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package PaooGame.Scheduling;
+
+/**
+ * @class ScheduledTask
+ * @brief A task of a {@link TickScheduler}, used like a Swing timer but run on the game thread.
+ *
+ * A task is created stopped. {@link #start()} schedules it to run after its delay and does
+ * nothing if it is already pending; {@link #stop()} cancels it. A one-shot task stops by itself
+ * once it has run, a repeating task runs every delay until it is stopped.
+ */
+public class ScheduledTask {
+    private final TickScheduler scheduler;              ///< The scheduler running this task.
+    final int periodTicks;                              ///< Delay before running, and between runs, in ticks.
+    final boolean repeating;                            ///< true if the task runs until stopped, false if it runs once per start.
+    final Runnable action;                              ///< What the task runs.
+
+    long dueTick;                                       ///< The tick at which the task runs next, while pending.
+    long sequence;                                      ///< Start order of the task, to break ties between tasks due at the same tick.
+    int heapIndex = -1;                                 ///< Position of the task in the scheduler's heap, or -1 if not pending.
+
+    /**
+     * @brief Constructs a stopped task; see {@link TickScheduler#createTask(int, boolean, Runnable)}.
+     */
+    ScheduledTask(TickScheduler scheduler, int periodTicks, boolean repeating, Runnable action) {
+        this.scheduler = scheduler;
+        this.periodTicks = periodTicks;
+        this.repeating = repeating;
+        this.action = action;
+    }
+
+    /**
+     * @brief Schedules the task to run after its delay, unless it is already pending.
+     */
+    public void start() {
+        if (this.heapIndex == -1) {
+            this.scheduler.schedule(this);
+        }
+    }
+
+    /**
+     * @brief Cancels the task if it is pending.
+     */
+    public void stop() {
+        if (this.heapIndex != -1) {
+            this.scheduler.cancel(this);
+        }
+    }
+
+    /**
+     * @brief Cancels the task and schedules it again, a full delay from now.
+     */
+    public void restart() {
+        stop();
+        start();
+    }
+
+    /**
+     * @brief Checks whether the task is waiting to run.
+     * @return true if the task is pending, false if it is stopped.
+     */
+    public boolean isRunning() {
+        return this.heapIndex != -1;
+    }
+}
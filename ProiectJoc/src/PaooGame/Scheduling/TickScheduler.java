@@ -0,0 +1,184 @@
+package PaooGame.Scheduling;
+
+/**
+ * @class TickScheduler
+ * @brief Runs delayed and repeating gameplay tasks on the game thread, counted in update ticks.
+ *
+ * The scheduler is advanced once per game update by {@link #tick()}, so every task runs on the
+ * game thread, between two updates, at a tick that only depends on when it was started.
+ * Pending tasks are kept in a binary min-heap ordered by the tick they are due at and then by
+ * the order they were started in. Tasks are created once with {@link #createTask(int, boolean, Runnable)}
+ * and then started and stopped as many times as needed; starting, stopping and firing a task
+ * allocate nothing.
+ *
+ * The scheduler is not thread-safe; it must only be used from the game thread.
+ */
+public class TickScheduler {
+    private final int ticksPerSecond;                   ///< Number of ticks in a second, used to convert delays from milliseconds.
+    private long currentTick = 0;                       ///< Number of ticks run so far.
+    private long nextSequence = 0;                      ///< Start order given to the next scheduled task, to break ties between tasks due at the same tick.
+
+    private ScheduledTask[] heap = new ScheduledTask[16];  ///< The pending tasks, as a binary min-heap.
+    private int size = 0;                               ///< Number of pending tasks.
+
+    /**
+     * @brief Constructs a scheduler.
+     * @param ticksPerSecond How many times a second {@link #tick()} is called.
+     */
+    public TickScheduler(int ticksPerSecond) {
+        this.ticksPerSecond = ticksPerSecond;
+    }
+
+    /**
+     * @brief Creates a task, initially stopped.
+     * @param delayMillis The delay between starting the task and running it (and between runs, for repeating tasks).
+     * @param repeating true to run the task every delayMillis until it is stopped, false to run it once per start.
+     * @param action What to run when the task is due.
+     * @return The new {@link ScheduledTask}.
+     */
+    public ScheduledTask createTask(int delayMillis, boolean repeating, Runnable action) {
+        return new ScheduledTask(this, millisToTicks(delayMillis), repeating, action);
+    }
+
+    /**
+     * @brief Converts a delay into ticks, rounding up so a task never runs early.
+     * @param millis The delay in milliseconds.
+     * @return The delay in ticks, at least 1.
+     */
+    public int millisToTicks(int millis) {
+        return Math.max(1, (int) ((millis * (long) this.ticksPerSecond + 999) / 1000));
+    }
+
+    /**
+     * @brief Advances the scheduler by one tick and runs every task that became due, in order.
+     *
+     * Repeating tasks are scheduled again before they run, so they can stop themselves.
+     * Tasks started by a running task are due at a later tick at the earliest.
+     */
+    public void tick() {
+        ++this.currentTick;
+        while (this.size > 0 && this.heap[0].dueTick <= this.currentTick) {
+            ScheduledTask task = this.heap[0];
+            removeAt(0);
+            if (task.repeating) {
+                task.dueTick += task.periodTicks;
+                task.sequence = this.nextSequence++;
+                insert(task);
+            }
+            task.action.run();
+        }
+    }
+
+    /**
+     * @brief Gets the number of ticks run so far.
+     * @return The current tick.
+     */
+    public long getCurrentTick() {
+        return this.currentTick;
+    }
+
+    /**
+     * @brief Gets the number of tasks waiting to run.
+     * @return The number of started tasks.
+     */
+    public int getPendingCount() {
+        return this.size;
+    }
+
+    /**
+     * @brief Schedules a stopped task to run after its period.
+     */
+    void schedule(ScheduledTask task) {
+        task.dueTick = this.currentTick + task.periodTicks;
+        task.sequence = this.nextSequence++;
+        insert(task);
+    }
+
+    /**
+     * @brief Removes a pending task from the heap.
+     */
+    void cancel(ScheduledTask task) {
+        removeAt(task.heapIndex);
+    }
+
+    /**
+     * @brief Adds a task to the heap.
+     */
+    private void insert(ScheduledTask task) {
+        if (this.size == this.heap.length) {
+            ScheduledTask[] larger = new ScheduledTask[this.heap.length * 2];
+            System.arraycopy(this.heap, 0, larger, 0, this.size);
+            this.heap = larger;
+        }
+        place(task, this.size++);
+        siftUp(task.heapIndex);
+    }
+
+    /**
+     * @brief Removes the task at a heap position and marks it as not pending.
+     */
+    private void removeAt(int index) {
+        ScheduledTask removed = this.heap[index];
+        ScheduledTask last = this.heap[--this.size];
+        this.heap[this.size] = null;
+        removed.heapIndex = -1;
+        if (index < this.size) {
+            place(last, index);
+            siftDown(index);
+            siftUp(last.heapIndex);
+        }
+    }
+
+    /**
+     * @brief Moves a task up until its parent is due before it.
+     */
+    private void siftUp(int index) {
+        ScheduledTask task = this.heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isBefore(task, this.heap[parent])) {
+                break;
+            }
+            place(this.heap[parent], index);
+            index = parent;
+        }
+        place(task, index);
+    }
+
+    /**
+     * @brief Moves a task down until both of its children are due after it.
+     */
+    private void siftDown(int index) {
+        ScheduledTask task = this.heap[index];
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= this.size) {
+                break;
+            }
+            if (child + 1 < this.size && isBefore(this.heap[child + 1], this.heap[child])) {
+                ++child;
+            }
+            if (!isBefore(this.heap[child], task)) {
+                break;
+            }
+            place(this.heap[child], index);
+            index = child;
+        }
+        place(task, index);
+    }
+
+    /**
+     * @brief Stores a task at a heap position and remembers the position in the task.
+     */
+    private void place(ScheduledTask task, int index) {
+        this.heap[index] = task;
+        task.heapIndex = index;
+    }
+
+    /**
+     * @brief Tells whether a task must run before another one.
+     */
+    private static boolean isBefore(ScheduledTask a, ScheduledTask b) {
+        return a.dueTick < b.dueTick || (a.dueTick == b.dueTick && a.sequence < b.sequence);
+    }
+}
@@ -0,0 +1,118 @@
+package PaooGame.Simulation;
+
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * @class BlockSkill
+ * @brief How a simulated player times the block (space) during the enemy turn.
+ *
+ * A skill is a distribution of the update, counted from the start of the enemy turn, at which
+ * the player presses space; the block bar value at that update is what the block is worth
+ * (see {@link PaooGame.Strategies.Fight.FightStrategy#blockProgressAfter(int)}). Skills are given as text:
+ * - `none`: never blocks.
+ * - `fixed:<t>`: always presses at update t.
+ * - `uniform:<min>,<max>`: presses at an update drawn uniformly from [min, max].
+ * - `normal:<mean>,<sd>`: presses at an update drawn from a normal distribution, rounded and
+ *   clamped at 0; a slow player has a high mean, an inconsistent one a high sd.
+ */
+public final class BlockSkill {
+    /**
+     * @brief The distribution families a skill can be drawn from.
+     */
+    private enum Kind { NONE, FIXED, UNIFORM, NORMAL }
+
+    private final String text;  ///< The skill as it was given, for the report.
+    private final Kind kind;    ///< The distribution family.
+    private final double a;     ///< The press update (FIXED), the lower bound (UNIFORM) or the mean (NORMAL).
+    private final double b;     ///< The upper bound (UNIFORM) or the standard deviation (NORMAL).
+
+    /**
+     * @brief Constructs a skill from its parsed parts.
+     */
+    private BlockSkill(String text, Kind kind, double a, double b) {
+        this.text = text;
+        this.kind = kind;
+        this.a = a;
+        this.b = b;
+    }
+
+    /**
+     * @brief Parses a skill from the text forms listed above.
+     * @param text The skill.
+     * @return The parsed skill.
+     * @throws IllegalArgumentException If the text is not a valid skill.
+     */
+    public static BlockSkill parse(String text) {
+        String[] parts = text.split(":", 2);
+        String[] values = parts.length > 1 ? parts[1].split(",") : new String[0];
+        try {
+            switch (parts[0].toLowerCase(Locale.ROOT)) {
+                case "none":
+                    return new BlockSkill(text, Kind.NONE, 0, 0);
+                case "fixed":
+                    return new BlockSkill(text, Kind.FIXED, Integer.parseInt(values[0]), 0);
+                case "uniform":
+                    int min = Integer.parseInt(values[0]);
+                    int max = Integer.parseInt(values[1]);
+                    if (max < min) {
+                        break;
+                    }
+                    return new BlockSkill(text, Kind.UNIFORM, min, max);
+                case "normal":
+                    double sd = Double.parseDouble(values[1]);
+                    if (sd < 0) {
+                        break;
+                    }
+                    return new BlockSkill(text, Kind.NORMAL, Double.parseDouble(values[0]), sd);
+                default:
+                    break;
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("invalid block skill " + text);
+    }
+
+    /**
+     * @brief Draws the update at which the player presses space in one enemy turn.
+     * @param random The random source of the simulating thread.
+     * @return The update, counted from the start of the enemy turn, or -1 if the player doesn't block.
+     */
+    public int samplePressTick(SplittableRandom random) {
+        switch (this.kind) {
+            case FIXED:
+                return (int) this.a;
+            case UNIFORM:
+                return random.nextInt((int) this.a, (int) this.b + 1);
+            case NORMAL:
+                return Math.max(0, (int) Math.round(this.a + this.b * nextGaussian(random)));
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @brief Draws a standard normal value with the polar method; SplittableRandom has no nextGaussian.
+     */
+    private static double nextGaussian(SplittableRandom random) {
+        double u;
+        double v;
+        double s;
+        do {
+            u = random.nextDouble(-1.0, 1.0);
+            v = random.nextDouble(-1.0, 1.0);
+            s = u * u + v * v;
+        } while (s >= 1.0 || s == 0.0);
+        return u * Math.sqrt(-2.0 * Math.log(s) / s);
+    }
+
+    /**
+     * @brief Gets the skill as it was given.
+     * @return The text form of the skill.
+     */
+    @Override
+    public String toString() {
+        return this.text;
+    }
+}
@@ -0,0 +1,130 @@
+package PaooGame.Simulation;
+
+import java.io.PrintStream;
+import java.util.Locale;
+
+/**
+ * @class FightResults
+ * @brief Outcome counts and histograms of a batch of simulated fights.
+ *
+ * Every simulating thread fills its own instance and the instances are merged at the end, so
+ * nothing is shared while the fights run. Turns are counted as hero attacks; the histograms of
+ * turns to kill and of the hero health left only count won fights.
+ */
+public class FightResults {
+    public static final int MAX_TURNS_BIN = 32;     ///< Fights won in more turns than this share the last bin of the turns histogram.
+    public static final int HEALTH_BIN_WIDTH = 5;   ///< Health covered by each bin of the health histogram.
+    private static final int BAR_WIDTH = 40;        ///< Width of the longest bar when printing a histogram.
+
+    private long won = 0;                           ///< Fights the hero won.
+    private long lost = 0;                          ///< Fights the hero lost.
+    private long fled = 0;                          ///< Fights the hero fled from.
+    private long unfinished = 0;                    ///< Fights stopped at the turn limit.
+    private long turnsOfWins = 0;                   ///< Sum of the turns of the won fights.
+    private double healthLeftOfWins = 0;            ///< Sum of the hero health left after the won fights.
+    private final long[] turnsToKill = new long[MAX_TURNS_BIN + 1];     ///< Won fights by number of turns; index 0 is unused.
+    private final long[] healthLeft;                ///< Won fights by hero health left, in bins of {@link #HEALTH_BIN_WIDTH}.
+
+    /**
+     * @brief Constructs empty results.
+     * @param heroHealth The health the hero starts the fights with, the top of the health histogram.
+     */
+    public FightResults(double heroHealth) {
+        this.healthLeft = new long[(int) Math.ceil(heroHealth / HEALTH_BIN_WIDTH) + 1];
+    }
+
+    /**
+     * @brief Counts a won fight.
+     * @param turns The number of hero attacks it took.
+     * @param heroHealth The health the hero had left.
+     */
+    public void addWin(int turns, double heroHealth) {
+        ++this.won;
+        this.turnsOfWins += turns;
+        this.healthLeftOfWins += heroHealth;
+        ++this.turnsToKill[Math.min(turns, MAX_TURNS_BIN)];
+        ++this.healthLeft[Math.min(this.healthLeft.length - 1, (int) (heroHealth / HEALTH_BIN_WIDTH))];
+    }
+
+    /**
+     * @brief Counts a lost fight.
+     */
+    public void addLoss() { ++this.lost; }
+
+    /**
+     * @brief Counts a fight the hero fled from.
+     */
+    public void addFlee() { ++this.fled; }
+
+    /**
+     * @brief Counts a fight stopped at the turn limit.
+     */
+    public void addUnfinished() { ++this.unfinished; }
+
+    /**
+     * @brief Adds the counts of other results, made with the same hero health, to these.
+     * @param other The results to add.
+     * @return These results.
+     */
+    public FightResults merge(FightResults other) {
+        this.won += other.won;
+        this.lost += other.lost;
+        this.fled += other.fled;
+        this.unfinished += other.unfinished;
+        this.turnsOfWins += other.turnsOfWins;
+        this.healthLeftOfWins += other.healthLeftOfWins;
+        for (int i = 0; i < this.turnsToKill.length; ++i) {
+            this.turnsToKill[i] += other.turnsToKill[i];
+        }
+        for (int i = 0; i < this.healthLeft.length; ++i) {
+            this.healthLeft[i] += other.healthLeft[i];
+        }
+        return this;
+    }
+
+    /**
+     * @brief Gets the number of fights counted.
+     * @return The total of every outcome.
+     */
+    public long getFights() { return this.won + this.lost + this.fled + this.unfinished; }
+
+    /**
+     * @brief Gets the share of the fights the hero won.
+     * @return The win rate, 0 to 1.
+     */
+    public double getWinRate() { return getFights() == 0 ? 0 : (double) this.won / getFights(); }
+
+    /**
+     * @brief Prints the outcome rates and both histograms.
+     * @param out Where to print.
+     */
+    public void print(PrintStream out) {
+        double fights = Math.max(1, getFights());
+        out.printf(Locale.ROOT, "  won %6.2f%%   lost %6.2f%%   fled %6.2f%%%s%n", 100.0 * this.won / fights,
+                100.0 * this.lost / fights, 100.0 * this.fled / fights,
+                this.unfinished > 0 ? String.format(Locale.ROOT, "   unfinished %6.2f%%", 100.0 * this.unfinished / fights) : "");
+        if (this.won == 0) {
+            return;
+        }
+        out.printf(Locale.ROOT, "  turns to kill (mean %.2f):%n", (double) this.turnsOfWins / this.won);
+        for (int turns = 1; turns <= MAX_TURNS_BIN; ++turns) {
+            printBin(out, (turns == MAX_TURNS_BIN ? turns + "+" : String.valueOf(turns)), this.turnsToKill[turns]);
+        }
+        out.printf(Locale.ROOT, "  hero health left after a win (mean %.1f):%n", this.healthLeftOfWins / this.won);
+        for (int bin = 0; bin < this.healthLeft.length; ++bin) {
+            printBin(out, (bin * HEALTH_BIN_WIDTH) + "-" + ((bin + 1) * HEALTH_BIN_WIDTH), this.healthLeft[bin]);
+        }
+    }
+
+    /**
+     * @brief Prints one histogram bin as its share of the won fights and a bar, if it is not empty.
+     */
+    private void printBin(PrintStream out, String label, long count) {
+        if (count == 0) {
+            return;
+        }
+        double share = (double) count / this.won;
+        int bar = (int) Math.max(1, Math.round(share * BAR_WIDTH));
+        out.printf(Locale.ROOT, "    %9s %7.3f%% %s%n", label, 100.0 * share, "#".repeat(bar));
+    }
+}
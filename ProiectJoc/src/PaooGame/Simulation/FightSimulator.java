@@ -0,0 +1,203 @@
+package PaooGame.Simulation;
+
+import PaooGame.Config.Constants;
+import PaooGame.Scheduling.TickScheduler;
+import PaooGame.Strategies.Fight.FightLayout;
+import PaooGame.Strategies.Fight.FightStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * @class FightSimulator
+ * @brief Plays fights without the game, many millions at a time, to tune the fight balance.
+ *
+ * A simulated fight follows {@link PaooGame.States.FightState}: the hero attacks first, the enemy
+ * takes the damage left after its defence ({@link FightStrategy#damageAfterDefence(float, float)}),
+ * then the enemy attacks and the hero takes the damage left after the block
+ * ({@link FightStrategy#damageAfterBlock(double, int)}), worth the block bar value at the update the
+ * player pressed space ({@link BlockSkill}). The enemy stats come from the {@link FightLayout} table.
+ * A hero with escapes left flees at the start of their turn once their health drops below the flee threshold.
+ *
+ * The fights of a batch are split into chunks played in parallel on a fork/join pool. Every chunk
+ * has its own random source, split from the seed in chunk order, so a batch gives the same results
+ * whatever the number of threads.
+ *
+ * Options (all optional):
+ * - `--fights <n>`: fights per enemy and skill (default 1000000).
+ * - `--enemy <name>`: an enemy of {@link FightLayout}, e.g. TIGER; repeat for several (default all).
+ * - `--skill <skill>`: a block skill, see {@link BlockSkill}; repeat for several (default none, normal:40,15 and fixed:27).
+ * - `--hero-health <h>` / `--hero-damage <d>`: hero stats (default {@link Constants#HERO_BASE_HEALTH} / {@link Constants#HERO_BASE_DAMAGE}).
+ * - `--escapes <n>`: escapes the hero has (default {@link Constants#HERO_MAX_NR_OF_ESCAPES}).
+ * - `--flee-below <h>`: health below which the hero flees, if they have escapes left (default 0, never).
+ * - `--threads <n>`: size of the pool (default one per core).
+ * - `--seed <s>`: seed of the random sources (default 1).
+ */
+public class FightSimulator {
+    private static final int CHUNK_SIZE = 1 << 16;      ///< Fights played by one task.
+    private static final int MAX_TURNS = 1000;          ///< Fights still running after this many turns are stopped as unfinished.
+
+    private final double heroHealth;                    ///< Health of the hero at the start of every fight.
+    private final float heroDamage;                     ///< Damage of each hero attack, before the enemy defence.
+    private final int escapes;                          ///< Escapes the hero has.
+    private final double fleeBelow;                     ///< Health below which the hero flees.
+    private final int blockWindow;                      ///< Updates of the enemy turn during which pressing space still blocks.
+
+    /**
+     * @brief Constructs a simulator for a hero.
+     * @param heroHealth Health of the hero at the start of every fight.
+     * @param heroDamage Damage of each hero attack.
+     * @param escapes Escapes the hero has; with none the hero never flees.
+     * @param fleeBelow Health below which the hero flees; 0 never flees.
+     */
+    public FightSimulator(double heroHealth, double heroDamage, int escapes, double fleeBelow) {
+        this.heroHealth = heroHealth;
+        this.heroDamage = (float) heroDamage; // FightState hands the hero damage to the strategy as a float
+        this.escapes = escapes;
+        this.fleeBelow = fleeBelow;
+        // The enemy turn waits for its attack, then for the damage to land; space counts until then
+        TickScheduler scheduler = new TickScheduler(Constants.UPDATES_PER_SECOND);
+        this.blockWindow = scheduler.millisToTicks(Constants.FIGHT_ENEMY_ATTACK_DELAY_MILLIS) + 1
+                + scheduler.millisToTicks(Constants.FIGHT_PLAYER_TURN_DELAY_MILLIS);
+    }
+
+    /**
+     * @brief Plays a batch of fights against one enemy type, in parallel.
+     * @param pool The pool to play on.
+     * @param layout The enemy type.
+     * @param skill The block skill of the player.
+     * @param fights The number of fights.
+     * @param seed The seed of the batch.
+     * @return The merged results.
+     */
+    public FightResults simulate(ForkJoinPool pool, FightLayout layout, BlockSkill skill, long fights, long seed) {
+        int chunks = (int) ((fights + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] randoms = new SplittableRandom[chunks];
+        for (int i = 0; i < chunks; ++i) {
+            randoms[i] = root.split();
+        }
+        try {
+            return pool.submit(() -> IntStream.range(0, chunks).parallel()
+                    .mapToObj(i -> playChunk(layout, skill, Math.min(CHUNK_SIZE, fights - (long) i * CHUNK_SIZE), randoms[i]))
+                    .reduce(FightResults::merge)
+                    .orElseGet(() -> new FightResults(this.heroHealth))).get();
+        } catch (InterruptedException | ExecutionException e) {
+            throw new IllegalStateException("simulation failed", e);
+        }
+    }
+
+    /**
+     * @brief Plays a chunk of fights on the calling thread.
+     */
+    private FightResults playChunk(FightLayout layout, BlockSkill skill, long fights, SplittableRandom random) {
+        FightResults results = new FightResults(this.heroHealth);
+        for (long i = 0; i < fights; ++i) {
+            playFight(layout, skill, random, results);
+        }
+        return results;
+    }
+
+    /**
+     * @brief Plays one fight and counts its outcome.
+     * @param layout The enemy type.
+     * @param skill The block skill of the player.
+     * @param random The random source of the calling thread.
+     * @param results Where the outcome is counted.
+     */
+    public void playFight(FightLayout layout, BlockSkill skill, SplittableRandom random, FightResults results) {
+        double enemyHealth = layout.getHealth();
+        double heroHealth = this.heroHealth;
+        for (int turn = 1; turn <= MAX_TURNS; ++turn) {
+            if (this.escapes > 0 && heroHealth < this.fleeBelow) {
+                results.addFlee();
+                return;
+            }
+
+            // Hero turn; health is clamped at 0 like Entity.reduceHealth does
+            enemyHealth = Math.max(0, enemyHealth - FightStrategy.damageAfterDefence(this.heroDamage, layout.getDefence()));
+            if (enemyHealth == 0) {
+                results.addWin(turn, heroHealth);
+                return;
+            }
+
+            // Enemy turn
+            int pressTick = skill.samplePressTick(random);
+            int blockProgress = pressTick >= 0 && pressTick < this.blockWindow ? FightStrategy.blockProgressAfter(pressTick) : 0;
+            heroHealth = Math.max(0, heroHealth - FightStrategy.damageAfterBlock(layout.getDamage(), blockProgress));
+            if (heroHealth == 0) {
+                results.addLoss();
+                return;
+            }
+        }
+        results.addUnfinished();
+    }
+
+    /**
+     * @brief Parses the options, runs every enemy and skill asked for and prints the results.
+     * @param args The command line options described above.
+     */
+    public static void main(String[] args) {
+        long fights = 1_000_000;
+        List<FightLayout> enemies = new ArrayList<>();
+        List<BlockSkill> skills = new ArrayList<>();
+        double heroHealth = Constants.HERO_BASE_HEALTH;
+        double heroDamage = Constants.HERO_BASE_DAMAGE;
+        int escapes = Constants.HERO_MAX_NR_OF_ESCAPES;
+        double fleeBelow = 0;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--fights":      fights = Long.parseLong(value); break;
+                    case "--enemy":       enemies.add(FightLayout.valueOf(value.toUpperCase(Locale.ROOT))); break;
+                    case "--skill":       skills.add(BlockSkill.parse(value)); break;
+                    case "--hero-health": heroHealth = Double.parseDouble(value); break;
+                    case "--hero-damage": heroDamage = Double.parseDouble(value); break;
+                    case "--escapes":     escapes = Integer.parseInt(value); break;
+                    case "--flee-below":  fleeBelow = Double.parseDouble(value); break;
+                    case "--threads":     threads = Integer.parseInt(value); break;
+                    case "--seed":        seed = Long.parseLong(value); break;
+                    default: throw new IllegalArgumentException("unknown option " + args[i]);
+                }
+            }
+            if (fights < 1 || threads < 1 || heroHealth <= 0) {
+                throw new IllegalArgumentException("--fights, --threads and --hero-health must be positive");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Invalid arguments: " + e.getMessage());
+            System.exit(2);
+        }
+        if (enemies.isEmpty()) {
+            enemies.addAll(List.of(FightLayout.values()));
+        }
+        if (skills.isEmpty()) {
+            skills.add(BlockSkill.parse("none"));
+            skills.add(BlockSkill.parse("normal:40,15"));
+            skills.add(BlockSkill.parse("fixed:27")); // the first update with a full bar
+        }
+
+        FightSimulator simulator = new FightSimulator(heroHealth, heroDamage, escapes, fleeBelow);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long totalFights = 0;
+        long start = System.nanoTime();
+        for (FightLayout enemy : enemies) {
+            for (BlockSkill skill : skills) {
+                FightResults results = simulator.simulate(pool, enemy, skill, fights, seed);
+                totalFights += results.getFights();
+                System.out.printf(Locale.ROOT, "%s (%s), block skill %s, %d fights:%n", enemy, enemy.getEnemyName(), skill, results.getFights());
+                results.print(System.out);
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        System.out.printf(Locale.ROOT, "%d fights in %.2f s on %d threads, %.0f fights/s%n", totalFights, seconds, threads, totalFights / seconds);
+    }
+}
@@ -3,11 +3,11 @@ package PaooGame.States;
 import PaooGame.Entities.Enemy;
 import PaooGame.Config.Constants;
 import PaooGame.RefLinks;
+import PaooGame.Scheduling.ScheduledTask;
 
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.util.Objects;
-import javax.swing.*;
 
 
 /**
@@ -23,7 +23,7 @@ public class DeathState extends State {
     private double blackIntensity = 1.0;    ///< Current intensity of the black overlay for fading, ranging from 0.0 (transparent) to 1.0 (opaque).
     private double fadeSpeed = 0.05;        ///< The rate at which the {@link #blackIntensity} changes per frame during fade effects.
 
-    private Timer timer;                    ///< Swing Timer used to delay the fade-out effect.
+    private ScheduledTask timer;            ///< Task used to delay the fade-out effect.
     private int timeoutInMillis = 1000;     ///< The duration in milliseconds before the fade-out sequence begins after fade-in completes.
 
     private boolean isFadedIn = false;      ///< Flag indicating if the initial fade-in effect has completed.
@@ -39,10 +39,9 @@ public class DeathState extends State {
     public DeathState(RefLinks reflink){
         super(reflink);
         this.stateName = "DeathState"; // Sets the identifier for this state.
-        this.timer = new Timer(this.timeoutInMillis,e->{
+        this.timer = this.reflink.getScheduler().createTask(this.timeoutInMillis, false, () -> {
             this.isFadingOut = true; // When the timer elapses, start the fade-out process.
         });
-        this.timer.setRepeats(false); // The timer should only fire once per activation.
     }
 
     /**
@@ -105,7 +104,7 @@ public class DeathState extends State {
      */
     private void drawBlackFade(Graphics g){
         // Fade-in logic
-        if(Objects.equals(State.getState().getStateName(), this.stateName) && !this.isFadedIn){
+        if(Objects.equals(this.reflink.getState().getStateName(), this.stateName) && !this.isFadedIn){
             Graphics2D g2d = (Graphics2D) g;
             Color originalColor = g2d.getColor(); // Preserve original color
 
@@ -126,13 +125,13 @@ public class DeathState extends State {
         }
 
         // Fade-out logic
-        if(Objects.equals(State.getState().getStateName(), this.stateName) && this.isFadingOut){
+        if(Objects.equals(this.reflink.getState().getStateName(), this.stateName) && this.isFadingOut){
             Graphics2D g2d = (Graphics2D) g;
             Color originalColor = g2d.getColor();
 
             if(this.blackIntensity>1){ // If fully faded out
                 this.reflink.setDataRefreshSignal(true); // Signal data refresh if needed
-                State.setState(this.reflink.getGame().getMenuState()); // Transition to menu state
+                this.reflink.setState(this.reflink.getGame().getMenuState()); // Transition to menu state
                 // blackIntensity will be reset by restoreState when DeathState is re-entered
             }
             if(this.blackIntensity<0){
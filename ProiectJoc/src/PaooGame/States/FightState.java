@@ -9,13 +9,15 @@ import PaooGame.HUD.ImageButton;
 import PaooGame.HUD.VerticalGradientBar;
 import PaooGame.Input.MouseInput;
 import PaooGame.RefLinks;
+import PaooGame.Strategies.Fight.FightLayout;
 import PaooGame.Strategies.Fight.FightStrategy;
+import PaooGame.Scheduling.ScheduledTask;
 
-import javax.swing.*;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
 import java.awt.image.BufferedImage;
+import java.util.EnumMap;
 
 
 /**
@@ -38,24 +40,19 @@ public class FightState extends State {
     private double blackIntensity = 1.0;                            ///< Intensity of the black overlay for the initial fade-in effect (0.0 to 1.0).
     private double fadeSpeed = 0.05;                                ///< Speed of the fade-in effect.
 
-    private Timer timer;                                            ///< Timer used to introduce a delay before the enemy attacks.
-    private Timer timer2;                                           ///< Timer used to introduce a delay before the player's turn starts after an enemy attack.
-    private Timer timer3;                                           ///< Timer used to delay the transition to DeathState after hero's health reaches zero.
-    private Timer popupTimer;                                       ///< Timer to control the duration of damage popups.
-    private Timer waitForEnemyDeathTimer;                           ///< Timer to delay the transition to victory after the enemy's health reaches zero.
-    private Timer fleeTimer;                                        ///< Timer to manage the cooldown of fleeing.
-
-    private FightStrategy fightStrategy = null;                     ///< The current active fight strategy, determined by the enemy type.
-    private FightStrategy tigerStrategy = null;                     ///< Specific fight strategy for the Tiger enemy.
-    private FightStrategy wizardStrategy = null;                    ///< Specific fight strategy for the Wizard enemy.
-    private FightStrategy minotaurStrategy = null;                  ///< Specific fight strategy for the Minotaur enemy.
-    private FightStrategy basicSkeletonStrategy = null;             ///< Specific fight strategy for the Basic Skeleton enemy.
-    private FightStrategy ghostStrategy = null;                     ///< Specific fight strategy for the Ghost enemy.
-    private FightStrategy strongSkeletonStrategy = null;            ///< Specific fight strategy for the Strong Skeleton enemy.
+    private ScheduledTask timer;                                    ///< Timer used to introduce a delay before the enemy attacks.
+    private ScheduledTask timer2;                                   ///< Timer used to introduce a delay before the player's turn starts after an enemy attack.
+    private ScheduledTask timer3;                                   ///< Timer used to delay the transition to DeathState after hero's health reaches zero.
+    private ScheduledTask popupTimer;                               ///< Timer to control the duration of damage popups.
+    private ScheduledTask waitForEnemyDeathTimer;                   ///< Timer to delay the transition to victory after the enemy's health reaches zero.
+    private ScheduledTask fleeTimer;                                ///< Timer to manage the cooldown of fleeing.
+
+    private FightStrategy fightStrategy = null;                     ///< The fight strategy bound to the current enemy, or null between fights.
+    private final EnumMap<FightLayout, FightStrategy> fightStrategies = new EnumMap<>(FightLayout.class); ///< One fight strategy per enemy type, built once from its {@link FightLayout}.
 
     private int popupTimeInMillis = 700;                            ///< Duration in milliseconds for damage popups to be visible.
-    private int timeoutInMillis = 1000;                             ///< Default timeout for general purpose timer (e.g., enemy attack delay).
-    private int timeoutInMillisForDelayingPlayerTurn = 1500;        ///< Duration in milliseconds to wait before starting the player's turn after enemy attack.
+    private int timeoutInMillis = Constants.FIGHT_ENEMY_ATTACK_DELAY_MILLIS; ///< Default timeout for general purpose timer (e.g., enemy attack delay).
+    private int timeoutInMillisForDelayingPlayerTurn = Constants.FIGHT_PLAYER_TURN_DELAY_MILLIS; ///< Duration in milliseconds to wait before starting the player's turn after enemy attack.
     private int timeoutInMillisWaitForEnemyDeath = 1300;            ///< Duration in milliseconds to wait before transitioning to victory after enemy death.
     private int timeoutInMillisWaitForFlee = 3000;                  ///< Duration related to the flee action.
     private boolean isTimerStarted;                                 ///< Flag indicating if {@link #timer} has started.
@@ -77,7 +74,7 @@ public class FightState extends State {
 
 
     private int enemyTurnProgressTick = 0;                          ///< Tick counter for the enemy turn progress bar animation.
-    private int enemyTurnProgressCap = 2;                           ///< Cap for {@link #enemyTurnProgressTick} before updating the progress bar value.
+    private int enemyTurnProgressCap = Constants.FIGHT_BLOCK_TICKS_PER_STEP-1; ///< Cap for {@link #enemyTurnProgressTick} before updating the progress bar value.
     private int enemyTurnProgress = 0;                              ///< Current value of the enemy turn progress bar (0-50), used for blocking.
     private VerticalGradientBar blockingBar;                        ///< UI element representing the blocking progress bar.
     private int progressOnSpace = 0;                                ///< The value of {@link #enemyTurnProgress} captured when the player presses space to block.
@@ -114,53 +111,48 @@ public class FightState extends State {
 
 
         // Timer for enemy attack delay
-        this.timer = new Timer(timeoutInMillis, e->{
+        this.timer = this.reflink.getScheduler().createTask(timeoutInMillis, false, () -> {
             this.isTimerFinished = true;
             this.isTimerStarted = false;
 
         });
         // Timer for delay before player's turn after enemy attack
-        this.timer2 = new Timer(timeoutInMillisForDelayingPlayerTurn,e->{
+        this.timer2 = this.reflink.getScheduler().createTask(timeoutInMillisForDelayingPlayerTurn, false, () -> {
             this.isPlayerTurn = true;
             this.isWaitingForPlayerTurn = false;
             this.didEnemyAttackAlready = false;
             this.enemyTurnProgress = 0; // Reset progress bar
+            this.enemyTurnProgressTick = 0; // Every enemy turn fills the bar the same way
             this.blockingBar.updateValue(this.enemyTurnProgress);
             // Apply damage to hero, considering block
-            this.reflink.getHero().reduceHealth(this.enemy.getEnemyStrategy().getDamage()* (  (100.0-this.progressOnSpace*1.5f)/100.0));
-            this.latestDamageReceived = this.enemy.getEnemyStrategy().getDamage()* (  (100.0-this.progressOnSpace*1.5f)/100.0);
+            this.latestDamageReceived = FightStrategy.damageAfterBlock(this.enemy.getEnemyStrategy().getDamage(), this.progressOnSpace);
+            this.reflink.getHero().reduceHealth(this.latestDamageReceived);
             this.progressOnSpace = 0; // Reset block value
             this.printingDamageReceivedPopup = true;
             this.popupTimer.start(); // Show damage received popup
 
         });
         // Timer for delay before transitioning to DeathState
-        this.timer3 = new Timer(1000,e->{
+        this.timer3 = this.reflink.getScheduler().createTask(1000, false, () -> {
             this.transitioningToDeath = true;
         });
 
         // Timer for damage popup duration
-        this.popupTimer = new Timer(this.popupTimeInMillis,e->{
+        this.popupTimer = this.reflink.getScheduler().createTask(this.popupTimeInMillis, false, () -> {
             this.printingDamageReceivedPopup = false;
             this.latestDamageReceived = 0.0;
             this.printingDamageDealtPopup = false;
             this.latestDamageDealt = 0.0;
         });
         // Timer for delay before transitioning to victory
-        this.waitForEnemyDeathTimer = new Timer(this.timeoutInMillisWaitForEnemyDeath,e->{
+        this.waitForEnemyDeathTimer = this.reflink.getScheduler().createTask(this.timeoutInMillisWaitForEnemyDeath, false, () -> {
             transitioningToVictory = true;
         });
         // Timer related to flee action
-        this.fleeTimer = new Timer(this.timeoutInMillisWaitForFlee,e->{
+        this.fleeTimer = this.reflink.getScheduler().createTask(this.timeoutInMillisWaitForFlee, false, () -> {
             this.reflink.getHero().setEngageReady(true); // Allow hero to engage again after fleeing
         });
 
-        this.timer.setRepeats(false);
-        this.timer2.setRepeats(false);
-        this.timer3.setRepeats(false);
-        this.fleeTimer.setRepeats(false);
-        this.popupTimer.setRepeats(false);
-        this.waitForEnemyDeathTimer.setRepeats(false);
 
         this.attackButton = new AttackButton(reflink.getHero(),310,620);
 
@@ -168,18 +160,22 @@ public class FightState extends State {
 
         this.attackAnimation = new EffectAnimation(this.reflink,Constants.EFFECTS.ATTACK_EXPLOSION,8,5);
         this.attackAnimation.loadAnimation();
+
+        for(FightLayout layout : FightLayout.values()){
+            this.fightStrategies.put(layout, layout.createStrategy());
+        }
     }
 
     /**
      * @brief Updates the logic of the FightState.
      *
-     * This method is called every game tick. It updates the fight strategy,
+     * This method is called every game tick. It applies the bound fight strategy,
      * handles turn-based logic, checks for win/loss conditions (enemy or hero death),
      * manages transitions, and updates the scrolling background.
      */
     @Override
     public void update() {
-        updateStrategy(); // Determine and update the correct fight strategy based on the enemy.
+        updateStrategy(); // Place the enemy and the health bars as the bound fight strategy says.
         this.attackAnimation.updateAnimation(); // Update player attack animation.
         handleTurnLogic(); // Manage player and enemy turns, input, and actions.
 
@@ -270,14 +266,7 @@ public class FightState extends State {
         }
         this.enemyTurnProgressTick = 0;
         this.enemy = null; // Clear current enemy.
-        // Clear all cached strategies.
-        this.fightStrategy = null;
-        this.tigerStrategy = null;
-        this.basicSkeletonStrategy = null;
-        this.strongSkeletonStrategy = null;
-        this.minotaurStrategy = null;
-        this.ghostStrategy = null;
-        this.wizardStrategy = null;
+        this.fightStrategy = null; // Unbind the strategy; the per-type strategies are kept for the next fight.
 
         // Reset timer flags.
         this.isTimerStarted = false;
@@ -296,131 +285,13 @@ public class FightState extends State {
     }
 
     /**
-     * @brief Updates or initializes the fight strategy based on the current enemy.
+     * @brief Applies the fight strategy bound to the current enemy.
      *
-     * If a strategy for the current enemy type has not been created yet, this method
-     * instantiates it using a builder pattern. It then sets the active {@link #fightStrategy}
-     * to the appropriate one and updates it, along with the enemy and hero's health bar positions.
+     * The strategy was chosen and bound in {@link #setEnemy(Enemy)}; this places the enemy and
+     * updates it, along with the enemy and hero's health bar positions.
      */
     private void updateStrategy(){
-        // Initialize strategies if they are null (first time encountering enemy type)
-            if(this.enemy!=null){
-                switch (this.enemy.getName()){
-                    case Constants.TIGER_NAME:
-                        this.tigerStrategy = new FightStrategy.FightStrategyBuilder(this.enemy)
-                                .x(480)
-                                .y(100)
-                                .width(this.enemy.getWidth())
-                                .height(this.enemy.getHeight())
-                                .healthBarX(460)
-                                .healthBarY(80)
-                                .healthBarWidth(this.enemy.getHealthBarWidth())
-                                .healthBarHeight(this.enemy.getHealthBarHeight())
-                                .backgroundImgPath(Constants.TIGER_FIGHT_BG_PATH)
-                                .defence(Constants.TIGER_DEFENCE)
-                                .ownerState(reflink.getGame().getLevel1State()).
-                                build();
-                        break;
-                    case Constants.BASIC_SKELETON_NAME:
-                        this.basicSkeletonStrategy = new FightStrategy.FightStrategyBuilder(this.enemy)
-                                .x(285)
-                                .y(0)
-                                .width(this.enemy.getWidth())
-                                .height(this.enemy.getHeight())
-                                .healthBarX(460)
-                                .healthBarY(80)
-                                .healthBarWidth(this.enemy.getHealthBarWidth())
-                                .healthBarHeight(this.enemy.getHealthBarHeight())
-                                .backgroundImgPath(Constants.BASIC_SKELETON_FIGHT_BG_PATH)
-                                .defence(Constants.BASIC_SKELETON_DEFENCE)
-                                .ownerState(reflink.getGame().getLevel2State())
-                                .build();
-                        break;
-                    case Constants.WIZARD_NAME:
-                        this.wizardStrategy = new FightStrategy.FightStrategyBuilder(this.enemy)
-                                .x(340)
-                                .y(60)
-                                .width(this.enemy.getWidth())
-                                .height(this.enemy.getHeight())
-                                .healthBarX(265)
-                                .healthBarY(120)
-                                .healthBarWidth(Constants.WIZARD_HEALTH_BAR_WIDTH)
-                                .healthBarHeight(Constants.WIZARD_HEALTH_BAR_HEIGHT )
-                                .backgroundImgPath(Constants.WIZARD_FIGHT_BG_PATH)
-                                .defence(Constants.WIZARD_DEFENCE)
-                                .ownerState(reflink.getGame().getLevel3State())
-                                .build();
-                        break;
-                    case Constants.MINOTAUR_NAME:
-                        this.minotaurStrategy = new FightStrategy.FightStrategyBuilder(this.enemy)
-                                .x(20)
-                                .y(0)
-                                .width(this.enemy.getWidth())
-                                .height(this.enemy.getHeight())
-                                .healthBarX(410)
-                                .healthBarY(80)
-                                .healthBarWidth(Constants.MINOTAUR_HEALTH_BAR_WIDTH)
-                                .healthBarHeight(Constants.MINOTAUR_HEALTH_BAR_HEIGHT)
-                                .backgroundImgPath(Constants.MINOTAUR_FIGHT_BG_PATH)
-                                .defence(Constants.MINOTAUR_DEFENCE)
-                                .ownerState(reflink.getGame().getLevel3State())
-                                .build();
-                        break;
-                    case Constants.GHOST_NAME:
-                        this.ghostStrategy = new FightStrategy.FightStrategyBuilder(this.enemy)
-                                .x(330)
-                                .y(80)
-                                .width(this.enemy.getWidth())
-                                .height(this.enemy.getHeight())
-                                .healthBarX(460)
-                                .healthBarY(80)
-                                .healthBarWidth(Constants.GHOST_HEALTH_BAR_WIDTH)
-                                .healthBarHeight(Constants.GHOST_HEALTH_BAR_HEIGHT)
-                                .backgroundImgPath(Constants.GHOST_FIGHT_BG_PATH)
-                                .defence(Constants.GHOST_DEFENCE)
-                                .ownerState(reflink.getGame().getLevel3State())
-                                .build();
-                        break;
-                    case Constants.STRONG_SKELETON_NAME:
-                        this.strongSkeletonStrategy = new FightStrategy.FightStrategyBuilder(this.enemy)
-                                .x(260)
-                                .y(30)
-                                .width(this.enemy.getWidth())
-                                .height(this.enemy.getHeight())
-                                .healthBarX(405)
-                                .healthBarY(80)
-                                .healthBarWidth(Constants.STRONG_SKELETON_HEALTH_BAR_WIDTH)
-                                .healthBarHeight(Constants.STRONG_SKELETON_HEALTH_BAR_HEIGHT)
-                                .backgroundImgPath(Constants.STRONG_SKELETON_BG_PATH)
-                                .defence(Constants.STRONG_SKELETON_DEFENCE)
-                                .ownerState(reflink.getGame().getLevel2State())
-                                .build();
-                        break;
-                }
-            }
-
-        // Set the active fightStrategy based on the current enemy's name
-        if(this.enemy!=null){
-            switch (this.enemy.getName()){
-                case Constants.TIGER_NAME:
-                    this.fightStrategy = tigerStrategy;
-                    break;
-                case Constants.BASIC_SKELETON_NAME:
-                    this.fightStrategy = basicSkeletonStrategy;
-                    break;
-                case Constants.WIZARD_NAME:
-                    this.fightStrategy = wizardStrategy;
-                    break;
-                case Constants.MINOTAUR_NAME:
-                    this.fightStrategy = minotaurStrategy;
-                    break;
-                case Constants.GHOST_NAME:
-                    this.fightStrategy = ghostStrategy;
-                    break;
-                case Constants.STRONG_SKELETON_NAME:
-                    this.fightStrategy = strongSkeletonStrategy;
-                    break;
-            }
+        if(this.enemy!=null && this.fightStrategy!=null){
             this.fightStrategy.update(); // Update the active strategy
             this.enemy.update(); // Update the enemy entity
 
@@ -450,7 +321,7 @@ public class FightState extends State {
             this.progressOnSpace = 0;
             this.isTimer3Started = false;
             reflink.getGame().getDeathState().restoreState(); // Prepare DeathState.
-            State.setState(reflink.getGame().getDeathState()); // Change to DeathState.
+            this.reflink.setState(reflink.getGame().getDeathState()); // Change to DeathState.
         }
 
         // Handle transition to PlayState (victory)
@@ -459,7 +330,7 @@ public class FightState extends State {
             this.fadeToBlackProgress = 0.0;
             this.attackAnimation.setIsFinished(true);
             this.reflink.getHero().setGold(this.reflink.getHero().getGold()+Constants.GOLD_REWARD); // Award gold.
-            State.setState(this.fightStrategy.getOwnerState()); // Return to the state where the fight originated.
+            this.reflink.setState(this.fightStrategy.getOwnerState()); // Return to the state where the fight originated.
             this.reflink.getHero().resetHealthBarDefaultValues(); // Reset hero health bar.
             this.restoreState();
         }
@@ -508,7 +379,7 @@ public class FightState extends State {
         }
         else{ // Enemy's Turn
             // Handle blocking mechanic input
-            if(this.reflink.getKeyManager().isKeyPressed(KeyEvent.VK_SPACE) && this.enemyTurnProgress<=50){
+            if(this.reflink.getKeyManager().isKeyPressed(KeyEvent.VK_SPACE) && this.enemyTurnProgress<=Constants.FIGHT_BLOCK_MAX){
                 this.progressOnSpace = this.enemyTurnProgress; // Capture block effectiveness.
                 this.enemyTurnProgress = 51; // Stop further progress bar increase for this turn.
             }
@@ -517,8 +388,8 @@ public class FightState extends State {
             this.blockingBar.updateValue(this.enemyTurnProgress);
             this.enemyTurnProgressTick++;
             if(this.enemyTurnProgressTick>this.enemyTurnProgressCap){
-                this.enemyTurnProgress+=6;
-                if (this.enemyTurnProgress > 50) this.enemyTurnProgress = 50; // Cap progress at 50.
+                this.enemyTurnProgress+=Constants.FIGHT_BLOCK_STEP;
+                if (this.enemyTurnProgress > Constants.FIGHT_BLOCK_MAX) this.enemyTurnProgress = Constants.FIGHT_BLOCK_MAX; // Cap progress at 50.
                 this.enemyTurnProgressTick = 0;
             }
 
@@ -697,12 +568,21 @@ public class FightState extends State {
     /**
      * @brief Sets the enemy for the current fight.
      *
-     * This method is called to specify which enemy the player will be fighting.
+     * This method is called to specify which enemy the player will be fighting. It binds the fight
+     * strategy of the enemy's type to it, with the current state as the one to return to on victory.
      * @param enemy The {@link Enemy} entity to engage in combat.
      */
     @Override
     public void setEnemy(Enemy enemy){
         this.enemy = enemy;
+        FightLayout layout = FightLayout.forEnemy(enemy.getName());
+        if(layout == null){
+            System.err.println("No fight layout for the enemy " + enemy.getName());
+            this.fightStrategy = null;
+            return;
+        }
+        this.fightStrategy = this.fightStrategies.get(layout);
+        this.fightStrategy.bind(enemy, this.reflink.getState());
     }
 
 
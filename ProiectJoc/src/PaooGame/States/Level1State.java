@@ -3,6 +3,7 @@ package PaooGame.States;
 import PaooGame.CustomExceptions.AccessNotPermittedException;
 import PaooGame.CustomExceptions.DataBufferNotReadyException;
 import PaooGame.CustomExceptions.ValueStoreException;
+import PaooGame.DatabaseManaging.SaveField;
 import PaooGame.Entities.Enemy;
 import PaooGame.Camera.Camera;
 import PaooGame.Config.Constants;
@@ -10,16 +11,19 @@ import PaooGame.Entities.Hero;
 import PaooGame.HUD.ContextHUD;
 import PaooGame.HUD.Gold;
 import PaooGame.HUD.MessageTriggerZone;
+import PaooGame.Hitbox.SpatialHash;
 import PaooGame.Input.MouseInput;
 import PaooGame.Items.FloppyItem;
 import PaooGame.Items.BonfireItem;
 import PaooGame.Maps.Level1;
+import PaooGame.Profiling.FrameProfiler;
 import PaooGame.RefLinks;
+import PaooGame.Tiles.TileRenderer;
 import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Objects;
 
 import PaooGame.HUD.PauseButton;
@@ -39,6 +43,7 @@ public class Level1State extends State {
     protected String stateName = Constants.LEVEL1_STATE; ///< The name identifier for this state.
     private Level1 level1;                              ///< The Level1 map data object.
     private Camera camera;                              ///< The game camera for this level.
+    private TileRenderer tileRenderer;                  ///< Draws the tiles of the level that are visible through the camera.
     private PauseButton pauseButton;                    ///< The UI button to pause the game.
     private Gold gold;
     private int levelWidth;                             ///< The total width of the level in pixels.
@@ -59,6 +64,8 @@ public class Level1State extends State {
     private boolean isSwitchingToLevel2 = false;        ///< Flag indicating a transition to Level2State.
 
     private Enemy [] enemies;                           ///< Array of enemies present in this level.
+    private SpatialHash<Enemy> enemyCells;              ///< The enemies by position; the handle of an enemy is its index in {@link #enemies}.
+    private ArrayList<Enemy> nearbyEnemies = new ArrayList<>(); ///< Scratch list of the enemies near the hero.
 
     protected double targetBlackIntensity = 0.0;        ///< Current intensity of the black overlay for fade transitions (0.0 to 1.0).
     protected double blackFadeStep = 0.05;              ///< Increment step for {@link #targetBlackIntensity} during fades.
@@ -75,7 +82,9 @@ public class Level1State extends State {
     public Level1State(RefLinks refLink, Level1 level1) {
         super(refLink);
         this.level1 = level1;
-        camera = new Camera(0, 0);
+        camera = new Camera(0, 0, this.reflink.getTileCache());
+        this.tileRenderer = new TileRenderer(this.reflink.getTileCache(), Constants.LEVEL1_TEXTURES_PATH,
+                this.level1.getVisualIDs(), Constants.LEVEL1_WIDTH, Constants.LEVEL1_HEIGHT);
         this.contextHUD = new ContextHUD(refLink.getHero());
         this.gold= new Gold(refLink.getHero());
         // Initialize save points (bonfires)
@@ -88,6 +97,11 @@ public class Level1State extends State {
 
         enemies[1] = new Enemy(this.reflink,this.tiger2X,this.tiger2Y,Constants.TIGER_NAME); //tiger1
 
+        enemyCells = new SpatialHash<>(Constants.INTERACTION_CELL_SIZE);
+        for (Enemy enemy : enemies) {
+            enemyCells.add(enemy, enemy.getHitbox());
+        }
+
         // Initialize floppy disks associated with save points
         floppyDisks = new FloppyItem[this.nrOfSaves];
         this.floppyDisks[0] = new FloppyItem(this.reflink,Constants.LEVEL1_SAVE1_X+10,Constants.LEVEL1_SAVE1_Y-10);
@@ -126,6 +140,9 @@ public class Level1State extends State {
 
         this.enemies[1].setX(Constants.TIGER2_X);
         this.enemies[1].setY(Constants.TIGER2_Y);
+        for (int i = 0; i < this.enemies.length; ++i) {
+            this.enemyCells.move(i, this.enemies[i].getHitbox());
+        }
 
         // Reset transition flags and fade intensity
         this.isTransitioning = false;
@@ -145,7 +162,7 @@ public class Level1State extends State {
     @Override
     public void update() {
         this.reflink.getHero().update(); // Update hero logic
-        if(Objects.equals(State.getState().getStateName(), this.getStateName())){
+        if(Objects.equals(this.reflink.getState().getStateName(), this.getStateName())){
             this.reflink.setCurrentRunningLevel(this.reflink.getGame().getLevel1State()); // Set current running level reference
         }
         this.floppyDisks[0].updateItem(); // Update floppy disk item
@@ -176,49 +193,63 @@ public class Level1State extends State {
      *
      * This method is called every frame to render all visual elements of Level 1,
      * including the background, tiles, hero, enemies, items, and UI elements.
-     * It applies camera transformations for scrolling.
+     * The world is drawn through the camera ({@link Camera#beginWorld(Graphics2D)}), the HUD in screen pixels.
      * @param g The {@link Graphics} context to draw on.
      */
     @Override
     public void draw(Graphics g) {
         Graphics2D g2d = (Graphics2D) g;
-        AffineTransform originalTransform = g2d.getTransform(); // Save original transform
-        // Apply camera transformation
-        camera.apply(g2d);
+        FrameProfiler profiler = this.reflink.getProfiler();
+        // Everything up to endWorld is drawn in world pixels
+        Graphics2D world = camera.beginWorld(g2d);
 
+        long start = profiler.begin();
         // Draw background image
         BufferedImage backgroundImage = this.reflink.getTileCache().getBackground(Constants.LEVEL1_BG_PATH);
-        g.drawImage(backgroundImage, 0, 0, levelWidth, levelHeight, null);
+        world.drawImage(backgroundImage, 0, 0, levelWidth, levelHeight, null);
 
-        drawTiles(g); // Draw level tiles
+        drawTiles(world); // Draw level tiles
+        profiler.end(this.stateName, FrameProfiler.PHASE_TILES, start);
+
+        start = profiler.begin();
 
         // Draw save points
         for(int i =0;i<this.nrOfSaves;++i){
-            this.saves[i].drawItem(g);
+            this.saves[i].drawItem(world);
         }
 
         // Draw enemies if they are alive
         for(Enemy enemy : enemies){
             if(enemy.getHealth()>0){
-                enemy.draw(g);
+                enemy.draw(world);
             }
         }
 
-        drawBlackFade(g); // Apply fade effect if transitioning
+        long entitiesNanos = profiler.elapsedSince(start);
+
+        start = profiler.begin();
+        drawBlackFade(world); // Apply fade effect if transitioning
+        profiler.end(this.stateName, FrameProfiler.PHASE_FADES, start);
+
+        start = profiler.begin();
 
         // Draw floppy disk if not collected
         if(this.reflink.getHero().getNrOfCollectedSaves()==0){
-            this.floppyDisks[0].drawItem(g);
+            this.floppyDisks[0].drawItem(world);
         }
 
-        this.reflink.getHero().draw(g); // Draw hero
+        this.reflink.getHero().draw(world); // Draw hero
+        profiler.record(this.stateName, FrameProfiler.PHASE_ENTITIES, entitiesNanos + profiler.elapsedSince(start));
+
+        // Put the world on screen; the HUD is drawn in screen pixels
+        camera.endWorld(g2d);
 
-        // Restore original transformation for UI elements
-        g2d.setTransform(originalTransform);
+        start = profiler.begin();
         this.reflink.getHero().DrawHealthBar(g); // Draw hero health bar (HUD)
         pauseButton.draw(g2d); // Draw pause button (HUD)
         gold.draw(g2d);
         contextHUD.draw(g2d); // Draw contextual messages (HUD)
+        profiler.end(this.stateName, FrameProfiler.PHASE_HUD, start);
     }
 
 
@@ -237,11 +268,11 @@ public class Level1State extends State {
         }
         try{
             // Load health for each enemy
-            this.enemies[0].setHealth(this.reflink.getDataProxy().load(Constants.TIGER0_HEALTH,access));
-            this.enemies[1].setHealth(this.reflink.getDataProxy().load(Constants.TIGER1_HEALTH,access));
+            this.enemies[0].setHealth(this.reflink.getDataProxy().load(SaveField.TIGER0_HEALTH,access));
+            this.enemies[1].setHealth(this.reflink.getDataProxy().load(SaveField.TIGER1_HEALTH,access));
             this.reflink.setLevel1RefreshDoneSignal(true); // Mark loading as done for this cycle
 
-        }catch (AccessNotPermittedException | ValueStoreException | DataBufferNotReadyException e) {
+        }catch (AccessNotPermittedException | DataBufferNotReadyException e) {
             System.err.println("Error loading Level1State data: " + e.getMessage());
         }
     }
@@ -262,13 +293,13 @@ public class Level1State extends State {
         }
         try{
             // If Level1State is the active state, mark it in the save data.
-            if(State.getState().getStateName().compareTo(this.stateName) == 0){
-                this.reflink.getDataProxy().store(Constants.CURRENT_STATE,1,access); // 1 represents Level1
+            if(this.reflink.getState().getStateName().compareTo(this.stateName) == 0){
+                this.reflink.getDataProxy().store(SaveField.CURRENT_STATE,1,access); // 1 represents Level1
             }
-            this.reflink.getDataProxy().store(Constants.TIMESTAMP,(int) Instant.now().getEpochSecond(),access); // Save timestamp
+            this.reflink.getDataProxy().store(SaveField.TIMESTAMP,(int) Instant.now().getEpochSecond(),access); // Save timestamp
             // Save health for each enemy
-            this.reflink.getDataProxy().store(Constants.TIGER0_HEALTH,(int)this.enemies[0].getHealth(),access);
-            this.reflink.getDataProxy().store(Constants.TIGER1_HEALTH,(int)this.enemies[1].getHealth(),access);
+            this.reflink.getDataProxy().store(SaveField.TIGER0_HEALTH,(int)this.enemies[0].getHealth(),access);
+            this.reflink.getDataProxy().store(SaveField.TIGER1_HEALTH,(int)this.enemies[1].getHealth(),access);
             this.reflink.setLevel1StoreDoneSignal(true); // Mark saving as done for this cycle
         }catch (AccessNotPermittedException | ValueStoreException e) {
             System.err.println("Error storing Level1State data: " + e.getMessage());
@@ -307,24 +338,33 @@ public class Level1State extends State {
      * @brief Handles logic when the hero interacts with an enemy.
      *
      * If an enemy is alive and the hero collides with it (and is ready to engage),
-     * a transition to the {@link FightState} is initiated. Defeated enemies have their hitboxes nullified.
-     * All enemies are updated.
+     * a transition to the {@link FightState} is initiated. Only the enemies in the grid cells around the hero are checked.
+     * Defeated enemies have their hitboxes nullified. All enemies are updated; the ones far from the camera
+     * only run their coarse patrol (see {@link Enemy#updateActivity}).
      */
     private void heroTouchesEnemy(){
-        for(Enemy enemy : enemies){
+        enemyCells.query(reflink.getHero().getHitbox(), nearbyEnemies);
+        for(Enemy enemy : nearbyEnemies){
+            // Check for collision and if hero is ready to engage
+            if(enemy.getHealth()!=0 && reflink.getHero().getHitbox().intersects(enemy.getHitbox()) && reflink.getHero().getEngageReady()){
+                enemy.setIsEngaged(true); // Mark enemy as engaged
+                this.isTransitioning = true; // Start general fade transition
+                this.isTransitioning_to_fight = true; // Specifically for fight state
+                reflink.getGame().getFightState().setEnemy(enemy); // Set the enemy for FightState
+            }
+        }
+        double viewLeft = camera.getViewLeft();
+        double viewTop = camera.getViewTop();
+        double viewRight = camera.getViewRight(Constants.WINDOW_WIDTH);
+        double viewBottom = camera.getViewBottom(Constants.WINDOW_HEIGHT);
+        for(int i = 0; i < enemies.length; ++i){
+            Enemy enemy = enemies[i];
             if(enemy.getHealth()==0){
                 enemy.nullifyHitbox(); // Make defeated enemies non-interactive
             }
-            else{
-                // Check for collision and if hero is ready to engage
-                if(reflink.getHero().getHitbox().intersects(enemy.getHitbox()) && reflink.getHero().getEngageReady()){
-                    enemy.setIsEngaged(true); // Mark enemy as engaged
-                    this.isTransitioning = true; // Start general fade transition
-                    this.isTransitioning_to_fight = true; // Specifically for fight state
-                    reflink.getGame().getFightState().setEnemy(enemy); // Set the enemy for FightState
-                }
-            }
+            enemy.updateActivity(viewLeft, viewTop, viewRight, viewBottom); // Sleep or wake depending on the distance to the camera
             enemy.update();
+            enemyCells.move(i, enemy.getHitbox()); // Keep the grid in step with the moved hitbox
         }
     }
 
@@ -337,7 +377,7 @@ public class Level1State extends State {
     private void doPause(){
         // Pause via Escape key
         if (reflink.getKeyManager().isKeyPressedOnce(KeyEvent.VK_ESCAPE)) {
-            State.setState(reflink.getGame().getPauseMenuState());
+            this.reflink.setState(reflink.getGame().getPauseMenuState());
         }
 
         MouseInput mouse = reflink.getMouseInput();
@@ -346,7 +386,7 @@ public class Level1State extends State {
 
         // Pause via button click
         if (mouse.getNumberOfMousePresses() > 0 && pauseButton.isClicked(mousePos.x, mousePos.y)) {
-            State.setState(reflink.getGame().getPauseMenuState());
+            this.reflink.setState(reflink.getGame().getPauseMenuState());
             mouse.mouseReleased(null); // Consume the click
             return;
         }
@@ -419,7 +459,7 @@ public class Level1State extends State {
             this.reflink.getHero().setJumpStrength(Constants.HERO_LEVEL2_JUMP_STRENGTH);
             this.reflink.getHero().setNrOfCollectedSaves(1);
 
-            State.setState(reflink.getGame().getLevel2State()); // Change state to Level 2
+            this.reflink.setState(reflink.getGame().getLevel2State()); // Change state to Level 2
         }
     }
 
@@ -436,7 +476,7 @@ public class Level1State extends State {
             this.isTransitioning = false;
             this.isTransitioning_to_fight = false;
 
-            State.setState(reflink.getGame().getFightState()); // Change state to Fight
+            this.reflink.setState(reflink.getGame().getFightState()); // Change state to Fight
         }
     }
 
@@ -452,27 +492,19 @@ public class Level1State extends State {
             this.targetBlackIntensity = 0; // Reset fade
 
             this.reflink.getGame().getDeathState().restoreState(); // Prepare DeathState
-            State.setState(this.reflink.getGame().getDeathState()); // Change state to Death
+            this.reflink.setState(this.reflink.getGame().getDeathState()); // Change state to Death
         }
     }
 
     /**
      * @brief Draws the visual tiles of the level.
      *
-     * Iterates through the visualIDs array of the {@link #level1} map data
-     * and draws each tile at its calculated position using the {@link PaooGame.Tiles.TileCache}.
+     * Only the tiles of {@link #level1} that intersect the camera's view are drawn,
+     * through the level's {@link TileRenderer}.
      * @param g The {@link Graphics} context to draw on.
      */
     private void drawTiles(Graphics g){
-        for (int i = 0; i < Constants.LEVEL1_TILE_NR; ++i) { // Iterate through all tiles in 1D representation
-            int currentID = this.level1.getVisualIDs()[i]; // Get visual ID of current tile
-            if (currentID != -1) {
-                this.reflink.getTileCache()
-                        .getTile(Constants.LEVEL1_TEXTURES_PATH, currentID) // Get tile image from cache
-                        .Draw(g, (i % Constants.LEVEL1_WIDTH) * Constants.TILE_SIZE, // Calculate X position
-                                (i / Constants.LEVEL1_WIDTH) * Constants.TILE_SIZE); // Calculate Y position
-            }
-        }
+        this.tileRenderer.draw(g, this.camera, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
     }
 
     /**
@@ -5,6 +5,7 @@ import PaooGame.Config.Constants;
 import PaooGame.CustomExceptions.AccessNotPermittedException;
 import PaooGame.CustomExceptions.DataBufferNotReadyException;
 import PaooGame.CustomExceptions.ValueStoreException;
+import PaooGame.DatabaseManaging.SaveField;
 import PaooGame.Entities.Enemy;
 import PaooGame.Entities.Entity;
 import PaooGame.Entities.NPC;
@@ -12,18 +13,21 @@ import PaooGame.HUD.ContextHUD;
 import PaooGame.HUD.Gold;
 import PaooGame.HUD.MessageTriggerZone;
 import PaooGame.HUD.PauseButton;
+import PaooGame.Hitbox.SpatialHash;
 import PaooGame.Input.MouseInput;
 import PaooGame.Items.BoosterItem;
 import PaooGame.Items.FloppyItem;
 import PaooGame.Items.BonfireItem;
 import PaooGame.Maps.Level2;
+import PaooGame.Profiling.FrameProfiler;
 import PaooGame.RefLinks;
+import PaooGame.Tiles.TileRenderer;
 
 import java.awt.*;
 import java.awt.event.KeyEvent;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Objects;
 
 /**
@@ -40,6 +44,7 @@ public class Level2State extends State {
     protected String stateName = Constants.LEVEL2_STATE;    ///< The name identifier for this state.
     private Level2 level2;                                  ///< The Level2 map data object.
     private Camera camera;                                  ///< The game camera for this level.
+    private TileRenderer tileRenderer;                      ///< Draws the tiles of the level that are visible through the camera.
     private PauseButton pauseButton;                        ///< The UI button to pause the game.
     private int levelWidth;                                 ///< The total width of the level in pixels.
     private int levelHeight;                                ///< The total height of the level in pixels.
@@ -50,14 +55,20 @@ public class Level2State extends State {
 
     private Entity[] npcs;                                  ///< Array of NPC entities in the level.
     private int nrOfNpcs = 1;                               ///< The number of NPCs in this level.
+    private SpatialHash<Entity> npcCells;                   ///< The NPCs by position; the handle of an NPC is its index in {@link #npcs}.
+    private ArrayList<Entity> nearbyNpcs = new ArrayList<>(); ///< Scratch list of the NPCs near the hero.
 
     private ContextHUD contextHUD;                          ///< Heads-Up Display for contextual messages.
 
     private int nrOfEnemies = 3;                            ///< The number of enemies in this level.
     private Enemy[] enemies;                                ///< Array of enemy entities present in this level.
+    private SpatialHash<Enemy> enemyCells;                  ///< The enemies by position; the handle of an enemy is its index in {@link #enemies}.
+    private ArrayList<Enemy> nearbyEnemies = new ArrayList<>(); ///< Scratch list of the enemies near the hero.
     private BonfireItem[] saves;                            ///< Array of save points (bonfires) in the level.
     private BoosterItem[] boosters;                         ///< Array of booster items in the level.
     private int nrOfBoosters = 3;                           ///< The number of booster items in this level.
+    private SpatialHash<BoosterItem> boosterCells;          ///< The booster items by position; they never move.
+    private ArrayList<BoosterItem> nearbyBoosters = new ArrayList<>(); ///< Scratch list of the booster items near the hero.
     private int nrOfSaves = 1;                              ///< The number of save points in this level.
     private FloppyItem[] floppyDisks;                       ///< Array of floppy disk items, associated with save points.
 
@@ -92,7 +103,9 @@ public class Level2State extends State {
 
         levelWidth = Constants.LEVEL2_WIDTH * Constants.TILE_SIZE;
         levelHeight = Constants.LEVEL2_HEIGHT * Constants.TILE_SIZE; // Corrected from LEVEL2_WIDTH to LEVEL2_HEIGHT
-        camera = new Camera(0, 0);
+        camera = new Camera(0, 0, this.reflink.getTileCache());
+        this.tileRenderer = new TileRenderer(this.reflink.getTileCache(), Constants.LEVEL2_TEXTURES_PATH,
+                this.level2.getVisualIDs(), Constants.LEVEL2_WIDTH, Constants.LEVEL2_HEIGHT);
 
         this.saves[0] = new BonfireItem(this.reflink, Constants.LEVEL2_SAVE1_X, Constants.LEVEL2_SAVE1_Y);
 
@@ -102,6 +115,20 @@ public class Level2State extends State {
 
         this.floppyDisks[0] = new FloppyItem(this.reflink, Constants.LEVEL2_SAVE1_X + 10, Constants.LEVEL2_SAVE1_Y - 10);
 
+        // Register everything the hero can touch in grids, so each update only checks what is near the hero
+        this.npcCells = new SpatialHash<>(Constants.INTERACTION_CELL_SIZE);
+        for (Entity npc : this.npcs) {
+            this.npcCells.add(npc, npc.getHitbox());
+        }
+        this.enemyCells = new SpatialHash<>(Constants.INTERACTION_CELL_SIZE);
+        for (Enemy enemy : this.enemies) {
+            this.enemyCells.add(enemy, enemy.getHitbox());
+        }
+        this.boosterCells = new SpatialHash<>(Constants.INTERACTION_CELL_SIZE);
+        for (BoosterItem booster : this.boosters) {
+            this.boosterCells.add(booster, booster.getHitbox());
+        }
+
         pauseButton = new PauseButton(reflink.getHero(), 80, 50);
 
         addMessageTriggers();
@@ -146,6 +173,9 @@ public class Level2State extends State {
         this.enemies[1].setY(Constants.STRONG_SKELETON1_Y);
         this.enemies[2].setX(Constants.BASIC_SKELETON2_X);
         this.enemies[2].setY(Constants.BASIC_SKELETON2_Y);
+        for (int i = 0; i < this.nrOfEnemies; ++i) {
+            this.enemyCells.move(i, this.enemies[i].getHitbox());
+        }
 
         // Reset transition flags and fade intensity
         this.transitioning = false;
@@ -163,7 +193,7 @@ public class Level2State extends State {
      */
     @Override
     public void update() {
-        if (Objects.equals(State.getState().getStateName(), this.getStateName())) {
+        if (Objects.equals(this.reflink.getState().getStateName(), this.getStateName())) {
             this.reflink.setCurrentRunningLevel(this.reflink.getGame().getLevel2State()); // Set current running level reference
         }
 
@@ -197,34 +227,47 @@ public class Level2State extends State {
      * @brief Draws the content of the Level2State on the screen.
      *
      * This method is called every frame to render all visual elements of Level 2.
-     * It applies camera transformations and draws the background, tiles, items,
-     * enemies, NPCs, hero, and UI elements like health bars and pause button.
+     * It draws the background, tiles, items, enemies, NPCs and hero through the camera,
+     * then UI elements like health bars and pause button in screen pixels.
      * @param g The {@link Graphics} context to draw on.
      */
     @Override
     public void draw(Graphics g) {
         Graphics2D g2d = (Graphics2D) g;
-        AffineTransform originalTransform = g2d.getTransform(); // Save original transform
+        FrameProfiler profiler = this.reflink.getProfiler();
+        Graphics2D world = camera.beginWorld(g2d); // Everything up to endWorld is drawn in world pixels
 
-        camera.apply(g2d); // Apply camera transformation
+        long start = profiler.begin();
+        drawBackground(world);
+        drawTiles(world);
+        profiler.end(this.stateName, FrameProfiler.PHASE_TILES, start);
 
-        drawBackground(g);
-        drawTiles(g);
-        drawBonfireItems(g);
-        drawEnemies(g);
-        drawBoosterItems(g);
-        drawFadeEffect(g2d); // Draw fade overlay if transitioning
-        drawFloppyDisks(g);
-        drawNPCs(g);
+        start = profiler.begin();
+        drawBonfireItems(world);
+        drawEnemies(world);
+        drawBoosterItems(world);
+        long entitiesNanos = profiler.elapsedSince(start);
 
-        this.reflink.getHero().draw(g); // Draw hero
+        start = profiler.begin();
+        drawFadeEffect(world); // Draw fade overlay if transitioning
+        profiler.end(this.stateName, FrameProfiler.PHASE_FADES, start);
 
-        g2d.setTransform(originalTransform); // Reset transform for HUD elements
+        start = profiler.begin();
+        drawFloppyDisks(world);
+        drawNPCs(world);
+
+        this.reflink.getHero().draw(world); // Draw hero
+        profiler.record(this.stateName, FrameProfiler.PHASE_ENTITIES, entitiesNanos + profiler.elapsedSince(start));
+
+        camera.endWorld(g2d); // Put the world on screen; the HUD is drawn in screen pixels
+
+        start = profiler.begin();
 
         this.reflink.getHero().DrawHealthBar(g); // Draw hero health bar
         pauseButton.draw(g2d); // Draw pause button
         gold.draw(g2d);
         this.contextHUD.draw(g2d); // Draw contextual messages
+        profiler.end(this.stateName, FrameProfiler.PHASE_HUD, start);
     }
 
 
@@ -232,9 +275,10 @@ public class Level2State extends State {
      * @brief Updates all NPC entities in the level.
      */
     private void updateNPCs() {
-        for (Entity npc : npcs) {
-            if (npc != null) {
-                npc.update();
+        for (int i = 0; i < nrOfNpcs; ++i) {
+            if (npcs[i] != null) {
+                npcs[i].update();
+                npcCells.move(i, npcs[i].getHitbox()); // An NPC may swap its hitbox when it becomes active
             }
         }
     }
@@ -243,16 +287,17 @@ public class Level2State extends State {
      * @brief Handles hero interaction with NPCs, specifically for opening the shop.
      *
      * If the hero is near an NPC and presses the 'T' key, the game transitions
-     * to the {@link ShopState}.
+     * to the {@link ShopState}. Only the NPCs in the grid cells around the hero are checked.
      */
     private void handleNPCInteraction() {
-        for (Entity npc : npcs) {
+        npcCells.query(reflink.getHero().getHitbox(), nearbyNpcs);
+        for (Entity npc : nearbyNpcs) {
             if (npc != null && npc instanceof NPC) {
                 NPC currentNPC = (NPC) npc;
                 if (!currentNPC.isActive() &&
                         reflink.getHero().getHitbox().intersects(currentNPC.getHitbox()) &&
                         reflink.getKeyManager().isKeyPressedOnce(KeyEvent.VK_T)) {
-                    State.setState(reflink.getGame().getShopState()); // Transition to ShopState
+                    this.reflink.setState(reflink.getGame().getShopState()); // Transition to ShopState
                 }
             }
         }
@@ -275,7 +320,8 @@ public class Level2State extends State {
      */
     private void handleBoosterInteraction() {
         int nrOfTouchedBoosters = 0;
-        for (BoosterItem item : this.boosters) {
+        this.boosterCells.query(this.reflink.getHero().getHitbox(), this.nearbyBoosters);
+        for (BoosterItem item : this.nearbyBoosters) {
             if (item.getHitbox().intersects(this.reflink.getHero().getHitbox())) {
                 nrOfTouchedBoosters++;
             }
@@ -330,24 +376,34 @@ public class Level2State extends State {
      * @brief Handles hero interactions with enemies.
      *
      * If an enemy is alive and the hero collides with it (and is ready to engage),
-     * a transition to the {@link FightState} is initiated. Defeated enemies have their hitboxes nullified.
-     * All enemies are updated.
+     * a transition to the {@link FightState} is initiated. Only the enemies in the grid cells around the hero are checked.
+     * Defeated enemies have their hitboxes nullified. All enemies are updated; the ones far from the camera
+     * only run their coarse patrol (see {@link Enemy#updateActivity}).
      */
     private void handleEnemyInteractions() {
-        for (Enemy enemy : enemies) {
+        enemyCells.query(reflink.getHero().getHitbox(), nearbyEnemies);
+        for (Enemy enemy : nearbyEnemies) {
+            // Check for collision and if hero is ready to engage
+            if (enemy.getHealth() != 0 && reflink.getHero().getHitbox().intersects(enemy.getHitbox()) && reflink.getHero().getEngageReady()) {
+                enemy.setIsEngaged(true); // Mark enemy as engaged
+                this.transitioning = true; // Start general fade transition
+                this.transition_to_fight = true; // Specifically for fight state
+                reflink.getGame().getFightState().setEnemy(enemy); // Set the enemy for FightState
+            }
+        }
+        double viewLeft = camera.getViewLeft();
+        double viewTop = camera.getViewTop();
+        double viewRight = camera.getViewRight(Constants.WINDOW_WIDTH);
+        double viewBottom = camera.getViewBottom(Constants.WINDOW_HEIGHT);
+        for (int i = 0; i < nrOfEnemies; ++i) {
+            Enemy enemy = enemies[i];
             if (enemy != null) {
                 if (enemy.getHealth() == 0) {
                     enemy.nullifyHitbox(); // Make defeated enemies non-interactive
-                } else {
-                    // Check for collision and if hero is ready to engage
-                    if (reflink.getHero().getHitbox().intersects(enemy.getHitbox()) && reflink.getHero().getEngageReady()) {
-                        enemy.setIsEngaged(true); // Mark enemy as engaged
-                        this.transitioning = true; // Start general fade transition
-                        this.transition_to_fight = true; // Specifically for fight state
-                        reflink.getGame().getFightState().setEnemy(enemy); // Set the enemy for FightState
-                    }
                 }
+                enemy.updateActivity(viewLeft, viewTop, viewRight, viewBottom); // Sleep or wake depending on the distance to the camera
                 enemy.update(); // Update enemy logic
+                enemyCells.move(i, enemy.getHitbox()); // Keep the grid in step with the moved hitbox
             }
         }
     }
@@ -363,7 +419,7 @@ public class Level2State extends State {
             this.targetBlackIntensity = 0; // Reset fade for next screen
             this.transitioning = false;
             this.transition_to_fight = false;
-            State.setState(reflink.getGame().getFightState()); // Change state to Fight
+            this.reflink.setState(reflink.getGame().getFightState()); // Change state to Fight
         }
     }
 
@@ -392,7 +448,7 @@ public class Level2State extends State {
     private boolean handlePauseInput() {
         // Pause via Escape key
         if (reflink.getKeyManager().isKeyPressedOnce(KeyEvent.VK_ESCAPE)) {
-            State.setState(reflink.getGame().getPauseMenuState());
+            this.reflink.setState(reflink.getGame().getPauseMenuState());
         }
 
         MouseInput mouse = reflink.getMouseInput();
@@ -401,7 +457,7 @@ public class Level2State extends State {
 
         // Pause via button click
         if (mouse.getNumberOfMousePresses() > 0 && pauseButton.isClicked(mousePos.x, mousePos.y)) {
-            State.setState(reflink.getGame().getPauseMenuState());
+            this.reflink.setState(reflink.getGame().getPauseMenuState());
             mouse.mouseReleased(null); // Consume the click
             return true; // Game was paused
         }
@@ -417,7 +473,7 @@ public class Level2State extends State {
      */
     private void updateCamera() {
         // Initial camera setup logic
-        if (State.getState().getStateName().equals(this.stateName) && !this.isCameraSet) { // Used .equals for string comparison
+        if (this.reflink.getState().getStateName().equals(this.stateName) && !this.isCameraSet) { // Used .equals for string comparison
             float heroCenterX = this.reflink.getHero().getX() + this.reflink.getHero().getWidth() / 2;
             float heroCenterY = this.reflink.getHero().getY() + this.reflink.getHero().getHeight() / 2;
             double cameraX = heroCenterX - (Constants.WINDOW_WIDTH / 2) / camera.getScale();
@@ -447,7 +503,7 @@ public class Level2State extends State {
         if (this.reflink.getHero().getHealth() == 0 && this.targetBlackIntensity == 1) { // Hero defeated and fade complete
             this.targetBlackIntensity = 0; // Reset fade for next screen
             this.reflink.getGame().getDeathState().restoreState(); // Prepare DeathState
-            State.setState(this.reflink.getGame().getDeathState()); // Change state to Death
+            this.reflink.setState(this.reflink.getGame().getDeathState()); // Change state to Death
         }
     }
 
@@ -487,7 +543,7 @@ public class Level2State extends State {
             this.reflink.getHero().setY(Constants.HERO_LEVEL3_STARTING_Y);
             this.reflink.getHero().getHitbox().setY(Constants.HERO_LEVEL3_STARTING_Y);
             this.reflink.getHero().setJumpStrength(-3.5f); // Specific jump strength for L3 start
-            State.setState(this.reflink.getGame().getLevel3State()); // Change state to Level 3
+            this.reflink.setState(this.reflink.getGame().getLevel3State()); // Change state to Level 3
         }
     }
 
@@ -508,20 +564,12 @@ public class Level2State extends State {
     /**
      * @brief Draws the visual tiles of Level 2.
      *
-     * Iterates through the visual tile IDs of the level map data and renders each tile
-     * using the {@link PaooGame.Tiles.TileCache}.
+     * Only the tiles that intersect the camera's view are drawn,
+     * through the level's {@link TileRenderer}.
      * @param g The {@link Graphics} context to draw on.
      */
     private void drawTiles(Graphics g) {
-        for (int i = 0; i < Constants.LEVEL2_TILE_NR; ++i) { // Iterate through all tiles in 1D representation
-            int currentID = this.level2.getVisualIDs()[i]; // Get visual ID of current tile
-            if (currentID != -1) {
-                this.reflink.getTileCache()
-                        .getTile(Constants.LEVEL2_TEXTURES_PATH, currentID) // Get tile image from cache
-                        .Draw(g, (i % Constants.LEVEL2_WIDTH) * Constants.TILE_SIZE, // Calculate X position
-                                (i / Constants.LEVEL2_WIDTH) * Constants.TILE_SIZE); // Calculate Y position
-            }
-        }
+        this.tileRenderer.draw(g, this.camera, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
     }
 
     /**
@@ -649,11 +697,11 @@ public class Level2State extends State {
         }
         try {
             // Load health for each enemy in Level 2
-            this.enemies[0].setHealth(this.reflink.getDataProxy().load(Constants.BASIC_SKELETON0_HEALTH, access));
-            this.enemies[1].setHealth(this.reflink.getDataProxy().load(Constants.STRONG_SKELETON0_HEALTH, access));
-            this.enemies[2].setHealth(this.reflink.getDataProxy().load(Constants.BASIC_SKELETON1_HEALTH, access));
+            this.enemies[0].setHealth(this.reflink.getDataProxy().load(SaveField.BASIC_SKELETON0_HEALTH, access));
+            this.enemies[1].setHealth(this.reflink.getDataProxy().load(SaveField.STRONG_SKELETON0_HEALTH, access));
+            this.enemies[2].setHealth(this.reflink.getDataProxy().load(SaveField.BASIC_SKELETON1_HEALTH, access));
             this.reflink.setLevel2RefreshDoneSignal(true); // Mark loading as done for this cycle
-        } catch (AccessNotPermittedException | DataBufferNotReadyException | ValueStoreException e) {
+        } catch (AccessNotPermittedException | DataBufferNotReadyException e) {
             System.err.println("Error loading Level2State data: " + e.getMessage());
         }
     }
@@ -673,14 +721,14 @@ public class Level2State extends State {
         }
         try {
             // If Level2State is the active state, mark it in the save data.
-            if (State.getState().getStateName().compareTo(this.stateName) == 0) {
-                this.reflink.getDataProxy().store(Constants.CURRENT_STATE, 2, access);
+            if (this.reflink.getState().getStateName().compareTo(this.stateName) == 0) {
+                this.reflink.getDataProxy().store(SaveField.CURRENT_STATE, 2, access);
             }
-            this.reflink.getDataProxy().store(Constants.TIMESTAMP, (int) Instant.now().getEpochSecond(), access); // Save timestamp
+            this.reflink.getDataProxy().store(SaveField.TIMESTAMP, (int) Instant.now().getEpochSecond(), access); // Save timestamp
             // Save health for each enemy in Level 2
-            this.reflink.getDataProxy().store(Constants.BASIC_SKELETON0_HEALTH, (int) this.enemies[0].getHealth(), access);
-            this.reflink.getDataProxy().store(Constants.STRONG_SKELETON0_HEALTH, (int) this.enemies[1].getHealth(), access);
-            this.reflink.getDataProxy().store(Constants.BASIC_SKELETON1_HEALTH, (int) this.enemies[2].getHealth(), access);
+            this.reflink.getDataProxy().store(SaveField.BASIC_SKELETON0_HEALTH, (int) this.enemies[0].getHealth(), access);
+            this.reflink.getDataProxy().store(SaveField.STRONG_SKELETON0_HEALTH, (int) this.enemies[1].getHealth(), access);
+            this.reflink.getDataProxy().store(SaveField.BASIC_SKELETON1_HEALTH, (int) this.enemies[2].getHealth(), access);
             this.reflink.setLevel2StoreDoneSignal(true); // Mark saving as done for this cycle
         } catch (AccessNotPermittedException | ValueStoreException e) {
             System.err.println("Error storing Level2State data: " + e.getMessage());
@@ -4,25 +4,31 @@ import PaooGame.Config.Constants;
 import PaooGame.CustomExceptions.AccessNotPermittedException;
 import PaooGame.CustomExceptions.DataBufferNotReadyException;
 import PaooGame.CustomExceptions.ValueStoreException;
+import PaooGame.DatabaseManaging.SaveField;
+import PaooGame.DatabaseManaging.ScoreEntry;
 import PaooGame.Entities.Enemy;
+import PaooGame.Entities.Hero;
 import PaooGame.HUD.Gold;
 import PaooGame.HUD.PauseButton;
+import PaooGame.Hitbox.SpatialHash;
 import PaooGame.Input.MouseInput;
 import PaooGame.Items.FloppyItem;
 import PaooGame.Items.BonfireItem;
 import PaooGame.Items.WhipItem;
-import PaooGame.Maps.Level;
+import PaooGame.Maps.GrappleHookIndex;
 import PaooGame.Maps.Level3;
+import PaooGame.Profiling.FrameProfiler;
 import PaooGame.RefLinks;
+import PaooGame.Tiles.TileRenderer;
+import PaooGame.Scheduling.ScheduledTask;
+import PaooGame.Scheduling.TickScheduler;
 
-import javax.swing.*;
 import java.awt.*;
-import java.awt.event.ActionListener;
 import java.awt.event.KeyEvent;
-import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.time.Instant;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -37,14 +43,14 @@ import java.util.Objects;
 public class Level3State extends State{
     private Level3 level3;                                  ///< The Level3 map data object.
     private Camera camera;                                  ///< The game camera for this level.
+    private TileRenderer tileRenderer;                      ///< Draws the tiles of the level that are visible through the camera.
     private PauseButton pauseButton;                        ///< The UI button to pause the game.
     private int levelWidth;                                 ///< The total width of the level in pixels.
     private int levelHeight;                                ///< The total height of the level in pixels.
     private Gold gold;
 
-    private LinkedList<Point> MarkedHooks;                  ///< List of active grapple hook locations.
-    private Timer unmarkHookTimer;                          ///< Timer to clear a marked grapple hook.
-    private Timer bossDefeatedDelayTimer;                   ///< Timer for delay after boss defeat.
+    private long[] hookUnmarkTicks;                         ///< For each grapple hook, the scheduler tick at which it stops being marked.
+    private ScheduledTask bossDefeatedDelayTimer;           ///< Timer for delay after boss defeat.
     private int hookTimeoutMillis = 100;                    ///< Duration in ms before a hook is unmarked.
     private int bossDefeatedTimeoutMillis = 300;            ///< Duration in ms for boss defeat delay.
 
@@ -61,10 +67,14 @@ public class Level3State extends State{
 
     private Enemy[] enemies;                                ///< Array of enemies in this level.
     private int nrOfEnemies = 5;                            ///< Count of enemies in this level.
+    private SpatialHash<Enemy> enemyCells;                  ///< The enemies by position; the handle of an enemy is its index in {@link #enemies}.
+    private ArrayList<Enemy> nearbyEnemies = new ArrayList<>(); ///< Scratch list of the enemies near the hero.
 
     private BonfireItem[] saves;                            ///< Array of bonfire save points.
     private int nrOfSaves = 4;                              ///< Count of bonfire save points.
     private FloppyItem[] floppyDisks;                       ///< Array of floppy disk items for saving.
+    private SpatialHash<FloppyItem> floppyCells;            ///< The floppy disks by position; they never move (the float is only drawn).
+    private ArrayList<FloppyItem> nearbyFloppyDisks = new ArrayList<>(); ///< Scratch list of the floppy disks near the hero.
 
     protected String stateName = Constants.LEVEL3_STATE;    ///< The name identifier for this state.
 
@@ -88,16 +98,15 @@ public class Level3State extends State{
         this.floppyDisks = new FloppyItem[this.nrOfSaves];
         this.gold  = new Gold(reflink.getHero());
         this.level3 = level3;
-        this.MarkedHooks = new LinkedList<Point>();
+        this.hookUnmarkTicks = new long[this.level3.getGrappleHooks().getHookCount()]; // no hook starts marked
         levelWidth = Constants.LEVEL3_WIDTH*Constants.TILE_SIZE;
         levelHeight = Constants.LEVEL3_HEIGHT*Constants.TILE_SIZE;
-        camera = new Camera(0,0);
-        this.bossDefeatedDelayTimer = new Timer(this.bossDefeatedTimeoutMillis, e->{
+        camera = new Camera(0, 0, this.reflink.getTileCache());
+        this.tileRenderer = new TileRenderer(this.reflink.getTileCache(), Constants.LEVEL3_TEXTURES_PATH,
+                this.level3.getVisualIDs(), Constants.LEVEL3_WIDTH, Constants.LEVEL3_HEIGHT);
+        this.bossDefeatedDelayTimer = this.reflink.getScheduler().createTask(this.bossDefeatedTimeoutMillis, false, () -> {
             this.bossDefeated = true;
         });
-        this.bossDefeatedDelayTimer.setRepeats(false);
-        this.unmarkHookTimer = new Timer(hookTimeoutMillis,null);
-        this.unmarkHookTimer.setRepeats(false);
 
         pauseButton = new PauseButton(reflink.getHero(),80,50);
 
@@ -109,6 +118,11 @@ public class Level3State extends State{
         this.enemies[3] = new Enemy(this.reflink,Constants.GHOST1_X,Constants.GHOST1_Y,Constants.GHOST_NAME); //ghost0
         this.enemies[4] = new Enemy(this.reflink,Constants.GHOST1_X,Constants.GHOST2_Y,Constants.GHOST_NAME); //ghost1
 
+        this.enemyCells = new SpatialHash<>(Constants.INTERACTION_CELL_SIZE);
+        for(Enemy enemy : this.enemies){
+            this.enemyCells.add(enemy,enemy.getHitbox());
+        }
+
 
         this.saves[0] = new BonfireItem(this.reflink,Constants.LEVEL3_SAVE1_X,Constants.LEVEL3_SAVE1_Y);
         this.saves[1] = new BonfireItem(this.reflink,Constants.LEVEL3_SAVE2_X,Constants.LEVEL3_SAVE2_Y);
@@ -118,25 +132,32 @@ public class Level3State extends State{
         this.floppyDisks[1] = new FloppyItem(this.reflink,Constants.LEVEL3_SAVE2_X+10,Constants.LEVEL3_SAVE2_Y-10);
         this.floppyDisks[2] = new FloppyItem(this.reflink,Constants.LEVEL3_SAVE3_X+10,Constants.LEVEL3_SAVE3_Y-10);
         this.floppyDisks[3] = new FloppyItem(this.reflink,Constants.LEVEL3_SAVE4_X+10,Constants.LEVEL3_SAVE4_Y-10);
+        this.floppyCells = new SpatialHash<>(Constants.INTERACTION_CELL_SIZE);
+        for(FloppyItem disk : this.floppyDisks){
+            this.floppyCells.add(disk,disk.getHitbox());
+        }
     }
 
     /**
-     * @brief Starts the timer to unmark a specific grapple hook point.
+     * @brief Marks a grapple hook as recently used.
      *
-     * This method configures and starts {@link #unmarkHookTimer} with an action
-     * that removes the specified {@link Point} from the {@link #MarkedHooks} list
-     * when the timer expires.
+     * A marked hook cannot be grappled again until {@link #hookTimeoutMillis} have passed.
      *
-     * @param pt The {@link Point} representing the grapple hook location to be unmarked.
+     * @param hook The index of the hook in the level's {@link PaooGame.Maps.GrappleHookIndex}.
      */
-    public void startUnmarkHookTimerWithParameters(Point pt){
-        ActionListener lambdaWithParameters = e->{
-            if(this.MarkedHooks.contains(pt)){
-                this.MarkedHooks.remove(pt);
-            }
-        };
-        this.unmarkHookTimer.addActionListener(lambdaWithParameters);
-        this.unmarkHookTimer.start();
+    private void markHook(int hook){
+        TickScheduler scheduler = this.reflink.getScheduler();
+        this.hookUnmarkTicks[hook] = scheduler.getCurrentTick() + scheduler.millisToTicks(this.hookTimeoutMillis);
+    }
+
+    /**
+     * @brief Checks whether a grapple hook is still marked as recently used.
+     *
+     * @param hook The index of the hook in the level's {@link PaooGame.Maps.GrappleHookIndex}.
+     * @return true if the hook was marked less than {@link #hookTimeoutMillis} ago.
+     */
+    private boolean isHookMarked(int hook){
+        return this.reflink.getScheduler().getCurrentTick() < this.hookUnmarkTicks[hook];
     }
 
     /**
@@ -163,6 +184,9 @@ public class Level3State extends State{
         this.enemies[4].setX(Constants.GHOST2_X);
         this.enemies[4].setY(Constants.GHOST2_Y);
 
+        for(int i = 0; i < this.nrOfEnemies; ++i){
+            this.enemyCells.move(i,this.enemies[i].getHitbox());
+        }
     }
 
     /**
@@ -183,7 +207,7 @@ public class Level3State extends State{
      */
     @Override
     public void update(){
-        if(Objects.equals(State.getState().getStateName(), this.getStateName())){
+        if(Objects.equals(this.reflink.getState().getStateName(), this.getStateName())){
             this.reflink.setCurrentRunningLevel(this.reflink.getGame().getLevel3State());
         }
 
@@ -199,7 +223,7 @@ public class Level3State extends State{
         handleGrappleLogic();
         this.reflink.getHero().update();
         if(reflink.getKeyManager().isKeyPressed(KeyEvent.VK_ESCAPE)){
-            State.setState(reflink.getGame().getMenuState());
+            this.reflink.setState(reflink.getGame().getMenuState());
         }
 
         handleCameraLogic();
@@ -227,45 +251,52 @@ public class Level3State extends State{
     @Override
     public void draw(Graphics g){
         Graphics2D g2d = (Graphics2D) g;
-        AffineTransform originalTransform = g2d.getTransform();
-
-        camera.apply(g2d);
-
-        if(this.reflink.getHero().getY()>1300){
-            g2d.setTransform(originalTransform);
-            originalTransform = g2d.getTransform();
-            camera.apply(g2d);
-        }
+        FrameProfiler profiler = this.reflink.getProfiler();
+        Graphics2D world = camera.beginWorld(g2d);
 
+        long start = profiler.begin();
         BufferedImage backgroundImage = this.reflink.getTileCache().getBackground(Constants.LEVEL3_BG_PATH);
-        g.drawImage(backgroundImage,0,0,this.levelWidth,this.levelHeight,null);
+        world.drawImage(backgroundImage,0,0,this.levelWidth,this.levelHeight,null);
 
 
-        drawTiles(g);
+        drawTiles(world);
+        profiler.end(this.stateName, FrameProfiler.PHASE_TILES, start);
+
+        start = profiler.begin();
 
         for(int i =0;i<this.nrOfSaves;++i){
-            this.saves[i].drawItem(g);
+            this.saves[i].drawItem(world);
         }
 
         for(int i = 0;i<this.nrOfSaves;++i){
             if(this.reflink.getHero().getNrOfCollectedSaves() == i+2){
-                this.floppyDisks[i].drawItem(g);
+                this.floppyDisks[i].drawItem(world);
             }
         }
-        drawBlackFade(g);
-        drawWhip(g);
+        long entitiesNanos = profiler.elapsedSince(start);
+
+        start = profiler.begin();
+        drawBlackFade(world);
+        profiler.end(this.stateName, FrameProfiler.PHASE_FADES, start);
+
+        start = profiler.begin();
+        drawWhip(world);
 
         for(Enemy enemy : enemies){
             if(enemy!=null && enemy.getHealth()>0){
-                enemy.draw(g);
+                enemy.draw(world);
             }
         }
 
-        this.reflink.getHero().draw(g);
-        g2d.setTransform(originalTransform);
+        this.reflink.getHero().draw(world);
+        profiler.record(this.stateName, FrameProfiler.PHASE_ENTITIES, entitiesNanos + profiler.elapsedSince(start));
+        camera.endWorld(g2d);
+
+        start = profiler.begin();
         this.reflink.getHero().DrawHealthBar(g);
         pauseButton.draw(g2d);
         gold.draw(g2d);
+        profiler.end(this.stateName, FrameProfiler.PHASE_HUD, start);
 
     }
 
@@ -289,11 +320,11 @@ public class Level3State extends State{
             return;
         }
         try{
-            this.enemies[0].setHealth(this.reflink.getDataProxy().load(Constants.BOSS_HEALTH,access));
-            this.enemies[1].setHealth(this.reflink.getDataProxy().load(Constants.MINOTAUR0_HEALTH,access));
-            this.enemies[2].setHealth(this.reflink.getDataProxy().load(Constants.MINOTAUR1_HEALTH,access));
-            this.enemies[3].setHealth(this.reflink.getDataProxy().load(Constants.GHOST0_HEALTH,access));
-            this.enemies[4].setHealth(this.reflink.getDataProxy().load(Constants.GHOST1_HEALTH,access));
+            this.enemies[0].setHealth(this.reflink.getDataProxy().load(SaveField.BOSS_HEALTH,access));
+            this.enemies[1].setHealth(this.reflink.getDataProxy().load(SaveField.MINOTAUR0_HEALTH,access));
+            this.enemies[2].setHealth(this.reflink.getDataProxy().load(SaveField.MINOTAUR1_HEALTH,access));
+            this.enemies[3].setHealth(this.reflink.getDataProxy().load(SaveField.GHOST0_HEALTH,access));
+            this.enemies[4].setHealth(this.reflink.getDataProxy().load(SaveField.GHOST1_HEALTH,access));
             this.adjustingCameraForDepth = false;
             this.cameraIsSet = false;
 
@@ -301,7 +332,7 @@ public class Level3State extends State{
             this.reflink.setLevel3RefreshDoneSignal(true);
 
 
-        }catch (AccessNotPermittedException | ValueStoreException  | DataBufferNotReadyException e) {
+        }catch (AccessNotPermittedException | DataBufferNotReadyException e) {
             System.err.println(e.getMessage());
         }
     }
@@ -324,15 +355,15 @@ public class Level3State extends State{
             return;
         }
         try{
-            if(State.getState().getStateName().compareTo(this.stateName) == 0){
-                this.reflink.getDataProxy().store(Constants.CURRENT_STATE,3,access);
+            if(this.reflink.getState().getStateName().compareTo(this.stateName) == 0){
+                this.reflink.getDataProxy().store(SaveField.CURRENT_STATE,3,access);
             }
-            this.reflink.getDataProxy().store(Constants.TIMESTAMP,(int) Instant.now().getEpochSecond(),access);
-            this.reflink.getDataProxy().store(Constants.BOSS_HEALTH,(int)this.enemies[0].getHealth(),access);
-            this.reflink.getDataProxy().store(Constants.MINOTAUR0_HEALTH,(int)this.enemies[1].getHealth(),access);
-            this.reflink.getDataProxy().store(Constants.MINOTAUR1_HEALTH,(int)this.enemies[2].getHealth(),access);
-            this.reflink.getDataProxy().store(Constants.GHOST0_HEALTH,(int)this.enemies[3].getHealth(),access);
-            this.reflink.getDataProxy().store(Constants.GHOST1_HEALTH,(int)this.enemies[4].getHealth(),access);
+            this.reflink.getDataProxy().store(SaveField.TIMESTAMP,(int) Instant.now().getEpochSecond(),access);
+            this.reflink.getDataProxy().store(SaveField.BOSS_HEALTH,(int)this.enemies[0].getHealth(),access);
+            this.reflink.getDataProxy().store(SaveField.MINOTAUR0_HEALTH,(int)this.enemies[1].getHealth(),access);
+            this.reflink.getDataProxy().store(SaveField.MINOTAUR1_HEALTH,(int)this.enemies[2].getHealth(),access);
+            this.reflink.getDataProxy().store(SaveField.GHOST0_HEALTH,(int)this.enemies[3].getHealth(),access);
+            this.reflink.getDataProxy().store(SaveField.GHOST1_HEALTH,(int)this.enemies[4].getHealth(),access);
             this.reflink.setLevel3StoreDoneSignal(true);
         }catch (AccessNotPermittedException | ValueStoreException e) {
             System.err.println(e.getMessage());
@@ -345,7 +376,7 @@ public class Level3State extends State{
      *
      * When the boss (enemies[0]) health reaches zero and `bossDefeated` is false:
      * - Calculates and sets the player's score.
-     * - Updates and stores the top three high scores.
+     * - Stores the score of the run and loads the top three high scores.
      * - Starts a delay timer ({@link #bossDefeatedDelayTimer}) before setting `bossDefeated` to true.
      * - Sets the hero's completed levels to 3.
      * - Stores the hero and level state.
@@ -358,24 +389,29 @@ public class Level3State extends State{
             this.reflink.getHero().setScore(this.calculateScore());
             int currentScore = this.reflink.getHero().getScore();
 
-            int[] storedScores = new int[3]; storedScores[0]=0; storedScores[1]=0; storedScores[2]=0;
-            try {
-                storedScores = this.reflink.getDataProxy().loadScore(true);
-
-            } catch (AccessNotPermittedException e){
-                System.err.println(e.getMessage());
-            }
-            storedScores = calculateTopThreeScores(currentScore,storedScores[0],storedScores[1],storedScores[2]);
-            this.reflink.setScore1(storedScores[0]);
-            this.reflink.setScore2(storedScores[1]);
-            this.reflink.setScore3(storedScores[2]);
-
+            Hero hero = this.reflink.getHero();
+            ScoreEntry run = new ScoreEntry((int) Instant.now().getEpochSecond(), currentScore,
+                    (int) hero.getHealth(), hero.getNrOfEscapes(), hero.getGold());
             try{
-                this.reflink.getDataProxy().storeScore(true,storedScores[0],storedScores[1],storedScores[2]);
+                this.reflink.getDataProxy().storeScores(List.of(run), true);
             }
             catch (AccessNotPermittedException | ValueStoreException e){
                 System.err.println(e.getMessage());
             }
+
+            int[] topScores = new int[3]; // the three scores the win screen shows; slots without a run stay 0
+            try {
+                List<ScoreEntry> leaderboard = this.reflink.getDataProxy().loadTopScores(topScores.length, true);
+                for(int i = 0; i < Math.min(leaderboard.size(), topScores.length); ++i){
+                    topScores[i] = leaderboard.get(i).getScore();
+                }
+            } catch (AccessNotPermittedException e){
+                System.err.println(e.getMessage());
+            }
+            this.reflink.setScore1(topScores[0]);
+            this.reflink.setScore2(topScores[1]);
+            this.reflink.setScore3(topScores[2]);
+
             this.bossDefeatedDelayTimer.start();
             this.bossDefeated = true;
 
@@ -397,51 +433,12 @@ public class Level3State extends State{
 
         }
         else if(bossDefeated && this.targetBlackIntensity==1){
-            State.setState(this.reflink.getGame().getWinState());
+            this.reflink.setState(this.reflink.getGame().getWinState());
             this.targetBlackIntensity = 0;
             this.bossDefeated = false;
         }
     }
 
-    /**
-     * @brief Calculates and returns the top three scores.
-     *
-     * Given the current player's score and the existing top three scores, this method
-     * determines the new ranking and returns an array containing the updated top three scores.
-     *
-     * @param currentScore The player's current score.
-     * @param score1 The highest score.
-     * @param score2 The second highest score.
-     * @param score3 The third highest score.
-     * @return An integer array of size 3, where element 0 is the new highest score,
-     *         element 1 is the new second highest, and element 2 is the new third highest.
-     */
-    private int[] calculateTopThreeScores(int currentScore,int score1,int score2,int score3){
-        //score1 e cel mai mare, score2 e mai mic si score3 e al3lea
-        int newScore1,newScore2,newScore3;
-        newScore1=score1;
-        newScore2 =score2;
-        newScore3=score3;
-        if(currentScore>score3 && currentScore!= score2 && currentScore!=score1){
-            newScore3=currentScore;
-        }
-        if(currentScore>score2 && currentScore!= score1 && currentScore!=score3){
-            newScore3=score2;
-            newScore2 = currentScore;
-        }
-        if(currentScore>score1 && currentScore!=score2 && currentScore!=score3){
-            newScore3=score2;
-            newScore2=score1;
-            newScore1=currentScore;
-        }
-        int[] returnScoreArr = new int[3];
-        returnScoreArr[0]=newScore1;
-        returnScoreArr[1]=newScore2;
-        returnScoreArr[2]=newScore3;
-
-        return returnScoreArr;
-    }
-
     /**
      * @brief Calculates the player's score.
      *
@@ -467,12 +464,21 @@ public class Level3State extends State{
      * Updates each save point item. If the hero has collected a certain number of saves
      * and intersects with a corresponding floppy disk, the hero's collected saves count
      * is incremented, escapes are refilled, and the game state (hero and level) is saved.
+     * Only the floppy disks in the grid cells around the hero are tested.
      */
     private void handleSaveInteraction(){
         for(int i =0;i<this.nrOfSaves;++i){
             this.saves[i].updateItem();
-            if(i+2 == this.reflink.getHero().getNrOfCollectedSaves()){
-                if(this.reflink.getHero().getHitbox().intersects(this.floppyDisks[i].getHitbox())){
+        }
+
+        int next = this.reflink.getHero().getNrOfCollectedSaves()-2; // The only floppy disk that can be picked up now
+        if(next < 0 || next >= this.nrOfSaves){
+            return;
+        }
+        this.floppyCells.query(this.reflink.getHero().getHitbox(),this.nearbyFloppyDisks);
+        for(FloppyItem disk : this.nearbyFloppyDisks){
+            if(disk == this.floppyDisks[next]){
+                if(this.reflink.getHero().getHitbox().intersects(disk.getHitbox())){
                     this.reflink.getHero().setNrOfCollectedSaves(this.reflink.getHero().getNrOfCollectedSaves()+1);
                     this.reflink.getHero().setNrOfEscapes(this.reflink.getHero().getMaxNrOfEscapes());
                     this.reflink.setHeroStoreDoneSignal(false);
@@ -492,30 +498,36 @@ public class Level3State extends State{
     /**
      * @brief Handles interactions between the hero and enemies.
      *
-     * For each enemy:
-     * - If an enemy's health is zero, its hitbox is nullified.
-     * - If the hero's hitbox intersects with an active enemy's hitbox and the hero is ready to engage,
-     *   the enemy is marked as engaged, and a transition to the {@link FightState} is initiated.
-     * - Updates each enemy.
+     * - For each enemy in the grid cells around the hero: if the hero's hitbox intersects with an active
+     *   enemy's hitbox and the hero is ready to engage, the enemy is marked as engaged, and a transition
+     *   to the {@link FightState} is initiated.
+     * - For each enemy: if its health is zero, its hitbox is nullified; then it is updated and its grid cells follow it.
+     *   Enemies far from the camera only run their coarse patrol (see {@link Enemy#updateActivity}).
      */
     private void handleEnemyInteraction(){
-        for(Enemy enemy : enemies){
+        enemyCells.query(reflink.getHero().getHitbox(),nearbyEnemies);
+        for(Enemy enemy : nearbyEnemies){
+            if(enemy.getHealth()!=0 && reflink.getHero().getHitbox().intersects(enemy.getHitbox()) && reflink.getHero().getEngageReady()){
+                enemy.setIsEngaged(true);
+                this.transitioning = true;
+                this.transition_to_fight = true;
+                reflink.getGame().getFightState().setEnemy(enemy);
+            }
+        }
+        double viewLeft = camera.getViewLeft();
+        double viewTop = camera.getViewTop();
+        double viewRight = camera.getViewRight(Constants.WINDOW_WIDTH);
+        double viewBottom = camera.getViewBottom(Constants.WINDOW_HEIGHT);
+        for(int i = 0; i < nrOfEnemies; ++i){
+            Enemy enemy = enemies[i];
             if(enemy!=null){
                 if(enemy.getHealth()==0){
                     enemy.nullifyHitbox();
                 }
-                else{
-                    if(reflink.getHero().getHitbox().intersects(enemy.getHitbox()) && reflink.getHero().getEngageReady()){
-                        enemy.setIsEngaged(true);
-                        this.transitioning = true;
-                        this.transition_to_fight = true;
-                        reflink.getGame().getFightState().setEnemy(enemy);
-
-                    }
-                }
+                enemy.updateActivity(viewLeft,viewTop,viewRight,viewBottom);
                 enemy.update();
+                enemyCells.move(i,enemy.getHitbox());
             }
-
         }
     }
 
@@ -532,7 +544,7 @@ public class Level3State extends State{
             this.targetBlackIntensity = 0;
 
             this.reflink.getGame().getDeathState().restoreState();
-            State.setState(this.reflink.getGame().getDeathState());
+            this.reflink.setState(this.reflink.getGame().getDeathState());
         }
 
         if(this.transition_to_fight && this.targetBlackIntensity==1) {
@@ -540,7 +552,7 @@ public class Level3State extends State{
             this.transitioning = false;
             this.transition_to_fight = false;
 
-            State.setState(reflink.getGame().getFightState());
+            this.reflink.setState(reflink.getGame().getFightState());
         }
     }
 
@@ -555,7 +567,7 @@ public class Level3State extends State{
         Point mousePos = new Point(mouse.getMouseX(),mouse.getMouseY());
         pauseButton.updateHover(mousePos.x,mousePos.y);
         if (mouse.getNumberOfMousePresses() > 0 && pauseButton.isClicked(mousePos.x, mousePos.y)) {
-            State.setState(reflink.getGame().getPauseMenuState());
+            this.reflink.setState(reflink.getGame().getPauseMenuState());
             mouse.mouseReleased(null);
             return;
         }
@@ -566,10 +578,10 @@ public class Level3State extends State{
      *
      * - Checks if the hero collects the whip item.
      * - If the hero has the whip:
-     *   - Searches for the nearest grapple-able tile within {@link Constants#HERO_GRAPPLE_RANGE}.
-     *   - The search prioritizes tiles in the direction the hero is facing.
-     *   - If a valid grapple point is found and not recently used (not in {@link #MarkedHooks}),
-     *     it sets the hero's grapple point and marks the hook, starting {@link #unmarkHookTimer}.
+     *   - Queries the level's {@link PaooGame.Maps.GrappleHookIndex} for the nearest hook within
+     *     {@link Constants#HERO_GRAPPLE_RANGE}, in the direction the hero is facing.
+     *   - If a valid grapple point is found and not recently used (see {@link #isHookMarked(int)}),
+     *     it sets the hero's grapple point and marks the hook.
      *   - If the grapple point is too close, it sets grapple as interrupted.
      *   - If no grapple point is found, clears the hero's grapple point.
      * - If the hero does not have the whip, updates the whip item itself.
@@ -587,45 +599,18 @@ public class Level3State extends State{
         }
 
         if(this.reflink.getHero().getHasWhip()){
-            int closestX = -1;
-            int closestY = -1;
-            double closestDistance = 100;
-            final int GRAPPLE_TILE_ID = 3;
-
-
-            for (int radius = 0; radius <= Constants.HERO_GRAPPLE_RANGE; radius++) {
-                boolean foundInThisRadius = false;
-
-                for (int x = (isHeroFlipped? (heroTileX - radius): heroTileX); x<= (isHeroFlipped? heroTileX:(heroTileX + radius)); x++) {
-                    for (int y = heroTileY - radius; y <= heroTileY + radius; y++) {
-                        if (Math.abs(x - heroTileX) == radius || Math.abs(y - heroTileY) == radius) { // check to see if currently checking the exterior border
-                            if (x >= 0 && x < Constants.LEVEL3_WIDTH &&
-                                    y >= 0 && y < Constants.LEVEL3_HEIGHT) { // check if currently in level bounds
-                                if (Level.getTileBehavior(x, y, Constants.LEVEL3_WIDTH, Constants.LEVEL3_HEIGHT, this.getLevel3().getBehaviorIDs()) == GRAPPLE_TILE_ID) {
-                                    double distance = Math.sqrt(Math.pow(x - heroTileX, 2) + Math.pow(y - heroTileY, 2)); // calculating distance
-                                    if (distance < closestDistance) {
-                                        closestDistance = distance;
-                                        closestX = x;
-                                        closestY = y;
-                                        foundInThisRadius = true;
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
-                if (foundInThisRadius) { // if found in a certain radius, then exit, because other hooks will only be further away
-                    break;
-                }
-            }
-
-            if (closestX != -1) {
-                Point pt = new Point(closestX,closestY);
-                if(!this.MarkedHooks.contains(pt)){
-                    if(closestDistance> 3){
+            GrappleHookIndex hooks = this.level3.getGrappleHooks();
+            int closest = hooks.findNearest(heroTileX, heroTileY, Constants.HERO_GRAPPLE_RANGE, isHeroFlipped);
+
+            if (closest != -1) {
+                int closestX = hooks.getHookX(closest);
+                int closestY = hooks.getHookY(closest);
+                if(!isHookMarked(closest)){
+                    int dx = closestX - heroTileX;
+                    int dy = closestY - heroTileY;
+                    if(dx * dx + dy * dy > 9){ // farther than 3 tiles
                         this.reflink.getHero().setGrapplePoint(closestX,closestY);
-                        this.MarkedHooks.add(pt);
-                        startUnmarkHookTimerWithParameters(pt);
+                        markHook(closest);
                         this.reflink.getHero().setGrappleInterrupted(false);
                     }
                     else{
@@ -667,7 +652,7 @@ public class Level3State extends State{
         cameraY = Math.max(0, Math.min(cameraY, maxCameraY))+350;
 
 
-        if(Objects.equals(State.getState().getStateName(), this.stateName) && !cameraIsSet){
+        if(Objects.equals(this.reflink.getState().getStateName(), this.stateName) && !cameraIsSet){
             camera.setPosition(cameraX, cameraY);
             this.cameraIsSet = true;
         }
@@ -703,21 +688,13 @@ public class Level3State extends State{
     /**
      * @brief Draws the tiles of Level 3.
      *
-     * Iterates through the visual tile IDs of {@link #level3} and draws each
-     * valid tile at its corresponding position using the {@link PaooGame.Tiles.TileCache}.
+     * Only the tiles of {@link #level3} that intersect the camera's view are drawn,
+     * through the level's {@link TileRenderer}.
      *
      * @param g The {@link Graphics} context used for drawing.
      */
     private void drawTiles(Graphics g){
-        for (int i = 0; i < Constants.LEVEL3_TILE_NR; ++i) {
-            int currentID = this.level3.getVisualIDs()[i];
-            if (currentID != -1) {
-                this.reflink.getTileCache()
-                        .getTile(Constants.LEVEL3_TEXTURES_PATH, currentID)
-                        .Draw(g, (i % Constants.LEVEL3_WIDTH) * Constants.TILE_SIZE,
-                                (i / Constants.LEVEL3_WIDTH) * Constants.TILE_SIZE);
-            }
-        }
+        this.tileRenderer.draw(g, this.camera, Constants.WINDOW_WIDTH, Constants.WINDOW_HEIGHT);
     }
 
     /**
@@ -3,7 +3,7 @@ package PaooGame.States;
 import PaooGame.Animations.ItemsAnimations.StaticItemAnimation;
 import PaooGame.CustomExceptions.AccessNotPermittedException;
 import PaooGame.CustomExceptions.DataBufferNotReadyException;
-import PaooGame.CustomExceptions.ValueStoreException;
+import PaooGame.DatabaseManaging.SaveField;
 import PaooGame.Entities.Enemy;
 import PaooGame.Config.Constants;
 import PaooGame.Input.MouseInput;
@@ -99,35 +99,35 @@ public class MenuState extends State  {
                     this.reflink.getDataProxy().resetBuffer(true);
                     // The following load is to determine the starting level for a "New Game"
                     // which might be configurable or always level 1.
-                    switch (this.reflink.getDataProxy().load(Constants.CURRENT_STATE,true)){
+                    switch (this.reflink.getDataProxy().load(SaveField.CURRENT_STATE,true)){
                         case 1:
                             this.reflink.setDataRefreshSignal(true);
-                            State.setState(this.reflink.getGame().getLevel1State());
+                            this.reflink.setState(this.reflink.getGame().getLevel1State());
                             break;
                         case 2:
                             this.reflink.setDataRefreshSignal(true);
-                            State.setState(this.reflink.getGame().getLevel2State());
+                            this.reflink.setState(this.reflink.getGame().getLevel2State());
                             break;
                         case 3:
                             this.reflink.setDataRefreshSignal(true);
-                            State.setState(this.reflink.getGame().getLevel3State());
+                            this.reflink.setState(this.reflink.getGame().getLevel3State());
                             break;
                         default: // Default to level 1 for a truly new game if current_state is invalid
                             this.reflink.setDataRefreshSignal(true);
                             this.reflink.getGame().getLevel1State().restoreState();
-                            State.setState(this.reflink.getGame().getLevel1State());
+                            this.reflink.setState(this.reflink.getGame().getLevel1State());
                             break;
                     }
-                } catch (AccessNotPermittedException | ValueStoreException | DataBufferNotReadyException e) {
+                } catch (AccessNotPermittedException | DataBufferNotReadyException e) {
                     System.err.println(e.getMessage());
                     // Fallback for new game if data access fails, go to Level 1
                     this.reflink.setDataRefreshSignal(true);
                     this.reflink.getGame().getLevel1State().restoreState();
-                    State.setState(this.reflink.getGame().getLevel1State());
+                    this.reflink.setState(this.reflink.getGame().getLevel1State());
                 }
             }
             else if (quitButton.contains(mx, my)) {
-                System.exit(0);
+                this.reflink.getGame().requestExit(); // The game loop exits once the frame is done
             }
             else if(continueButton.contains(mx,my)) {
                 try{
@@ -136,20 +136,20 @@ public class MenuState extends State  {
                     this.reflink.setDataRefreshSignal(true);       // Signals levels to reload their state from buffer
 
 
-                    switch (this.reflink.getDataProxy().load(Constants.CURRENT_STATE,true)){
+                    switch (this.reflink.getDataProxy().load(SaveField.CURRENT_STATE,true)){
                         case 1:
-                            State.setState(this.reflink.getGame().getLevel1State());
+                            this.reflink.setState(this.reflink.getGame().getLevel1State());
                             break;
                         case 2:
-                            State.setState(this.reflink.getGame().getLevel2State());
+                            this.reflink.setState(this.reflink.getGame().getLevel2State());
                             break;
                         case 3:
-                            State.setState(this.reflink.getGame().getLevel3State());
+                            this.reflink.setState(this.reflink.getGame().getLevel3State());
                             break;
                         default:
                             break;
                     }
-                } catch (AccessNotPermittedException | ValueStoreException | DataBufferNotReadyException e) {
+                } catch (AccessNotPermittedException | DataBufferNotReadyException e) {
                     System.err.println(e.getMessage());
                 }
             }
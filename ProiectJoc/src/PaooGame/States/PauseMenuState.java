@@ -84,13 +84,13 @@ public class PauseMenuState extends State {
 
         if (mouse.getNumberOfMousePresses() > 0) {
             if (continueButton.contains(mx, my)) {
-                State.setState(this.reflink.getCurrentRunningLevel());
+                this.reflink.setState(this.reflink.getCurrentRunningLevel());
                 mouse.mouseReleased(null); // Reset mouse press state
             } else if (exitToMenuButton.contains(mx, my)) {
-                State.setState(reflink.getGame().getMenuState());
+                this.reflink.setState(reflink.getGame().getMenuState());
                 mouse.mouseReleased(null); // Reset mouse press state
             } else if (exitButton.contains(mx, my)) {
-                System.exit(0);
+                this.reflink.getGame().requestExit(); // The game loop exits once the frame is done
             }
         }
     }
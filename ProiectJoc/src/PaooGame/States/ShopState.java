@@ -71,7 +71,7 @@ public class ShopState extends State {
 
         if (mouse.getNumberOfMousePresses() > 0) {
             if (exitButton.contains(mx, my)) {
-                State.setState(reflink.getGame().getLevel2State()); // Assumes shop is accessed from Level 2
+                this.reflink.setState(reflink.getGame().getLevel2State()); // Assumes shop is accessed from Level 2
                 mouse.mouseReleased(null); // Reset mouse press state
             } else if (buyButton.contains(mx, my)) {
                 Hero hero = reflink.getHero();
@@ -9,17 +9,15 @@ import PaooGame.RefLinks;
  * @class State
  * @brief Defines an abstract base class for all game states.
  *
- * This class provides a common interface and static methods for managing
- * different states within the game, such as the main menu, gameplay levels,
- * settings, etc. Each specific state (e.g., MenuState, Level1State) must
- * extend this class and implement its abstract methods.
+ * This class provides a common interface for the different states within the game,
+ * such as the main menu, gameplay levels, settings, etc. Each specific state
+ * (e.g., MenuState, Level1State) must extend this class and implement its abstract methods.
+ * Which state is active belongs to the game the state is part of, see {@link RefLinks#setState(State)}.
  */
 public abstract class State
 {
     protected String stateName = "";                        ///< The name identifier for the specific state instance.
 
-    private static State previousState  = null;             ///< Reference to the previous game state.
-    private static State currentState   = null;             ///< Reference to the current game state (e.g., game, menu, settings).
     protected RefLinks reflink;                             ///< A reference to shared game objects and utilities.
 
     /**
@@ -33,28 +31,6 @@ public abstract class State
         this.reflink = refLink;
     }
 
-    /**
-     * @brief Sets the current game state.
-     *
-     * Updates the {@link #currentState} to the new state and stores the
-     * previous current state in {@link #previousState}.
-     * @param state The new {@link State} to be set as current.
-     */
-    public static void setState(State state)
-    {
-        previousState = currentState;
-        currentState = state;
-    }
-
-    /**
-     * @brief Gets the current game state.
-     * @return The current active {@link State}.
-     */
-    public static State getState()
-    {
-        return currentState;
-    }
-
     /**
      * @brief Gets the name of the current state.
      *
@@ -91,6 +67,19 @@ public abstract class State
      */
     public abstract void draw(Graphics g);
 
+    /**
+     * @brief Draws the current state, knowing how far the game is between two updates.
+     *
+     * The game loop updates at a fixed rate and may draw in between updates; the alpha tells
+     * how much of the next update step has already elapsed. States that interpolate positions
+     * can override this method, the others simply draw their latest state.
+     * @param g The {@link Graphics} context used for drawing.
+     * @param alpha The elapsed fraction of the current update step, in [0, 1).
+     */
+    public void draw(Graphics g, double alpha){
+        draw(g);
+    }
+
     /**
      * @brief Restores the state to its initial or a default configuration.
      *
@@ -5,8 +5,8 @@ import PaooGame.Config.Constants;
 import PaooGame.Entities.Enemy;
 import PaooGame.Input.MouseInput;
 import PaooGame.RefLinks;
+import PaooGame.Scheduling.ScheduledTask;
 
-import javax.swing.*;
 import java.awt.*;
 import java.util.Objects;
 
@@ -27,7 +27,7 @@ public class WinState extends State {
     private StaticItemAnimation bgAnimation;                ///< Animation for the win screen background.
     private StaticItemAnimation youWinAnimation;            ///< "You Win" text animation.
 
-    private Timer showReturnButtonTimer;                    ///< Timer to delay the appearance of the "Return to Menu" button.
+    private ScheduledTask showReturnButtonTimer;            ///< Timer to delay the appearance of the "Return to Menu" button.
     private int showReturnButtonTimeoutMillis = 2000;       ///< Timeout in milliseconds before the "Return to Menu" button is shown.
     private boolean showButton = false;                     ///< Flag indicating whether the "Return to Menu" button should be visible.
     private boolean isTimerStarted = false;                 ///< Flag indicating if the showReturnButtonTimer has been started.
@@ -48,10 +48,9 @@ public class WinState extends State {
         super(reflink);
         this.stateName = "WinState";
 
-        this.showReturnButtonTimer = new Timer(this.showReturnButtonTimeoutMillis, e-> {
+        this.showReturnButtonTimer = this.reflink.getScheduler().createTask(this.showReturnButtonTimeoutMillis, false, () -> {
             this.showButton = true;
         });
-        this.showReturnButtonTimer.setRepeats(false);
         int centerX = 350;
         int startY = 650;
 
@@ -99,7 +98,7 @@ public class WinState extends State {
      */
     @Override
     public void update(){
-        if(!Objects.equals(State.getState().getStateName(), this.stateName)){
+        if(!Objects.equals(this.reflink.getState().getStateName(), this.stateName)){
             this.restoreState(); // Reset state variables if this state becomes inactive then active again
         }
         MouseInput mouse = reflink.getMouseInput();
@@ -111,13 +110,13 @@ public class WinState extends State {
 
         if(mouse.getNumberOfMousePresses()>0){
             if(this.showButton && exitToMenuButton.contains(mx,my)){ // Ensure button is visible before interaction
-                State.setState(this.reflink.getGame().getMenuState());
+                this.reflink.setState(this.reflink.getGame().getMenuState());
                 mouse.mouseReleased(null); // Reset mouse press
                 this.restoreState(); // Restore state after exiting
             }
         }
 
-        if(Objects.equals(State.getState().getStateName(), this.stateName) && !this.isTimerStarted){
+        if(Objects.equals(this.reflink.getState().getStateName(), this.stateName) && !this.isTimerStarted){
             this.isTimerStarted = true;
             this.showReturnButtonTimer.start();
         }
@@ -171,7 +170,7 @@ public class WinState extends State {
         g2d.setRenderingHints(oldHints);
 
         // Fade-in effect (actually a fade-out of a black overlay)
-        if(Objects.equals(State.getState().getStateName(),this.getStateName())){ // Ensure effect only runs when state is active
+        if(Objects.equals(this.reflink.getState().getStateName(),this.getStateName())){ // Ensure effect only runs when state is active
             if (this.blackIntensity > 0) { // Only draw and update if still fading
                 g2d.setColor(new Color(0,0,0,(int)(this.blackIntensity*255.0)));
                 g2d.fillRect(0,0, Constants.WINDOW_WIDTH,Constants.WINDOW_HEIGHT);
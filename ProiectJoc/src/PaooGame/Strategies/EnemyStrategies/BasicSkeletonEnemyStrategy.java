@@ -12,24 +12,9 @@ import java.awt.*;
  *
  * This class defines the attributes and behaviors unique to a basic skeleton enemy,
  * including its speed, hitbox dimensions, health, damage, and animations.
- * It follows a singleton pattern to ensure only one instance exists.
+ * Every game creates its own instance, bound to the game's {@link RefLinks}.
  */
 public class BasicSkeletonEnemyStrategy extends EnemyStrategy {
-    private static BasicSkeletonEnemyStrategy instance = null; ///< The singleton instance of BasicSkeletonEnemyStrategy.
-
-    /**
-     * @brief Gets the singleton instance of BasicSkeletonEnemyStrategy.
-     *
-     * If an instance does not already exist, it creates a new one.
-     * @param reflink A {@link RefLinks} object providing access to game-wide objects and utilities.
-     * @return The singleton instance of BasicSkeletonEnemyStrategy.
-     */
-    public static BasicSkeletonEnemyStrategy getInstance(RefLinks reflink){
-        if(BasicSkeletonEnemyStrategy.instance == null ){
-            BasicSkeletonEnemyStrategy.instance = new BasicSkeletonEnemyStrategy(reflink);
-        }
-        return instance;
-    }
 
     /**
      * @brief Gets the name of this enemy strategy.
@@ -57,7 +42,6 @@ public class BasicSkeletonEnemyStrategy extends EnemyStrategy {
      * Initializes the specific attributes (speed, hitbox, health, damage, health bar colors)
      * and loads the animations for the basic skeleton enemy. It also sets the
      * behavior IDs to respect based on Level 2's tile data.
-     * This constructor is private to enforce the singleton pattern.
      * @param reflink A {@link RefLinks} object providing access to game-wide objects and utilities.
      */
     public BasicSkeletonEnemyStrategy(RefLinks reflink){
@@ -82,7 +66,7 @@ public class BasicSkeletonEnemyStrategy extends EnemyStrategy {
         this.inFightIdleAnimation = new enemyActionAnimation(this.reflink,Constants.ENEMY_STATES.IN_FIGHT_IDLE,11,10,this.getName());
         this.inFightIdleAnimation.loadAnimation();
 
-        this.behaviorIDsToRespect = reflink.getGame().getLevel2().getBehaviorIDs();
+        this.behaviorGrid = reflink.getGame().getLevel2().getBehaviorGrid();
     }
 
     /**
@@ -1,6 +1,7 @@
 package PaooGame.Strategies.EnemyStrategies;
 
 import PaooGame.Animations.Animation;
+import PaooGame.Maps.BehaviorGrid;
 import PaooGame.RefLinks;
 
 import java.awt.*;
@@ -121,12 +122,12 @@ public abstract class EnemyStrategy {
     }
 
     /**
-     * @brief Gets an array of behavior tile IDs that this enemy should respect or interact with.
-     * These IDs typically define collision or special interaction tiles in the level.
-     * @return An array of integer IDs representing behavior tiles.
+     * @brief Gets the behavior grid that this enemy should respect or interact with.
+     * Its flags define collision or special interaction tiles in the level.
+     * @return The {@link BehaviorGrid} of the enemy's level.
      */
-    public int[] getBehaviorIDsToRespect() {
-        return behaviorIDsToRespect;
+    public BehaviorGrid getBehaviorGrid() {
+        return behaviorGrid;
     }
 
     protected float speed;                              ///< Movement speed of the enemy.
@@ -148,7 +149,7 @@ public abstract class EnemyStrategy {
     protected double damage;                            ///< Amount of damage the enemy inflicts.
     protected double health;                            ///< Total health points of the enemy.
 
-    protected int[] behaviorIDsToRespect;               ///< Array of tile behavior IDs the enemy interacts with (e.g., collision).
+    protected BehaviorGrid behaviorGrid;                ///< Tile flags of the level the enemy interacts with (e.g., collision).
 
     /**
      * @brief Constructs an EnemyStrategy object.
@@ -2,6 +2,7 @@ package PaooGame.Strategies.EnemyStrategies;
 
 import PaooGame.Animations.EnemyAnimations.enemyActionAnimation;
 import PaooGame.Config.Constants;
+import PaooGame.Maps.BehaviorGrid;
 import PaooGame.RefLinks;
 
 import java.awt.*;
@@ -12,29 +13,11 @@ import java.awt.*;
  *
  * This class extends {@link EnemyStrategy} and defines the unique properties
  * and behaviors for Ghost enemies, such as their speed, health, damage,
- * animations, and the level they primarily appear in. It follows a Singleton
- * pattern to ensure only one instance of this strategy configuration exists.
+ * animations, and the level they primarily appear in.
+ * Every game creates its own instance, bound to the game's {@link RefLinks}.
  */
 public class GhostEnemyStrategy extends EnemyStrategy{
 
-    private static GhostEnemyStrategy instance = null; ///< Singleton instance of the GhostEnemyStrategy.
-
-    /**
-     * @brief Gets the singleton instance of the GhostEnemyStrategy.
-     *
-     * If the instance does not exist, it creates a new one.
-     * This method ensures that only one instance of the strategy is used throughout the game.
-     *
-     * @param reflink A {@link RefLinks} object providing access to game-wide objects and utilities.
-     * @return The singleton instance of {@link GhostEnemyStrategy}.
-     */
-    public static GhostEnemyStrategy getInstance(RefLinks reflink){
-        if(GhostEnemyStrategy.instance == null){
-            GhostEnemyStrategy.instance = new GhostEnemyStrategy(reflink);
-        }
-        return instance;
-    }
-
     /**
      * @brief Constructs a GhostEnemyStrategy object.
      *
@@ -69,11 +52,11 @@ public class GhostEnemyStrategy extends EnemyStrategy{
 
         // Ensure Level 3 and its behavior IDs are loaded before accessing them
         if (reflink.getGame().getLevel3() != null) {
-            this.behaviorIDsToRespect = reflink.getGame().getLevel3().getBehaviorIDs();
+            this.behaviorGrid = reflink.getGame().getLevel3().getBehaviorGrid();
         } else {
             // Handle case where Level 3 might not be initialized yet
             System.err.println("Warning: Level3 behavior IDs accessed before Level3 was fully initialized in GhostEnemyStrategy.");
-            this.behaviorIDsToRespect = new int[0]; // Default to empty array or handle appropriately
+            this.behaviorGrid = new BehaviorGrid(0, 0, new int[0]); // Default to an empty grid or handle appropriately
         }
     }
 
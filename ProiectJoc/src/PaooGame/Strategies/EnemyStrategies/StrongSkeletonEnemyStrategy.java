@@ -2,6 +2,7 @@ package PaooGame.Strategies.EnemyStrategies;
 
 import PaooGame.Animations.EnemyAnimations.enemyActionAnimation;
 import PaooGame.Config.Constants;
+import PaooGame.Maps.BehaviorGrid;
 import PaooGame.RefLinks;
 
 import java.awt.*;
@@ -12,28 +13,10 @@ import java.awt.*;
  *
  * This class extends {@link EnemyStrategy} and defines the unique properties
  * and behaviors for Strong Skeleton enemies, such as their speed, health, damage,
- * animations, and the level they primarily appear in. It follows a Singleton
- * pattern to ensure only one instance of this strategy configuration exists.
+ * animations, and the level they primarily appear in.
+ * Every game creates its own instance, bound to the game's {@link RefLinks}.
  */
 public class StrongSkeletonEnemyStrategy extends EnemyStrategy {
-    private static StrongSkeletonEnemyStrategy instance = null; ///< Singleton instance of the StrongSkeletonEnemyStrategy.
-
-    /**
-     * @brief Gets the singleton instance of the StrongSkeletonEnemyStrategy.
-     *
-     * If the instance does not exist, it creates a new one.
-     * This method ensures that only one instance of the strategy is used throughout the game.
-     *
-     * @param reflink A {@link RefLinks} object providing access to game-wide objects and utilities.
-     * @return The singleton instance of {@link StrongSkeletonEnemyStrategy}.
-     */
-    public static StrongSkeletonEnemyStrategy getInstance(RefLinks reflink){
-        if(StrongSkeletonEnemyStrategy.instance == null ){
-            StrongSkeletonEnemyStrategy.instance = new StrongSkeletonEnemyStrategy(reflink);
-        }
-        return instance;
-    }
-
 
     /**
      * @brief Gets the name of the enemy type this strategy represents.
@@ -89,11 +72,11 @@ public class StrongSkeletonEnemyStrategy extends EnemyStrategy {
 
         // Ensure Level 2 and its behavior IDs are loaded before accessing them
         if (reflink.getGame().getLevel2() != null) {
-            this.behaviorIDsToRespect = reflink.getGame().getLevel2().getBehaviorIDs();
+            this.behaviorGrid = reflink.getGame().getLevel2().getBehaviorGrid();
         } else {
             // Handle case where Level 2 might not be initialized yet
             System.err.println("Warning: Level2 behavior IDs accessed before Level2 was fully initialized in StrongSkeletonEnemyStrategy.");
-            this.behaviorIDsToRespect = new int[0]; // Default to empty array or handle appropriately
+            this.behaviorGrid = new BehaviorGrid(0, 0, new int[0]); // Default to an empty grid or handle appropriately
         }
     }
 
@@ -2,6 +2,7 @@ package PaooGame.Strategies.EnemyStrategies;
 
 import PaooGame.Animations.EnemyAnimations.enemyActionAnimation;
 import PaooGame.Config.Constants;
+import PaooGame.Maps.BehaviorGrid;
 import PaooGame.RefLinks;
 
 import java.awt.*;
@@ -12,30 +13,11 @@ import java.awt.*;
  *
  * This class extends {@link EnemyStrategy} and defines the unique properties
  * and behaviors for Tiger enemies, such as their speed, health, damage, animations,
- * and the level they primarily appear in. It follows a Singleton pattern to ensure
- * only one instance of this strategy configuration exists.
+ * and the level they primarily appear in. Every game
+ * creates its own instance, bound to the game's {@link RefLinks}.
  */
 public class TigerEnemyStrategy extends EnemyStrategy {
 
-    private static TigerEnemyStrategy instance = null; ///< Singleton instance of the TigerEnemyStrategy.
-
-    /**
-     * @brief Gets the singleton instance of the TigerEnemyStrategy.
-     *
-     * If the instance does not exist, it creates a new one.
-     * This method ensures that only one instance of the strategy is used throughout the game.
-     *
-     * @param reflink A {@link RefLinks} object providing access to game-wide objects and utilities.
-     * @return The singleton instance of {@link TigerEnemyStrategy}.
-     */
-    public static TigerEnemyStrategy getInstance(RefLinks reflink){
-        if(TigerEnemyStrategy.instance == null ){
-            TigerEnemyStrategy.instance = new TigerEnemyStrategy(reflink);
-        }
-        return instance;
-    }
-
-
     /**
      * @brief Constructs a TigerEnemyStrategy object.
      *
@@ -70,11 +52,11 @@ public class TigerEnemyStrategy extends EnemyStrategy {
         this.inFightIdleAnimation.loadAnimation();
 
         if (reflink.getGame().getLevel1() != null) {
-            this.behaviorIDsToRespect = reflink.getGame().getLevel1().getBehaviorIDs();
+            this.behaviorGrid = reflink.getGame().getLevel1().getBehaviorGrid();
         } else {
             // Handle case where Level 1 might not be initialized yet
             System.err.println("Warning: Level1 behavior IDs accessed before Level1 was fully initialized in TigerEnemyStrategy.");
-            this.behaviorIDsToRespect = new int[0]; // Default to empty array or handle appropriately
+            this.behaviorGrid = new BehaviorGrid(0, 0, new int[0]); // Default to an empty grid or handle appropriately
         }
     }
 
@@ -12,30 +12,11 @@ import java.awt.*;
  *
  * This class extends {@link EnemyStrategy} and defines the unique properties
  * and behaviors for Wizard enemies, such as their speed, health, damage,
- * animations, and the level they primarily appear in. It follows a Singleton
- * pattern to ensure only one instance of this strategy configuration exists.
+ * animations, and the level they primarily appear in.
+ * Every game creates its own instance, bound to the game's {@link RefLinks}.
  */
 public class WizardEnemyStrategy extends EnemyStrategy{
 
-    private static WizardEnemyStrategy instance = null; ///< Singleton instance of the WizardEnemyStrategy.
-
-    /**
-     * @brief Gets the singleton instance of the WizardEnemyStrategy.
-     *
-     * If the instance does not exist, it creates a new one.
-     * This method ensures that only one instance of the strategy is used throughout the game.
-     *
-     * @param reflink A {@link RefLinks} object providing access to game-wide objects and utilities.
-     * @return The singleton instance of {@link WizardEnemyStrategy}.
-     */
-    public static WizardEnemyStrategy getInstance(RefLinks reflink){
-        if(WizardEnemyStrategy.instance == null){
-            WizardEnemyStrategy.instance = new WizardEnemyStrategy(reflink);
-        }
-        return instance;
-    }
-
-
     /**
      * @brief Constructs a WizardEnemyStrategy object.
      *
@@ -68,7 +49,7 @@ public class WizardEnemyStrategy extends EnemyStrategy{
         this.healthBarColor1 = Constants.PURPLE_HEALTH_BAR_COLOR_1;
         this.healthBarColor2 = Constants.PURPLE_HEALTH_BAR_COLOR_2;
 
-        this.behaviorIDsToRespect = reflink.getGame().getLevel3().getBehaviorIDs();
+        this.behaviorGrid = reflink.getGame().getLevel3().getBehaviorGrid();
     }
 
     /**
@@ -0,0 +1,113 @@
+package PaooGame.Strategies.Fight;
+
+import PaooGame.Config.Constants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @enum FightLayout
+ * @brief The fight scene layout of every enemy type, as a table.
+ *
+ * Each constant is one enemy type and holds where the enemy and its health bar are placed in the
+ * fight scene, the background behind it and the stats the fight is decided by: its defence, health
+ * and damage. {@link PaooGame.States.FightState} builds one {@link FightStrategy} per row when it is
+ * created, and {@link PaooGame.Simulation.FightSimulator} plays fights from the same rows; a new enemy
+ * type only needs a new row here.
+ */
+public enum FightLayout {
+    //               enemy name                      x    y    bar x bar y bar width                                   bar height                                   background                              defence                            health                            damage
+    TIGER           (Constants.TIGER_NAME,           480, 100, 460,  80,   200,                                        20,                                          Constants.TIGER_FIGHT_BG_PATH,          Constants.TIGER_DEFENCE,           Constants.TIGER_HEALTH,           Constants.TIGER_DAMAGE),
+    BASIC_SKELETON  (Constants.BASIC_SKELETON_NAME,  285, 0,   460,  80,   200,                                        20,                                          Constants.BASIC_SKELETON_FIGHT_BG_PATH, Constants.BASIC_SKELETON_DEFENCE,  Constants.BASIC_SKELETON_HEALTH,  Constants.BASIC_SKELETON_DAMAGE),
+    WIZARD          (Constants.WIZARD_NAME,          340, 60,  265,  120,  Constants.WIZARD_HEALTH_BAR_WIDTH,          Constants.WIZARD_HEALTH_BAR_HEIGHT,          Constants.WIZARD_FIGHT_BG_PATH,         Constants.WIZARD_DEFENCE,          Constants.WIZARD_HEALTH,          Constants.WIZARD_DAMAGE),
+    MINOTAUR        (Constants.MINOTAUR_NAME,        20,  0,   410,  80,   Constants.MINOTAUR_HEALTH_BAR_WIDTH,        Constants.MINOTAUR_HEALTH_BAR_HEIGHT,        Constants.MINOTAUR_FIGHT_BG_PATH,       Constants.MINOTAUR_DEFENCE,        Constants.MINOTAUR_HEALTH,        Constants.MINOTAUR_DAMAGE),
+    GHOST           (Constants.GHOST_NAME,           330, 80,  460,  80,   Constants.GHOST_HEALTH_BAR_WIDTH,           Constants.GHOST_HEALTH_BAR_HEIGHT,           Constants.GHOST_FIGHT_BG_PATH,          Constants.GHOST_DEFENCE,           Constants.GHOST_HEALTH,           Constants.GHOST_DAMAGE),
+    STRONG_SKELETON (Constants.STRONG_SKELETON_NAME, 260, 30,  405,  80,   Constants.STRONG_SKELETON_HEALTH_BAR_WIDTH, Constants.STRONG_SKELETON_HEALTH_BAR_HEIGHT, Constants.STRONG_SKELETON_BG_PATH,      Constants.STRONG_SKELETON_DEFENCE, Constants.STRONG_SKELETON_HEALTH, Constants.STRONG_SKELETON_DAMAGE);
+
+    private static final Map<String, FightLayout> BY_ENEMY_NAME = new HashMap<>(); ///< Every row, by the name of its enemy.
+    static {
+        for (FightLayout layout : values()) {
+            BY_ENEMY_NAME.put(layout.enemyName, layout);
+        }
+    }
+
+    private final String enemyName;         ///< Name of the enemy type, as returned by {@link PaooGame.Entities.Enemy#getName()}.
+    private final float x;                  ///< The x-coordinate of the enemy in the fight scene.
+    private final float y;                  ///< The y-coordinate of the enemy in the fight scene.
+    private final int healthBarX;           ///< The x-coordinate of the enemy's health bar.
+    private final int healthBarY;           ///< The y-coordinate of the enemy's health bar.
+    private final int healthBarWidth;       ///< The width of the enemy's health bar.
+    private final int healthBarHeight;      ///< The height of the enemy's health bar.
+    private final String backgroundImgPath; ///< Path to the background image of the fight scene.
+    private final float defence;            ///< The defence of the enemy, the fraction of incoming damage it ignores.
+    private final double health;            ///< The health of the enemy at the start of a fight.
+    private final double damage;            ///< The damage of each enemy attack, before blocking.
+
+    /**
+     * @brief Constructs a row of the table.
+     */
+    FightLayout(String enemyName, float x, float y, int healthBarX, int healthBarY, int healthBarWidth, int healthBarHeight,
+                String backgroundImgPath, float defence, double health, double damage) {
+        this.enemyName = enemyName;
+        this.x = x;
+        this.y = y;
+        this.healthBarX = healthBarX;
+        this.healthBarY = healthBarY;
+        this.healthBarWidth = healthBarWidth;
+        this.healthBarHeight = healthBarHeight;
+        this.backgroundImgPath = backgroundImgPath;
+        this.defence = defence;
+        this.health = health;
+        this.damage = damage;
+    }
+
+    /**
+     * @brief Finds the layout of an enemy type.
+     * @param enemyName The name of the enemy type.
+     * @return The layout, or null if the enemy type has none.
+     */
+    public static FightLayout forEnemy(String enemyName) {
+        return BY_ENEMY_NAME.get(enemyName);
+    }
+
+    /**
+     * @brief Builds a fight strategy with this layout, not bound to an enemy yet.
+     * @return A new {@link FightStrategy}; bind it with {@link FightStrategy#bind}.
+     */
+    public FightStrategy createStrategy() {
+        return new FightStrategy.FightStrategyBuilder(null)
+                .x(this.x)
+                .y(this.y)
+                .healthBarX(this.healthBarX)
+                .healthBarY(this.healthBarY)
+                .healthBarWidth(this.healthBarWidth)
+                .healthBarHeight(this.healthBarHeight)
+                .backgroundImgPath(this.backgroundImgPath)
+                .defence(this.defence)
+                .build();
+    }
+
+    /**
+     * @brief Gets the name of the enemy type this layout is for.
+     * @return The enemy name.
+     */
+    public String getEnemyName() { return this.enemyName; }
+
+    /**
+     * @brief Gets the defence of the enemy.
+     * @return The fraction of incoming damage the enemy ignores.
+     */
+    public float getDefence() { return this.defence; }
+
+    /**
+     * @brief Gets the health of the enemy at the start of a fight.
+     * @return The starting health.
+     */
+    public double getHealth() { return this.health; }
+
+    /**
+     * @brief Gets the damage of each enemy attack.
+     * @return The damage before blocking.
+     */
+    public double getDamage() { return this.damage; }
+}
@@ -1,5 +1,6 @@
 package PaooGame.Strategies.Fight;
 
+import PaooGame.Config.Constants;
 import PaooGame.Entities.Enemy;
 import PaooGame.States.State;
 
@@ -64,7 +65,7 @@ public class FightStrategy {
      * @param damage The raw damage amount to be applied.
      */
     public void takeDamage(float damage){
-        this.enemy.reduceHealth((1f-this.defence)*damage);
+        this.enemy.reduceHealth(damageAfterDefence(damage, this.defence));
     }
 
     /**
@@ -73,7 +74,41 @@ public class FightStrategy {
      * @return The calculated damage after applying the defense reduction.
      */
     public float calculateDamage(float damage){
-        return (1f-this.defence)*damage;
+        return damageAfterDefence(damage, this.defence);
+    }
+
+    /**
+     * @brief The damage an enemy takes from a hit, after its defence.
+     * @param damage The raw damage of the hit.
+     * @param defence The defence of the enemy, the fraction of the damage it ignores.
+     * @return The damage taken.
+     */
+    public static float damageAfterDefence(float damage, float defence){
+        return (1f-defence)*damage;
+    }
+
+    /**
+     * @brief The damage the hero takes from an enemy attack, after blocking.
+     *
+     * Every point of the block bar takes 1.5% off the attack, so a full bar blocks 75% of it.
+     * @param damage The damage of the enemy.
+     * @param blockProgress The value of the block bar when the hero blocked, 0 if they didn't.
+     * @return The damage taken.
+     */
+    public static double damageAfterBlock(double damage, int blockProgress){
+        return damage * ((100.0-blockProgress*1.5f)/100.0);
+    }
+
+    /**
+     * @brief The value of the block bar a number of updates into the enemy turn.
+     *
+     * The bar grows by {@link Constants#FIGHT_BLOCK_STEP} every {@link Constants#FIGHT_BLOCK_TICKS_PER_STEP}
+     * updates, up to {@link Constants#FIGHT_BLOCK_MAX}.
+     * @param ticks The number of updates since the enemy turn started.
+     * @return The value of the bar.
+     */
+    public static int blockProgressAfter(int ticks){
+        return Math.min(Constants.FIGHT_BLOCK_MAX, ticks / Constants.FIGHT_BLOCK_TICKS_PER_STEP * Constants.FIGHT_BLOCK_STEP);
     }
 
 
@@ -100,7 +135,7 @@ public class FightStrategy {
 
         /**
          * @brief Constructs a FightStrategyBuilder.
-         * @param enemy The {@link Enemy} entity this fight strategy will be associated with. This is a mandatory parameter.
+         * @param enemy The {@link Enemy} entity this fight strategy will be associated with, or null to bind it later.
          */
         public FightStrategyBuilder(Enemy enemy){
             this.enemy = enemy;
@@ -225,6 +260,21 @@ public class FightStrategy {
         }
     }
 
+    /**
+     * @brief Binds this strategy to the fight about to start.
+     *
+     * Strategies are built once per enemy type (see {@link FightLayout}) and reused for every fight
+     * against that type, so the enemy and the state to return to are set here rather than at construction.
+     * @param enemy The {@link Enemy} being fought.
+     * @param ownerState The {@link State} the fight was started from.
+     */
+    public void bind(Enemy enemy, State ownerState) {
+        this.enemy = enemy;
+        this.width = enemy.getWidth();
+        this.height = enemy.getHeight();
+        this.ownerState = ownerState;
+    }
+
     /**
      * @brief Sets the enemy entity for this fight strategy.
      * @param enemy The {@link Enemy} to associate with this strategy.
@@ -0,0 +1,129 @@
+package PaooGame.Tiles;
+
+import PaooGame.Config.Constants;
+import PaooGame.Maps.Level1;
+import PaooGame.Maps.Level2;
+import PaooGame.Maps.Level3;
+
+import java.awt.*;
+
+/**
+ * @class AssetRegistry
+ * @brief The read-only assets shared by every game of the process: the decoded images and the level maps.
+ *
+ * The registry decodes every sheet, strip and background the game uses, extracts every tile of the
+ * level tilesheets and loads the three level maps, all in {@link #load(GraphicsConfiguration)}.
+ * Nothing in it changes afterwards, so any number of games, on any threads, can be built from one
+ * registry (see {@link PaooGame.Game}); each of them gets its own {@link TileCache} seeded from it.
+ * The level maps are shared as they are and must not be modified.
+ */
+public final class AssetRegistry {
+    private final GraphicsConfiguration graphicsConfiguration;  ///< Configuration the images were converted for, or null.
+    private final TileCache cache;                              ///< Every loaded image; never handed out, only copied from.
+    private final Level1 level1;                                ///< The map data for Level 1.
+    private final Level2 level2;                                ///< The map data for Level 2.
+    private final Level3 level3;                                ///< The map data for Level 3.
+
+    /**
+     * @brief Constructs the registry from a fully loaded cache and the level maps.
+     */
+    private AssetRegistry(GraphicsConfiguration gc, TileCache cache, Level1 level1, Level2 level2, Level3 level3) {
+        this.graphicsConfiguration = gc;
+        this.cache = cache;
+        this.level1 = level1;
+        this.level2 = level2;
+        this.level3 = level3;
+    }
+
+    /**
+     * @brief Loads every asset of the game.
+     *
+     * Run from the project directory so the relative resource paths resolve. Missing files are
+     * reported the same way {@link TileCache} reports them; a game asking for them later tries again.
+     * @param gc The graphics configuration of the game canvas, or null for the default screen (or plain images when headless).
+     * @return The loaded registry.
+     */
+    public static AssetRegistry load(GraphicsConfiguration gc) {
+        TileCache cache = new TileCache(gc);
+
+        cache.preloadSheet(Constants.LEVEL1_TEXTURES_PATH);
+        cache.preloadSheet(Constants.LEVEL2_TEXTURES_PATH);
+        cache.preloadSheet(Constants.LEVEL3_TEXTURES_PATH);
+
+        String[] backgrounds = {
+                Constants.LEVEL1_BG_PATH, Constants.LEVEL2_BG_PATH, Constants.LEVEL3_BG_PATH, Constants.DEATH_SCREEN_BG_PATH,
+                Constants.TIGER_FIGHT_BG_PATH, Constants.BASIC_SKELETON_FIGHT_BG_PATH, Constants.WIZARD_FIGHT_BG_PATH,
+                Constants.MINOTAUR_FIGHT_BG_PATH, Constants.GHOST_FIGHT_BG_PATH, Constants.STRONG_SKELETON_BG_PATH
+        };
+        for (String path : backgrounds) {
+            cache.getBackground(path);
+        }
+
+        for (Constants.HERO_STATES state : Constants.HERO_STATES.values()) {
+            cache.getHeroState(state);
+        }
+        String[] enemies = {
+                Constants.TIGER_NAME, Constants.BASIC_SKELETON_NAME, Constants.WIZARD_NAME,
+                Constants.MINOTAUR_NAME, Constants.GHOST_NAME, Constants.STRONG_SKELETON_NAME
+        };
+        for (String enemy : enemies) {
+            for (Constants.ENEMY_STATES state : Constants.ENEMY_STATES.values()) {
+                cache.getEnemySheetByState(state, enemy);
+            }
+        }
+        for (Constants.EFFECTS effect : Constants.EFFECTS.values()) {
+            cache.getEffect(effect);
+        }
+
+        // The animated backgrounds and the item strips, with the frame sizes and counts their animations use
+        cache.getSpecial(Constants.MAIN_MENU_BG_PATH, Constants.MAIN_MENU_BG_IMG_WIDTH, Constants.MAIN_MENU_BG_IMG_HEIGHT, Constants.MAIN_MENU_BG_FRAME_NR);
+        cache.getSpecial(Constants.WINNING_BG_PATH, Constants.WINNING_BG_WIDTH, Constants.WINNING_BG_HEIGHT, Constants.WINNING_BG_FRAME_NR);
+        cache.getSpecial(Constants.YOU_WIN_PATH, Constants.YOU_WIN_IMG_WIDTH, Constants.YOU_WIN_IMG_HEIGHT, Constants.YOU_WIN_FRAME_NR);
+        cache.getSpecial(Constants.BONFIRE_SHEET_PATH, Constants.BONFIRE_TILE_SIZE, Constants.BONFIRE_TILE_SIZE, 4);
+        cache.getSpecial(Constants.BOOSTER_PATH, Constants.BOOSTER_IMG_WIDTH, Constants.BOOSTER_IMG_HEIGHT, 1);
+        cache.getSpecial(Constants.SAVE_ITEM_PATH, Constants.SAVE_ITEM_TILE_SIZE, Constants.SAVE_ITEM_TILE_SIZE, 18);
+        cache.getSpecial(Constants.WHIP_FRAMED_SHEET_PATH, Constants.ITEM_FLOATING_TILE_SIZE, Constants.ITEM_FLOATING_TILE_SIZE, 4);
+        cache.getSpecial(Constants.BOOT_ITEM_SHEET_PATH, Constants.BOOT_TILE_WIDTH, Constants.BOOT_TILE_HEIGHT, 1);
+
+        // Every strip has been copied out by now, the full sheets are no longer needed
+        cache.releaseSourceSheets();
+
+        return new AssetRegistry(gc, cache, new Level1(), new Level2(), new Level3());
+    }
+
+    /**
+     * @brief Gets the graphics configuration the images were converted for.
+     * @return The configuration, or null if the default one was used.
+     */
+    public GraphicsConfiguration getGraphicsConfiguration() { return this.graphicsConfiguration; }
+
+    /**
+     * @brief Gets the cache holding the loaded images, for {@link TileCache#TileCache(AssetRegistry)} to copy.
+     * @return The cache; it must not be modified.
+     */
+    TileCache getCache() { return this.cache; }
+
+    /**
+     * @brief Gets the map data for Level 1.
+     * @return The shared {@link Level1}.
+     */
+    public Level1 getLevel1() { return this.level1; }
+
+    /**
+     * @brief Gets the map data for Level 2.
+     * @return The shared {@link Level2}.
+     */
+    public Level2 getLevel2() { return this.level2; }
+
+    /**
+     * @brief Gets the map data for Level 3.
+     * @return The shared {@link Level3}.
+     */
+    public Level3 getLevel3() { return this.level3; }
+
+    /**
+     * @brief Builds a report of every image converted while loading the registry.
+     * @return The report text, see {@link TileCache#getConversionReport()}.
+     */
+    public String getConversionReport() { return this.cache.getConversionReport(); }
+}
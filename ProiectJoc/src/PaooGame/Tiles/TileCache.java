@@ -1,122 +1,224 @@
 package PaooGame.Tiles;
 import PaooGame.Config.Constants;
 
+import java.awt.*;
 import java.awt.image.BufferedImage;
 import javax.imageio.ImageIO;
 import java.io.File;
 import java.io.IOException;
-import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 /**
  * Manages caching of game tiles, spritesheets, and background images to optimize loading and memory usage.
- * Implements the Singleton pattern to ensure a single instance of the cache.
+ * Every game owns its own cache. A cache built from an {@link AssetRegistry} starts out with every asset
+ * of the registry, sharing the decoded images, so games running side by side decode each file only once;
+ * anything the registry lacks is loaded into the game's own cache on first use.
  */
 public class TileCache {
 
     /**
-     * Private constructor to prevent instantiation from outside the class.
-     * This is part of the Singleton pattern.
+     * Creates an empty cache that converts images for the default screen, or to plain
+     * INT_ARGB / INT_RGB images when running headless.
      */
-    private TileCache(){
-
+    public TileCache(){
+        this((GraphicsConfiguration) null);
     }
 
     /**
-     * The single instance of the TileCache.
+     * Creates an empty cache that loads every asset itself.
+     * @param gc The graphics configuration of the game canvas images are converted for, or null to fall back to the default one.
      */
-    private static TileCache instance=null;
+    public TileCache(GraphicsConfiguration gc){
+        this.graphicsConfiguration = gc;
+    }
 
     /**
-     * Provides access to the single instance of the TileCache.
-     * If an instance does not exist, it creates one.
-     * @return The singleton instance of TileCache.
+     * Creates a cache holding every asset of a registry. The images are shared with the registry,
+     * the lookup tables are copied so the cache can go on growing on its own.
+     * @param assets The registry to start from.
      */
-    public static TileCache getInstance(){
-        if(instance==null){
-            instance = new TileCache(); // Corrected Singleton instantiation
+    public TileCache(AssetRegistry assets){
+        this(assets.getGraphicsConfiguration());
+        TileCache source = assets.getCache();
+        sheetHandles.putAll(source.sheetHandles);
+        sheetTiles = new Tile[source.sheetTiles.length][];
+        for(int handle=0; handle<source.sheetCount; ++handle){
+            sheetTiles[handle] = source.sheetTiles[handle].clone();
         }
-        return instance;
+        sheetImages = source.sheetImages.clone();
+        sheetCount = source.sheetCount;
+        tileSheets.putAll(source.tileSheets);
+        backgrounds.putAll(source.backgrounds);
+        heroStatesSheets.putAll(source.heroStatesSheets);
+        enemyStatesSheets.putAll(source.enemyStatesSheets);
+        effectsSheets.putAll(source.effectsSheets);
+        specialsSheets.putAll(source.specialsSheets);
+        conversionReport.addAll(source.conversionReport);
+        totalConversionNanos = source.totalConversionNanos;
+        totalConvertedBytes = source.totalConvertedBytes;
     }
 
     /**
-     * Cache for individual Tile objects, keyed by a pair of (tilesheet path, tile ID).
+     * Handles of the tilesheets resolved so far, keyed by their file path.
+     */
+    private final Map<String,Integer> sheetHandles = new HashMap<>();
+    /**
+     * Tiles of each resolved tilesheet, indexed first by sheet handle and then by tile ID.
+     * Tiles are extracted from the sheet the first time they are requested.
+     */
+    private Tile[][] sheetTiles = new Tile[4][];
+    /**
+     * Loaded tilesheet images, indexed by sheet handle.
+     */
+    private BufferedImage[] sheetImages = new BufferedImage[4];
+    /**
+     * Number of sheet handles handed out so far.
      */
-    private static final Map<Entry<String,Integer>,Tile> cache = new HashMap<>();
+    private int sheetCount = 0;
     /**
      * Cache for loaded tilesheet images, keyed by their file path.
      */
-    private static final Map<String,BufferedImage> tileSheets =new HashMap<>();
+    private final Map<String,BufferedImage> tileSheets =new HashMap<>();
+
+    /**
+     * Decoded source sheets, keyed by their file path. Every sheet file is decoded only once;
+     * the animation strips are copied out of these images.
+     */
+    private final Map<String,BufferedImage> sourceSheets = new HashMap<>();
+
+    /**
+     * Graphics configuration of the game canvas; images are converted to its compatible format.
+     * Null to use the default screen, or plain images when headless.
+     */
+    private final GraphicsConfiguration graphicsConfiguration;
+    /**
+     * One line per converted asset: name, source type, conversion time and resulting size.
+     */
+    private final List<String> conversionReport = new ArrayList<>();
+    /**
+     * Total time spent converting images, in nanoseconds.
+     */
+    private long totalConversionNanos = 0;
+    /**
+     * Total memory taken by the converted images, in bytes.
+     */
+    private long totalConvertedBytes = 0;
 
     /**
      * Cache for background images, keyed by their file path.
      */
-    private static final Map<String,BufferedImage> backgrounds=new HashMap<>();
+    private final Map<String,BufferedImage> backgrounds=new HashMap<>();
 
     /**
      * Cache for hero animation spritesheets, keyed by a string identifier (e.g., state name).
      */
-    private static final Map<String,BufferedImage> heroStatesSheets =new HashMap<>();
+    private final Map<String,BufferedImage> heroStatesSheets =new HashMap<>();
     /**
      * Cache for enemy animation spritesheets, keyed by a string identifier (e.g., enemy type and state).
      */
-    private static final Map<String,BufferedImage> enemyStatesSheets =new HashMap<>();
+    private final Map<String,BufferedImage> enemyStatesSheets =new HashMap<>();
     /**
      * Cache for effect animation spritesheets, keyed by a string identifier (e.g., effect name).
      */
-    private static final Map<String,BufferedImage> effectsSheets =new HashMap<>();
+    private final Map<String,BufferedImage> effectsSheets =new HashMap<>();
     /**
      * Cache for special ability animation spritesheets, keyed by their file path.
      */
-    private static final Map<String,BufferedImage> specialsSheets =new HashMap<>();
+    private final Map<String,BufferedImage> specialsSheets =new HashMap<>();
 
     /**
-     * Retrieves a specific Tile from a tilesheet.
-     * If the Tile or the tilesheet is already cached, it returns the cached version.
-     * Otherwise, it loads the tilesheet, extracts the Tile, caches both, and then returns the Tile.
+     * Resolves a tilesheet to an integer handle usable with {@link #getTile(int, int)}.
+     * The sheet is loaded the first time its path is resolved; later calls return the same handle.
+     * Callers on a hot path should resolve the handle once and keep it.
      *
      * @param path The file path to the tilesheet.
-     * @param id The ID of the tile within the tilesheet.
-     * @return The requested Tile object, or null if loading fails or the tile ID is invalid.
+     * @return The handle of the tilesheet, or -1 if the sheet could not be loaded.
      */
-    public Tile getTile(String path, int id){
-        Entry<String,Integer> key=new AbstractMap.SimpleEntry<>(path,id);
-        if(cache.containsKey(key)){
-            return cache.get(key);
+    public int getSheetHandle(String path){
+        Integer handle = sheetHandles.get(path);
+        if(handle!=null){
+            return handle;
         }
 
-        BufferedImage sheet= tileSheets.computeIfAbsent(path, p->{
-            try{
-                File f= new File(p);
-                if(!f.exists()){
-                    System.err.println("Error! tilesheet not found" + p);
-                    return null;
-                }
-                return ImageIO.read(f);
-            }
-            catch(IOException e){
-                e.printStackTrace();
-                return null;
-            }
-        });
+        BufferedImage sheet= tileSheets.computeIfAbsent(path, this::loadSourceSheet);
 
         if(sheet==null){
             System.err.println("Error: could not get tilesheet for path: " +path);
-            return null;
+            return -1;
         }
 
+        if(sheetCount==sheetTiles.length){
+            sheetTiles = Arrays.copyOf(sheetTiles, sheetCount*2);
+            sheetImages = Arrays.copyOf(sheetImages, sheetCount*2);
+        }
+        // Tile IDs are laid out 32 per row, see Tile.loadTile
+        int rows = sheet.getHeight() / Constants.TILE_SIZE;
+        sheetTiles[sheetCount] = new Tile[32 * rows];
+        sheetImages[sheetCount] = sheet;
+        sheetHandles.put(path, sheetCount);
+        return sheetCount++;
+    }
 
-        Tile tile=Tile.loadTile(sheet,id);
-        if(tile!=null){
-            cache.put(key,tile);
+    /**
+     * Resolves a tilesheet and extracts all of its tiles up front, so later lookups never write to the cache.
+     *
+     * @param path The file path to the tilesheet.
+     * @return The handle of the tilesheet, or -1 if the sheet could not be loaded.
+     */
+    int preloadSheet(String path){
+        int handle = getSheetHandle(path);
+        if(handle>=0){
+            Tile[] tiles = sheetTiles[handle];
+            int columns = sheetImages[handle].getWidth() / Constants.TILE_SIZE;
+            for(int id=0; id<tiles.length; ++id){
+                if(tiles[id]==null && id % 32 < columns){
+                    tiles[id] = Tile.loadTile(sheetImages[handle],id);
+                }
+            }
         }
-        else{
-            System.err.println("Tile with id: "+id + "from sheet: "+path+" did not load correctly");
+        return handle;
+    }
+
+    /**
+     * Retrieves a specific Tile from a tilesheet resolved with {@link #getSheetHandle(String)}.
+     * Once a tile has been extracted this is a plain array lookup and allocates nothing.
+     *
+     * @param sheetHandle The handle of the tilesheet.
+     * @param id The ID of the tile within the tilesheet.
+     * @return The requested Tile object, or null if the handle or the tile ID is invalid.
+     */
+    public Tile getTile(int sheetHandle, int id){
+        if(sheetHandle<0 || sheetHandle>=sheetCount){
+            return null;
+        }
+        Tile[] tiles = sheetTiles[sheetHandle];
+        if(id<0 || id>=tiles.length){
+            System.err.println("Tile with id: "+id + " is outside of sheet with handle: "+sheetHandle);
+            return null;
+        }
+        Tile tile = tiles[id];
+        if(tile==null){
+            tile = Tile.loadTile(sheetImages[sheetHandle],id);
+            tiles[id] = tile;
         }
         return tile;
+    }
 
+    /**
+     * Retrieves a specific Tile from a tilesheet.
+     * Kept for callers that only know the sheet path; it resolves the handle and
+     * forwards to {@link #getTile(int, int)}.
+     *
+     * @param path The file path to the tilesheet.
+     * @param id The ID of the tile within the tilesheet.
+     * @return The requested Tile object, or null if loading fails or the tile ID is invalid.
+     */
+    public Tile getTile(String path, int id){
+        return getTile(getSheetHandle(path),id);
     }
 
 
@@ -140,7 +242,10 @@ public class TileCache {
 
                 }
                 else{
-                    backgrounds.put(path,ImageIO.read(f));
+                    BufferedImage background = ImageIO.read(f);
+                    if(background!=null){
+                        backgrounds.put(path,toCompatibleImage(background,path));
+                    }
                 }
             } catch (IOException e) {
                 e.printStackTrace();
@@ -162,7 +267,6 @@ public class TileCache {
     public BufferedImage getEffect(Constants.EFFECTS selectEffect){
         BufferedImage returnIMG = null;
         try{
-            File effectFileSheet = null;
             String cacheKey = null; // Added cache key for clarity
             String sheetPath = null;
             int subImageX = 0, subImageY = 0, subImageWidth = 0, subImageHeight = 0;
@@ -187,19 +291,19 @@ public class TileCache {
             if(effectsSheets.containsKey(cacheKey)){
                 returnIMG = effectsSheets.get(cacheKey);
             } else {
-                effectFileSheet = new File(sheetPath);
-                if(!effectFileSheet.exists()){
+                BufferedImage fullSheet = loadSourceSheet(sheetPath);
+                if(fullSheet==null){
                     System.err.println("Error working with effect sheet file: " + sheetPath);
                     return null;
                 }
-                BufferedImage fullSheet = ImageIO.read(effectFileSheet);
-                effectsSheets.put(cacheKey, fullSheet.getSubimage(subImageX, subImageY, subImageWidth, subImageHeight));
+                effectsSheets.put(cacheKey, copyStrip(fullSheet, subImageX, subImageY, subImageWidth, subImageHeight));
                 returnIMG = effectsSheets.get(cacheKey);
             }
 
         }
-        catch (IOException e){
-            e.printStackTrace();
+        catch (java.awt.image.RasterFormatException rfe){
+            System.err.println("RasterFormatException for effect: " + selectEffect);
+            rfe.printStackTrace();
         }
 
         return returnIMG;
@@ -223,18 +327,18 @@ public class TileCache {
             if(specialsSheets.containsKey(specialPath)){
                 returnIMG = specialsSheets.get(specialPath);
             } else {
-                File specialFileSheet = new File(specialPath);
-                if(!specialFileSheet.exists()){
+                BufferedImage fullSheet = loadSourceSheet(specialPath);
+                if(fullSheet==null){
                     System.err.println("Error working with special sheet file: " + specialPath);
                     return null;
                 }
-                BufferedImage fullSheet = ImageIO.read(specialFileSheet);
-                specialsSheets.put(specialPath,fullSheet.getSubimage(0,0,tileWidth*nrOfFrames,tileHeight));
+                specialsSheets.put(specialPath,copyStrip(fullSheet,0,0,tileWidth*nrOfFrames,tileHeight));
                 returnIMG = specialsSheets.get(specialPath);
             }
         }
-        catch (IOException e){
-            e.printStackTrace();
+        catch (java.awt.image.RasterFormatException rfe){
+            System.err.println("RasterFormatException for special sheet: " + specialPath);
+            rfe.printStackTrace();
         }
 
         return returnIMG;
@@ -243,7 +347,7 @@ public class TileCache {
     /**
      * Retrieves an enemy animation spritesheet based on the enemy's type and current state.
      * If the spritesheet for the given type and state is already cached, it returns the cached version.
-     * Otherwise, it loads the main enemy spritesheet, extracts the relevant subimage for the state,
+     * Otherwise, it takes the decoded enemy spritesheet, copies the relevant strip for the state,
      * caches it, and then returns it.
      *
      * @param state The current state of the enemy (e.g., WALKING, ATTACKING), as defined in {@link PaooGame.Config.Constants.ENEMY_STATES}.
@@ -252,7 +356,6 @@ public class TileCache {
      */
     public BufferedImage getEnemySheetByState(Constants.ENEMY_STATES state, String enemyType){
         BufferedImage returnIMG = null;
-        File enemyFileSheet;
         String sheetPath = "";
         int passiveTileWidth=0;
         int passiveTileHeight=0;
@@ -401,12 +504,11 @@ public class TileCache {
             if (enemyStatesSheets.containsKey(currentCacheKey)) {
                 returnIMG = enemyStatesSheets.get(currentCacheKey);
             } else {
-                enemyFileSheet = new File(sheetPath);
-                if(!enemyFileSheet.exists()){
+                BufferedImage fullSheet = loadSourceSheet(sheetPath);
+                if(fullSheet==null){
                     System.err.println("No file found at path " + sheetPath);
                     return null;
                 }
-                BufferedImage fullSheet = ImageIO.read(enemyFileSheet);
                 // Validate subimage dimensions against full sheet dimensions
                 if (subImageX + subImageWidth > fullSheet.getWidth() || subImageY + subImageHeight > fullSheet.getHeight() || subImageX < 0 || subImageY < 0) {
                     System.err.println("Error: Subimage dimensions are out of bounds for sheet: " + sheetPath);
@@ -415,13 +517,10 @@ public class TileCache {
                     System.err.println("Enemy: " + enemyType + ", State: " + state);
                     return null;
                 }
-                enemyStatesSheets.put(currentCacheKey, fullSheet.getSubimage(subImageX, subImageY, subImageWidth, subImageHeight));
+                enemyStatesSheets.put(currentCacheKey, copyStrip(fullSheet, subImageX, subImageY, subImageWidth, subImageHeight));
                 returnIMG = enemyStatesSheets.get(currentCacheKey);
             }
         }
-        catch (IOException e){
-            e.printStackTrace();
-        }
         catch (java.awt.image.RasterFormatException rfe) { // Catch specific error for bad subimage
             System.err.println("RasterFormatException for enemy: " + enemyType + ", state: " + state + " from sheet: " + sheetPath);
             System.err.println("Subimage parameters: x=" + subImageX + ", y=" + subImageY + ", width=" + subImageWidth + ", height=" + subImageHeight);
@@ -436,7 +535,7 @@ public class TileCache {
     /**
      * Retrieves a hero animation spritesheet based on the hero's current state.
      * If the spritesheet for the given state is already cached, it returns the cached version.
-     * Otherwise, it loads the main hero spritesheet, extracts the relevant subimage for the state,
+     * Otherwise, it takes the decoded hero spritesheet, copies the relevant strip for the state,
      * caches it, and then returns it.
      *
      * @param state The current state of the hero (e.g., IDLE, RUNNING), as defined in {@link PaooGame.Config.Constants.HERO_STATES}.
@@ -455,12 +554,11 @@ public class TileCache {
         }
 
         try{
-            File heroFileSheet=new File(Constants.HERO_SPRITE_SHEET_PATH);
-            if(!heroFileSheet.exists()){
+            BufferedImage fullSheet = loadSourceSheet(Constants.HERO_SPRITE_SHEET_PATH);
+            if(fullSheet==null){
                 System.err.println("No file found at path " + Constants.HERO_SPRITE_SHEET_PATH);
                 return null;
             }
-            BufferedImage fullSheet = ImageIO.read(heroFileSheet);
 
             switch (state){
                 case IDLE:
@@ -491,13 +589,10 @@ public class TileCache {
                 return null;
             }
 
-            returnIMG = fullSheet.getSubimage(subImageX, subImageY, subImageWidth, subImageHeight);
+            returnIMG = copyStrip(fullSheet, subImageX, subImageY, subImageWidth, subImageHeight);
             heroStatesSheets.put(cacheKey, returnIMG);
 
         }
-        catch (IOException e){
-            e.printStackTrace();
-        }
         catch (java.awt.image.RasterFormatException rfe) {
             System.err.println("RasterFormatException for hero state: " + state + " from sheet: " + Constants.HERO_SPRITE_SHEET_PATH);
             System.err.println("Subimage parameters: x=" + subImageX + ", y=" + subImageY + ", width=" + subImageWidth + ", height=" + subImageHeight);
@@ -506,4 +601,143 @@ public class TileCache {
         }
         return returnIMG;
     }
-}
\ No newline at end of file
+
+    /**
+     * Decodes a sheet file, or returns the already decoded image if the file was read before.
+     *
+     * @param path The file path to the sheet.
+     * @return The decoded sheet, or null if the file is missing or cannot be read.
+     */
+    private BufferedImage loadSourceSheet(String path){
+        BufferedImage sheet = sourceSheets.get(path);
+        if(sheet!=null){
+            return sheet;
+        }
+        try{
+            File f = new File(path);
+            if(!f.exists()){
+                System.err.println("Error! sheet not found: " + path);
+                return null;
+            }
+            sheet = ImageIO.read(f);
+        }
+        catch (IOException e){
+            e.printStackTrace();
+            return null;
+        }
+        if(sheet!=null){
+            sheet = toCompatibleImage(sheet, path);
+            sourceSheets.put(path, sheet);
+        }
+        return sheet;
+    }
+
+    /**
+     * Copies a region of a sheet into its own tightly sized, display-compatible image, so the cached strip
+     * does not keep the whole sheet's raster alive.
+     *
+     * @param sheet The decoded source sheet.
+     * @param x The x-coordinate of the region.
+     * @param y The y-coordinate of the region.
+     * @param width The width of the region.
+     * @param height The height of the region.
+     * @return A new image holding only the region.
+     */
+    private BufferedImage copyStrip(BufferedImage sheet, int x, int y, int width, int height){
+        BufferedImage region = sheet.getSubimage(x, y, width, height);
+        BufferedImage strip = createCompatibleImage(width, height, sheet.getTransparency());
+        Graphics2D g2d = strip.createGraphics();
+        g2d.drawImage(region, 0, 0, null);
+        g2d.dispose();
+        return strip;
+    }
+
+    /**
+     * Drops the decoded source sheets once all the strips needed up front have been copied out.
+     * Tilesheets stay loaded, since their tiles are views into them. A sheet requested again
+     * later is simply decoded once more.
+     */
+    public void releaseSourceSheets(){
+        sourceSheets.clear();
+    }
+
+    /**
+     * Creates an empty image in the format the screen draws fastest, for the configuration of this cache.
+     *
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param transparency One of the {@link Transparency} constants.
+     * @return The new image.
+     */
+    public BufferedImage createCompatibleImage(int width, int height, int transparency){
+        return createCompatibleImage(graphicsConfiguration, width, height, transparency);
+    }
+
+    /**
+     * Creates an empty image in the format the screen draws fastest.
+     * Uses the given configuration when set, the default screen otherwise, and plain
+     * INT_ARGB / INT_RGB images when running headless.
+     *
+     * @param gc The graphics configuration of the game canvas, or null.
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param transparency One of the {@link Transparency} constants.
+     * @return The new image.
+     */
+    public static BufferedImage createCompatibleImage(GraphicsConfiguration gc, int width, int height, int transparency){
+        if(gc==null && !GraphicsEnvironment.isHeadless()){
+            gc = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        if(gc!=null){
+            return gc.createCompatibleImage(width, height, transparency);
+        }
+        return new BufferedImage(width, height,
+                transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    /**
+     * Converts a decoded image to the display-compatible format, keeping its transparency,
+     * and records the conversion in the report.
+     *
+     * @param source The image as returned by ImageIO.
+     * @param assetName The name used for the image in the report (usually its path).
+     * @return The converted image, or the source itself if it already has the right format.
+     */
+    private BufferedImage toCompatibleImage(BufferedImage source, String assetName){
+        long start = System.nanoTime();
+        BufferedImage converted = createCompatibleImage(source.getWidth(), source.getHeight(), source.getTransparency());
+        if(converted.getColorModel().equals(source.getColorModel())
+                && converted.getSampleModel().getClass() == source.getSampleModel().getClass()){
+            converted = source;
+        }
+        else{
+            Graphics2D g2d = converted.createGraphics();
+            g2d.setComposite(AlphaComposite.Src);
+            g2d.drawImage(source, 0, 0, null);
+            g2d.dispose();
+        }
+        long nanos = System.nanoTime() - start;
+
+        long bytes = (long) converted.getWidth() * converted.getHeight() * converted.getColorModel().getPixelSize() / 8;
+        totalConversionNanos += nanos;
+        totalConvertedBytes += bytes;
+        conversionReport.add(String.format("%-60s type %2d -> %2d  %7.2f ms  %8d KB",
+                assetName, source.getType(), converted.getType(), nanos / 1_000_000.0, bytes / 1024));
+        return converted;
+    }
+
+    /**
+     * Builds a report of every image converted so far, one asset per line, followed by the totals.
+     *
+     * @return The report text.
+     */
+    public String getConversionReport(){
+        StringBuilder report = new StringBuilder();
+        for(String line : conversionReport){
+            report.append(line).append(System.lineSeparator());
+        }
+        report.append(String.format("%d assets converted in %.2f ms, %d KB total",
+                conversionReport.size(), totalConversionNanos / 1_000_000.0, totalConvertedBytes / 1024));
+        return report.toString();
+    }
+}
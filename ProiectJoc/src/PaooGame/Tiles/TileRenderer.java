@@ -0,0 +1,184 @@
+package PaooGame.Tiles;
+
+import PaooGame.Camera.Camera;
+import PaooGame.Config.Constants;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * @class TileRenderer
+ * @brief Draws the visual tile layer of a level, limited to the area seen by the camera.
+ *
+ * The static tile layer is baked into chunks of {@link #CHUNK_SIZE} x {@link #CHUNK_SIZE} tiles,
+ * each held in a single image. Every frame only the chunks that intersect the viewport
+ * (worked out from the camera offset, scale and window size) are drawn, one blit per chunk.
+ * A chunk is baked the first time it becomes visible and rebaked only after one of its
+ * tiles is changed through {@link #setTile(int, int, int)}.
+ * Each level state owns one renderer for its map.
+ */
+public class TileRenderer {
+    public static final int CHUNK_SIZE = 32;        ///< Width and height of a chunk, in tiles.
+
+    private final TileCache tileCache;              ///< Cache used to fetch the tile images.
+    private final int sheetHandle;                  ///< Handle of the tilesheet used by the level.
+    private final int[] visualIDs;                  ///< Copy of the visual tile IDs of the level, stored row by row.
+    private final int widthInTiles;                 ///< Width of the level, in tiles.
+    private final int heightInTiles;                ///< Height of the level, in tiles.
+
+    private final int chunkCols;                    ///< Number of chunk columns covering the level.
+    private final int chunkRows;                    ///< Number of chunk rows covering the level.
+    private final BufferedImage[] chunks;           ///< Baked chunk images; null while a chunk is empty or not baked yet.
+    private final boolean[] dirtyChunks;            ///< True for chunks that must be (re)baked before being drawn.
+    private final int[] chunkTileCounts;            ///< Number of non-empty tiles in each baked chunk.
+
+    private int tilesDrawnLastFrame = 0;            ///< Number of tiles covered by the chunks drawn in the last frame.
+    private int chunksDrawnLastFrame = 0;           ///< Number of chunk images drawn in the last frame.
+
+    /**
+     * @brief Constructs a TileRenderer for a level map.
+     * @param tileCache The {@link TileCache} providing the tile images.
+     * @param texturesPath The path of the tilesheet used by the level.
+     * @param visualIDs The visual tile IDs of the level.
+     * @param widthInTiles The width of the level, in tiles.
+     * @param heightInTiles The height of the level, in tiles.
+     */
+    public TileRenderer(TileCache tileCache, String texturesPath, int[] visualIDs, int widthInTiles, int heightInTiles) {
+        this.tileCache = tileCache;
+        this.sheetHandle = tileCache.getSheetHandle(texturesPath);
+        this.visualIDs = visualIDs.clone(); // the level's own array may be shared by several games
+        this.widthInTiles = widthInTiles;
+        this.heightInTiles = heightInTiles;
+
+        this.chunkCols = (widthInTiles + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunkRows = (heightInTiles + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        this.chunks = new BufferedImage[chunkCols * chunkRows];
+        this.dirtyChunks = new boolean[chunkCols * chunkRows];
+        this.chunkTileCounts = new int[chunkCols * chunkRows];
+        Arrays.fill(this.dirtyChunks, true);
+    }
+
+    /**
+     * @brief Draws the chunks that intersect the camera's viewport.
+     *
+     * The graphics context is expected to already have the camera transformation applied,
+     * so chunks are drawn at their world coordinates.
+     *
+     * @param g The {@link Graphics} context used for drawing.
+     * @param camera The {@link Camera} whose view is being rendered.
+     * @param viewportWidth The width of the window, in screen pixels.
+     * @param viewportHeight The height of the window, in screen pixels.
+     */
+    public void draw(Graphics g, Camera camera, int viewportWidth, int viewportHeight) {
+        int chunkPixels = CHUNK_SIZE * Constants.TILE_SIZE;
+        int firstCol = Math.max(0, (int) Math.floor(camera.getViewLeft() / chunkPixels));
+        int lastCol = Math.min(chunkCols - 1, (int) Math.floor(camera.getViewRight(viewportWidth) / chunkPixels));
+        int firstRow = Math.max(0, (int) Math.floor(camera.getViewTop() / chunkPixels));
+        int lastRow = Math.min(chunkRows - 1, (int) Math.floor(camera.getViewBottom(viewportHeight) / chunkPixels));
+
+        int tilesDrawn = 0;
+        int chunksDrawn = 0;
+        for (int row = firstRow; row <= lastRow; ++row) {
+            for (int col = firstCol; col <= lastCol; ++col) {
+                int index = row * chunkCols + col;
+                if (dirtyChunks[index]) {
+                    bakeChunk(col, row);
+                }
+                if (chunks[index] != null) {
+                    g.drawImage(chunks[index], col * chunkPixels, row * chunkPixels, null);
+                    tilesDrawn += chunkTileCounts[index];
+                    ++chunksDrawn;
+                }
+            }
+        }
+        tilesDrawnLastFrame = tilesDrawn;
+        chunksDrawnLastFrame = chunksDrawn;
+    }
+
+    /**
+     * @brief Changes the visual ID of a tile and marks its chunk for rebaking.
+     * @param tileX The column of the tile.
+     * @param tileY The row of the tile.
+     * @param visualID The new visual ID, or -1 for an empty tile.
+     */
+    public void setTile(int tileX, int tileY, int visualID) {
+        if (tileX < 0 || tileX >= widthInTiles || tileY < 0 || tileY >= heightInTiles) {
+            return;
+        }
+        int i = tileY * widthInTiles + tileX;
+        if (visualIDs[i] != visualID) {
+            visualIDs[i] = visualID;
+            dirtyChunks[(tileY / CHUNK_SIZE) * chunkCols + tileX / CHUNK_SIZE] = true;
+        }
+    }
+
+    /**
+     * @brief Marks every chunk for rebaking, e.g. after the visual IDs were changed in bulk.
+     */
+    public void invalidate() {
+        Arrays.fill(this.dirtyChunks, true);
+    }
+
+    /**
+     * @brief Renders the tiles of one chunk into its image.
+     *
+     * Chunks without any tile keep a null image and are skipped while drawing.
+     * @param chunkCol The column of the chunk.
+     * @param chunkRow The row of the chunk.
+     */
+    private void bakeChunk(int chunkCol, int chunkRow) {
+        int index = chunkRow * chunkCols + chunkCol;
+        int firstTileX = chunkCol * CHUNK_SIZE;
+        int firstTileY = chunkRow * CHUNK_SIZE;
+        int tilesWide = Math.min(CHUNK_SIZE, widthInTiles - firstTileX);
+        int tilesHigh = Math.min(CHUNK_SIZE, heightInTiles - firstTileY);
+
+        int count = 0;
+        for (int y = 0; y < tilesHigh; ++y) {
+            for (int x = 0; x < tilesWide; ++x) {
+                if (visualIDs[(firstTileY + y) * widthInTiles + firstTileX + x] != -1) {
+                    ++count;
+                }
+            }
+        }
+
+        dirtyChunks[index] = false;
+        chunkTileCounts[index] = count;
+        if (count == 0) {
+            chunks[index] = null;
+            return;
+        }
+
+        BufferedImage chunk = tileCache.createCompatibleImage(tilesWide * Constants.TILE_SIZE, tilesHigh * Constants.TILE_SIZE, Transparency.TRANSLUCENT);
+        Graphics2D g2d = chunk.createGraphics();
+        for (int y = 0; y < tilesHigh; ++y) {
+            int rowStart = (firstTileY + y) * widthInTiles + firstTileX;
+            for (int x = 0; x < tilesWide; ++x) {
+                int currentID = visualIDs[rowStart + x];
+                if (currentID != -1) {
+                    tileCache.getTile(sheetHandle, currentID)
+                            .Draw(g2d, x * Constants.TILE_SIZE, y * Constants.TILE_SIZE);
+                }
+            }
+        }
+        g2d.dispose();
+        chunks[index] = chunk;
+    }
+
+    /**
+     * @brief Gets the number of tiles drawn during the last frame.
+     * @return The number of non-empty tiles covered by the chunks drawn in the last frame.
+     */
+    public int getTilesDrawnLastFrame() {
+        return tilesDrawnLastFrame;
+    }
+
+    /**
+     * @brief Gets the number of chunk images drawn during the last frame.
+     * @return The number of blits issued by the last call to {@link #draw(Graphics, Camera, int, int)}.
+     */
+    public int getChunksDrawnLastFrame() {
+        return chunksDrawnLastFrame;
+    }
+}